@@ -0,0 +1,66 @@
+package com.study.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 읽기/쓰기 DataSource 라우팅 자동 설정 (datasource.routing.enabled=true 일 때만 적용)
+ *
+ * 학습 포인트:
+ * 1. 서비스마다 같은 설정 클래스를 복사하지 않고 common 모듈의 자동 설정 하나로 등록
+ *    (META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports)
+ * 2. DataSourceAutoConfiguration보다 먼저 적용 → 여기서 DataSource Bean을 등록하면 기본 DataSource는 만들지 않음
+ * 3. @Transactional(readOnly = true) → Replica, 그 외 → Primary
+ * 4. 쓰기 직후에는 같은 사용자(X-User-Id)의 읽기도 Primary (Read-Your-Writes, Servlet 애플리케이션만)
+ */
+@AutoConfiguration(before = DataSourceAutoConfiguration.class)
+@ConditionalOnClass({HikariDataSource.class, MeterRegistry.class})
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceRoutingAutoConfiguration {
+
+    @Bean
+    @ConfigurationProperties(prefix = "datasource.routing")
+    public RoutingDataSourceProperties routingDataSourceProperties() {
+        return new RoutingDataSourceProperties();
+    }
+
+    /**
+     * Primary는 spring.datasource.* 설정, Replica는 datasource.routing.replicas 설정 사용
+     */
+    @Bean
+    public ReadWriteDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                          RoutingDataSourceProperties routingDataSourceProperties,
+                                          MeterRegistry meterRegistry) {
+        return ReadWriteDataSource.create(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword(),
+                routingDataSourceProperties,
+                meterRegistry);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ReadYourWritesFilterConfiguration {
+
+        @Bean
+        public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+            FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.study.common.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 읽기/쓰기 분리 DataSource (애플리케이션이 사용하는 DataSource Bean)
+ *
+ * 구성: LazyConnectionDataSourceProxy → ReplicaRoutingDataSource → Hikari 풀 (primary, replica-0, ...)
+ * - 실제 커넥션은 첫 SQL 실행 시점에 얻으므로 그 시점의 readOnly 여부로 라우팅
+ * - 풀마다 MicrometerMetricsTrackerFactory 등록 → hikaricp.connections.*{pool=primary|replica-N}
+ * - Replica 헬스 체크를 주기적으로 실행, 종료 시 풀과 스케줄러 정리
+ */
+@Slf4j
+public class ReadWriteDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final List<HikariDataSource> pools;
+    private final ScheduledExecutorService healthChecker;
+
+    private ReadWriteDataSource(ReplicaRoutingDataSource routingDataSource,
+                                List<HikariDataSource> pools,
+                                long healthCheckIntervalMillis) {
+        super(routingDataSource);
+        this.pools = pools;
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(routingDataSource::checkReplicas,
+                0, healthCheckIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static ReadWriteDataSource create(String primaryUrl,
+                                             String primaryUsername,
+                                             String primaryPassword,
+                                             RoutingDataSourceProperties properties,
+                                             MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+        List<HikariDataSource> pools = new ArrayList<>();
+
+        HikariDataSource primary = pool(ReplicaRoutingDataSource.PRIMARY, primaryUrl, primaryUsername, primaryPassword,
+                properties.getPrimaryMaximumPoolSize(), false, metrics);
+        pools.add(primary);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            RoutingDataSourceProperties.Replica replica = properties.getReplicas().get(i);
+            HikariDataSource pool = pool("replica-" + i, replica.getUrl(), replica.getUsername(), replica.getPassword(),
+                    properties.getReplicaMaximumPoolSize(), true, metrics);
+            pools.add(pool);
+            replicas.put(pool.getPoolName(), pool);
+        }
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replicas,
+                new ReadYourWritesTracker(properties.getReadYourWritesWindow()), meterRegistry);
+        routingDataSource.afterPropertiesSet();
+        log.info("읽기/쓰기 분리 DataSource 구성: replicas={}", replicas.keySet());
+        return new ReadWriteDataSource(routingDataSource, pools, properties.getHealthCheckInterval().toMillis());
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        pools.forEach(HikariDataSource::close);
+    }
+
+    /**
+     * Replica 풀은 시작 시 연결 실패해도 애플리케이션이 뜨도록 initializationFailTimeout = -1
+     * (헬스 체크가 실패 상태로 표시하고 Primary로 대체)
+     */
+    private static HikariDataSource pool(String name, String url, String username, String password,
+                                         int maximumPoolSize, boolean readOnly,
+                                         MicrometerMetricsTrackerFactory metrics) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setReadOnly(readOnly);
+        config.setMetricsTrackerFactory(metrics);
+        if (readOnly) {
+            config.setInitializationFailTimeout(-1);
+        }
+        return new HikariDataSource(config);
+    }
+}
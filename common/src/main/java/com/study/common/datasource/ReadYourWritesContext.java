@@ -0,0 +1,43 @@
+package com.study.common.datasource;
+
+/**
+ * 현재 요청의 Read-Your-Writes 정보 (ThreadLocal)
+ *
+ * - clientKey: 쓰기 기록을 구분하는 사용자 키 (X-User-Id 헤더)
+ * - wroteInRequest: 이번 요청에서 이미 쓰기를 했으면 이후 읽기도 Primary 사용
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<ReadYourWritesContext> CURRENT = new ThreadLocal<>();
+
+    private final String clientKey;
+    private boolean wroteInRequest;
+
+    private ReadYourWritesContext(String clientKey) {
+        this.clientKey = clientKey;
+    }
+
+    public static void begin(String clientKey) {
+        CURRENT.set(new ReadYourWritesContext(clientKey));
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    static ReadYourWritesContext current() {
+        return CURRENT.get();
+    }
+
+    String getClientKey() {
+        return clientKey;
+    }
+
+    boolean isWroteInRequest() {
+        return wroteInRequest;
+    }
+
+    void markWrite() {
+        this.wroteInRequest = true;
+    }
+}
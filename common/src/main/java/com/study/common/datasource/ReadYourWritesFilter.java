@@ -0,0 +1,29 @@
+package com.study.common.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 요청의 사용자 키(X-User-Id 헤더)를 ReadYourWritesContext에 설정
+ * - 헤더가 없으면 요청 내 쓰기 이후의 읽기만 Primary로 보냄
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReadYourWritesContext.begin(request.getHeader(USER_ID_HEADER));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+}
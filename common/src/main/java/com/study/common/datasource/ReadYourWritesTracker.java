@@ -0,0 +1,39 @@
+package com.study.common.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 마지막 쓰기 시각 기록
+ *
+ * 학습 포인트:
+ * - Replica는 비동기 복제라 방금 쓴 데이터가 아직 없을 수 있음
+ * - 쓰기 직후 window 동안은 같은 사용자의 읽기를 Primary로 보내 자신이 쓴 내용을 항상 보도록 함
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowMillis;
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    public void recordWrite(String clientKey) {
+        lastWriteAt.put(clientKey, System.currentTimeMillis());
+    }
+
+    public boolean isPinnedToPrimary(String clientKey) {
+        Long writtenAt = lastWriteAt.get(clientKey);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt < windowMillis;
+    }
+
+    /**
+     * window가 지난 기록 삭제 (주기적으로 호출)
+     */
+    public void purgeExpired() {
+        long threshold = System.currentTimeMillis() - windowMillis;
+        lastWriteAt.values().removeIf(writtenAt -> writtenAt < threshold);
+    }
+}
@@ -0,0 +1,128 @@
+package com.study.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 트랜잭션 속성에 따라 Primary / Replica로 라우팅하는 DataSource
+ *
+ * 학습 포인트:
+ * 1. AbstractRoutingDataSource: 커넥션을 얻는 시점에 lookup key로 실제 DataSource 선택
+ * 2. @Transactional(readOnly = true) → Replica (라운드 로빈, 헬스 체크 실패 Replica 제외)
+ * 3. 쓰기 트랜잭션, 트랜잭션 밖, Read-Your-Writes window 안 → Primary
+ * 4. readOnly 여부는 트랜잭션 시작 이후에 설정되므로 LazyConnectionDataSourceProxy로 감싸서 사용
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<String> replicaNames;
+    private final Map<String, DataSource> replicas;
+    private final Map<String, Boolean> healthy = new ConcurrentHashMap<>();
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<String, Counter> routeCounters = new HashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    Map<String, DataSource> replicas,
+                                    ReadYourWritesTracker readYourWritesTracker,
+                                    MeterRegistry meterRegistry) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.replicaNames = List.copyOf(replicas.keySet());
+        this.readYourWritesTracker = readYourWritesTracker;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        routeCounters.put(PRIMARY, routeCounter(meterRegistry, PRIMARY));
+        for (String name : replicaNames) {
+            healthy.put(name, true);
+            routeCounters.put(name, routeCounter(meterRegistry, name));
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String route = route();
+        routeCounters.get(route).increment();
+        return route;
+    }
+
+    /**
+     * Replica 헬스 체크 - 커넥션을 얻어 isValid 확인, 상태가 바뀌면 로그
+     */
+    public void checkReplicas() {
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            boolean ok;
+            try (Connection connection = replica.getValue().getConnection()) {
+                ok = connection.isValid(1);
+            } catch (Exception e) {
+                ok = false;
+            }
+            Boolean previous = healthy.put(replica.getKey(), ok);
+            if (previous != null && previous != ok) {
+                if (ok) {
+                    log.info("Replica 복구, 라우팅 재개: {}", replica.getKey());
+                } else {
+                    log.warn("Replica 헬스 체크 실패, 라우팅 제외: {}", replica.getKey());
+                }
+            }
+        }
+        readYourWritesTracker.purgeExpired();
+    }
+
+    private String route() {
+        ReadYourWritesContext context = ReadYourWritesContext.current();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (context != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                context.markWrite();
+                if (context.getClientKey() != null) {
+                    readYourWritesTracker.recordWrite(context.getClientKey());
+                }
+            }
+            return PRIMARY;
+        }
+        if (context != null && (context.isWroteInRequest()
+                || (context.getClientKey() != null && readYourWritesTracker.isPinnedToPrimary(context.getClientKey())))) {
+            return PRIMARY;
+        }
+        return nextHealthyReplica();
+    }
+
+    /**
+     * 라운드 로빈으로 정상 Replica 선택 (모두 비정상이면 Primary)
+     */
+    private String nextHealthyReplica() {
+        int size = replicaNames.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            String name = replicaNames.get((start + i) % size);
+            if (healthy.getOrDefault(name, false)) {
+                return name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    private Counter routeCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("datasource.routing")
+                .description("커넥션 라우팅 결과")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
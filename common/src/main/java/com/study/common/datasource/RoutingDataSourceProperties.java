@@ -0,0 +1,45 @@
+package com.study.common.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기/쓰기 DataSource 라우팅 설정 (prefix: datasource.routing)
+ *
+ * - primary 연결 정보는 spring.datasource.* 를 그대로 사용
+ * - replicas: 읽기 전용 트랜잭션이 사용할 Replica 목록 (라운드 로빈)
+ */
+@Getter
+@Setter
+public class RoutingDataSourceProperties {
+
+    private boolean enabled;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Replica 헬스 체크 주기 (실패한 Replica는 다음 성공 시까지 라우팅에서 제외)
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * 쓰기 이후 같은 사용자의 읽기를 Primary로 보내는 시간 (Replica 복제 지연보다 길게)
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    private int primaryMaximumPoolSize = 10;
+
+    private int replicaMaximumPoolSize = 10;
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,38 @@
+package com.study.common.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Virtual Thread 실행 모드 자동 설정 (spring.threads.virtual.enabled=true 일 때만 적용)
+ *
+ * 학습 포인트:
+ * - 요청 처리(Tomcat), @Async/@Scheduled 실행기는 Spring Boot가 Virtual Thread로 전환
+ * - 이 설정은 캐리어 스레드 pinning을 감지하는 JFR 모니터만 추가
+ * - common 모듈을 사용하는 모든 서비스에 자동 적용 (META-INF/spring/...AutoConfiguration.imports)
+ *   → 서비스별 추가 설정(커넥션 풀 등)만 각 서비스에 둠
+ */
+@AutoConfiguration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${virtual-thread.pinning.threshold:20ms}") Duration threshold,
+            @Value("${virtual-thread.pinning.log-interval:1m}") Duration logInterval,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        VirtualThreadPinningMonitor monitor =
+                new VirtualThreadPinningMonitor(threshold, logInterval, meterRegistry.getIfAvailable());
+        monitor.start();
+        return monitor;
+    }
+}
@@ -0,0 +1,93 @@
+package com.study.common.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Virtual Thread pinning 감지 (JFR 이벤트 스트리밍)
+ *
+ * 학습 포인트:
+ * 1. Virtual Thread가 synchronized 블록/네이티브 호출 안에서 블로킹되면 캐리어(플랫폼) 스레드를 점유(pinning)
+ *    → 캐리어 수(기본 CPU 코어 수)만큼만 동시에 진행되어 Virtual Thread의 이점이 사라짐
+ * 2. JDK의 jdk.VirtualThreadPinned 이벤트를 RecordingStream으로 애플리케이션 안에서 바로 구독
+ * 3. 같은 위치(스택 최상단 프레임)의 로그는 logInterval마다 한 번만 출력, 건수/시간은 메트릭으로 집계
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final RecordingStream stream;
+    private final Timer pinnedTimer;  // MeterRegistry가 없으면 null
+    private final long logIntervalMillis;
+    private final Map<String, Long> lastLoggedAt = new ConcurrentHashMap<>();
+
+    public VirtualThreadPinningMonitor(Duration threshold, Duration logInterval, MeterRegistry meterRegistry) {
+        this.logIntervalMillis = logInterval.toMillis();
+        this.pinnedTimer = meterRegistry == null ? null : Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual Thread가 캐리어 스레드에 고정(pinning)된 시간")
+                .register(meterRegistry);
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+    }
+
+    public void start() {
+        stream.startAsync();
+        log.info("Virtual Thread pinning 모니터 시작");
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        if (pinnedTimer != null) {
+            pinnedTimer.record(event.getDuration());
+        }
+
+        List<RecordedFrame> frames = event.getStackTrace() != null
+                ? event.getStackTrace().getFrames()
+                : List.of();
+        String location = frames.isEmpty() ? "unknown" : describe(frames.get(0));
+        long now = System.currentTimeMillis();
+        Long last = lastLoggedAt.get(location);
+        if (last != null && now - last < logIntervalMillis) {
+            return;
+        }
+        lastLoggedAt.put(location, now);
+
+        log.warn("Virtual Thread pinning 감지: duration={}ms, thread={}\n{}",
+                event.getDuration().toMillis(),
+                event.getThread() != null ? event.getThread().getJavaName() : "unknown",
+                format(event.getStackTrace()));
+    }
+
+    private String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(stack trace 없음)";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + describe(frame))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(line " + frame.getLineNumber() + ")";
+    }
+}
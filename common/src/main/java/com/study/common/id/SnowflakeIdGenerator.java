@@ -0,0 +1,169 @@
+package com.study.common.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * 시간 순서 64비트 ID 생성기 (Snowflake 방식)
+ *
+ * 학습 포인트:
+ * 1. [부호 1 | 타임스탬프 41 | 노드 10 | 시퀀스 12] → DB 왕복 없이 인스턴스에서 바로 ID 생성
+ * 2. 상위 비트가 시각이므로 ID 순서 ≈ 생성 순서 → B-Tree 인덱스 끝에 추가되어 페이지 분할이 적음
+ * 3. (타임스탬프, 시퀀스)를 AtomicLong 하나에 담아 CAS로 갱신 → 잠금 없이 여러 스레드가 동시에 발급
+ * 4. 시계 역행 시 "마지막 타임스탬프"의 시퀀스를 이어서 사용 (단조 증가 유지)
+ *    → 역행 폭이 maxBackwardMillis를 넘으면 중복 위험이 커지므로 예외
+ * 5. 한 ms의 시퀀스를 다 쓰면 시계가 다음 ms로 넘어갈 때까지 대기 (미래 시각을 미리 쓰지 않음)
+ *    → 순간 부하가 노드당 ms당 2^sequenceBits개를 넘으면 발급이 느려질 뿐 실패하지 않음
+ * 6. 버킷 비트(선택): [타임스탬프 | 버킷 | 노드 | 시퀀스] - 샤드 키의 해시 버킷을 ID에 담아
+ *    ID만 보고 저장 위치를 찾을 수 있게 함 (버킷 비트만큼 타임스탬프 범위가 줄어듦)
+ *
+ * 노드 ID가 인스턴스마다 다르면 전역 유일 (같은 노드 ID로 두 인스턴스가 동시에 뜨면 중복 가능)
+ */
+public class SnowflakeIdGenerator {
+
+    /**
+     * 2024-01-01T00:00:00Z - 41비트 ms로 약 69년 표현
+     */
+    public static final long DEFAULT_EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final long DEFAULT_MAX_BACKWARD_MILLIS = 5_000L;
+
+    private final int bucketBits;
+    private final int nodeBits;
+    private final int sequenceBits;
+    private final long sequenceMask;
+    private final int bucketShift;
+    private final int timestampShift;
+
+    private final long nodeId;
+    private final long epochMillis;
+    private final long maxBackwardMillis;
+    private final LongSupplier clock;
+
+    /**
+     * (epoch 기준 타임스탬프 << sequenceBits) | 시퀀스
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(long nodeId) {
+        this(nodeId, DEFAULT_EPOCH_MILLIS, DEFAULT_MAX_BACKWARD_MILLIS, System::currentTimeMillis);
+    }
+
+    public SnowflakeIdGenerator(long nodeId, long epochMillis, long maxBackwardMillis, LongSupplier clock) {
+        this(nodeId, 0, NODE_BITS, SEQUENCE_BITS, epochMillis, maxBackwardMillis, clock);
+    }
+
+    /**
+     * 버킷 비트를 포함하는 레이아웃 (타임스탬프 비트 = 63 - bucketBits - nodeBits - sequenceBits)
+     */
+    public SnowflakeIdGenerator(long nodeId, int bucketBits, int nodeBits, int sequenceBits) {
+        this(nodeId, bucketBits, nodeBits, sequenceBits,
+                DEFAULT_EPOCH_MILLIS, DEFAULT_MAX_BACKWARD_MILLIS, System::currentTimeMillis);
+    }
+
+    public SnowflakeIdGenerator(long nodeId, int bucketBits, int nodeBits, int sequenceBits,
+                                long epochMillis, long maxBackwardMillis, LongSupplier clock) {
+        if (bucketBits < 0 || nodeBits < 0 || sequenceBits < 1 || 63 - bucketBits - nodeBits - sequenceBits < 32) {
+            throw new IllegalArgumentException("타임스탬프에 최소 32비트가 남도록 비트 수를 지정해야 합니다: bucket="
+                    + bucketBits + ", node=" + nodeBits + ", sequence=" + sequenceBits);
+        }
+        long maxNodeId = (1L << nodeBits) - 1;
+        if (nodeId < 0 || nodeId > maxNodeId) {
+            throw new IllegalArgumentException("노드 ID는 0 ~ " + maxNodeId + " 범위여야 합니다: " + nodeId);
+        }
+        this.bucketBits = bucketBits;
+        this.nodeBits = nodeBits;
+        this.sequenceBits = sequenceBits;
+        this.sequenceMask = (1L << sequenceBits) - 1;
+        this.bucketShift = nodeBits + sequenceBits;
+        this.timestampShift = bucketBits + nodeBits + sequenceBits;
+        this.nodeId = nodeId;
+        this.epochMillis = epochMillis;
+        this.maxBackwardMillis = maxBackwardMillis;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        return nextId(0);
+    }
+
+    /**
+     * @param bucket 0 ~ 2^bucketBits - 1 (버킷 비트가 없으면 0)
+     */
+    public long nextId(int bucket) {
+        if (bucket < 0 || bucket > getMaxBucket()) {
+            throw new IllegalArgumentException("버킷은 0 ~ " + getMaxBucket() + " 범위여야 합니다: " + bucket);
+        }
+        while (true) {
+            long now = clock.getAsLong() - epochMillis;
+            long current = state.get();
+            long lastTimestamp = current >>> sequenceBits;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << sequenceBits;
+            } else {
+                // 같은 ms 또는 시계 역행: 마지막 타임스탬프에서 시퀀스를 이어감
+                if (lastTimestamp - now > maxBackwardMillis) {
+                    throw new IllegalStateException("시스템 시계가 " + (lastTimestamp - now) + "ms 역행하여 ID를 발급할 수 없습니다");
+                }
+                if ((current & sequenceMask) == sequenceMask) {
+                    // 시퀀스 소진 → 시계가 마지막 타임스탬프를 지날 때까지 기다린 뒤 다시 시도
+                    waitUntilAfter(lastTimestamp);
+                    continue;
+                }
+                next = current + 1;
+            }
+
+            if (state.compareAndSet(current, next)) {
+                return ((next >>> sequenceBits) << timestampShift)
+                        | ((long) bucket << bucketShift)
+                        | (nodeId << sequenceBits)
+                        | (next & sequenceMask);
+            }
+        }
+    }
+
+    private void waitUntilAfter(long timestamp) {
+        long now;
+        while ((now = clock.getAsLong() - epochMillis) <= timestamp) {
+            if (timestamp - now > 1) {
+                LockSupport.parkNanos(500_000);  // 시계 역행 중 - 길게 기다려야 하므로 CPU를 양보
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    public int getMaxBucket() {
+        return (1 << bucketBits) - 1;
+    }
+
+    public long getMaxNodeId() {
+        return (1L << nodeBits) - 1;
+    }
+
+    /**
+     * ID에 담긴 생성 시각 (epoch millis)
+     */
+    public long extractTimestamp(long id) {
+        return (id >>> timestampShift) + epochMillis;
+    }
+
+    /**
+     * ID에 담긴 버킷 (버킷 비트가 없으면 항상 0)
+     */
+    public int extractBucket(long id) {
+        return (int) ((id >>> bucketShift) & getMaxBucket());
+    }
+}
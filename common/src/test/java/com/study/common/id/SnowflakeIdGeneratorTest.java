@@ -0,0 +1,81 @@
+package com.study.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long EPOCH = 0L;
+
+    @Test
+    void 시퀀스를_다_쓰면_실패하지_않고_다음_ms까지_기다린다() {
+        // ms당 4개, 시계는 호출 10번마다 1ms 진행
+        AtomicLong calls = new AtomicLong();
+        LongSupplier clock = () -> 1_000 + calls.incrementAndGet() / 10;
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 0, 4, 2, EPOCH, 0, clock);
+
+        Set<Long> ids = new HashSet<>();
+        long previous = 0;
+        for (int i = 0; i < 1_000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            // 발급 시점의 시계보다 앞선 타임스탬프(미래 ms)를 쓰지 않음
+            assertThat(generator.extractTimestamp(id)).isLessThanOrEqualTo(clock.getAsLong());
+            ids.add(id);
+            previous = id;
+        }
+        assertThat(ids).hasSize(1_000);
+    }
+
+    @Test
+    void 시계가_허용_폭보다_많이_역행하면_예외() {
+        AtomicLong now = new AtomicLong(10_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 0, 4, 2, EPOCH, 100, now::get);
+        generator.nextId();
+
+        now.set(9_950);
+        generator.nextId();  // 허용 폭 안: 마지막 타임스탬프의 시퀀스를 이어서 사용
+
+        now.set(9_000);
+        assertThatThrownBy(generator::nextId)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("역행");
+    }
+
+    @Test
+    void 여러_스레드가_동시에_발급해도_중복이_없다() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+        int threads = 8;
+        int perThread = 20_000;
+        long[][] issued = new long[threads][perThread];
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    issued[index][i] = generator.nextId();
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (long[] chunk : issued) {
+            for (long id : chunk) {
+                ids.add(id);
+            }
+        }
+        assertThat(ids).hasSize(threads * perThread);
+    }
+}
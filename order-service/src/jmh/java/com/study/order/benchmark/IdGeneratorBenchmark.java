@@ -0,0 +1,56 @@
+package com.study.order.benchmark;
+
+import com.study.common.id.SnowflakeIdGenerator;
+import com.study.order.sharding.ShardBuckets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 ID 발급 처리량 (IDs/sec)
+ *
+ * 학습 포인트:
+ * - 주문 ID 레이아웃(노드 7비트, 시퀀스 8비트)은 노드당 ms당 256개 → 이론 상한 약 256,000 IDs/sec
+ *   → 단일 스레드도 상한에 닿으면 시퀀스 소진 대기(다음 ms)가 처리량을 결정
+ * - 스레드를 늘리면 CAS 경합이 생기지만 상한은 같음 (노드를 늘려야 처리량이 늘어남)
+ * - 비교 기준: 시퀀스 12비트 기본 레이아웃 (ms당 4096개)
+ *
+ * 실행: ./gradlew :order-service:jmh -PjmhIncludes=IdGeneratorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private final SnowflakeIdGenerator orderIds = new SnowflakeIdGenerator(1, ShardBuckets.BUCKET_BITS, 7, 8);
+    private final SnowflakeIdGenerator defaultLayout = new SnowflakeIdGenerator(1);
+
+    @Benchmark
+    public long orderIdSingleThread() {
+        return orderIds.nextId(ThreadLocalRandom.current().nextInt(ShardBuckets.BUCKET_COUNT));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long orderIdFourThreads() {
+        return orderIds.nextId(ThreadLocalRandom.current().nextInt(ShardBuckets.BUCKET_COUNT));
+    }
+
+    @Benchmark
+    public long defaultLayoutSingleThread() {
+        return defaultLayout.nextId();
+    }
+}
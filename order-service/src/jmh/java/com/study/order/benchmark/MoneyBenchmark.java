@@ -0,0 +1,140 @@
+package com.study.order.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.study.order.domain.Money;
+import com.study.order.domain.Order;
+import com.study.order.domain.OrderItem;
+import com.study.order.domain.OrderStatus;
+import com.study.order.dto.OrderDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 금액 연산: Money(long 최소 단위) vs BigDecimal (ops/sec)
+ *
+ * 학습 포인트:
+ * - 총액 계산: Money는 long 곱셈/덧셈만 하고 마지막에 Money 1개 생성, BigDecimal은 항목마다 곱/합 결과 객체 생성
+ * - 응답 변환: 항목마다 소계(단가 × 수량) 계산 → Money는 객체 1개, BigDecimal은 BigDecimal.valueOf(수량) + 곱 결과
+ * - JSON 직렬화: Money는 @JsonValue로 BigDecimal을 만들어 쓰므로 이 단계에서는 이득이 줄어듦
+ * - 비교 기준은 Money 도입 전 방식 (엔티티에 BigDecimal 단가, 응답 DTO에 BigDecimal 단가/소계)
+ * - 객체 할당량까지 보려면 GC 프로파일러: -PjmhProfilers=gc (gc.alloc.rate.norm = 연산당 할당 바이트)
+ *
+ * 실행: ./gradlew :order-service:jmh -PjmhIncludes=MoneyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"3", "50"})
+    private int itemCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private Order order;
+    private BigDecimalOrder bigDecimalOrder;
+
+    /**
+     * Money 도입 전 형태 (단가 BigDecimal, 응답 소계 BigDecimal)
+     */
+    record BigDecimalItem(Long id, Long productId, String productName, Integer quantity, BigDecimal price) {
+    }
+
+    record BigDecimalOrder(Long id, Long userId, OrderStatus status, List<BigDecimalItem> items,
+                                   LocalDateTime createdAt) {
+    }
+
+    record BigDecimalItemResponse(Long id, Long productId, String productName, Integer quantity,
+                                          BigDecimal price, BigDecimal subtotal) {
+    }
+
+    record BigDecimalResponse(Long id, Long userId, OrderStatus status, BigDecimal totalAmount,
+                                      List<BigDecimalItemResponse> items, LocalDateTime createdAt) {
+    }
+
+    @Setup
+    public void setUp() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        order = Order.builder().id(1L).userId(7L).status(OrderStatus.PENDING).createdAt(createdAt).build();
+        List<BigDecimalItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            long priceMinor = 1_000L + i * 1_237L;  // 10.00, 22.37, 34.74, ...
+            int quantity = 1 + i % 4;
+            order.addOrderItem(OrderItem.builder()
+                    .id((long) i).productId((long) i).productName("상품" + i)
+                    .quantity(quantity).price(Money.ofMinor(priceMinor)).build());
+            items.add(new BigDecimalItem((long) i, (long) i, "상품" + i, quantity,
+                    BigDecimal.valueOf(priceMinor, Money.SCALE)));
+        }
+        order.calculateTotalAmount();
+        bigDecimalOrder = new BigDecimalOrder(1L, 7L, OrderStatus.PENDING, items, createdAt);
+    }
+
+    @Benchmark
+    public Money totalMoney() {
+        order.calculateTotalAmount();
+        return order.getTotalAmount();
+    }
+
+    @Benchmark
+    public BigDecimal totalBigDecimal() {
+        return bigDecimalTotal(bigDecimalOrder.items());
+    }
+
+    @Benchmark
+    public OrderDto.Response responseMoney() {
+        return OrderDto.Response.from(order);
+    }
+
+    @Benchmark
+    public BigDecimalResponse responseBigDecimal() {
+        return bigDecimalResponse(bigDecimalOrder);
+    }
+
+    @Benchmark
+    public String jsonMoney() throws Exception {
+        return objectMapper.writeValueAsString(OrderDto.Response.from(order));
+    }
+
+    @Benchmark
+    public String jsonBigDecimal() throws Exception {
+        return objectMapper.writeValueAsString(bigDecimalResponse(bigDecimalOrder));
+    }
+
+    private static BigDecimal bigDecimalTotal(List<BigDecimalItem> items) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimalItem item : items) {
+            total = total.add(item.price().multiply(BigDecimal.valueOf(item.quantity())));
+        }
+        return total;
+    }
+
+    private static BigDecimalResponse bigDecimalResponse(BigDecimalOrder order) {
+        List<BigDecimalItemResponse> items = new ArrayList<>(order.items().size());
+        for (BigDecimalItem item : order.items()) {
+            items.add(new BigDecimalItemResponse(item.id(), item.productId(), item.productName(), item.quantity(),
+                    item.price(), item.price().multiply(BigDecimal.valueOf(item.quantity()))));
+        }
+        return new BigDecimalResponse(order.id(), order.userId(), order.status(), bigDecimalTotal(order.items()),
+                items, order.createdAt());
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Order Service - 주문 관리 서비스
@@ -18,10 +19,12 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
  *    - Producer/Consumer 패턴
  *    - Event-Driven Architecture
  *    - 비동기 처리
+ *    - Transactional Outbox 패턴
  * 3. 분산 시스템에서의 트랜잭션 처리
  * 4. 서비스 간 통신 (Inter-Service Communication)
  */
 @EnableCaching
+@EnableScheduling
 @EnableJpaAuditing
 @EnableDiscoveryClient
 @SpringBootApplication(scanBasePackages = {"com.study.order", "com.study.common"})
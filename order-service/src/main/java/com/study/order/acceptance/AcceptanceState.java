@@ -0,0 +1,11 @@
+package com.study.order.acceptance;
+
+/**
+ * 비동기 주문 접수 상태
+ */
+public enum AcceptanceState {
+    QUEUED,      // WAL에 기록됨, DB 저장 대기 중
+    PERSISTED,   // DB 저장 + 이벤트(outbox) 저장 완료
+    FAILED,      // 저장 실패 (재시도해도 성공할 수 없는 오류)
+    REJECTED     // 대기열이 가득 차 접수 거절 (WAL에 기록되지 않음)
+}
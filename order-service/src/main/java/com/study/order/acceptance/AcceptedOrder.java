@@ -0,0 +1,81 @@
+package com.study.order.acceptance;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.study.order.dto.OrderDto;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 접수된 주문 (WAL 레코드 내용 + 링 버퍼 원소)
+ * - sequence는 WAL 레코드 헤더에 있으므로 직렬화하지 않음
+ * - recovered: 이미 저장되었을 수 있는 주문 (재시작 후 WAL에서 읽었거나 배치를 재시도) → 저장 전 존재 여부 확인
+ * - 처리 권한: 접수 스레드의 fsync 실패(abandon)와 writer의 저장 시작(claim) 중 먼저 한 쪽만 성공
+ */
+@Getter
+@NoArgsConstructor
+public class AcceptedOrder {
+
+    private static final int PENDING = 0;
+    private static final int CLAIMED = 1;
+    private static final int ABANDONED = 2;
+
+    private Long orderId;
+    private long acceptedAt;
+    private OrderDto.CreateRequest request;
+    private String idempotencyKey;
+
+    @JsonIgnore
+    private long sequence;
+
+    @JsonIgnore
+    private boolean recovered;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger ownership = new AtomicInteger(PENDING);
+
+    AcceptedOrder(Long orderId, long acceptedAt, OrderDto.CreateRequest request, String idempotencyKey) {
+        this.orderId = orderId;
+        this.acceptedAt = acceptedAt;
+        this.request = request;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    void assignSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    void markRecovered(long sequence) {
+        this.sequence = sequence;
+        this.recovered = true;
+    }
+
+    void markRetried() {
+        this.recovered = true;
+    }
+
+    /**
+     * writer가 저장을 시작 (이미 가져간 주문이면 true)
+     *
+     * @return false면 접수 스레드가 포기한 주문 (클라이언트는 오류 응답을 받음)
+     */
+    boolean claim() {
+        return ownership.compareAndSet(PENDING, CLAIMED) || ownership.get() == CLAIMED;
+    }
+
+    /**
+     * 접수 스레드가 fsync 실패로 접수를 포기
+     *
+     * @return false면 writer가 이미 가져감 (writer의 fsync로 내구화된 뒤이므로 접수 성공으로 응답)
+     */
+    boolean abandon() {
+        return ownership.compareAndSet(PENDING, ABANDONED);
+    }
+
+    boolean isAbandoned() {
+        return ownership.get() == ABANDONED;
+    }
+}
@@ -0,0 +1,68 @@
+package com.study.order.acceptance;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 고정 크기 링 버퍼 (생산자 1 : 소비자 1)
+ *
+ * 학습 포인트:
+ * 1. 크기를 2의 거듭제곱으로 맞춰 "순번 & mask"로 슬롯 계산 → 나머지 연산 없음
+ * 2. 생산자는 tail만, 소비자는 head만 증가 → 잠금 없이 서로의 진행 위치만 읽음
+ *    (AtomicLong의 volatile 쓰기/읽기가 슬롯 값의 가시성을 보장)
+ * 3. 가득 차면 offer가 즉시 false → 호출자가 기다리지 않고 거절(백프레셔)
+ *
+ * 생산자가 여러 스레드라면 호출자가 offer를 직렬화해야 함 (OrderAcceptanceService는 WAL 추가와 같은 잠금 안에서 호출)
+ */
+public class BoundedRingBuffer<T> {
+
+    private final Object[] slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    public BoundedRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("링 버퍼 크기는 2 이상의 2의 거듭제곱이어야 합니다: " + capacity);
+        }
+        this.slots = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public boolean offer(T value) {
+        long t = tail.get();
+        if (t - head.get() == slots.length) {
+            return false;
+        }
+        slots[(int) (t & mask)] = value;
+        tail.set(t + 1);
+        return true;
+    }
+
+    /**
+     * 최대 maxElements개를 꺼내 target에 추가
+     *
+     * @return 꺼낸 개수
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(List<? super T> target, int maxElements) {
+        long h = head.get();
+        int count = (int) Math.min(tail.get() - h, maxElements);
+        for (int i = 0; i < count; i++) {
+            int index = (int) ((h + i) & mask);
+            target.add((T) slots[index]);
+            slots[index] = null;
+        }
+        head.set(h + count);
+        return count;
+    }
+
+    public int size() {
+        long h = head.get();
+        return (int) Math.min(tail.get() - h, slots.length);
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,556 @@
+package com.study.order.acceptance;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.study.common.id.SnowflakeIdGenerator;
+import com.study.order.domain.AcceptanceFailure;
+import com.study.order.domain.Order;
+import com.study.order.dto.OrderDto;
+import com.study.order.event.OrderEventPublisher;
+import com.study.order.repository.AcceptanceFailureRepository;
+import com.study.order.repository.OrderRepository;
+import com.study.order.service.OrderService;
+import com.study.order.sharding.ShardBuckets;
+import com.study.order.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 비동기 주문 접수 (POST /orders → 202 Accepted)
+ *
+ * 학습 포인트:
+ * 1. 요청 스레드는 검증 → ID 발급 → WAL 기록 + 링 버퍼 추가 → fsync 대기까지만 처리하고 바로 응답
+ *    → 응답 시간은 DB 트랜잭션이 아니라 로컬 디스크 fsync 1회(그룹 커밋으로 여러 요청이 공유)에 좌우됨
+ *    → fsync가 실패하면 주문을 포기(abandon)로 표시해 writer가 저장하지 않음 (writer가 먼저 가져갔다면 이미 내구화된 것)
+ * 2. 단일 writer 스레드가 링 버퍼에서 최대 batch-size개를 꺼내 샤드별 트랜잭션 1개로 저장 (group commit)
+ *    → 주문/항목/outbox 이벤트 모두 JDBC 배치 INSERT, 커밋 횟수 = 요청 수가 아니라 배치 수
+ * 3. 백프레셔: 링 버퍼가 가득 차면 WAL에 쓰지 않고 즉시 거절(503 + Retry-After) → 대기열이 무한히 늘지 않음
+ * 4. 내구성: 202 응답 = WAL fsync 완료. 프로세스가 죽어도 재시작 시 WAL에서 미저장 주문을 다시 저장
+ *    → 이미 저장된 주문(저장 후 WAL 정리 전 장애)은 ID로 확인해 건너뜀 (ID를 접수 시 발급하므로 멱등)
+ *    → 배치 처리 중 예상하지 못한 오류가 나면 같은 배치를 backoff 후 재시도 (WAL을 정리하지 않으므로 접수 주문 유실 없음)
+ *    → 재시도해도 성공할 수 없는 주문은 Dead Letter 테이블(order_acceptance_failure)에 기록한 뒤에 WAL에서 정리
+ * 5. 멱등 키(Idempotency-Key): 같은 사용자의 같은 키는 status-ttl 동안 처음 접수한 주문 ID를 돌려줌 (WAL에 함께 기록해 재시작 후에도 유지)
+ *    → fsync 실패(500) 후 같은 키로 재시도해도 주문이 두 번 만들어지지 않음
+ *
+ * 주의: WAL은 인스턴스 로컬 디스크 → 인스턴스를 재시작하지 않고 폐기하면 미저장 주문이 유실될 수 있음
+ */
+@Slf4j
+@Component
+public class OrderAcceptanceService implements DisposableBean {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final String CREATED_EVENT = "ORDER_CREATED";
+
+    private final SnowflakeIdGenerator orderIdGenerator;
+    private final ShardRouter shardRouter;
+    private final OrderRepository orderRepository;
+    private final AcceptanceFailureRepository failureRepository;
+    private final OrderEventPublisher orderEventPublisher;
+    private final OrderService orderService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final Path walDirectory;
+    private final long walSegmentBytes;
+    private final boolean fsync;
+    private final Duration retryDelay;
+    private final Duration maxRetryDelay;
+    private final Duration statusTtl;
+    private final Duration shutdownTimeout;
+
+    private final BoundedRingBuffer<AcceptedOrder> ring;
+    private final ReentrantLock producerLock = new ReentrantLock();
+    private final Cache<Long, AcceptanceState> states;
+    private final Cache<String, AcceptedOrder> idempotencyKeys;
+
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter persistedCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary batchSizeSummary;
+
+    private volatile WriteAheadLog wal;
+    private volatile Thread writer;
+    private volatile boolean running;
+    private volatile boolean ready;
+    private volatile boolean writerIdle;
+
+    public OrderAcceptanceService(SnowflakeIdGenerator orderIdGenerator,
+                                  ShardRouter shardRouter,
+                                  OrderRepository orderRepository,
+                                  AcceptanceFailureRepository failureRepository,
+                                  OrderEventPublisher orderEventPublisher,
+                                  OrderService orderService,
+                                  EntityManager entityManager,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${order.acceptance.enabled:false}") boolean enabled,
+                                  @Value("${order.acceptance.ring-size:8192}") int ringSize,
+                                  @Value("${order.acceptance.batch-size:500}") int batchSize,
+                                  @Value("${order.acceptance.wal-dir:./data/order-acceptance-wal}") String walDirectory,
+                                  @Value("${order.acceptance.wal-segment-size:64MB}") DataSize walSegmentSize,
+                                  @Value("${order.acceptance.fsync:true}") boolean fsync,
+                                  @Value("${order.acceptance.retry-delay:1s}") Duration retryDelay,
+                                  @Value("${order.acceptance.max-retry-delay:30s}") Duration maxRetryDelay,
+                                  @Value("${order.acceptance.status-ttl:10m}") Duration statusTtl,
+                                  @Value("${order.acceptance.status-maximum-size:100000}") long statusMaximumSize,
+                                  @Value("${order.acceptance.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.orderIdGenerator = orderIdGenerator;
+        this.shardRouter = shardRouter;
+        this.orderRepository = orderRepository;
+        this.failureRepository = failureRepository;
+        this.orderEventPublisher = orderEventPublisher;
+        this.orderService = orderService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.walDirectory = Path.of(walDirectory);
+        this.walSegmentBytes = walSegmentSize.toBytes();
+        this.fsync = fsync;
+        this.retryDelay = retryDelay;
+        this.maxRetryDelay = maxRetryDelay;
+        this.statusTtl = statusTtl;
+        this.shutdownTimeout = shutdownTimeout;
+
+        this.ring = new BoundedRingBuffer<>(enabled ? ringSize : 2);
+        this.states = Caffeine.newBuilder()
+                .maximumSize(statusMaximumSize)
+                .expireAfterWrite(statusTtl)
+                .build();
+        this.idempotencyKeys = Caffeine.newBuilder()
+                .maximumSize(statusMaximumSize)
+                .expireAfterWrite(statusTtl)
+                .build();
+
+        Gauge.builder("order.acceptance.queue.size", ring, BoundedRingBuffer::size)
+                .description("저장 대기 중인 접수 주문 수")
+                .register(meterRegistry);
+        this.acceptedCounter = Counter.builder("order.acceptance.accepted")
+                .description("접수(WAL 기록)된 주문 수")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("order.acceptance.rejected")
+                .description("대기열이 가득 차 거절된 주문 수")
+                .register(meterRegistry);
+        this.persistedCounter = Counter.builder("order.acceptance.persisted")
+                .description("DB 저장이 완료된 접수 주문 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("order.acceptance.failed")
+                .description("DB 저장에 실패한 접수 주문 수")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("order.acceptance.batch.size")
+                .description("writer 1회당 저장한 주문 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 주문 접수 - WAL fsync 후 반환 (DB 저장은 writer 스레드가 처리)
+     * - 대기열이 가득 찼거나 시작 중이면 REJECTED (WAL에 기록하지 않음)
+     * - 같은 멱등 키로 이미 접수된 주문이 있으면 새로 접수하지 않고 그 주문의 상태를 반환
+     *
+     * @param idempotencyKey 클라이언트가 보낸 멱등 키 (없으면 null)
+     */
+    public OrderDto.AcceptanceStatus accept(OrderDto.CreateRequest request, String idempotencyKey) {
+        if (!ready) {
+            rejectedCounter.increment();
+            return status(null, AcceptanceState.REJECTED, "주문 접수를 준비 중입니다. 잠시 후 다시 시도해주세요");
+        }
+        String key = idempotencyKey == null || idempotencyKey.isBlank() ? null : keyOf(request.getUserId(), idempotencyKey);
+        long orderId = orderIdGenerator.nextId(ShardBuckets.of(request.getUserId()));
+        AcceptedOrder accepted = new AcceptedOrder(orderId, System.currentTimeMillis(), request, idempotencyKey);
+        byte[] payload = serialize(accepted);
+
+        long sequence;
+        producerLock.lock();
+        try {
+            AcceptedOrder previous = key != null ? idempotencyKeys.getIfPresent(key) : null;
+            if (previous != null && !previous.isAbandoned()) {
+                AcceptanceState state = states.getIfPresent(previous.getOrderId());
+                return status(previous.getOrderId(), state != null ? state : AcceptanceState.QUEUED, "이미 접수된 주문입니다");
+            }
+            if (ring.size() == ring.capacity()) {
+                rejectedCounter.increment();
+                return status(null, AcceptanceState.REJECTED, "주문 접수 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요");
+            }
+            sequence = wal.append(payload);
+            accepted.assignSequence(sequence);
+            states.put(orderId, AcceptanceState.QUEUED);
+            if (key != null) {
+                idempotencyKeys.put(key, accepted);
+            }
+            ring.offer(accepted);  // 소비자는 크기를 줄이기만 하므로 위의 확인 이후 실패하지 않음
+        } finally {
+            producerLock.unlock();
+        }
+        if (writerIdle) {
+            LockSupport.unpark(writer);
+        }
+
+        try {
+            wal.sync(sequence);
+        } catch (RuntimeException e) {
+            if (accepted.abandon()) {
+                // 응답은 오류 → writer는 이 주문을 저장하지 않음 (같은 멱등 키로 재시도하면 새로 접수)
+                states.invalidate(orderId);
+                throw e;
+            }
+            log.warn("주문 접수 fsync 실패, writer가 이미 내구화 후 가져감: orderId={}", orderId, e);
+        }
+        acceptedCounter.increment();
+        log.info("주문 접수: orderId={}, userId={}, sequence={}", orderId, request.getUserId(), sequence);
+        return status(orderId, AcceptanceState.QUEUED, "주문이 접수되었습니다");
+    }
+
+    /**
+     * 접수 상태 조회 - 최근 접수 주문은 메모리 상태, 그 밖의 주문은 Dead Letter → 주문 순으로 DB 조회
+     */
+    public OrderDto.AcceptanceStatus getStatus(Long orderId) {
+        AcceptanceState state = states.getIfPresent(orderId);
+        if (state != null) {
+            return status(orderId, state, null);
+        }
+        Optional<AcceptanceFailure> failure = shardRouter.read(shardRouter.shardOfOrder(orderId),
+                () -> failureRepository.findById(orderId));
+        if (failure.isPresent()) {
+            return status(orderId, AcceptanceState.FAILED, failure.get().getReason());
+        }
+        orderService.getOrder(orderId);  // 없으면 ORDER_NOT_FOUND
+        return status(orderId, AcceptanceState.PERSISTED, null);
+    }
+
+    /**
+     * 시작: WAL 복구 → writer 시작 → 복구한 주문을 대기열에 다시 넣은 뒤 접수 허용
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        List<AcceptedOrder> recovered = new ArrayList<>();
+        try {
+            wal = WriteAheadLog.open(walDirectory, walSegmentBytes, fsync, (sequence, payload) -> {
+                AcceptedOrder order = deserialize(sequence, payload);
+                if (order != null) {
+                    order.markRecovered(sequence);
+                    recovered.add(order);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("주문 접수 WAL을 열 수 없습니다: " + walDirectory, e);
+        }
+
+        running = true;
+        writer = new Thread(this::runWriter, "order-acceptance-writer");
+        writer.start();
+
+        for (AcceptedOrder order : withoutAbandonedRetries(recovered)) {
+            states.put(order.getOrderId(), AcceptanceState.QUEUED);
+            if (order.getIdempotencyKey() != null) {
+                idempotencyKeys.put(keyOf(order.getRequest().getUserId(), order.getIdempotencyKey()), order);
+            }
+            while (!offerRecovered(order)) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        ready = true;
+        log.info("주문 비동기 접수 시작: ringSize={}, batchSize={}, recovered={}, fsync={}",
+                ring.capacity(), batchSize, recovered.size(), fsync);
+    }
+
+    /**
+     * 종료: 접수 중단 → 대기열을 모두 저장할 때까지 대기(shutdown-timeout) → WAL 닫기
+     * - 시간 안에 저장하지 못한 주문은 WAL에 남아 다음 시작 시 저장
+     */
+    @Override
+    public void destroy() throws Exception {
+        if (!enabled || writer == null) {
+            return;
+        }
+        ready = false;
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(shutdownTimeout.toMillis());
+        if (writer.isAlive()) {
+            log.warn("주문 접수 writer 종료 대기 시간 초과 - 남은 주문은 다음 시작 시 WAL에서 복구: queued={}", ring.size());
+            writer.interrupt();
+        }
+        wal.close();
+    }
+
+    private boolean offerRecovered(AcceptedOrder order) {
+        producerLock.lock();
+        try {
+            return ring.offer(order);
+        } finally {
+            producerLock.unlock();
+        }
+    }
+
+    /**
+     * writer 루프 - 대기열이 비면 잠시 대기, 종료 요청 후에도 남은 주문을 모두 저장하고 끝냄
+     * - 예상하지 못한 오류는 같은 배치를 backoff(retry-delay부터 2배씩, 최대 max-retry-delay) 후 재시도
+     *   → 배치를 버리면 다음 배치의 markProcessed가 이 주문들이 든 WAL 세그먼트까지 지우므로 버리지 않음
+     */
+    private void runWriter() {
+        List<AcceptedOrder> batch = new ArrayList<>(batchSize);
+        int failures = 0;
+        while (running || ring.size() > 0 || !batch.isEmpty()) {
+            if (batch.isEmpty() && ring.drainTo(batch, batchSize) == 0) {
+                writerIdle = true;
+                if (ring.size() == 0 && running) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                writerIdle = false;
+                continue;
+            }
+            try {
+                if (!persistBatch(batch)) {
+                    return;
+                }
+                batch.clear();
+                failures = 0;
+            } catch (RuntimeException e) {
+                failures++;
+                if (!running) {
+                    log.error("주문 접수 배치 처리 실패, 종료 중이므로 중단 - 다음 시작 시 WAL에서 복구: size={}", batch.size(), e);
+                    return;
+                }
+                Duration backoff = backoff(failures);
+                log.error("주문 접수 배치 처리 중 예상하지 못한 오류, {} 후 재시도: size={}, attempt={}",
+                        backoff, batch.size(), failures, e);
+                batch.forEach(AcceptedOrder::markRetried);  // 일부 샤드는 이미 저장되었을 수 있음
+                LockSupport.parkNanos(backoff.toNanos());
+            }
+        }
+    }
+
+    private Duration backoff(int failures) {
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(failures - 1, 16));
+        return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+    }
+
+    /**
+     * 배치 저장 - 샤드별 트랜잭션 1개, 모두 저장(또는 실패 확정)되면 WAL 정리
+     *
+     * @return false면 종료 중 일시적 오류로 중단 (WAL에 남겨 다음 시작 시 복구)
+     */
+    private boolean persistBatch(List<AcceptedOrder> batch) {
+        long lastSequence = batch.get(batch.size() - 1).getSequence();
+        wal.sync(lastSequence);  // DB보다 WAL이 먼저 내구화되어 있어야 함 (fsync 전에 꺼낸 주문이 있을 수 있음)
+        batch.removeIf(order -> !order.claim());  // 접수 스레드가 fsync 실패로 포기한 주문 (클라이언트는 오류 응답)
+        if (batch.isEmpty()) {
+            wal.markProcessed(lastSequence);
+            return true;
+        }
+        batchSizeSummary.record(batch.size());
+
+        Map<Integer, List<AcceptedOrder>> byShard =
+                shardRouter.groupByShard(batch, order -> shardRouter.shardOfUser(order.getRequest().getUserId()));
+        for (Map.Entry<Integer, List<AcceptedOrder>> entry : byShard.entrySet()) {
+            if (!persistShard(entry.getKey(), entry.getValue())) {
+                return false;
+            }
+        }
+        wal.markProcessed(lastSequence);
+        return true;
+    }
+
+    /**
+     * 샤드 1곳의 주문 저장 - 배치 트랜잭션이 실패하면 한 건씩 다시 시도해 실패 원인을 해당 주문으로 한정
+     * - 일시적 오류(DB 연결/타임아웃)는 성공할 때까지 retry-delay 간격으로 재시도 (그동안 대기열이 차면 접수 거절)
+     */
+    private boolean persistShard(int shard, List<AcceptedOrder> orders) {
+        try {
+            shardRouter.write(shard, () -> save(orders));
+            orders.forEach(order -> complete(order, AcceptanceState.PERSISTED));
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("주문 접수 배치 저장 실패, 한 건씩 재시도: shard={}, size={}",
+                    shardRouter.shardName(shard), orders.size(), e);
+        }
+        for (AcceptedOrder order : orders) {
+            while (!persistOne(shard, order)) {
+                if (!running) {
+                    return false;
+                }
+                LockSupport.parkNanos(retryDelay.toNanos());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return false면 일시적 오류 (재시도 필요)
+     */
+    private boolean persistOne(int shard, AcceptedOrder order) {
+        try {
+            shardRouter.write(shard, () -> save(List.of(order)));
+            complete(order, AcceptanceState.PERSISTED);
+            return true;
+        } catch (TransientDataAccessException | RecoverableDataAccessException | TransactionException e) {
+            log.warn("주문 접수 저장 일시 실패, {} 후 재시도: orderId={}", retryDelay, order.getOrderId(), e);
+            return false;
+        } catch (RuntimeException e) {
+            log.error("주문 접수 저장 실패: orderId={}, userId={}", order.getOrderId(), order.getRequest().getUserId(), e);
+            return deadLetter(shard, order, e);
+        }
+    }
+
+    /**
+     * 저장할 수 없는 주문을 Dead Letter 테이블에 기록 - 기록까지 끝나야 WAL에서 정리될 수 있음
+     *
+     * @return false면 기록 실패 (재시도 필요)
+     */
+    private boolean deadLetter(int shard, AcceptedOrder order, RuntimeException cause) {
+        String reason = String.valueOf(cause.getMessage());
+        AcceptanceFailure failure = AcceptanceFailure.builder()
+                .orderId(order.getOrderId())
+                .userId(order.getRequest().getUserId())
+                .payload(new String(serialize(order), StandardCharsets.UTF_8))
+                .reason(reason.length() > 1000 ? reason.substring(0, 1000) : reason)
+                .acceptedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(order.getAcceptedAt()), ZoneId.systemDefault()))
+                .failedAt(LocalDateTime.now())
+                .build();
+        try {
+            shardRouter.write(shard, () -> failureRepository.save(failure));
+        } catch (RuntimeException e) {
+            log.warn("주문 접수 실패 기록 실패, {} 후 재시도: orderId={}", retryDelay, order.getOrderId(), e);
+            return false;
+        }
+        complete(order, AcceptanceState.FAILED);
+        return true;
+    }
+
+    /**
+     * 샤드 트랜잭션 안에서 호출 - 주문/항목/outbox 이벤트 배치 INSERT
+     * - WAL에서 복구한 주문은 이미 저장되었는지 먼저 확인
+     */
+    private Void save(List<AcceptedOrder> orders) {
+        Set<Long> existing = new HashSet<>();
+        List<Long> recoveredIds = orders.stream()
+                .filter(AcceptedOrder::isRecovered)
+                .map(AcceptedOrder::getOrderId)
+                .toList();
+        if (!recoveredIds.isEmpty()) {
+            existing.addAll(orderRepository.findExistingIds(recoveredIds));
+        }
+
+        List<Order> entities = new ArrayList<>(orders.size());
+        for (AcceptedOrder order : orders) {
+            if (!existing.contains(order.getOrderId())) {
+                entities.add(order.getRequest().toEntity(order.getOrderId()));
+            }
+        }
+        if (!entities.isEmpty()) {
+            orderRepository.saveAll(entities);
+            orderEventPublisher.publishAll(CREATED_EVENT, entities);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return null;
+    }
+
+    private void complete(AcceptedOrder order, AcceptanceState state) {
+        states.put(order.getOrderId(), state);
+        if (state == AcceptanceState.PERSISTED) {
+            persistedCounter.increment();
+        } else {
+            failedCounter.increment();
+        }
+    }
+
+    /**
+     * 복구한 주문 중 같은 멱등 키로 status-ttl 안에 다시 접수된 이전 주문 제외
+     * - TTL 안에서 같은 키로 새 레코드가 생기는 경우는 이전 접수가 fsync 실패로 포기(오류 응답)된 경우뿐
+     */
+    private List<AcceptedOrder> withoutAbandonedRetries(List<AcceptedOrder> recovered) {
+        Map<String, AcceptedOrder> latest = new HashMap<>();
+        for (AcceptedOrder order : recovered) {
+            if (order.getIdempotencyKey() != null) {
+                latest.put(keyOf(order.getRequest().getUserId(), order.getIdempotencyKey()), order);
+            }
+        }
+        List<AcceptedOrder> orders = new ArrayList<>(recovered.size());
+        for (AcceptedOrder order : recovered) {
+            AcceptedOrder retried = order.getIdempotencyKey() != null
+                    ? latest.get(keyOf(order.getRequest().getUserId(), order.getIdempotencyKey()))
+                    : order;
+            if (retried != order && retried.getAcceptedAt() - order.getAcceptedAt() < statusTtl.toMillis()) {
+                log.info("주문 접수 WAL 복구: 멱등 키로 다시 접수된 이전 주문 제외: orderId={}", order.getOrderId());
+                continue;
+            }
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    private static String keyOf(Long userId, String idempotencyKey) {
+        return userId + ":" + idempotencyKey;
+    }
+
+    private byte[] serialize(AcceptedOrder order) {
+        try {
+            return objectMapper.writeValueAsBytes(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("접수 주문 직렬화 실패: orderId=" + order.getOrderId(), e);
+        }
+    }
+
+    private AcceptedOrder deserialize(long sequence, byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, AcceptedOrder.class);
+        } catch (IOException e) {
+            log.error("주문 접수 WAL 레코드를 읽을 수 없어 건너뜀: sequence={}", sequence, e);
+            return null;
+        }
+    }
+
+    private OrderDto.AcceptanceStatus status(Long orderId, AcceptanceState state, String message) {
+        return OrderDto.AcceptanceStatus.builder()
+                .orderId(orderId)
+                .state(state)
+                .statusUrl(orderId != null ? "/orders/" + orderId + "/acceptance" : null)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,297 @@
+package com.study.order.acceptance;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 로컬 Write-Ahead Log (추가 전용 세그먼트 파일)
+ *
+ * 학습 포인트:
+ * 1. 레코드 = [길이 4 | CRC32C 4 | 순번 8 | 내용] → 재시작 시 CRC가 맞지 않는 꼬리(쓰다 만 레코드)에서 읽기 중단
+ * 2. 그룹 커밋: fsync가 필요한 스레드 중 하나(leader)만 force()를 호출하고, 그동안 추가된 레코드까지 한 번에 내구화
+ *    → 기다리던 다른 스레드는 잠금을 얻었을 때 이미 자기 순번이 내구화되어 있으면 바로 반환
+ *    → 요청 수가 늘어도 fsync 횟수는 "fsync 1회 시간당 1번" 수준으로 유지
+ * 3. 세그먼트 단위 삭제: DB 저장이 끝난 순번까지만 들어 있는 세그먼트는 통째로 삭제 (파일 중간을 지우지 않음)
+ *
+ * 같은 디렉터리를 두 프로세스가 동시에 쓰면 안 됨 (인스턴스마다 별도 디렉터리)
+ */
+@Slf4j
+public class WriteAheadLog implements Closeable {
+
+    private static final String FILE_PREFIX = "acceptance-";
+    private static final String FILE_SUFFIX = ".wal";
+    private static final int HEADER_BYTES = 4 + 4 + 8;
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    /**
+     * 닫힌 세그먼트 (오래된 순) - appendLock으로 보호
+     */
+    private final Deque<Segment> sealed = new ArrayDeque<>();
+    private Segment active;
+    private long nextSequence;
+
+    private volatile long durableSequence;
+
+    private WriteAheadLog(Path directory, long segmentBytes, boolean fsync) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+    }
+
+    /**
+     * 디렉터리의 기존 세그먼트를 읽어 남아 있는 레코드를 순서대로 전달한 뒤 새 활성 세그먼트를 연다
+     * - 전달된 레코드는 아직 DB 저장이 확인되지 않은 것으로 취급 (markProcessed 전까지 파일 유지)
+     *
+     * @param recovered (순번, 내용) 콜백
+     */
+    public static WriteAheadLog open(Path directory, long segmentBytes, boolean fsync,
+                                     BiConsumer<Long, byte[]> recovered) throws IOException {
+        Files.createDirectories(directory);
+        WriteAheadLog wal = new WriteAheadLog(directory, segmentBytes, fsync);
+
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().startsWith(FILE_PREFIX)
+                            && path.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        long lastSequence = 0;
+        long lastIndex = 0;
+        for (Path file : files) {
+            long index = indexOf(file);
+            lastIndex = Math.max(lastIndex, index);
+            long segmentLast = replay(file, recovered);
+            if (segmentLast == 0) {
+                Files.delete(file);
+                continue;
+            }
+            lastSequence = Math.max(lastSequence, segmentLast);
+            wal.sealed.add(new Segment(file, index, null, segmentLast));
+        }
+
+        wal.nextSequence = lastSequence + 1;
+        wal.durableSequence = lastSequence;
+        wal.active = wal.openSegment(lastIndex + 1);
+        log.info("주문 접수 WAL 열기: dir={}, recoveredSegments={}, nextSequence={}",
+                directory, wal.sealed.size(), wal.nextSequence);
+        return wal;
+    }
+
+    /**
+     * 레코드 추가 (OS 페이지 캐시까지 기록, 내구화는 sync)
+     *
+     * @return 레코드 순번
+     */
+    public long append(byte[] payload) {
+        appendLock.lock();
+        try {
+            long sequence = nextSequence;
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+            buffer.putInt(8 + payload.length);
+            buffer.putInt(checksum(sequence, payload));
+            buffer.putLong(sequence);
+            buffer.put(payload);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                active.channel.write(buffer);
+            }
+            nextSequence++;
+            active.lastSequence = sequence;
+            if (!fsync) {
+                rotateIfFull();
+            }
+            return sequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 기록 실패", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * sequence까지 디스크에 내구화될 때까지 대기 (그룹 커밋)
+     * - fsync=false면 페이지 캐시 기록으로 충분하다고 보고 바로 반환 (프로세스 장애에는 안전, 전원 장애에는 유실 가능)
+     */
+    public void sync(long sequence) {
+        if (!fsync || durableSequence >= sequence) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durableSequence >= sequence) {
+                return;
+            }
+            FileChannel channel;
+            long target;
+            appendLock.lock();
+            try {
+                channel = active.channel;
+                target = nextSequence - 1;
+            } finally {
+                appendLock.unlock();
+            }
+            channel.force(false);
+            durableSequence = target;
+
+            appendLock.lock();
+            try {
+                rotateIfFull();
+            } finally {
+                appendLock.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL fsync 실패", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * sequence까지 DB 저장이 끝남 → 그 이하 순번만 들어 있는 닫힌 세그먼트 삭제
+     */
+    public void markProcessed(long sequence) {
+        appendLock.lock();
+        try {
+            while (!sealed.isEmpty() && sealed.peekFirst().lastSequence <= sequence) {
+                Segment segment = sealed.pollFirst();
+                Files.deleteIfExists(segment.path);
+                log.debug("주문 접수 WAL 세그먼트 삭제: {}", segment.path.getFileName());
+            }
+        } catch (IOException e) {
+            log.warn("주문 접수 WAL 세그먼트 삭제 실패 - 다음 처리 시 재시도", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            active.channel.force(false);
+            active.channel.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * appendLock 안에서 호출 - 활성 세그먼트가 크기 한도를 넘으면 내구화 후 닫고 새 세그먼트로 교체
+     */
+    private void rotateIfFull() throws IOException {
+        if (active.channel.size() < segmentBytes) {
+            return;
+        }
+        active.channel.force(false);
+        durableSequence = Math.max(durableSequence, active.lastSequence);
+        active.channel.close();
+        sealed.addLast(new Segment(active.path, active.index, null, active.lastSequence));
+        active = openSegment(active.index + 1);
+    }
+
+    private Segment openSegment(long index) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", FILE_PREFIX, index, FILE_SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new Segment(path, index, channel, 0);
+    }
+
+    /**
+     * 세그먼트의 온전한 레코드를 순서대로 전달
+     *
+     * @return 마지막 온전한 레코드의 순번 (없으면 0)
+     */
+    private static long replay(Path file, BiConsumer<Long, byte[]> recovered) throws IOException {
+        long last = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (true) {
+                header.clear();
+                if (!readFully(channel, header)) {
+                    break;
+                }
+                header.flip();
+                int length = header.getInt();
+                int crc = header.getInt();
+                long sequence = header.getLong();
+                if (length < 8 || length > MAX_RECORD_BYTES) {
+                    log.warn("주문 접수 WAL 손상된 레코드 - 이후 무시: file={}, sequence={}", file.getFileName(), sequence);
+                    break;
+                }
+                ByteBuffer body = ByteBuffer.allocate(length - 8);
+                if (!readFully(channel, body)) {
+                    log.warn("주문 접수 WAL 마지막 레코드가 잘림 - 무시: file={}, sequence={}", file.getFileName(), sequence);
+                    break;
+                }
+                byte[] payload = body.array();
+                if (checksum(sequence, payload) != crc) {
+                    log.warn("주문 접수 WAL CRC 불일치 - 이후 무시: file={}, sequence={}", file.getFileName(), sequence);
+                    break;
+                }
+                recovered.accept(sequence, payload);
+                last = sequence;
+            }
+        }
+        return last;
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int checksum(long sequence, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(8).putLong(0, sequence));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static long indexOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long index;
+        private final FileChannel channel;
+        private long lastSequence;
+
+        private Segment(Path path, long index, FileChannel channel, long lastSequence) {
+            this.path = path;
+            this.index = index;
+            this.channel = channel;
+            this.lastSequence = lastSequence;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.study.order.analytics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 주문 통계 버킷 단위
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Granularity {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    /**
+     * 시각이 속한 버킷의 시작 시각
+     */
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+}
@@ -0,0 +1,227 @@
+package com.study.order.analytics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.study.order.domain.Money;
+import com.study.order.domain.OrderStatus;
+import com.study.order.dto.OrderDto;
+import com.study.order.event.OrderEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 주문 통계 (시간 버킷별 상태별 주문 수 / 금액)
+ *
+ * 학습 포인트:
+ * 1. 증분 집계: 이벤트가 올 때마다 해당 버킷만 갱신 → 조회 시 전체 주문을 스캔하지 않음
+ * 2. ConcurrentSkipListMap: 정렬된 동시성 Map → 기간 조회는 subMap으로 O(버킷 수)
+ * 3. 버킷 기준 시각은 주문 생성 시각, 상태 변경은 이전 상태 -1 / 새 상태 +1
+ * 4. 분/시간/일 단위별 보관 기간을 두어 메모리 사용량 제한
+ * 5. 이벤트는 최소 1회 전달(outbox 재전송, 재구성 구간 재수신)이므로 같은 (주문, 상태)는 한 번만 반영
+ *    → 주문 상태는 앞으로만 전이되어 한 주문이 같은 상태가 되는 이벤트는 하나뿐
+ *    → 최근 반영 키를 dedupe-window 동안 기억 (크기 상한을 넘어 밀려난 키의 늦은 중복은 걸러지지 않음)
+ */
+@Slf4j
+@Component
+public class OrderAnalytics {
+
+    private final Map<Granularity, Duration> retention = new EnumMap<>(Granularity.class);
+    private final Cache<String, Boolean> appliedTransitions;
+    private volatile Map<Granularity, ConcurrentSkipListMap<LocalDateTime, OrderMetricsBucket>> buckets = emptyBuckets();
+
+    public OrderAnalytics(@Value("${order.analytics.retention.minute:48h}") Duration minuteRetention,
+                          @Value("${order.analytics.retention.hour:90d}") Duration hourRetention,
+                          @Value("${order.analytics.retention.day:3650d}") Duration dayRetention,
+                          @Value("${order.analytics.dedupe-window:1h}") Duration dedupeWindow,
+                          @Value("${order.analytics.dedupe-max-size:500000}") long dedupeMaxSize) {
+        retention.put(Granularity.MINUTE, minuteRetention);
+        retention.put(Granularity.HOUR, hourRetention);
+        retention.put(Granularity.DAY, dayRetention);
+        this.appliedTransitions = Caffeine.newBuilder()
+                .expireAfterWrite(dedupeWindow)
+                .maximumSize(dedupeMaxSize)
+                .build();
+    }
+
+    /**
+     * 주문 이벤트 반영
+     * - ORDER_CREATED: 생성 시각 버킷의 해당 상태 +1
+     * - 상태 변경: 이전 상태 -1, 새 상태 +1 (previousStatus가 없는 이전 형식 이벤트는 무시)
+     * - 이미 반영한 (주문, 상태) 이벤트가 다시 오면 무시
+     */
+    public void record(OrderEvent event) {
+        LocalDateTime createdAt = event.getOrderCreatedAt() != null ? event.getOrderCreatedAt() : event.getOccurredAt();
+        long amountMinor = event.getTotalAmount() == null ? 0L : event.getTotalAmount().getMinorUnits();
+
+        if ("ORDER_CREATED".equals(event.getEventType())) {
+            if (firstDelivery(event)) {
+                add(buckets, createdAt, event.getStatus(), 1, amountMinor);
+            }
+            return;
+        }
+        OrderStatus previous = event.getPreviousStatus();
+        if (previous == null) {
+            log.debug("이전 상태가 없는 이벤트는 통계에 반영하지 않음: eventType={}, orderId={}",
+                    event.getEventType(), event.getOrderId());
+            return;
+        }
+        if (previous != event.getStatus() && firstDelivery(event)) {
+            add(buckets, createdAt, previous, -1, -amountMinor);
+            add(buckets, createdAt, event.getStatus(), 1, amountMinor);
+        }
+    }
+
+    /**
+     * DB 집계 결과로 통계 전체 교체
+     * - 새 버킷을 모두 채운 뒤 참조를 교체하므로 재구성 중에도 조회 가능
+     *
+     * @param minuteRows 분 단위 집계 행 (year, month, day, hour, minute, status, count, sum(totalAmount))
+     */
+    public void rebuild(List<Object[]> minuteRows) {
+        Map<Granularity, ConcurrentSkipListMap<LocalDateTime, OrderMetricsBucket>> rebuilt = emptyBuckets();
+        for (Object[] row : minuteRows) {
+            LocalDateTime minute = LocalDateTime.of(
+                    ((Number) row[0]).intValue(),
+                    ((Number) row[1]).intValue(),
+                    ((Number) row[2]).intValue(),
+                    ((Number) row[3]).intValue(),
+                    ((Number) row[4]).intValue());
+            add(rebuilt, minute, (OrderStatus) row[5], ((Number) row[6]).longValue(), sumToMinorUnits(row[7]));
+        }
+        buckets = rebuilt;
+        log.info("주문 통계 재구성 완료: rows={}, minuteBuckets={}",
+                minuteRows.size(), rebuilt.get(Granularity.MINUTE).size());
+    }
+
+    /**
+     * 가장 긴 보관 기간의 시작 시각 - 이보다 먼저 생성된 주문은 어느 단위에도 반영되지 않음
+     */
+    public LocalDateTime retainedSince() {
+        Duration longest = retention.values().stream().max(Duration::compareTo).orElse(Duration.ZERO);
+        return LocalDateTime.now().minus(longest);
+    }
+
+    /**
+     * 기간 조회 [from, to) - 존재하는 버킷만 순회
+     */
+    public OrderDto.AnalyticsResponse query(Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        NavigableMap<LocalDateTime, OrderMetricsBucket> range = buckets.get(granularity)
+                .subMap(granularity.bucketStart(from), true, to, false);
+
+        List<OrderDto.AnalyticsBucket> result = new ArrayList<>(range.size());
+        long[] totalCounts = new long[OrderStatus.values().length];
+        long[] totalAmounts = new long[OrderStatus.values().length];
+        for (Map.Entry<LocalDateTime, OrderMetricsBucket> entry : range.entrySet()) {
+            long[] counts = new long[totalCounts.length];
+            long[] amounts = new long[totalAmounts.length];
+            for (OrderStatus status : OrderStatus.values()) {
+                counts[status.ordinal()] = entry.getValue().count(status);
+                amounts[status.ordinal()] = entry.getValue().amountMinor(status);
+                totalCounts[status.ordinal()] += counts[status.ordinal()];
+                totalAmounts[status.ordinal()] += amounts[status.ordinal()];
+            }
+            result.add(toBucketDto(entry.getKey(), counts, amounts));
+        }
+
+        return OrderDto.AnalyticsResponse.builder()
+                .granularity(granularity)
+                .from(from)
+                .to(to)
+                .buckets(result)
+                .total(toBucketDto(null, totalCounts, totalAmounts))
+                .build();
+    }
+
+    /**
+     * 보관 기간이 지난 버킷 삭제
+     */
+    @Scheduled(fixedDelayString = "${order.analytics.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Granularity granularity : Granularity.values()) {
+            buckets.get(granularity).headMap(now.minus(retention.get(granularity))).clear();
+        }
+    }
+
+    /**
+     * @return 이 (주문, 상태) 이벤트를 처음 받았는지
+     */
+    private boolean firstDelivery(OrderEvent event) {
+        if (event.getOrderId() == null || event.getStatus() == null) {
+            return true;
+        }
+        boolean first = appliedTransitions.asMap().putIfAbsent(event.getOrderId() + ":" + event.getStatus(), Boolean.TRUE) == null;
+        if (!first) {
+            log.debug("중복 이벤트는 통계에 반영하지 않음: eventType={}, orderId={}, status={}",
+                    event.getEventType(), event.getOrderId(), event.getStatus());
+        }
+        return first;
+    }
+
+    private void add(Map<Granularity, ConcurrentSkipListMap<LocalDateTime, OrderMetricsBucket>> target,
+                     LocalDateTime time, OrderStatus status, long count, long amountMinor) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Granularity granularity : Granularity.values()) {
+            if (time.isBefore(now.minus(retention.get(granularity)))) {
+                continue;
+            }
+            target.get(granularity)
+                    .computeIfAbsent(granularity.bucketStart(time), key -> new OrderMetricsBucket())
+                    .add(status, count, amountMinor);
+        }
+    }
+
+    private OrderDto.AnalyticsBucket toBucketDto(LocalDateTime start, long[] counts, long[] amounts) {
+        Map<OrderStatus, Long> countByStatus = new EnumMap<>(OrderStatus.class);
+        Map<OrderStatus, Money> amountByStatus = new EnumMap<>(OrderStatus.class);
+        long orderCount = 0;
+        long revenueMinor = 0;
+        for (OrderStatus status : OrderStatus.values()) {
+            countByStatus.put(status, counts[status.ordinal()]);
+            amountByStatus.put(status, Money.ofMinor(amounts[status.ordinal()]));
+            orderCount += counts[status.ordinal()];
+            if (status != OrderStatus.CANCELLED) {
+                revenueMinor += amounts[status.ordinal()];
+            }
+        }
+        return OrderDto.AnalyticsBucket.builder()
+                .start(start)
+                .orderCount(orderCount)
+                .revenue(Money.ofMinor(revenueMinor))
+                .countByStatus(countByStatus)
+                .amountByStatus(amountByStatus)
+                .build();
+    }
+
+    private static Map<Granularity, ConcurrentSkipListMap<LocalDateTime, OrderMetricsBucket>> emptyBuckets() {
+        Map<Granularity, ConcurrentSkipListMap<LocalDateTime, OrderMetricsBucket>> map = new EnumMap<>(Granularity.class);
+        for (Granularity granularity : Granularity.values()) {
+            map.put(granularity, new ConcurrentSkipListMap<>());
+        }
+        return map;
+    }
+
+    /**
+     * SUM(totalAmount) 결과 → 최소 단위
+     * - 변환기(MoneyConverter)가 적용된 속성의 집계 결과는 Money 또는 컬럼 타입(BigDecimal)으로 올 수 있음
+     */
+    private long sumToMinorUnits(Object sum) {
+        if (sum instanceof Money money) {
+            return money.getMinorUnits();
+        }
+        return sum == null ? 0L : ((BigDecimal) sum).setScale(Money.SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
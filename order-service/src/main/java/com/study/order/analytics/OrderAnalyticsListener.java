@@ -0,0 +1,187 @@
+package com.study.order.analytics;
+
+import com.study.order.event.OrderEvent;
+import com.study.order.event.OrderEventPublisher;
+import com.study.order.repository.ArchivedOrderRepository;
+import com.study.order.repository.OrderRepository;
+import com.study.order.sharding.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.TopicPartitionOffset;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 통계 갱신 (order-events Consumer)
+ *
+ * 학습 포인트:
+ * 1. 모든 인스턴스가 전체 이벤트를 받아 각자 통계 유지
+ *    → Consumer Group 구독이 아니라 모든 파티션을 직접 할당(assign)받음 (파티션 분배/리밸런싱 없음)
+ *    → group id는 고정값 하나 (재시작마다 새 Consumer Group이 생겨 브로커에 쌓이지 않음)
+ * 2. 시작 시 DB 집계로 재구성한 뒤 Listener를 시작
+ *    - 파티션 메타데이터 조회는 별도 스레드에서 metadata-timeout으로 제한하고, 실패하면 재시도
+ *      → Kafka가 내려가 있어도 애플리케이션 시작이 막히거나 실패하지 않음 (통계만 Kafka 복구 후 이어서 갱신)
+ * 3. 재구성 기준 시각(cutoff)은 이벤트의 occurredAt과 비교해 그 이전 이벤트는 건너뜀
+ *    - 레코드 timestamp는 outbox 릴레이가 보낸 시각이라 발생 시각보다 늦음 → timestamp만으로 거르면 이미 집계된 이벤트가 중복 반영됨
+ *    - 읽기 시작 위치는 cutoff - seekMargin의 timestamp (시계 차이 여유분, 그 사이 이벤트는 occurredAt으로 걸러짐)
+ *    (재구성 쿼리 실행 중 커밋된 주문은 중복 반영될 수 있음 - 짧은 구간의 근사치)
+ * 4. 샤딩: 샤드별 분 단위 집계를 병렬로 조회해 이어 붙임 (같은 버킷의 행은 rebuild에서 합산)
+ * 5. 보관 테이블(orders_archive)도 함께 집계 - 보관 기준(종료 후 90일)이 시간/일 단위 통계 보관 기간보다 짧으므로
+ *    운영 테이블만 읽으면 재시작 후 보관된 주문이 통계에서 사라짐
+ */
+@Slf4j
+@Component
+public class OrderAnalyticsListener implements DisposableBean {
+
+    private static final String GROUP_ID = "order-analytics";
+
+    private final OrderAnalytics orderAnalytics;
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ShardRouter shardRouter;
+    private final ConsumerFactory<String, Object> consumerFactory;
+    private final Duration seekMargin;
+    private final Duration metadataTimeout;
+
+    private volatile LocalDateTime rebuildCutoff;
+    private volatile ConcurrentMessageListenerContainer<String, Object> container;
+    private volatile boolean stopped;
+
+    public OrderAnalyticsListener(OrderAnalytics orderAnalytics,
+                                  OrderRepository orderRepository,
+                                  ArchivedOrderRepository archivedOrderRepository,
+                                  ShardRouter shardRouter,
+                                  ConsumerFactory<String, Object> consumerFactory,
+                                  @Value("${order.analytics.seek-margin:1m}") Duration seekMargin,
+                                  @Value("${order.kafka.metadata-timeout:10s}") Duration metadataTimeout) {
+        this.orderAnalytics = orderAnalytics;
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.shardRouter = shardRouter;
+        this.consumerFactory = consumerFactory;
+        this.seekMargin = seekMargin;
+        this.metadataTimeout = metadataTimeout;
+    }
+
+    /**
+     * 재구성 이전에 발생한 이벤트는 DB 집계에 이미 포함되어 있으므로 건너뜀
+     */
+    void onOrderEvent(OrderEvent event) {
+        LocalDateTime cutoff = rebuildCutoff;
+        if (cutoff != null && event.getOccurredAt() != null && event.getOccurredAt().isBefore(cutoff)) {
+            return;
+        }
+        orderAnalytics.record(event);
+    }
+
+    /**
+     * 애플리케이션 시작 후 DB에서 통계 재구성 → Listener 시작 (Kafka 연결은 백그라운드)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAndStart() {
+        rebuildCutoff = LocalDateTime.now();
+        long seekTimestamp = System.currentTimeMillis() - seekMargin.toMillis();
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // 재구성 실패 시에도 이후 이벤트는 반영 (과거 구간 통계만 비어 있음)
+            log.error("주문 통계 재구성 실패", e);
+        }
+        Thread starter = new Thread(() -> startWhenAvailable(seekTimestamp), "order-analytics-start");
+        starter.setDaemon(true);
+        starter.start();
+    }
+
+    /**
+     * 샤드마다 운영 테이블 + 보관 테이블의 분 단위 집계를 읽어 통계 교체
+     */
+    void rebuild() {
+        LocalDateTime since = orderAnalytics.retainedSince();
+        List<Object[]> rows = shardRouter.scatterRead(shard -> {
+                    List<Object[]> shardRows = new ArrayList<>(orderRepository.aggregateByMinuteAndStatus());
+                    shardRows.addAll(archivedOrderRepository.aggregateByMinuteAndStatus(since));
+                    return shardRows;
+                }).stream()
+                .flatMap(List::stream)
+                .toList();
+        orderAnalytics.rebuild(rows);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        stopped = true;
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    /**
+     * 파티션 메타데이터를 얻을 때까지 metadataTimeout 간격으로 재시도한 뒤 Listener 시작
+     */
+    void startWhenAvailable(long seekTimestamp) {
+        while (!stopped) {
+            try {
+                TopicPartitionOffset[] partitions = findPartitions(seekTimestamp);
+                if (partitions.length > 0) {
+                    start(partitions);
+                    return;
+                }
+                log.warn("주문 이벤트 토픽의 파티션이 없음 - 재시도: topic={}", OrderEventPublisher.ORDER_TOPIC);
+            } catch (RuntimeException e) {
+                log.warn("Kafka 메타데이터 조회 실패 - 주문 통계 Listener 시작 재시도: {}", e.toString());
+            }
+            try {
+                Thread.sleep(metadataTimeout.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 토픽의 모든 파티션을 seekTimestamp 이후 레코드부터 읽도록 지정 (메타데이터 조회는 metadataTimeout까지만 대기)
+     */
+    private TopicPartitionOffset[] findPartitions(long seekTimestamp) {
+        try (Consumer<String, Object> consumer = consumerFactory.createConsumer(GROUP_ID, null)) {
+            return consumer.partitionsFor(OrderEventPublisher.ORDER_TOPIC, metadataTimeout).stream()
+                    .map(info -> new TopicPartitionOffset(info.topic(), info.partition(),
+                            seekTimestamp, TopicPartitionOffset.SeekPosition.TIMESTAMP))
+                    .toArray(TopicPartitionOffset[]::new);
+        }
+    }
+
+    private synchronized void start(TopicPartitionOffset[] partitions) {
+        if (stopped) {
+            return;
+        }
+        ContainerProperties containerProperties = new ContainerProperties(partitions);
+        containerProperties.setGroupId(GROUP_ID);
+        containerProperties.setMessageListener((MessageListener<String, Object>) this::onRecord);
+        ConcurrentMessageListenerContainer<String, Object> listenerContainer =
+                new ConcurrentMessageListenerContainer<>(consumerFactory, containerProperties);
+        listenerContainer.setBeanName(GROUP_ID);
+        listenerContainer.start();
+        container = listenerContainer;
+        log.info("주문 통계 Listener 시작: partitions={}, cutoff={}", partitions.length, rebuildCutoff);
+    }
+
+    private void onRecord(ConsumerRecord<String, Object> record) {
+        if (record.value() instanceof OrderEvent event) {
+            onOrderEvent(event);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.study.order.analytics;
+
+import com.study.order.domain.OrderStatus;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 시간 버킷 하나의 상태별 주문 수 / 금액(최소 단위) 누적값
+ *
+ * 학습 포인트:
+ * - LongAdder: 여러 스레드가 같은 카운터를 증가시킬 때 셀을 나눠(striping) 경합을 줄임
+ * - 상태별 카운터를 enum ordinal 인덱스 배열로 보관 → Map 조회/박싱 없음
+ */
+public class OrderMetricsBucket {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final LongAdder[] counts = new LongAdder[STATUSES.length];
+    private final LongAdder[] amounts = new LongAdder[STATUSES.length];
+
+    public OrderMetricsBucket() {
+        for (int i = 0; i < STATUSES.length; i++) {
+            counts[i] = new LongAdder();
+            amounts[i] = new LongAdder();
+        }
+    }
+
+    public void add(OrderStatus status, long count, long amountMinor) {
+        counts[status.ordinal()].add(count);
+        amounts[status.ordinal()].add(amountMinor);
+    }
+
+    public long count(OrderStatus status) {
+        return counts[status.ordinal()].sum();
+    }
+
+    public long amountMinor(OrderStatus status) {
+        return amounts[status.ordinal()].sum();
+    }
+}
@@ -0,0 +1,28 @@
+package com.study.order.cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 여러 키를 한 번에 처리하는 캐시 연산
+ * - Spring Cache 추상화(Cache)는 단건 연산만 제공하므로 대량 처리용으로 확장
+ */
+public interface BatchCache {
+
+    /**
+     * 여러 키 조회 (Redis 왕복 1회)
+     *
+     * @return 캐시에 있는 키와 값 (없는 키는 포함하지 않음)
+     */
+    Map<Object, Object> getAll(Collection<?> keys);
+
+    /**
+     * 여러 키 저장 (파이프라인 1회 + 무효화 메시지 1건)
+     */
+    void putAll(Map<?, ?> entries);
+
+    /**
+     * 여러 키 삭제 (Redis 왕복 1회 + 무효화 메시지 1건)
+     */
+    void evictAll(Collection<?> keys);
+}
@@ -0,0 +1,46 @@
+package com.study.order.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 캐시 무효화 메시지 (Redis Pub/Sub)
+ *
+ * 형식: {instanceId}|{cacheName}|{key1,key2,...}
+ * - keys가 비어 있으면 해당 캐시 전체 clear
+ * - instanceId로 자기 자신이 보낸 메시지는 무시
+ */
+@Getter
+@AllArgsConstructor
+public class CacheInvalidationMessage {
+
+    private static final String DELIMITER = "|";
+    private static final String KEY_DELIMITER = ",";
+
+    private final String instanceId;
+    private final String cacheName;
+    private final List<String> keys;
+
+    public boolean isClear() {
+        return keys.isEmpty();
+    }
+
+    public String encode() {
+        return instanceId + DELIMITER + cacheName + DELIMITER + String.join(KEY_DELIMITER, keys);
+    }
+
+    public static CacheInvalidationMessage decode(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length < 3) {
+            throw new IllegalArgumentException("잘못된 캐시 무효화 메시지: " + message);
+        }
+        List<String> keys = parts[2].isEmpty()
+                ? Collections.emptyList()
+                : Arrays.asList(parts[2].split(KEY_DELIMITER));
+        return new CacheInvalidationMessage(parts[0], parts[1], keys);
+    }
+}
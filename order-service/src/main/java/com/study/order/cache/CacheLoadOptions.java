@@ -0,0 +1,31 @@
+package com.study.order.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 캐시 로딩(miss 처리) 옵션
+ *
+ * - leaseTime: 인스턴스 간 로딩 락(Redis lease) 유지 시간 (로딩 중 인스턴스가 죽어도 이 시간 후 해제)
+ * - waitTimeout: 다른 인스턴스의 로딩 결과를 기다리는 최대 시간 (초과 시 직접 로딩)
+ * - pollInterval: 기다리는 동안 Redis(L2)를 다시 확인하는 간격
+ * - refreshAhead: 남은 TTL이 이 값보다 짧으면 백그라운드에서 미리 갱신 (0이면 비활성화)
+ */
+@Getter
+@Builder
+public class CacheLoadOptions {
+
+    @Builder.Default
+    private final Duration leaseTime = Duration.ofSeconds(5);
+
+    @Builder.Default
+    private final Duration waitTimeout = Duration.ofSeconds(3);
+
+    @Builder.Default
+    private final Duration pollInterval = Duration.ofMillis(50);
+
+    @Builder.Default
+    private final Duration refreshAhead = Duration.ofMinutes(5);
+}
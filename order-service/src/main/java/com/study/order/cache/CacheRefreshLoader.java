@@ -0,0 +1,18 @@
+package com.study.order.cache;
+
+/**
+ * refresh-ahead 전용 로더 - 캐시 키만으로 값을 다시 읽음
+ *
+ * 학습 포인트:
+ * - @Cacheable(sync = true)가 넘기는 valueLoader는 요청 스레드의 메서드 호출(MethodInvocation)을 감싼 것
+ *   → 백그라운드 스레드에서 다시 실행하면 요청 컨텍스트(트랜잭션, 보안 정보 등) 없이 프록시 체인을 재실행하게 됨
+ * - 갱신은 요청과 무관한 작업이므로 캐시 이름마다 키 → 값 로더를 따로 등록해서 사용
+ */
+@FunctionalInterface
+public interface CacheRefreshLoader {
+
+    /**
+     * @return 갱신할 값 (null이면 null 값으로 저장)
+     */
+    Object load(Object key) throws Exception;
+}
@@ -0,0 +1,427 @@
+package com.study.order.cache;
+
+import com.study.order.domain.Money;
+import com.study.order.domain.OrderStatus;
+import com.study.order.dto.OrderDto;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 주문 캐시용 바이너리 RedisSerializer
+ *
+ * 학습 포인트:
+ * 1. JSON(@class 타입 정보 + 필드명)을 반복 저장하지 않고 필드 순서가 정해진 바이너리로 저장
+ * 2. 정수는 가변 길이(varint) 인코딩 → 작은 값은 1~2바이트
+ * 3. 헤더에 스키마 버전을 기록 → 필드 구성이 바뀌어도 이전 버전 값을 읽을 수 있음
+ * 4. 일정 크기 이상은 Deflate 압축
+ *
+ * 형식: [MAGIC][VERSION][FLAGS][payload]
+ * - OrderDto.Response가 아닌 값이나 기존 JSON 값은 JSON Serializer로 위임 (무중단 전환)
+ * - OrderStatus는 ordinal로 저장하므로 enum 상수는 뒤에만 추가하고, 순서를 바꾸면 VERSION을 올린다
+ * - VERSION_2: 금액을 Money 최소 단위(long)로 저장하고 소계는 저장하지 않음 (단가 × 수량으로 복원)
+ *   VERSION_1(BigDecimal unscaled + scale, 소계 포함) 값은 TTL로 사라질 때까지 계속 읽을 수 있음
+ * - 읽을 때 압축 해제 크기(MAX_PAYLOAD_BYTES)와 항목 수(MAX_ITEMS, 남은 바이트 수)를 검사 → 잘못된 값은 SerializationException
+ */
+public class OrderResponseRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte MAGIC = (byte) 0xB1;  // JSON 첫 바이트('{', '[', '"' 등)와 겹치지 않는 값
+    private static final byte VERSION_1 = 1;
+    private static final byte VERSION_2 = 2;
+    private static final byte FLAG_COMPRESSED = 0x01;
+    private static final int HEADER_SIZE = 3;
+
+    // 손상되거나 조작된 값으로 과도한 메모리를 할당하지 않도록 읽기 상한 지정
+    static final int MAX_PAYLOAD_BYTES = 4 * 1024 * 1024;
+    static final int MAX_ITEMS = 10_000;
+    private static final int MIN_ITEM_BYTES = 5;  // 항목 필드 5개가 각각 최소 1바이트
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final RedisSerializer<Object> fallback = new GenericJackson2JsonRedisSerializer();
+    private final int compressionThreshold;
+
+    public OrderResponseRedisSerializer(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (!(value instanceof OrderDto.Response response)) {
+            return fallback.serialize(value);
+        }
+
+        Output out = new Output();
+        writeResponse(response, out);
+        byte[] payload = out.toByteArray();
+
+        byte flags = 0;
+        if (payload.length >= compressionThreshold) {
+            byte[] compressed = deflate(payload);
+            if (compressed.length < payload.length) {
+                payload = compressed;
+                flags |= FLAG_COMPRESSED;
+            }
+        }
+
+        byte[] bytes = new byte[HEADER_SIZE + payload.length];
+        bytes[0] = MAGIC;
+        bytes[1] = VERSION_2;
+        bytes[2] = flags;
+        System.arraycopy(payload, 0, bytes, HEADER_SIZE, payload.length);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_SIZE) {
+            throw new SerializationException("주문 캐시 값의 헤더가 올바르지 않습니다");
+        }
+
+        byte version = bytes[1];
+        byte[] payload = Arrays.copyOfRange(bytes, HEADER_SIZE, bytes.length);
+        if ((bytes[2] & FLAG_COMPRESSED) != 0) {
+            payload = inflate(payload);
+        }
+
+        if (version == VERSION_2) {
+            return readResponseV2(new Input(payload));
+        }
+        if (version == VERSION_1) {
+            return readResponseV1(new Input(payload));
+        }
+        throw new SerializationException("지원하지 않는 주문 캐시 스키마 버전: " + version);
+    }
+
+    private void writeResponse(OrderDto.Response response, Output out) {
+        out.writeNullableLong(response.getId());
+        out.writeNullableLong(response.getUserId());
+        out.writeVarInt(response.getStatus() == null ? 0 : response.getStatus().ordinal() + 1);
+        out.writeMoney(response.getTotalAmount());
+        out.writeDateTime(response.getCreatedAt());
+        out.writeDateTime(response.getUpdatedAt());
+
+        List<OrderDto.OrderItemResponse> items = response.getItems();
+        if (items == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(items.size() + 1);
+        for (OrderDto.OrderItemResponse item : items) {
+            out.writeNullableLong(item.getId());
+            out.writeNullableLong(item.getProductId());
+            out.writeString(item.getProductName());
+            out.writeNullableLong(item.getQuantity() == null ? null : item.getQuantity().longValue());
+            out.writeMoney(item.getPrice());
+        }
+    }
+
+    private OrderDto.Response readResponseV2(Input in) {
+        Long id = in.readNullableLong();
+        Long userId = in.readNullableLong();
+        int statusCode = in.readVarInt();
+        Money totalAmount = in.readMoney();
+        LocalDateTime createdAt = in.readDateTime();
+        LocalDateTime updatedAt = in.readDateTime();
+
+        List<OrderDto.OrderItemResponse> items = null;
+        int itemCount = in.readItemCount();
+        if (itemCount >= 0) {
+            items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                Long itemId = in.readNullableLong();
+                Long productId = in.readNullableLong();
+                String productName = in.readString();
+                Long quantity = in.readNullableLong();
+                Money price = in.readMoney();
+                Money subtotal = price == null || quantity == null ? null : price.times(quantity.intValue());
+                items.add(new OrderDto.OrderItemResponse(
+                        itemId, productId, productName,
+                        quantity == null ? null : quantity.intValue(),
+                        price, subtotal));
+            }
+        }
+
+        return new OrderDto.Response(
+                id, userId,
+                toStatus(statusCode),
+                totalAmount, items, createdAt, updatedAt);
+    }
+
+    private OrderDto.Response readResponseV1(Input in) {
+        Long id = in.readNullableLong();
+        Long userId = in.readNullableLong();
+        int statusCode = in.readVarInt();
+        Money totalAmount = toMoney(in.readDecimal());
+        LocalDateTime createdAt = in.readDateTime();
+        LocalDateTime updatedAt = in.readDateTime();
+
+        List<OrderDto.OrderItemResponse> items = null;
+        int itemCount = in.readItemCount();
+        if (itemCount >= 0) {
+            items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                Long itemId = in.readNullableLong();
+                Long productId = in.readNullableLong();
+                String productName = in.readString();
+                Long quantity = in.readNullableLong();
+                Money price = toMoney(in.readDecimal());
+                Money subtotal = toMoney(in.readDecimal());
+                items.add(new OrderDto.OrderItemResponse(
+                        itemId, productId, productName,
+                        quantity == null ? null : quantity.intValue(),
+                        price, subtotal));
+            }
+        }
+
+        return new OrderDto.Response(
+                id, userId,
+                toStatus(statusCode),
+                totalAmount, items, createdAt, updatedAt);
+    }
+
+    private static OrderStatus toStatus(int statusCode) {
+        if (statusCode < 0 || statusCode > STATUSES.length) {
+            throw new SerializationException("알 수 없는 주문 상태 코드: " + statusCode);
+        }
+        return statusCode == 0 ? null : STATUSES[statusCode - 1];
+    }
+
+    private static Money toMoney(BigDecimal value) {
+        return value == null ? null : Money.of(value);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(data.length * 3, MAX_PAYLOAD_BYTES));
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SerializationException("압축된 주문 캐시 값이 손상되었습니다");
+                }
+                if (out.size() + n > MAX_PAYLOAD_BYTES) {
+                    throw new SerializationException("압축 해제한 주문 캐시 값이 상한(" + MAX_PAYLOAD_BYTES + " bytes)을 넘습니다");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new SerializationException("압축된 주문 캐시 값이 손상되었습니다", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 가변 길이 정수 기반 쓰기 버퍼
+     */
+    private static final class Output {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.write((int) value);
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        /**
+         * null 여부를 한 바이트로 표현하지 않고 값 자체에 포함 (0 = null, 그 외 zigzag(value) + 1)
+         */
+        void writeNullableLong(Long value) {
+            if (value == null) {
+                writeVarLong(0);
+            } else {
+                writeVarLong(((value << 1) ^ (value >> 63)) + 1);
+            }
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            buffer.write(bytes, 0, bytes.length);
+        }
+
+        void writeMoney(Money value) {
+            writeNullableLong(value == null ? null : value.getMinorUnits());
+        }
+
+        void writeDateTime(LocalDateTime value) {
+            if (value == null) {
+                buffer.write(0);
+                return;
+            }
+            buffer.write(1);
+            writeZigZag(value.toEpochSecond(ZoneOffset.UTC));
+            writeVarInt(value.getNano());
+        }
+
+        byte[] toByteArray() {
+            return buffer.toByteArray();
+        }
+    }
+
+    /**
+     * 가변 길이 정수 기반 읽기 버퍼
+     */
+    private static final class Input {
+
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long result = 0;
+            int shift = 0;
+            while (shift < 64) {
+                byte b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+                shift += 7;
+            }
+            throw new SerializationException("잘못된 varint 인코딩");
+        }
+
+        long readZigZag() {
+            long raw = readVarLong();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        Long readNullableLong() {
+            long raw = readVarLong();
+            if (raw == 0) {
+                return null;
+            }
+            raw -= 1;
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        String readString() {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            ensureAvailable(length);
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        /**
+         * 항목 수 (-1 = null) - 상한과 남은 바이트로 만들 수 있는 최대 항목 수를 넘으면 거부
+         */
+        int readItemCount() {
+            long count = readVarLong() - 1;
+            if (count < -1 || count > MAX_ITEMS || count > (long) (bytes.length - position) / MIN_ITEM_BYTES) {
+                throw new SerializationException("주문 캐시 값의 항목 수가 올바르지 않습니다: " + count);
+            }
+            return (int) count;
+        }
+
+        Money readMoney() {
+            Long minorUnits = readNullableLong();
+            return minorUnits == null ? null : Money.ofMinor(minorUnits);
+        }
+
+        /**
+         * VERSION_1 형식: 0 = null, 1 = long 범위 unscaled 값, 2 = BigInteger 바이트, 이어서 scale
+         */
+        BigDecimal readDecimal() {
+            byte type = readByte();
+            if (type == 0) {
+                return null;
+            }
+            BigInteger unscaled;
+            if (type == 1) {
+                unscaled = BigInteger.valueOf(readZigZag());
+            } else {
+                int length = readVarInt();
+                ensureAvailable(length);
+                unscaled = new BigInteger(Arrays.copyOfRange(bytes, position, position + length));
+                position += length;
+            }
+            return new BigDecimal(unscaled, (int) readZigZag());
+        }
+
+        LocalDateTime readDateTime() {
+            if (readByte() == 0) {
+                return null;
+            }
+            long epochSecond = readZigZag();
+            int nano = readVarInt();
+            return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+        }
+
+        private byte readByte() {
+            ensureAvailable(1);
+            return bytes[position++];
+        }
+
+        private void ensureAvailable(int length) {
+            if (length < 0 || position + length > bytes.length) {
+                throw new SerializationException("주문 캐시 값이 예상보다 짧습니다");
+            }
+        }
+    }
+}
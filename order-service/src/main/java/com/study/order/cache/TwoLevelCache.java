@@ -0,0 +1,554 @@
+package com.study.order.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 2단계 캐시 (L1: 로컬 메모리 / L2: Redis)
+ *
+ * 학습 포인트:
+ * 1. Near Cache: 자주 조회되는 값은 네트워크/역직렬화 없이 로컬 메모리에서 응답
+ * 2. 조회 순서: L1 → L2 → (miss) 호출자가 DB 조회 후 put
+ * 3. 쓰기/삭제 시 다른 인스턴스의 L1은 Redis Pub/Sub 메시지로 무효화
+ * 4. L1은 크기 제한 + 짧은 TTL로 메모리 사용과 불일치 구간을 제한
+ * 5. Cache Stampede 방지 (get(key, valueLoader) = @Cacheable(sync = true))
+ *    - Single-flight: 같은 JVM에서 동시에 miss된 요청은 하나의 로딩 결과를 공유
+ *    - Redis lease(SET NX PX): 인스턴스 간에도 한 곳만 DB 조회, 나머지는 L2에 값이 채워지길 대기
+ *    - Refresh-ahead: 만료가 임박한 값은 응답은 그대로 하고 백그라운드에서 미리 갱신
+ *      (요청의 valueLoader가 아니라 캐시에 등록된 CacheRefreshLoader로 키만 가지고 다시 읽음)
+ */
+@Slf4j
+public class TwoLevelCache implements Cache, BatchCache {
+
+    private final String name;
+    private final Cache redisCache;
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> localCache;  // null이면 L1 비활성화
+    private final StringRedisTemplate redisTemplate;
+    private final String instanceId;
+
+    private static final RedisScript<Long> RELEASE_LEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisCacheConfiguration redisCacheConfiguration;
+    private final String redisKeyPrefix;
+    private final CacheLoadOptions loadOptions;
+    private final Executor refreshExecutor;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+    private volatile CacheRefreshLoader refreshLoader;  // null이면 refresh-ahead 비활성화
+
+    private final Counter l1Hit;
+    private final Counter l1Miss;
+    private final Counter l2Hit;
+    private final Counter l2Miss;
+    private final Counter loadedFromSource;
+    private final Counter loadJoined;
+    private final Counter loadWaitedRemote;
+    private final Counter loadLeaseTimeout;
+    private final Counter refreshAhead;
+
+    public TwoLevelCache(String name,
+                         Cache redisCache,
+                         RedisCacheConfiguration redisCacheConfiguration,
+                         com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> localCache,
+                         StringRedisTemplate redisTemplate,
+                         String instanceId,
+                         CacheLoadOptions loadOptions,
+                         Executor refreshExecutor,
+                         MeterRegistry meterRegistry) {
+        this.name = name;
+        this.redisCache = redisCache;
+        this.redisCacheConfiguration = redisCacheConfiguration;
+        this.redisKeyPrefix = redisCacheConfiguration.getKeyPrefixFor(name);
+        this.localCache = localCache;
+        this.redisTemplate = redisTemplate;
+        this.instanceId = instanceId;
+        this.loadOptions = loadOptions;
+        this.refreshExecutor = refreshExecutor;
+        this.l1Hit = counter(meterRegistry, "l1", "hit");
+        this.l1Miss = counter(meterRegistry, "l1", "miss");
+        this.l2Hit = counter(meterRegistry, "l2", "hit");
+        this.l2Miss = counter(meterRegistry, "l2", "miss");
+        this.loadedFromSource = loadCounter(meterRegistry, "source");
+        this.loadJoined = loadCounter(meterRegistry, "joined");
+        this.loadWaitedRemote = loadCounter(meterRegistry, "remote");
+        this.loadLeaseTimeout = loadCounter(meterRegistry, "lease-timeout");
+        this.refreshAhead = Counter.builder("order.cache.refresh-ahead")
+                .description("만료 임박으로 백그라운드 갱신을 시작한 횟수")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper local = getLocal(key);
+        return local != null ? local : getRemote(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * 캐시 조회 + miss 시 로딩 (@Cacheable(sync = true)에서 호출)
+     * 1. L1 → L2 조회, L2 hit인데 만료가 임박하면 백그라운드 갱신 예약
+     * 2. miss면 같은 키의 로딩이 진행 중인지 확인하고 있으면 그 결과를 공유
+     * 3. 없으면 Redis lease를 잡은 인스턴스만 DB 조회, 나머지는 L2를 폴링
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper local = getLocal(key);
+        if (local != null) {
+            return (T) local.get();
+        }
+        ValueWrapper remote = getRemote(key);
+        if (remote != null) {
+            scheduleRefreshIfExpiring(key);
+            return (T) remote.get();
+        }
+
+        String localKey = localKey(key);
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = inFlightLoads.putIfAbsent(localKey, load);
+        if (inFlight != null) {
+            loadJoined.increment();
+            return (T) join(key, valueLoader, inFlight);
+        }
+
+        try {
+            Object value = loadWithLease(key, valueLoader);
+            load.complete(value);
+            return (T) value;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(localKey, load);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        redisCache.put(key, value);
+        putLocal(key, value);
+        publishInvalidation(List.of(localKey(key)));
+    }
+
+    @Override
+    public void evict(Object key) {
+        redisCache.evict(key);
+        evictLocal(List.of(localKey(key)));
+        publishInvalidation(List.of(localKey(key)));
+    }
+
+    /**
+     * 여러 키 조회 - L1에서 찾고 나머지는 MGET 1회
+     * - L2 hit 값은 L1에도 저장
+     */
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> found = new LinkedHashMap<>();
+        List<Object> remoteKeys = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            ValueWrapper local = getLocal(key);
+            if (local != null) {
+                found.put(key, local.get());
+            } else {
+                remoteKeys.add(key);
+            }
+        }
+        if (remoteKeys.isEmpty()) {
+            return found;
+        }
+
+        byte[][] rawKeys = new byte[remoteKeys.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = rawKey(remoteKeys.get(i));
+        }
+        List<byte[]> rawValues = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.stringCommands().mGet(rawKeys));
+
+        for (int i = 0; i < remoteKeys.size(); i++) {
+            byte[] rawValue = rawValues != null ? rawValues.get(i) : null;
+            if (rawValue == null) {
+                l2Miss.increment();
+                continue;
+            }
+            l2Hit.increment();
+            Object value = redisCacheConfiguration.getValueSerializationPair().read(ByteBuffer.wrap(rawValue));
+            value = value instanceof NullValue ? null : value;
+            putLocal(remoteKeys.get(i), value);
+            found.put(remoteKeys.get(i), value);
+        }
+        return found;
+    }
+
+    /**
+     * 여러 키 저장 - 파이프라인으로 SET(+TTL) 전송, 무효화 메시지 1건
+     */
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                Object storeValue = entry.getValue() != null ? entry.getValue() : NullValue.INSTANCE;
+                byte[] rawValue = ByteUtils.getBytes(redisCacheConfiguration.getValueSerializationPair().write(storeValue));
+                Duration ttl = redisCacheConfiguration.getTtlFunction().getTimeToLive(entry.getKey(), entry.getValue());
+                Expiration expiration = ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl);
+                connection.stringCommands().set(rawKey(entry.getKey()), rawValue, expiration,
+                        RedisStringCommands.SetOption.upsert());
+            }
+            return null;
+        });
+
+        List<String> localKeys = new ArrayList<>(entries.size());
+        for (Map.Entry<?, ?> entry : entries.entrySet()) {
+            putLocal(entry.getKey(), entry.getValue());
+            localKeys.add(localKey(entry.getKey()));
+        }
+        publishInvalidation(localKeys);
+    }
+
+    /**
+     * 여러 키 삭제 - 다중 키 DEL 1회, L1 삭제, 무효화 메시지 1건
+     */
+    @Override
+    public void evictAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> localKeys = new ArrayList<>(keys.size());
+        List<String> redisKeys = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            String localKey = localKey(key);
+            localKeys.add(localKey);
+            redisKeys.add(redisKeyPrefix + localKey);
+        }
+        redisTemplate.delete(redisKeys);
+        evictLocal(localKeys);
+        publishInvalidation(localKeys);
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        clearLocal();
+        publishInvalidation(List.of());
+    }
+
+    private ValueWrapper getLocal(Object key) {
+        if (localCache == null) {
+            return null;
+        }
+        ValueWrapper local = localCache.getIfPresent(localKey(key));
+        if (local != null) {
+            l1Hit.increment();
+        } else {
+            l1Miss.increment();
+        }
+        return local;
+    }
+
+    private ValueWrapper getRemote(Object key) {
+        ValueWrapper remote = redisCache.get(key);
+        if (remote == null) {
+            l2Miss.increment();
+            return null;
+        }
+        l2Hit.increment();
+        putLocal(key, remote.get());
+        return remote;
+    }
+
+    /**
+     * 인스턴스 간 Single-flight
+     * - lease를 잡으면: 그 사이 다른 인스턴스가 채웠을 수 있으므로 L2를 한 번 더 확인 후 DB 조회
+     * - 못 잡으면: pollInterval마다 L2 확인 (lease 보유자가 죽었으면 lease 만료 후 재시도)
+     * - waitTimeout 초과 시 직접 조회 (가용성 우선)
+     */
+    private Object loadWithLease(Object key, Callable<?> valueLoader) {
+        String leaseKey = leaseKey(key);
+        String token = UUID.randomUUID().toString();
+        long deadline = System.nanoTime() + loadOptions.getWaitTimeout().toNanos();
+
+        while (true) {
+            if (tryAcquireLease(leaseKey, token)) {
+                try {
+                    ValueWrapper filled = redisCache.get(key);
+                    if (filled != null) {
+                        putLocal(key, filled.get());
+                        loadWaitedRemote.increment();
+                        return filled.get();
+                    }
+                    return loadAndPut(key, valueLoader);
+                } finally {
+                    releaseLease(leaseKey, token);
+                }
+            }
+
+            if (System.nanoTime() >= deadline) {
+                log.warn("캐시 로딩 lease 대기 시간 초과, 직접 조회: cache={}, key={}", name, key);
+                loadLeaseTimeout.increment();
+                return loadAndPut(key, valueLoader);
+            }
+            sleep(key, valueLoader);
+
+            ValueWrapper filled = redisCache.get(key);
+            if (filled != null) {
+                putLocal(key, filled.get());
+                loadWaitedRemote.increment();
+                return filled.get();
+            }
+        }
+    }
+
+    /**
+     * refresh-ahead에 사용할 로더 등록 (TwoLevelCacheManager.registerRefreshLoader)
+     */
+    void setRefreshLoader(CacheRefreshLoader refreshLoader) {
+        this.refreshLoader = refreshLoader;
+    }
+
+    private Object loadAndPut(Object key, Callable<?> valueLoader) {
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        loadedFromSource.increment();
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Refresh-ahead: L2의 남은 TTL이 refreshAhead보다 짧으면 백그라운드에서 다시 로딩
+     * - 이 JVM에서 이미 로딩/갱신 중이거나 다른 인스턴스가 lease를 잡고 있으면 건너뜀
+     * - 갱신이 끝나기 전까지는 기존 값으로 응답하므로 만료 순간의 동시 miss가 발생하지 않음
+     * - 등록된 CacheRefreshLoader가 없으면 갱신하지 않음 (만료 후 일반 miss 경로로 로딩)
+     */
+    private void scheduleRefreshIfExpiring(Object key) {
+        CacheRefreshLoader loader = refreshLoader;
+        if (loader == null || loadOptions.getRefreshAhead().isZero()) {
+            return;
+        }
+        String localKey = localKey(key);
+        if (inFlightLoads.containsKey(localKey)) {
+            return;
+        }
+        Long remainingMillis;
+        try {
+            remainingMillis = redisTemplate.getExpire(redisKeyPrefix + localKey, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.debug("캐시 TTL 조회 실패: cache={}, key={}", name, key, e);
+            return;
+        }
+        if (remainingMillis == null || remainingMillis < 0
+                || remainingMillis > loadOptions.getRefreshAhead().toMillis()) {
+            return;
+        }
+
+        CompletableFuture<Object> refresh = new CompletableFuture<>();
+        if (inFlightLoads.putIfAbsent(localKey, refresh) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> refresh(key, loader, localKey, refresh));
+            refreshAhead.increment();
+        } catch (RejectedExecutionException e) {
+            // 갱신 작업이 밀려 있으면 포기 (만료 후 일반 miss 경로로 로딩)
+            inFlightLoads.remove(localKey, refresh);
+            refresh.complete(null);
+        }
+    }
+
+    private void refresh(Object key, CacheRefreshLoader loader, String localKey, CompletableFuture<Object> refresh) {
+        String leaseKey = leaseKey(key);
+        String token = UUID.randomUUID().toString();
+        try {
+            if (!tryAcquireLease(leaseKey, token)) {
+                refresh.complete(null);
+                return;
+            }
+            try {
+                Object value = loadAndPut(key, () -> loader.load(key));
+                refresh.complete(value);
+                log.debug("캐시 refresh-ahead 완료: cache={}, key={}", name, key);
+            } finally {
+                releaseLease(leaseKey, token);
+            }
+        } catch (RuntimeException e) {
+            refresh.completeExceptionally(e);
+            log.warn("캐시 refresh-ahead 실패: cache={}, key={}", name, key, e);
+        } finally {
+            inFlightLoads.remove(localKey, refresh);
+        }
+    }
+
+    /**
+     * 진행 중인 로딩 결과 공유
+     * - refresh-ahead 작업은 값을 돌려주지 않을 수 있으므로(null) 그 경우 다시 조회
+     */
+    private Object join(Object key, Callable<?> valueLoader, CompletableFuture<Object> inFlight) {
+        Object value;
+        try {
+            value = inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+        return value != null ? value : get(key, valueLoader);
+    }
+
+    /**
+     * Redis 장애 시에는 lease 없이 진행 (캐시 때문에 조회가 실패하지 않도록)
+     */
+    private boolean tryAcquireLease(String leaseKey, String token) {
+        try {
+            return Boolean.TRUE.equals(
+                    redisTemplate.opsForValue().setIfAbsent(leaseKey, token, loadOptions.getLeaseTime()));
+        } catch (Exception e) {
+            log.warn("캐시 로딩 lease 획득 실패, lease 없이 진행: key={}", leaseKey, e);
+            return true;
+        }
+    }
+
+    /**
+     * 자신이 잡은 lease만 삭제 (lease 만료 후 다른 인스턴스가 잡은 lease를 지우지 않도록 토큰 비교)
+     */
+    private void releaseLease(String leaseKey, String token) {
+        try {
+            redisTemplate.execute(RELEASE_LEASE_SCRIPT, List.of(leaseKey), token);
+        } catch (Exception e) {
+            log.warn("캐시 로딩 lease 해제 실패 (leaseTime 후 자동 만료): key={}", leaseKey, e);
+        }
+    }
+
+    private byte[] rawKey(Object key) {
+        return (redisKeyPrefix + localKey(key)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String leaseKey(Object key) {
+        return "lock:" + redisKeyPrefix + localKey(key);
+    }
+
+    private void putLocal(Object key, Object value) {
+        if (localCache != null) {
+            localCache.put(localKey(key), new SimpleValueWrapper(value));
+        }
+    }
+
+    private void sleep(Object key, Callable<?> valueLoader) {
+        try {
+            Thread.sleep(loadOptions.getPollInterval().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    /**
+     * 다른 인스턴스에서 받은 무효화 메시지 처리 (L1만 삭제)
+     */
+    void evictLocal(Collection<String> keys) {
+        if (localCache != null) {
+            localCache.invalidateAll(keys);
+        }
+    }
+
+    void clearLocal() {
+        if (localCache != null) {
+            localCache.invalidateAll();
+        }
+    }
+
+    /**
+     * L1 키는 Redis 캐시 키 변환과 동일하게 문자열로 통일 (Pub/Sub 메시지로 전달 가능하도록)
+     */
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private void publishInvalidation(List<String> keys) {
+        if (localCache == null) {
+            return;
+        }
+        try {
+            CacheInvalidationMessage message = new CacheInvalidationMessage(instanceId, name, keys);
+            redisTemplate.convertAndSend(TwoLevelCacheManager.INVALIDATION_CHANNEL, message.encode());
+        } catch (Exception e) {
+            // 무효화 메시지 발행 실패는 요청을 실패시키지 않음 (다른 인스턴스의 L1은 TTL로 만료)
+            log.warn("캐시 무효화 메시지 발행 실패: cache={}, keys={}", name, keys, e);
+        }
+    }
+
+    private Counter loadCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("order.cache.loads")
+                .description("캐시 miss 처리 결과 (source: DB 조회, joined: JVM 내 공유, remote: 다른 인스턴스 결과 사용)")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String level, String result) {
+        return Counter.builder("order.cache.gets")
+                .description("2단계 캐시 조회 결과")
+                .tag("cache", name)
+                .tag("level", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,152 @@
+package com.study.order.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 2단계 CacheManager (로컬 L1 + Redis L2)
+ *
+ * 학습 포인트:
+ * - CacheManager를 직접 구현하여 @Cacheable/@CachePut/@CacheEvict 동작을 확장
+ * - Redis Pub/Sub 구독자(MessageListener)로 다른 인스턴스의 무효화 메시지 수신
+ * - refresh-ahead 작업은 작은 전용 스레드 풀에서 실행 (가득 차면 버림)
+ * - refresh-ahead는 registerRefreshLoader로 로더를 등록한 캐시에만 적용
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener, DisposableBean {
+
+    public static final String INVALIDATION_CHANNEL = "order-service:cache-invalidation";
+
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean localCacheEnabled;
+    private final long localMaximumSize;
+    private final Duration localExpireAfterWrite;
+    private final CacheLoadOptions loadOptions;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ThreadPoolExecutor refreshExecutor;
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager,
+                                StringRedisTemplate redisTemplate,
+                                MeterRegistry meterRegistry,
+                                boolean localCacheEnabled,
+                                long localMaximumSize,
+                                Duration localExpireAfterWrite,
+                                CacheLoadOptions loadOptions) {
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.localCacheEnabled = localCacheEnabled;
+        this.localMaximumSize = localMaximumSize;
+        this.localExpireAfterWrite = localExpireAfterWrite;
+        this.loadOptions = loadOptions;
+        this.refreshExecutor = newRefreshExecutor();
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(redisCacheManager.getCacheNames());
+        names.addAll(caches.keySet());
+        return names;
+    }
+
+    /**
+     * 캐시 키로 값을 다시 읽는 refresh-ahead 전용 로더 등록
+     */
+    public void registerRefreshLoader(String name, CacheRefreshLoader loader) {
+        caches.computeIfAbsent(name, this::createCache).setRefreshLoader(loader);
+        log.info("refresh-ahead 로더 등록: cache={}", name);
+    }
+
+    /**
+     * 다른 인스턴스가 발행한 무효화 메시지 수신 → 해당 L1 엔트리 삭제
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = CacheInvalidationMessage.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            log.warn("캐시 무효화 메시지 파싱 실패", e);
+            return;
+        }
+        if (instanceId.equals(invalidation.getInstanceId())) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(invalidation.getCacheName());
+        if (cache == null) {
+            return;
+        }
+        if (invalidation.isClear()) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(invalidation.getKeys());
+        }
+        log.debug("L1 캐시 무효화: cache={}, keys={}", invalidation.getCacheName(), invalidation.getKeys());
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdown();
+    }
+
+    private TwoLevelCache createCache(String name) {
+        RedisCache redisCache = (RedisCache) redisCacheManager.getCache(name);
+        com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> localCache = null;
+        if (localCacheEnabled) {
+            localCache = Caffeine.newBuilder()
+                    .maximumSize(localMaximumSize)
+                    .expireAfterWrite(localExpireAfterWrite)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, localCache, name, "level", "l1");
+        }
+        log.info("2단계 캐시 생성: name={}, l1Enabled={}", name, localCacheEnabled);
+        return new TwoLevelCache(name, redisCache, redisCache.getCacheConfiguration(), localCache,
+                redisTemplate, instanceId, loadOptions, refreshExecutor, meterRegistry);
+    }
+
+    private ThreadPoolExecutor newRefreshExecutor() {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(256),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
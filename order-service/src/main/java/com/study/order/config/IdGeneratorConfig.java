@@ -0,0 +1,43 @@
+package com.study.order.config;
+
+import com.study.common.id.SnowflakeIdGenerator;
+import com.study.order.id.SnowflakeIdentifierGenerator;
+import com.study.order.sharding.ShardBuckets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 주문 ID 생성기 설정
+ *
+ * ID 레이아웃: [타임스탬프 40 | 샤드 버킷 8 | 노드 7 | 시퀀스 8]
+ * - 버킷(userId 해시)을 ID에 담아 orderId만으로 샤드를 찾음 (ShardRouter.shardOfOrder)
+ * - 타임스탬프 40비트 ≈ 34년, 노드 128개, 노드당 ms당 256개
+ *
+ * 노드 ID: order.id.node-id (0 ~ 127) 필수 - 인스턴스마다 다른 값으로 배포
+ * - 인스턴스 이름을 7비트로 해시하면 인스턴스 몇 개만으로도 충돌 확률이 높음 (생일 문제: 10개면 약 30%)
+ *   → 같은 노드 ID의 두 인스턴스는 같은 ms에 같은 ID를 만들 수 있으므로 추측하지 않고 시작 시 실패
+ * - ID는 2^53보다 크므로 JSON에는 문자열로 내려감 (DTO/이벤트의 @JsonSerialize(using = ToStringSerializer.class))
+ */
+@Slf4j
+@Configuration
+public class IdGeneratorConfig {
+
+    static final int NODE_BITS = 7;
+    static final int SEQUENCE_BITS = 8;
+
+    @Bean
+    public SnowflakeIdGenerator orderIdGenerator(@Value("${order.id.node-id:-1}") long nodeId) {
+        long maxNodeId = (1L << NODE_BITS) - 1;
+        if (nodeId < 0 || nodeId > maxNodeId) {
+            throw new IllegalStateException("order.id.node-id를 0 ~ " + maxNodeId
+                    + " 범위로 인스턴스마다 다르게 지정해야 합니다 (현재: " + nodeId + ")");
+        }
+        SnowflakeIdGenerator generator =
+                new SnowflakeIdGenerator(nodeId, ShardBuckets.BUCKET_BITS, NODE_BITS, SEQUENCE_BITS);
+        SnowflakeIdentifierGenerator.install(generator);
+        log.info("주문 ID 생성기 초기화: nodeId={}", nodeId);
+        return generator;
+    }
+}
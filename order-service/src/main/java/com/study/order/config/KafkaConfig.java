@@ -27,11 +27,24 @@ import java.util.Map;
 @Configuration
 public class KafkaConfig {
 
+    private static final int LINGER_MS = 5;
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${order.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${order.outbox.max-block-ms:1000}")
+    private long maxBlockMs;
+
     /**
      * Kafka Producer Factory
+     * - Idempotent Producer: 재시도 시 중복/순서 뒤바뀜 방지 (acks=all 필요)
+     * - linger.ms, batch.size: Outbox Relay의 비동기 전송을 파티션별 배치로 묶어 전송
+     * - max.block.ms, delivery.timeout.ms: Relay가 outbox 행 잠금을 쥔 채 기다리는 시간(send-timeout-ms)을 넘지 않도록 제한
+     *   (기본값은 각각 60초, 120초 → 브로커 장애 시 잠금이 길어져 주문 쓰기가 막힘)
+     *   request.timeout.ms는 delivery.timeout.ms - linger.ms 이하여야 producer가 생성됨
      */
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
@@ -39,6 +52,14 @@ public class KafkaConfig {
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, LINGER_MS);
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, Math.min(maxBlockMs, sendTimeoutMs));
+        config.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, (int) sendTimeoutMs);
+        config.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, (int) Math.min(30_000, sendTimeoutMs - LINGER_MS));
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, 64 * 1024);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
         return new DefaultKafkaProducerFactory<>(config);
     }
 
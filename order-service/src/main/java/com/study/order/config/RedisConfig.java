@@ -1,18 +1,28 @@
 package com.study.order.config;
 
-import org.springframework.cache.CacheManager;
+import com.study.order.cache.CacheLoadOptions;
+import com.study.order.cache.OrderResponseRedisSerializer;
+import com.study.order.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Redis 설정
@@ -22,6 +32,9 @@ import java.time.Duration;
  * 2. Cache Manager 설정
  * 3. Serializer 설정 (String, JSON)
  * 4. TTL (Time To Live) 설정
+ * 5. 2단계 캐시 (로컬 L1 + Redis L2) 및 Pub/Sub 기반 무효화
+ * 6. 캐시 값 Serializer 교체 (JSON ↔ 바이너리)
+ * 7. Cache Stampede 방지: TTL Jitter + Single-flight 로딩 + Refresh-ahead
  */
 @Configuration
 @EnableCaching
@@ -51,21 +64,102 @@ public class RedisConfig {
 
     /**
      * Cache Manager 설정
-     * - 기본 TTL: 1시간
+     * - L1: 로컬 메모리 (크기 제한 + 짧은 TTL, order.cache.l1.enabled로 on/off)
+     * - L2: Redis (기본 TTL: 1시간, ±jitter)
+     * - miss 시 로딩: JVM 내/인스턴스 간 한 번만 DB 조회, 만료 임박 값은 백그라운드 갱신
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoLevelCacheManager cacheManager(
+            RedisConnectionFactory connectionFactory,
+            StringRedisTemplate stringRedisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${order.cache.l1.enabled:true}") boolean localCacheEnabled,
+            @Value("${order.cache.l1.maximum-size:10000}") long localMaximumSize,
+            @Value("${order.cache.l1.expire-after-write:30s}") Duration localExpireAfterWrite,
+            @Value("${order.cache.serializer:binary}") String serializerType,
+            @Value("${order.cache.compression-threshold:512}") int compressionThreshold,
+            @Value("${order.cache.ttl:1h}") Duration ttl,
+            @Value("${order.cache.ttl-jitter:0.1}") double ttlJitter,
+            @Value("${order.cache.load.lease-time:5s}") Duration leaseTime,
+            @Value("${order.cache.load.wait-timeout:3s}") Duration waitTimeout,
+            @Value("${order.cache.load.poll-interval:50ms}") Duration pollInterval,
+            @Value("${order.cache.load.refresh-ahead:5m}") Duration refreshAhead) {
+        CacheLoadOptions loadOptions = CacheLoadOptions.builder()
+                .leaseTime(leaseTime)
+                .waitTimeout(waitTimeout)
+                .pollInterval(pollInterval)
+                .refreshAhead(refreshAhead)
+                .build();
+        return new TwoLevelCacheManager(
+                redisCacheManager(connectionFactory,
+                        cacheValueSerializer(serializerType, compressionThreshold),
+                        jitteredTtl(ttl, ttlJitter)),
+                stringRedisTemplate,
+                meterRegistry,
+                localCacheEnabled,
+                localMaximumSize,
+                localExpireAfterWrite,
+                loadOptions);
+    }
+
+    /**
+     * 캐시 무효화 메시지 구독 (다른 인스턴스의 L1 무효화)
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    /**
+     * L2 Redis Cache Manager
+     */
+    private RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+                                                RedisSerializer<Object> valueSerializer,
+                                                RedisCacheWriter.TtlFunction ttlFunction) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofHours(1))  // 캐시 유효 시간
+                .entryTtl(ttlFunction)  // 캐시 유효 시간 (엔트리마다 jitter 적용)
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())
                 )
                 .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer())
+                        RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer)
                 );
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
                 .build();
+        redisCacheManager.initializeCaches();  // Bean이 아니므로 직접 초기화
+        return redisCacheManager;
+    }
+
+    /**
+     * TTL Jitter
+     * - 같은 시점에 채워진 키들이 동시에 만료되지 않도록 TTL을 ±ratio 범위에서 무작위로 분산
+     */
+    private RedisCacheWriter.TtlFunction jitteredTtl(Duration ttl, double ratio) {
+        long baseMillis = ttl.toMillis();
+        long spreadMillis = (long) (baseMillis * ratio);
+        if (spreadMillis <= 0) {
+            return RedisCacheWriter.TtlFunction.just(ttl);
+        }
+        return (key, value) -> Duration.ofMillis(
+                baseMillis + ThreadLocalRandom.current().nextLong(-spreadMillis, spreadMillis + 1));
+    }
+
+    /**
+     * 캐시 값 Serializer 선택
+     * - binary: 주문 응답은 버전 관리되는 바이너리(+압축), 그 외 값과 기존 JSON 값은 JSON으로 처리
+     * - json: GenericJackson2JsonRedisSerializer (@class 타입 정보 포함)
+     */
+    private RedisSerializer<Object> cacheValueSerializer(String serializerType, int compressionThreshold) {
+        if ("json".equalsIgnoreCase(serializerType)) {
+            return new GenericJackson2JsonRedisSerializer();
+        }
+        return new OrderResponseRedisSerializer(compressionThreshold);
     }
 }
@@ -0,0 +1,75 @@
+package com.study.order.config;
+
+import com.study.common.id.SnowflakeIdGenerator;
+import com.study.order.sharding.ConsistentHashRing;
+import com.study.order.sharding.ShardRouter;
+import com.study.order.sharding.ShardSchemaInitializer;
+import com.study.order.sharding.ShardedDataSource;
+import com.study.order.sharding.ShardingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * 주문 샤딩 설정
+ *
+ * 학습 포인트:
+ * 1. ShardRouter는 항상 등록 - 샤딩 비활성화 시 샤드 1개(기존 spring.datasource)로 동작
+ * 2. order.sharding.enabled=true 이면 DataSource Bean을 샤드 라우팅 DataSource로 교체
+ *    → EntityManagerFactory/트랜잭션 매니저는 하나, 커넥션만 샤드별로 분리
+ * 3. 읽기/쓰기 분리(datasource.routing)와 동시에 켤 수 없음 (둘 다 dataSource Bean을 등록 → 시작 실패)
+ */
+@Slf4j
+@Configuration
+public class ShardingConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "order.sharding")
+    public ShardingProperties shardingProperties() {
+        return new ShardingProperties();
+    }
+
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties shardingProperties,
+                                   SnowflakeIdGenerator orderIdGenerator,
+                                   PlatformTransactionManager transactionManager) {
+        List<String> names = shardingProperties.isEnabled()
+                ? shardingProperties.getShards().stream().map(ShardingProperties.Shard::getName).toList()
+                : List.of("default");
+        if (new HashSet<>(names).size() != names.size()) {
+            throw new IllegalStateException("샤드 이름이 중복되었습니다: " + names);
+        }
+        ConsistentHashRing ring = new ConsistentHashRing(names, shardingProperties.getVirtualNodes());
+        log.info("주문 샤드 구성: shards={}, bucketsPerShard={}, rebalancePending={}",
+                names, Arrays.toString(ring.bucketCounts()), shardingProperties.isRebalancePending());
+        ShardRouter shardRouter = new ShardRouter(ring, orderIdGenerator, transactionManager);
+        shardRouter.setRebalancePending(shardingProperties.isRebalancePending());
+        return shardRouter;
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "order.sharding", name = "enabled", havingValue = "true")
+    static class ShardDataSourceConfig {
+
+        @Bean
+        public ShardedDataSource dataSource(ShardingProperties shardingProperties, MeterRegistry meterRegistry) {
+            return ShardedDataSource.create(shardingProperties, meterRegistry);
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "order.sharding", name = "init-schema", havingValue = "true", matchIfMissing = true)
+        public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                             ShardRouter shardRouter) {
+            return new ShardSchemaInitializer(entityManagerFactory, shardRouter);
+        }
+    }
+}
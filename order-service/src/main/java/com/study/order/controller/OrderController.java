@@ -1,14 +1,32 @@
 package com.study.order.controller;
 
 import com.study.common.dto.ApiResponse;
+import com.study.common.exception.BusinessException;
+import com.study.order.acceptance.AcceptanceState;
+import com.study.order.acceptance.OrderAcceptanceService;
+import com.study.order.analytics.Granularity;
+import com.study.order.analytics.OrderAnalytics;
+import com.study.order.domain.Money;
+import com.study.order.domain.OrderStatus;
 import com.study.order.dto.OrderDto;
+import com.study.order.dto.OrderSort;
+import com.study.order.projection.UserOrderSummaryProjector;
+import com.study.order.service.OrderBulkService;
+import com.study.order.service.OrderExportService;
+import com.study.order.service.OrderReshardingService;
 import com.study.order.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -21,16 +39,58 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderBulkService orderBulkService;
+    private final OrderExportService orderExportService;
+    private final OrderAnalytics orderAnalytics;
+    private final UserOrderSummaryProjector userOrderSummaryProjector;
+    private final OrderReshardingService orderReshardingService;
+    private final OrderAcceptanceService orderAcceptanceService;
 
     /**
      * 주문 생성
+     * - order.acceptance.enabled=true: 비동기 접수 → 202 + 상태 URL (대기열이 가득 차면 503 + Retry-After)
+     *   → Idempotency-Key 헤더가 같으면 이미 접수된 주문을 돌려줌 (응답을 받지 못했을 때 안전하게 재시도)
+     * - 그 외: 동기 저장 → 201
      */
     @PostMapping("/orders")
-    @ResponseStatus(HttpStatus.CREATED)
-    public ApiResponse<OrderDto.Response> createOrder(@Valid @RequestBody OrderDto.CreateRequest request) {
+    public ResponseEntity<ApiResponse<?>> createOrder(
+            @Valid @RequestBody OrderDto.CreateRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         log.info("주문 생성 요청: userId={}", request.getUserId());
-        OrderDto.Response response = orderService.createOrder(request);
-        return ApiResponse.success("주문이 생성되었습니다", response);
+        if (!orderAcceptanceService.isEnabled()) {
+            OrderDto.Response response = orderService.createOrder(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("주문이 생성되었습니다", response));
+        }
+
+        OrderDto.AcceptanceStatus status = orderAcceptanceService.accept(request, idempotencyKey);
+        if (status.getState() == AcceptanceState.REJECTED) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ApiResponse.error(status.getMessage(), "ORDER_ACCEPTANCE_REJECTED"));
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create(status.getStatusUrl()))
+                .body(ApiResponse.success(status.getMessage(), status));
+    }
+
+    /**
+     * 비동기 접수 주문의 처리 상태 조회 (QUEUED → PERSISTED / FAILED)
+     */
+    @GetMapping("/orders/{orderId}/acceptance")
+    public ApiResponse<OrderDto.AcceptanceStatus> getAcceptanceStatus(@PathVariable Long orderId) {
+        return ApiResponse.success(orderAcceptanceService.getStatus(orderId));
+    }
+
+    /**
+     * 주문 대량 생성
+     * - 항목별 성공/실패 결과 반환 (일부 실패해도 나머지는 저장)
+     */
+    @PostMapping("/orders/batch")
+    public ApiResponse<OrderDto.BatchResponse> createOrders(@Valid @RequestBody OrderDto.BatchCreateRequest request) {
+        log.info("주문 대량 생성 요청: count={}", request.getOrders().size());
+        OrderDto.BatchResponse response = orderBulkService.createOrders(request);
+        return ApiResponse.success("주문 대량 생성이 완료되었습니다", response);
     }
 
     /**
@@ -44,17 +104,87 @@ public class OrderController {
     }
 
     /**
-     * 전체 주문 조회
+     * 주문 목록 조회 (Keyset 페이지네이션)
+     * - cursor: 이전 응답의 nextCursor (첫 페이지는 생략)
+     * - size: 페이지 크기 (기본 20, 최대 100)
+     * - status, userId: 선택 필터
+     * - minAmount/maxAmount: 주문 금액 범위 [min, max], from/to: 생성일시 범위 [from, to)
+     * - sort: CREATED_AT_DESC(기본), CREATED_AT_ASC, TOTAL_AMOUNT_DESC, TOTAL_AMOUNT_ASC
      */
     @GetMapping("/orders")
-    public ApiResponse<List<OrderDto.Response>> getAllOrders() {
-        log.info("전체 주문 조회 요청");
-        List<OrderDto.Response> orders = orderService.getAllOrders();
+    public ApiResponse<OrderDto.PageResponse> getOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Money minAmount,
+            @RequestParam(required = false) Money maxAmount,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "CREATED_AT_DESC") OrderSort sort) {
+        OrderDto.SearchCondition condition = OrderDto.SearchCondition.builder()
+                .userId(userId)
+                .status(status)
+                .minAmount(minAmount)
+                .maxAmount(maxAmount)
+                .from(from)
+                .to(to)
+                .sort(sort)
+                .build();
+        log.info("주문 목록 조회 요청: size={}, status={}, userId={}, amount=[{}, {}], from={}, to={}, sort={}",
+                size, status, userId, minAmount, maxAmount, from, to, sort);
+        OrderDto.PageResponse page = orderService.getOrders(condition, cursor, size);
+        return ApiResponse.success(page);
+    }
+
+    /**
+     * 주문 통계 조회 (버킷 단위 주문 수 / 금액)
+     * - granularity: MINUTE, HOUR, DAY (기본 HOUR)
+     * - from/to: 주문 생성 시각 범위 [from, to), 생략 시 최근 24시간
+     */
+    @GetMapping("/orders/analytics")
+    public ApiResponse<OrderDto.AnalyticsResponse> getAnalytics(
+            @RequestParam(defaultValue = "HOUR") Granularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(1);
+        log.info("주문 통계 조회 요청: granularity={}, from={}, to={}", granularity, start, end);
+        return ApiResponse.success(orderAnalytics.query(granularity, start, end));
+    }
+
+    /**
+     * 주문 여러 건 조회 (예: /orders?ids=1,2,3)
+     * - 캐시 일괄 조회 후 miss만 DB에서 한 번에 조회, 요청 순서대로 반환 (최대 100건)
+     */
+    @GetMapping(value = "/orders", params = "ids")
+    public ApiResponse<List<OrderDto.Response>> getOrdersByIds(@RequestParam List<Long> ids) {
+        log.info("주문 일괄 조회 요청: count={}", ids.size());
+        List<OrderDto.Response> orders = orderService.getOrdersByIds(ids);
         return ApiResponse.success(orders);
     }
 
     /**
-     * 사용자별 주문 조회
+     * 주문 Export (NDJSON/CSV 스트리밍)
+     * - 응답을 메모리에 모으지 않고 DB 커서에서 읽는 즉시 전송
+     * - from/to: 생성일시 범위 [from, to), status: 선택 필터
+     */
+    @GetMapping("/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = "NDJSON") OrderExportService.Format format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) OrderStatus status) {
+        log.info("주문 Export 요청: format={}, from={}, to={}, status={}", format, from, to, status);
+        StreamingResponseBody body = out -> orderExportService.export(format, from, to, status, out);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=orders." + format.getExtension())
+                .body(body);
+    }
+
+    /**
+     * 사용자별 주문 조회 (주문 항목 포함 전체 목록)
      */
     @GetMapping("/users/{userId}/orders")
     public ApiResponse<List<OrderDto.Response>> getUserOrders(@PathVariable Long userId) {
@@ -63,6 +193,45 @@ public class OrderController {
         return ApiResponse.success(orders);
     }
 
+    /**
+     * 사용자 주문 요약 조회 (최근 주문, 상태별 건수, 누적 금액)
+     * - Kafka 이벤트로 갱신되는 Read Model에서 조회 (DB 조회 없음)
+     */
+    @GetMapping("/users/{userId}/orders/summary")
+    public ApiResponse<OrderDto.UserOrderSummary> getUserOrderSummary(@PathVariable Long userId) {
+        log.info("사용자 주문 요약 조회 요청: userId={}", userId);
+        OrderDto.UserOrderSummary summary = orderService.getUserOrderSummary(userId);
+        return ApiResponse.success(summary);
+    }
+
+    /**
+     * 사용자 주문 이력 조회 (Keyset 페이지네이션)
+     * - 요약의 최근 주문보다 오래된 주문을 볼 때 사용
+     */
+    @GetMapping("/users/{userId}/orders/history")
+    public ApiResponse<OrderDto.PageResponse> getUserOrderHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("사용자 주문 이력 조회 요청: userId={}, size={}", userId, size);
+        OrderDto.PageResponse page = orderService.getUserOrderHistory(userId, cursor, size);
+        return ApiResponse.success(page);
+    }
+
+    /**
+     * 사용자 주문 요약 Read Model 재구성
+     * - order-events 토픽 전체를 새 세대에 다시 반영한 뒤 전환 (비동기, 그동안 기존 요약으로 응답)
+     */
+    @PostMapping("/users/orders/summary/rebuild")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ApiResponse<Void> rebuildUserOrderSummaries() {
+        log.info("사용자 주문 요약 재구성 요청");
+        if (!userOrderSummaryProjector.rebuild()) {
+            throw new BusinessException("주문 요약 재구성이 이미 진행 중입니다", "SUMMARY_REBUILD_IN_PROGRESS");
+        }
+        return ApiResponse.success("주문 요약 재구성을 시작했습니다", null);
+    }
+
     /**
      * 주문 상태 변경
      */
@@ -75,6 +244,18 @@ public class OrderController {
         return ApiResponse.success("주문 상태가 변경되었습니다", response);
     }
 
+    /**
+     * 주문 상태 대량 변경
+     * - 허용된 상태 전이만 적용하고 주문별 성공/실패 결과 반환
+     */
+    @PutMapping("/orders/batch/status")
+    public ApiResponse<OrderDto.BatchResponse> updateOrderStatuses(
+            @Valid @RequestBody OrderDto.BatchStatusUpdateRequest request) {
+        log.info("주문 상태 대량 변경 요청: count={}, status={}", request.getOrderIds().size(), request.getStatus());
+        OrderDto.BatchResponse response = orderBulkService.updateStatuses(request);
+        return ApiResponse.success("주문 상태 대량 변경이 완료되었습니다", response);
+    }
+
     /**
      * 주문 취소
      */
@@ -84,4 +265,22 @@ public class OrderController {
         log.info("주문 취소 요청: orderId={}", orderId);
         orderService.cancelOrder(orderId);
     }
+
+    /**
+     * 샤드 현황 조회 (샤드별 소유 버킷 수, 주문 수, 재배치 대상 주문 수)
+     */
+    @GetMapping("/admin/shards")
+    public ApiResponse<List<OrderDto.ShardStatus>> getShards() {
+        return ApiResponse.success(orderReshardingService.status());
+    }
+
+    /**
+     * 샤드 재배치 - 샤드 추가 후 소유자가 바뀐 버킷의 주문을 새 소유 샤드로 이동
+     */
+    @PostMapping("/admin/shards/rebalance")
+    public ApiResponse<OrderDto.RebalanceResponse> rebalanceShards() {
+        log.info("샤드 재배치 요청");
+        OrderDto.RebalanceResponse response = orderReshardingService.rebalance();
+        return ApiResponse.success("샤드 재배치가 완료되었습니다", response);
+    }
 }
@@ -0,0 +1,41 @@
+package com.study.order.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비동기 접수 후 저장에 실패한 주문 (Dead Letter)
+ *
+ * - 재시도해도 성공할 수 없는 오류로 저장하지 못한 주문을 WAL 정리 전에 주문과 같은 샤드에 기록
+ *   → 접수 상태가 메모리에서 사라진 뒤나 다른 인스턴스에서도 FAILED와 원인을 조회할 수 있음
+ * - payload: WAL 레코드 내용 그대로 (수동 재처리용)
+ */
+@Entity
+@Table(name = "order_acceptance_failure")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class AcceptanceFailure {
+
+    @Id
+    private Long orderId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false, length = 1000)
+    private String reason;
+
+    @Column(nullable = false)
+    private LocalDateTime acceptedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime failedAt;
+}
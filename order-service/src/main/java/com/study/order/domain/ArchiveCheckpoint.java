@@ -0,0 +1,35 @@
+package com.study.order.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관 작업 진행 위치 (재시작 시 이어서 처리)
+ *
+ * - lastOrderId: 이번 회차에서 마지막으로 확인한 주문 ID (다음 배치는 이 ID 이후부터)
+ * - 한 회차가 끝나면(더 이상 대상 없음) 0으로 초기화하여 다음 회차는 처음부터 다시 확인
+ */
+@Entity
+@Table(name = "archive_checkpoint")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class ArchiveCheckpoint {
+
+    @Id
+    @Column(length = 50)
+    private String jobName;
+
+    @Column(nullable = false)
+    private Long lastOrderId;
+
+    private LocalDateTime updatedAt;
+
+    public void advance(Long lastOrderId) {
+        this.lastOrderId = lastOrderId;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
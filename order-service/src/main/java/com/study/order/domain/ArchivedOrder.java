@@ -0,0 +1,47 @@
+package com.study.order.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 보관(Archive) 주문 엔티티
+ *
+ * 학습 포인트:
+ * - 종료(DELIVERED/CANCELLED) 후 오래된 주문을 별도 테이블로 이동하여 운영 테이블(orders)을 작게 유지
+ * - ID는 원본 주문 ID를 그대로 사용 (생성 전략 없음), 데이터는 INSERT ... SELECT로만 이동되는 읽기 전용 엔티티
+ */
+@Entity
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_user_id", columnList = "user_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ArchivedOrder {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private Money totalAmount;
+
+    @OneToMany(mappedBy = "order")
+    private List<ArchivedOrderItem> orderItems = new ArrayList<>();
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,40 @@
+package com.study.order.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+
+/**
+ * 보관(Archive) 주문 항목 엔티티
+ */
+@Entity
+@Table(name = "order_items_archive", indexes = {
+        @Index(name = "idx_order_items_archive_order_id", columnList = "order_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ArchivedOrderItem {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id")
+    private ArchivedOrder order;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false, length = 100)
+    private String productName;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private Money price;
+
+    public Money getSubtotal() {
+        return price.times(quantity);
+    }
+}
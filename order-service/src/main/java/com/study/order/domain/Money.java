@@ -0,0 +1,109 @@
+package com.study.order.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.study.common.exception.BusinessException;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 주문 금액 (원 단위 소수점 2자리 = 최소 단위 long으로 보관)
+ *
+ * 학습 포인트:
+ * - BigDecimal 연산은 결과마다 BigDecimal(+ 내부 BigInteger)을 새로 만든다 → 항목이 많은 주문에서 할당이 누적
+ * - 금액을 scale 2 고정의 long(minor units)으로 들고 있으면 합계/곱셈이 long 연산 한 번
+ * - Math.addExact / multiplyExact로 오버플로우는 조용히 넘어가지 않고 ArithmeticException
+ * - DB 컬럼(DECIMAL(10,2))과 JSON 형식(숫자 12.30)은 그대로 유지 (MoneyConverter, @JsonValue)
+ */
+public final class Money implements Comparable<Money>, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0L);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0L ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * 외부 입력(JSON, 요청 파라미터) 금액 변환 - 반올림하지 않고 검증
+     * - RoundingMode.UNNECESSARY: 소수점 셋째 자리 이하 값이 있으면 잘라내지 않고 거부 (12.345 → 오류)
+     *
+     * @throws BusinessException 소수점 셋째 자리 이하 값이 있거나 long 범위를 넘는 경우
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            throw new BusinessException("금액이 없습니다", "INVALID_AMOUNT");
+        }
+        try {
+            return ofMinor(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new BusinessException("금액은 소수점 " + SCALE + "자리까지, 허용 범위 안에서 입력해야 합니다: "
+                    + amount.toPlainString(), "INVALID_AMOUNT", e);
+        }
+    }
+
+    /**
+     * 문자열 변환 (요청 파라미터 바인딩 시 Spring ConversionService가 사용)
+     */
+    public static Money valueOf(String amount) {
+        try {
+            return of(new BigDecimal(amount.trim()));
+        } catch (NumberFormatException e) {
+            throw new BusinessException("금액 형식이 올바르지 않습니다: " + amount, "INVALID_AMOUNT", e);
+        }
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money times(int quantity) {
+        return ofMinor(Math.multiplyExact(minorUnits, (long) quantity));
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money other && minorUnits == other.minorUnits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,25 @@
+package com.study.order.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Money ↔ DECIMAL(10,2) 컬럼 변환
+ * - autoApply: Money 타입 필드 전체에 자동 적용 (엔티티마다 @Convert 불필요)
+ * - JPQL/Criteria 비교 조건의 파라미터에도 같은 변환이 적용됨
+ */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal value) {
+        return value == null ? null : Money.of(value);
+    }
+}
@@ -1,41 +1,88 @@
 package com.study.order.domain;
 
+import com.study.common.exception.BusinessException;
+import com.study.order.id.PreassignedId;
+import com.study.order.id.ShardKeyed;
+import com.study.order.id.SnowflakeId;
+import com.study.order.sharding.ShardBuckets;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Order 엔티티
+ *
+ * 학습 포인트 (주문 검색 인덱스):
+ * - 복합 인덱스 = 동등 조건 컬럼 → 정렬 컬럼 → id
+ * - 앞쪽 컬럼이 같으면 정렬 컬럼 순서로 저장되어 있으므로 ORDER BY + LIMIT을 정렬 없이 처리
+ * - 정렬 컬럼이 아닌 범위 조건(금액/기간)은 인덱스를 따라 읽으면서 필터링
+ * - orders는 쓰기가 많은 테이블 → 인덱스마다 INSERT/상태 변경 비용이 늘어나므로 조합마다 만들지 않고 접두어를 공유
+ *
+ * | 필터(동등 조건)   | 생성일시 정렬                        | 금액 정렬                            |
+ * |------------------|-------------------------------------|-------------------------------------|
+ * | 없음              | idx_orders_created_at_id            | idx_orders_total_amount_id          |
+ * | userId (+status) | idx_orders_user_created_at          | idx_orders_user_created_at + 정렬    |
+ * | status           | idx_orders_status_created_at        | idx_orders_status_created_at + 정렬  |
+ *
+ * 남긴 인덱스 5개 (OrderRepositoryTest의 EXPLAIN 조합표로 확인):
+ * - created_at_id / total_amount_id: 필터 없는 관리자 목록 - 전체 주문을 정렬해야 하므로 정렬 컬럼마다 필요
+ * - user_created_at: 사용자 주문 목록(가장 잦은 조회), 사용자 한 명의 주문은 적어서
+ *   status 필터는 읽으면서 거르고 금액 정렬은 그 사용자 주문만 정렬 (user+status, user+금액 인덱스 3개 제거)
+ * - status_created_at: 상태별 목록 + 타임아웃 재구성(streamByStatusIn), 금액 정렬은 상태 범위만 정렬
+ *   (PENDING/CONFIRMED는 타임아웃, 종료 상태는 보관 작업으로 행 수가 제한됨 → status+금액 인덱스 제거)
+ * - shard_bucket_id: 샤드 재배치의 버킷별 이동 대상 조회
+ *
+ * 샤딩: userId가 샤드 키 - 같은 사용자의 주문과 항목은 모두 같은 샤드에 저장
+ * - shard_bucket: userId의 해시 버킷 (ID에도 포함), 샤드 재배치 시 이동 대상을 찾는 데 사용
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_orders_total_amount_id", columnList = "total_amount, id"),
+        @Index(name = "idx_orders_user_created_at", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_orders_status_created_at", columnList = "status, created_at, id"),
+        @Index(name = "idx_orders_shard_bucket_id", columnList = "shard_bucket, id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
 @EntityListeners(AuditingEntityListener.class)
-public class Order {
+public class Order implements ShardKeyed, PreassignedId {
 
+    /**
+     * 애플리케이션 생성 ID (시간 순서 64비트)
+     * - IDENTITY는 INSERT를 실행해야 ID를 알 수 있어 JDBC 배치 INSERT가 불가능
+     * - SEQUENCE와 달리 DB 왕복이 없고 특정 DB에 묶이지 않음 (샤딩 대비)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
+    /**
+     * 비동기 접수 시 미리 발급한 ID (저장 시 id로 사용, 컬럼 아님)
+     */
+    @Transient
+    private Long preassignedId;
+
     @Column(nullable = false)
     private Long userId;
 
+    @Column(name = "shard_bucket", nullable = false, updatable = false)
+    private Integer shardBucket;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private OrderStatus status;
 
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal totalAmount;
+    private Money totalAmount;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
@@ -48,6 +95,24 @@ public class Order {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    /**
+     * 낙관적 락 버전 - 조회 후 다른 요청(타임아웃 자동 취소 등)이 먼저 상태를 바꿨으면 커밋 시 충돌
+     * - 집합 단위 UPDATE(OrderRepository.updateStatusByIdIn)도 버전을 올림
+     * - null이면 새 엔티티로 판단 (미리 발급한 ID로 저장해도 merge 대신 persist)
+     */
+    @Version
+    private Long version;
+
+    @Override
+    public Long getShardKey() {
+        return userId;
+    }
+
+    @PrePersist
+    void assignShardBucket() {
+        this.shardBucket = ShardBuckets.of(userId);
+    }
+
     /**
      * 연관관계 편의 메서드
      */
@@ -57,15 +122,25 @@ public class Order {
     }
 
     /**
-     * 비즈니스 메서드
+     * 비즈니스 메서드 - 허용되지 않은 전이는 거부 (OrderStatus.canTransitionTo)
      */
     public void updateStatus(OrderStatus newStatus) {
+        if (!status.canTransitionTo(newStatus)) {
+            throw new BusinessException(status + " 상태에서 " + newStatus + " 상태로 변경할 수 없습니다",
+                    "INVALID_STATUS_TRANSITION");
+        }
         this.status = newStatus;
     }
 
+    /**
+     * 총액 계산 - 항목별 소계 객체를 만들지 않고 최소 단위(long)로 바로 합산
+     */
     public void calculateTotalAmount() {
-        this.totalAmount = orderItems.stream()
-                .map(OrderItem::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long totalMinor = 0L;
+        for (OrderItem item : orderItems) {
+            long subtotalMinor = Math.multiplyExact(item.getPrice().getMinorUnits(), (long) item.getQuantity());
+            totalMinor = Math.addExact(totalMinor, subtotalMinor);
+        }
+        this.totalAmount = Money.ofMinor(totalMinor);
     }
 }
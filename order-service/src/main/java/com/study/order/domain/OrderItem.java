@@ -1,12 +1,13 @@
 package com.study.order.domain;
 
+import com.study.order.id.ShardKeyed;
+import com.study.order.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.math.BigDecimal;
-
 /**
  * OrderItem 엔티티
+ * - 샤드 키는 주문의 userId (주문과 같은 버킷의 ID를 받음)
  */
 @Entity
 @Table(name = "order_items")
@@ -14,10 +15,10 @@ import java.math.BigDecimal;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
-public class OrderItem {
+public class OrderItem implements ShardKeyed {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Setter
@@ -35,12 +36,17 @@ public class OrderItem {
     private Integer quantity;
 
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal price;
+    private Money price;
+
+    @Override
+    public Long getShardKey() {
+        return order != null ? order.getUserId() : null;
+    }
 
     /**
-     * 소계 계산
+     * 소계 계산 (long 곱셈, 오버플로우 시 ArithmeticException)
      */
-    public BigDecimal getSubtotal() {
-        return price.multiply(BigDecimal.valueOf(quantity));
+    public Money getSubtotal() {
+        return price.times(quantity);
     }
 }
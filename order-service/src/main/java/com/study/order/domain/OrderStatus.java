@@ -5,6 +5,11 @@ import lombok.RequiredArgsConstructor;
 
 /**
  * 주문 상태 Enum
+ *
+ * 상태 전이: PENDING → CONFIRMED → PROCESSING → SHIPPED → DELIVERED
+ *          (SHIPPED 이전 상태에서는 CANCELLED로 변경 가능)
+ * 전이는 항상 선언 순서상 뒤의 상태로만 이동 → 이벤트 소비자는 순서(ordinal)로 지난 이벤트를 판별할 수 있음
+ * (상수를 추가/재배치할 때 이 성질과 캐시 Serializer의 ordinal 저장을 함께 확인)
  */
 @Getter
 @RequiredArgsConstructor
@@ -17,4 +22,17 @@ public enum OrderStatus {
     CANCELLED("취소됨");
 
     private final String description;
+
+    /**
+     * 허용된 상태 전이인지 확인
+     */
+    public boolean canTransitionTo(OrderStatus target) {
+        return switch (this) {
+            case PENDING -> target == CONFIRMED || target == CANCELLED;
+            case CONFIRMED -> target == PROCESSING || target == CANCELLED;
+            case PROCESSING -> target == SHIPPED || target == CANCELLED;
+            case SHIPPED -> target == DELIVERED;
+            case DELIVERED, CANCELLED -> false;
+        };
+    }
 }
@@ -0,0 +1,54 @@
+package com.study.order.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox 이벤트 엔티티 (Transactional Outbox 패턴)
+ *
+ * 학습 포인트:
+ * - 이벤트를 Kafka로 바로 보내지 않고, 주문과 같은 트랜잭션에서 outbox 테이블에 저장
+ * - 트랜잭션이 롤백되면 이벤트도 함께 롤백 → "DB 반영 없이 이벤트만 발행"되는 문제 방지
+ * - 별도 Relay가 outbox를 읽어 Kafka로 발행 후 삭제
+ * - id는 인스턴스마다 미리 할당받은 시퀀스 구간에서 나오므로 커밋 순서와 다를 수 있음
+ *   → 같은 주문의 발행 순서는 orderVersion(이 변경으로 커밋되는 주문 행의 version)으로 정함
+ */
+@Entity
+@Table(name = "order_outbox")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_seq")
+    @SequenceGenerator(name = "order_outbox_seq", sequenceName = "order_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String topic;
+
+    /**
+     * Kafka 메시지 키 (주문 ID) - 같은 주문의 이벤트는 같은 파티션으로 가서 순서 보장
+     */
+    @Column(nullable = false, length = 50)
+    private String messageKey;
+
+    /**
+     * 이 이벤트를 만든 변경이 커밋한 주문 version - 같은 주문의 변경은 행 잠금/버전 검사로 직렬화되므로 커밋 순서대로 증가
+     * (도입 전에 저장된 행은 null → 같은 주문의 다른 이벤트보다 먼저 발행)
+     */
+    private Long orderVersion;
+
+    @Column(nullable = false, length = 50)
+    private String eventType;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
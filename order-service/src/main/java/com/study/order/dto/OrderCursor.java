@@ -0,0 +1,58 @@
+package com.study.order.dto;
+
+import com.study.common.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 주문 목록 Keyset 페이지네이션 커서
+ *
+ * 학습 포인트:
+ * - OFFSET 방식은 뒤 페이지로 갈수록 앞의 행을 모두 읽고 버리므로 느려진다
+ * - (정렬값, id) 조합으로 "마지막으로 본 위치" 이후만 조회하면 페이지 깊이와 무관하게 일정한 비용
+ * - 정렬 기준도 함께 담아 다른 정렬의 커서를 재사용하는 실수를 막음
+ * - 클라이언트에는 불투명한(opaque) 문자열로 전달
+ */
+@Getter
+@AllArgsConstructor
+public class OrderCursor {
+
+    private static final String DELIMITER = "|";
+
+    private final OrderSort sort;
+    private final Comparable<?> value;
+    private final Long id;
+
+    public static OrderCursor of(OrderSort sort, OrderDto.Response last) {
+        return new OrderCursor(sort, sort.valueOf(last), last.getId());
+    }
+
+    public String encode() {
+        String raw = sort.name() + DELIMITER + value + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param expectedSort 현재 요청의 정렬 기준 (커서의 정렬 기준과 다르면 거부)
+     */
+    public static OrderCursor decode(String cursor, OrderSort expectedSort) {
+        OrderCursor decoded;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + DELIMITER, 3);
+            OrderSort sort = OrderSort.valueOf(parts[0]);
+            decoded = new OrderCursor(sort, sort.parseValue(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException | BusinessException e) {
+            throw new BusinessException("잘못된 페이지 커서입니다", "INVALID_CURSOR", e);
+        }
+        if (decoded.sort != expectedSort) {
+            throw new BusinessException("페이지 커서의 정렬 기준이 요청과 다릅니다", "INVALID_CURSOR");
+        }
+        return decoded;
+    }
+}
@@ -1,11 +1,21 @@
 package com.study.order.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.study.order.acceptance.AcceptanceState;
+import com.study.order.analytics.Granularity;
+import com.study.order.domain.ArchivedOrder;
+import com.study.order.domain.ArchivedOrderItem;
+import com.study.order.domain.Money;
 import com.study.order.domain.Order;
 import com.study.order.domain.OrderItem;
 import com.study.order.domain.OrderStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -14,8 +24,9 @@ import lombok.NoArgsConstructor;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Order DTO 모음 클래스
@@ -33,8 +44,126 @@ public class OrderDto {
         @NotNull(message = "사용자 ID는 필수입니다")
         private Long userId;
 
+        @Valid
         @NotEmpty(message = "주문 항목은 최소 1개 이상이어야 합니다")
         private List<OrderItemRequest> items;
+
+        /**
+         * 요청 → Order 엔티티 변환 (총액 계산 포함)
+         */
+        public Order toEntity() {
+            return toEntity(null);
+        }
+
+        /**
+         * @param orderId 미리 발급한 주문 ID (null이면 저장 시 발급)
+         */
+        public Order toEntity(Long orderId) {
+            Order order = Order.builder()
+                    .preassignedId(orderId)
+                    .userId(userId)
+                    .status(OrderStatus.PENDING)
+                    .build();
+
+            items.forEach(itemRequest -> order.addOrderItem(OrderItem.builder()
+                    .productId(itemRequest.getProductId())
+                    .productName(itemRequest.getProductName())
+                    .quantity(itemRequest.getQuantity())
+                    .price(Money.of(itemRequest.getPrice()))
+                    .build()));
+
+            order.calculateTotalAmount();
+            return order;
+        }
+    }
+
+    /**
+     * 대량 주문 생성 요청 DTO
+     * - 개별 주문은 서비스에서 항목별로 검증 (한 건의 오류가 전체 요청을 실패시키지 않도록)
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BatchCreateRequest {
+        @NotEmpty(message = "주문은 최소 1건 이상이어야 합니다")
+        @Size(max = 1000, message = "한 번에 최대 1000건까지 생성할 수 있습니다")
+        private List<CreateRequest> orders;
+    }
+
+    /**
+     * 대량 상태 변경 요청 DTO
+     * - 허용되지 않는 전이(예: PENDING → SHIPPED)는 해당 주문만 실패 처리
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BatchStatusUpdateRequest {
+        @NotEmpty(message = "주문 ID는 최소 1건 이상이어야 합니다")
+        @Size(max = 10000, message = "한 번에 최대 10000건까지 변경할 수 있습니다")
+        private List<@NotNull Long> orderIds;
+
+        @NotNull(message = "주문 상태는 필수입니다")
+        private OrderStatus status;
+    }
+
+    /**
+     * 대량 처리 항목별 결과 DTO
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BatchItemResult {
+        private int index;
+        private boolean success;
+        @JsonSerialize(using = ToStringSerializer.class)  // 2^53 초과 ID → JSON 문자열
+        private Long orderId;
+        private String errorCode;
+        private String message;
+
+        public static BatchItemResult success(int index, Long orderId) {
+            return BatchItemResult.builder()
+                    .index(index)
+                    .success(true)
+                    .orderId(orderId)
+                    .build();
+        }
+
+        public static BatchItemResult failure(int index, Long orderId, String errorCode, String message) {
+            return BatchItemResult.builder()
+                    .index(index)
+                    .success(false)
+                    .orderId(orderId)
+                    .errorCode(errorCode)
+                    .message(message)
+                    .build();
+        }
+    }
+
+    /**
+     * 대량 처리 응답 DTO
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BatchResponse {
+        private int requested;
+        private int succeeded;
+        private int failed;
+        private List<BatchItemResult> results;
+
+        public static BatchResponse of(List<BatchItemResult> results) {
+            int succeeded = (int) results.stream().filter(BatchItemResult::isSuccess).count();
+            return BatchResponse.builder()
+                    .requested(results.size())
+                    .succeeded(succeeded)
+                    .failed(results.size() - succeeded)
+                    .results(results)
+                    .build();
+        }
     }
 
     /**
@@ -57,6 +186,7 @@ public class OrderDto {
 
         @NotNull(message = "가격은 필수입니다")
         @Min(value = 0, message = "가격은 0 이상이어야 합니다")
+        @Digits(integer = 8, fraction = 2, message = "가격은 정수 8자리, 소수점 2자리 이내여야 합니다")
         private BigDecimal price;
     }
 
@@ -68,26 +198,37 @@ public class OrderDto {
     @AllArgsConstructor
     @Builder
     public static class Response implements Serializable {
+        @JsonSerialize(using = ToStringSerializer.class)
         private Long id;
         private Long userId;
         private OrderStatus status;
-        private BigDecimal totalAmount;
+        private Money totalAmount;
         private List<OrderItemResponse> items;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
 
+        /**
+         * 엔티티 → 응답 변환 (주문 조회 hot path)
+         * - 빌더/Stream 대신 생성자 + 크기를 정한 ArrayList로 중간 객체를 줄임
+         */
         public static Response from(Order order) {
-            return Response.builder()
-                    .id(order.getId())
-                    .userId(order.getUserId())
-                    .status(order.getStatus())
-                    .totalAmount(order.getTotalAmount())
-                    .items(order.getOrderItems().stream()
-                            .map(OrderItemResponse::from)
-                            .collect(Collectors.toList()))
-                    .createdAt(order.getCreatedAt())
-                    .updatedAt(order.getUpdatedAt())
-                    .build();
+            List<OrderItem> orderItems = order.getOrderItems();
+            List<OrderItemResponse> items = new ArrayList<>(orderItems.size());
+            for (OrderItem item : orderItems) {
+                items.add(OrderItemResponse.from(item));
+            }
+            return new Response(order.getId(), order.getUserId(), order.getStatus(), order.getTotalAmount(),
+                    items, order.getCreatedAt(), order.getUpdatedAt());
+        }
+
+        public static Response from(ArchivedOrder order) {
+            List<ArchivedOrderItem> orderItems = order.getOrderItems();
+            List<OrderItemResponse> items = new ArrayList<>(orderItems.size());
+            for (ArchivedOrderItem item : orderItems) {
+                items.add(OrderItemResponse.from(item));
+            }
+            return new Response(order.getId(), order.getUserId(), order.getStatus(), order.getTotalAmount(),
+                    items, order.getCreatedAt(), order.getUpdatedAt());
         }
     }
 
@@ -99,23 +240,167 @@ public class OrderDto {
     @AllArgsConstructor
     @Builder
     public static class OrderItemResponse implements Serializable {
+        @JsonSerialize(using = ToStringSerializer.class)
         private Long id;
         private Long productId;
         private String productName;
         private Integer quantity;
-        private BigDecimal price;
-        private BigDecimal subtotal;
+        private Money price;
+        private Money subtotal;
 
         public static OrderItemResponse from(OrderItem item) {
-            return OrderItemResponse.builder()
-                    .id(item.getId())
-                    .productId(item.getProductId())
-                    .productName(item.getProductName())
-                    .quantity(item.getQuantity())
-                    .price(item.getPrice())
-                    .subtotal(item.getSubtotal())
-                    .build();
+            Money price = item.getPrice();
+            return new OrderItemResponse(item.getId(), item.getProductId(), item.getProductName(),
+                    item.getQuantity(), price, price.times(item.getQuantity()));
         }
+
+        public static OrderItemResponse from(ArchivedOrderItem item) {
+            Money price = item.getPrice();
+            return new OrderItemResponse(item.getId(), item.getProductId(), item.getProductName(),
+                    item.getQuantity(), price, price.times(item.getQuantity()));
+        }
+    }
+
+    /**
+     * 주문 검색 조건
+     * - 모든 필터는 선택, 금액은 [minAmount, maxAmount], 생성일시는 [from, to)
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SearchCondition {
+        private Long userId;
+        private OrderStatus status;
+        private Money minAmount;
+        private Money maxAmount;
+        private LocalDateTime from;
+        private LocalDateTime to;
+        @Builder.Default
+        private OrderSort sort = OrderSort.CREATED_AT_DESC;
+    }
+
+    /**
+     * 주문 목록 페이지 응답 DTO (Keyset 페이지네이션)
+     * - nextCursor를 다음 요청의 cursor 파라미터로 전달
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PageResponse {
+        private List<Response> items;
+        private String nextCursor;
+        private boolean hasNext;
+    }
+
+    /**
+     * 사용자 주문 요약 응답 DTO (Read Model)
+     * - lifetimeTotal: 취소되지 않은 주문 금액 합계
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class UserOrderSummary {
+        private Long userId;
+        private long orderCount;
+        private Money lifetimeTotal;
+        private Map<OrderStatus, Long> statusCounts;
+        private List<RecentOrder> recentOrders;
+    }
+
+    /**
+     * 사용자 주문 요약의 최근 주문 항목
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RecentOrder {
+        @JsonSerialize(using = ToStringSerializer.class)
+        private Long orderId;
+        private OrderStatus status;
+        private Money totalAmount;
+        private LocalDateTime createdAt;
+    }
+
+    /**
+     * 주문 통계 조회 응답 DTO
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class AnalyticsResponse {
+        private Granularity granularity;
+        private LocalDateTime from;
+        private LocalDateTime to;
+        private List<AnalyticsBucket> buckets;
+        private AnalyticsBucket total;
+    }
+
+    /**
+     * 시간 버킷별 통계
+     * - revenue: 취소(CANCELLED)를 제외한 주문 금액 합계
+     * - countByStatus/amountByStatus: 해당 버킷에 생성된 주문의 현재 상태별 집계
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class AnalyticsBucket {
+        private LocalDateTime start;
+        private long orderCount;
+        private Money revenue;
+        private Map<OrderStatus, Long> countByStatus;
+        private Map<OrderStatus, Money> amountByStatus;
+    }
+
+    /**
+     * 샤드 현황 DTO
+     * - misplacedOrders: 해시 링 기준으로 다른 샤드 소유인 버킷의 주문 수 (샤드 추가 후 재배치 대상)
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ShardStatus {
+        private int shard;
+        private String name;
+        private int ownedBuckets;
+        private long orders;
+        private long misplacedOrders;
+    }
+
+    /**
+     * 샤드 재배치 결과 DTO
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RebalanceResponse {
+        private int movedBuckets;
+        private long movedOrders;
+        private long movedItems;
+        private long movedArchivedOrders;
+        private long elapsedMs;
+    }
+
+    /**
+     * 비동기 주문 접수 결과 DTO
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class AcceptanceStatus {
+        @JsonSerialize(using = ToStringSerializer.class)
+        private Long orderId;
+        private AcceptanceState state;
+        private String statusUrl;
+        private String message;
     }
 
     /**
@@ -0,0 +1,60 @@
+package com.study.order.dto;
+
+import com.study.order.domain.Money;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * 주문 목록 정렬 기준
+ *
+ * 학습 포인트:
+ * - 정렬 컬럼 뒤에 항상 id를 붙여 (정렬값, id)를 유일한 순서로 만듦 → Keyset 커서가 중복/누락 없이 이어짐
+ * - 정렬 컬럼으로 끝나는 복합 인덱스(..., 정렬컬럼, id)가 있어야 정렬 없이 인덱스 순서대로 읽고 LIMIT에서 멈춤
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OrderSort {
+
+    CREATED_AT_DESC("createdAt", true),
+    CREATED_AT_ASC("createdAt", false),
+    TOTAL_AMOUNT_DESC("totalAmount", true),
+    TOTAL_AMOUNT_ASC("totalAmount", false);
+
+    /**
+     * 정렬 대상 엔티티 속성명
+     */
+    private final String attribute;
+    private final boolean descending;
+
+    public boolean isByAmount() {
+        return "totalAmount".equals(attribute);
+    }
+
+    /**
+     * 페이지의 마지막 주문에서 커서에 담을 정렬값 추출
+     */
+    public Comparable<?> valueOf(OrderDto.Response order) {
+        return isByAmount() ? order.getTotalAmount() : order.getCreatedAt();
+    }
+
+    /**
+     * (정렬값, id) 순서 비교 - 여러 샤드에서 정렬된 결과를 하나의 순서로 병합할 때 사용
+     */
+    @SuppressWarnings("unchecked")
+    public Comparator<OrderCursor> keyOrder() {
+        Comparator<OrderCursor> ascending = Comparator
+                .comparing((OrderCursor key) -> (Comparable<Object>) key.getValue())
+                .thenComparing(OrderCursor::getId);
+        return descending ? ascending.reversed() : ascending;
+    }
+
+    /**
+     * 커서 문자열의 정렬값을 타입에 맞게 복원
+     */
+    Comparable<?> parseValue(String raw) {
+        return isByAmount() ? Money.valueOf(raw) : LocalDateTime.parse(raw);
+    }
+}
@@ -1,12 +1,14 @@
 package com.study.order.event;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.study.order.domain.Money;
 import com.study.order.domain.OrderStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -20,10 +22,13 @@ import java.time.LocalDateTime;
 @Builder
 public class OrderEvent {
     private String eventType;  // ORDER_CREATED, ORDER_STATUS_UPDATED, ORDER_CANCELLED
+    @JsonSerialize(using = ToStringSerializer.class)  // 2^53 초과 ID → JSON 문자열 (소비자는 숫자/문자열 모두 Long으로 읽음)
     private Long orderId;
     private Long userId;
     private OrderStatus status;
-    private BigDecimal totalAmount;
+    private OrderStatus previousStatus;  // 상태 변경 전 상태 (ORDER_CREATED는 null)
+    private Money totalAmount;  // JSON에는 숫자(12.30)로 직렬화
+    private LocalDateTime orderCreatedAt;
 
     @Builder.Default
     private LocalDateTime occurredAt = LocalDateTime.now();
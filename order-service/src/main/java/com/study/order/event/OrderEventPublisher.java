@@ -0,0 +1,139 @@
+package com.study.order.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.order.domain.Order;
+import com.study.order.domain.OrderStatus;
+import com.study.order.domain.OutboxEvent;
+import com.study.order.repository.OrderStatusView;
+import com.study.order.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 이벤트 발행기 (Outbox 저장)
+ *
+ * 학습 포인트:
+ * - 호출한 서비스의 트랜잭션에 참여(MANDATORY)하여 주문 변경과 이벤트 저장을 원자적으로 처리
+ * - 실제 Kafka 전송은 OutboxRelay가 비동기로 수행 → 요청 스레드는 Kafka 지연과 무관
+ * - 같은 이벤트를 Spring 이벤트로도 발행 → 커밋 후 처리가 필요한 인스턴스 내부 구독자(@TransactionalEventListener)용
+ * - outbox 행에 이 변경이 커밋할 주문 version을 기록 → Relay가 같은 주문의 이벤트를 커밋 순서대로 발행
+ *   (생성 = 0, 상태 변경 = 변경 전 version + 1 → 상태 변경은 엔티티를 flush하기 전에 발행해야 함)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderEventPublisher {
+
+    public static final String ORDER_TOPIC = "order-events";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OrderEvent publish(String eventType, Order order) {
+        return publish(eventType, order, null);
+    }
+
+    /**
+     * 상태 변경 이벤트 저장 - 변경 전 상태를 함께 담아 Consumer가 증감 계산을 할 수 있도록 함
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OrderEvent publish(String eventType, Order order, OrderStatus previousStatus) {
+        OrderEvent event = toOrderEvent(eventType, order, previousStatus);
+        long orderVersion = previousStatus == null ? createdVersion(order) : order.getVersion() + 1;
+        outboxEventRepository.save(toOutboxEvent(event, orderVersion));
+        applicationEventPublisher.publishEvent(event);
+        log.info("Outbox 이벤트 저장: topic={}, eventType={}, orderId={}",
+                ORDER_TOPIC, eventType, order.getId());
+        return event;
+    }
+
+    /**
+     * 여러 주문의 이벤트를 한 번에 저장 (JDBC 배치 INSERT)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<OrderEvent> publishAll(String eventType, List<Order> orders) {
+        List<OrderEvent> events = new ArrayList<>(orders.size());
+        List<OutboxEvent> outboxEvents = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            OrderEvent event = toOrderEvent(eventType, order, null);
+            events.add(event);
+            outboxEvents.add(toOutboxEvent(event, createdVersion(order)));
+        }
+        outboxEventRepository.saveAll(outboxEvents);
+        events.forEach(applicationEventPublisher::publishEvent);
+        log.info("Outbox 이벤트 일괄 저장: topic={}, eventType={}, count={}",
+                ORDER_TOPIC, eventType, orders.size());
+        return events;
+    }
+
+    /**
+     * 대량 상태 변경 이벤트 저장 (엔티티 없이 Projection으로 이벤트 생성)
+     *
+     * @param orders 변경 전 상태가 담긴 주문 목록
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<OrderEvent> publishStatusChanges(String eventType, List<OrderStatusView> orders, OrderStatus newStatus) {
+        List<OrderEvent> events = new ArrayList<>(orders.size());
+        List<OutboxEvent> outboxEvents = new ArrayList<>(orders.size());
+        for (OrderStatusView order : orders) {
+            OrderEvent event = OrderEvent.builder()
+                    .eventType(eventType)
+                    .orderId(order.getId())
+                    .userId(order.getUserId())
+                    .status(newStatus)
+                    .previousStatus(order.getStatus())
+                    .totalAmount(order.getTotalAmount())
+                    .orderCreatedAt(order.getCreatedAt())
+                    .build();
+            events.add(event);
+            outboxEvents.add(toOutboxEvent(event, order.getVersion() + 1));
+        }
+        outboxEventRepository.saveAll(outboxEvents);
+        events.forEach(applicationEventPublisher::publishEvent);
+        log.info("Outbox 이벤트 일괄 저장: topic={}, eventType={}, count={}",
+                ORDER_TOPIC, eventType, orders.size());
+        return events;
+    }
+
+    private OrderEvent toOrderEvent(String eventType, Order order, OrderStatus previousStatus) {
+        return OrderEvent.builder()
+                .eventType(eventType)
+                .orderId(order.getId())
+                .userId(order.getUserId())
+                .status(order.getStatus())
+                .previousStatus(previousStatus)
+                .totalAmount(order.getTotalAmount())
+                .orderCreatedAt(order.getCreatedAt())
+                .build();
+    }
+
+    private long createdVersion(Order order) {
+        return order.getVersion() != null ? order.getVersion() : 0L;
+    }
+
+    private OutboxEvent toOutboxEvent(OrderEvent event, long orderVersion) {
+        try {
+            return OutboxEvent.builder()
+                    .topic(ORDER_TOPIC)
+                    .messageKey(String.valueOf(event.getOrderId()))
+                    .orderVersion(orderVersion)
+                    .eventType(event.getEventType())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .createdAt(LocalDateTime.now())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 이벤트 직렬화 실패: orderId=" + event.getOrderId(), e);
+        }
+    }
+}
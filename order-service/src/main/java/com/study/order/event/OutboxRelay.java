@@ -0,0 +1,206 @@
+package com.study.order.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.order.domain.OutboxEvent;
+import com.study.order.repository.OutboxEventRepository;
+import com.study.order.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Outbox Relay - outbox 테이블의 이벤트를 Kafka로 배치 발행
+ *
+ * 학습 포인트:
+ * 1. 배치 단위로 조회 → 주문마다 다음 이벤트 1건씩 동시에 비동기 send → 결과를 모아서 대기 (건별 동기 전송 대비 처리량 증가)
+ * 2. 메시지 키 = 주문 ID → 같은 주문의 이벤트는 같은 파티션에서 순서 유지
+ * 3. 같은 주문의 다음 이벤트는 앞 이벤트 전송이 성공한 뒤에만 전송 → 전송 실패한 주문의 이후 이벤트는 이번 배치에서
+ *    보내지도 삭제하지도 않고 다음 주기에 재시도 (at-least-once, 순서 역전 없음)
+ * 3-1. 배치 전체에 마감 시간 하나 (FOR UPDATE 잠금 유지 시간 상한 = send-timeout-ms)
+ *      → send()가 메타데이터/버퍼를 기다리며 막힐 수 있는 시간(max-block-ms)이 남아 있을 때만 새로 보냄
+ *      → 결과는 Future를 마감 시간까지만 기다림 (막히는 flush() 없음, linger.ms가 지나면 producer가 알아서 전송)
+ *      → producer의 max.block.ms / delivery.timeout.ms도 이 값 이하 (KafkaConfig)
+ * 3-2. outbox id는 인스턴스별 시퀀스 구간이라 커밋 순서와 다를 수 있음
+ *      → 배치에 포함된 주문의 대기 이벤트를 모두 읽어 주문 version 순서로 발행
+ * 4. Relay 지연(lag)과 배치 크기를 메트릭으로 노출
+ * 5. 샤딩: outbox 이벤트는 주문과 같은 샤드에 저장되므로 샤드마다 따로 비움 (lag은 샤드 중 최댓값)
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final ShardRouter shardRouter;
+
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final long maxBlockMs;
+
+    private final AtomicLongArray lagMillis;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter relayedCounter;
+    private final Counter failedCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       ShardRouter shardRouter,
+                       MeterRegistry meterRegistry,
+                       @Value("${order.outbox.batch-size:500}") int batchSize,
+                       @Value("${order.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+                       @Value("${order.outbox.max-block-ms:1000}") long maxBlockMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.maxBlockMs = Math.min(maxBlockMs, sendTimeoutMs);
+        this.lagMillis = new AtomicLongArray(shardRouter.shardCount());
+
+        Gauge.builder("order.outbox.lag", lagMillis,
+                        lags -> IntStream.range(0, lags.length()).mapToLong(lags::get).max().orElse(0))
+                .description("가장 오래된 미발행 Outbox 이벤트의 대기 시간")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("order.outbox.batch.size")
+                .description("Relay 1회당 발행 시도 이벤트 수")
+                .register(meterRegistry);
+        this.relayedCounter = Counter.builder("order.outbox.relayed")
+                .description("Kafka로 발행 완료된 Outbox 이벤트 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("order.outbox.failed")
+                .description("Kafka 발행에 실패한 Outbox 이벤트 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 주기적으로 outbox를 비움 - 가득 찬 배치가 나오는 동안은 쉬지 않고 연속 처리
+     */
+    @Scheduled(fixedDelayString = "${order.outbox.relay-interval-ms:200}")
+    public void relay() {
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            int current = shard;
+            try {
+                int relayed;
+                do {
+                    relayed = shardRouter.write(current, () -> relayBatch(current));
+                } while (relayed >= batchSize);
+            } catch (Exception e) {
+                log.warn("Outbox Relay 실패 - 다음 주기에 재시도: shard={}", shardRouter.shardName(current), e);
+            }
+        }
+    }
+
+    /**
+     * 배치 1회 발행 (샤드 트랜잭션 안에서 호출)
+     *
+     * @return 발행 완료되어 삭제된 이벤트 수
+     */
+    private int relayBatch(int shard) {
+        List<OutboxEvent> batch = outboxEventRepository.findRelayBatch(PageRequest.ofSize(batchSize));
+        if (batch.isEmpty()) {
+            lagMillis.set(shard, 0);
+            return 0;
+        }
+        lagMillis.set(shard, Duration.between(batch.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+        batchSizeSummary.record(batch.size());
+
+        // 주문(메시지 키)별 대기열 - 배치에 없는 같은 주문의 이벤트까지 모두 읽어 주문 version 순서로
+        Set<String> keys = new LinkedHashSet<>();
+        batch.forEach(outboxEvent -> keys.add(outboxEvent.getMessageKey()));
+        Map<String, Deque<OutboxEvent>> pendingByKey = new LinkedHashMap<>();
+        keys.forEach(key -> pendingByKey.put(key, new ArrayDeque<>()));
+        for (OutboxEvent outboxEvent : outboxEventRepository.findPendingByMessageKeyIn(keys)) {
+            pendingByKey.get(outboxEvent.getMessageKey()).add(outboxEvent);
+        }
+
+        // 배치 전체에 마감 시간 하나 → 행 잠금을 쥐고 있는 시간은 최대 sendTimeoutMs
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        long sendDeadline = deadline - TimeUnit.MILLISECONDS.toNanos(maxBlockMs);
+        List<Long> relayedIds = new ArrayList<>(batch.size());
+        while (!pendingByKey.isEmpty() && System.nanoTime() < sendDeadline) {
+            // 1. 키마다 다음 이벤트 1건씩 비동기 전송 (다른 키끼리는 동시에)
+            //    send()가 최대 maxBlockMs 막힐 수 있으므로 그만큼 시간이 남아 있을 때만 보냄
+            Map<String, CompletableFuture<SendResult<String, Object>>> round = new LinkedHashMap<>();
+            for (Map.Entry<String, Deque<OutboxEvent>> pending : pendingByKey.entrySet()) {
+                if (System.nanoTime() >= sendDeadline) {
+                    break;
+                }
+                round.put(pending.getKey(), send(pending.getValue().peekFirst()));
+            }
+
+            // 2. 결과 수집 - 실패한 키의 이후 이벤트는 이번 배치에서 보내지 않음 (순서 보장, 다음 주기에 재시도)
+            for (Map.Entry<String, CompletableFuture<SendResult<String, Object>>> sent : round.entrySet()) {
+                Deque<OutboxEvent> events = pendingByKey.get(sent.getKey());
+                OutboxEvent outboxEvent = events.peekFirst();
+                try {
+                    if (sent.getValue() != null) {
+                        sent.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    }
+                    relayedIds.add(outboxEvent.getId());
+                    events.pollFirst();
+                    if (events.isEmpty()) {
+                        pendingByKey.remove(sent.getKey());
+                    }
+                } catch (Exception e) {
+                    pendingByKey.remove(sent.getKey());
+                    failedCounter.increment();
+                    log.warn("Outbox 이벤트 발행 실패: id={}, key={}", outboxEvent.getId(), outboxEvent.getMessageKey(), e);
+                }
+            }
+        }
+
+        // 3. 발행 완료된 이벤트 일괄 삭제
+        outboxEventRepository.deleteAllByIdInBatch(relayedIds);
+        relayedCounter.increment(relayedIds.size());
+        log.debug("Outbox Relay: batch={}, relayed={}", batch.size(), relayedIds.size());
+        return relayedIds.size();
+    }
+
+    /**
+     * @return 전송 Future (역직렬화 불가한 이벤트는 null → 재시도해도 실패하므로 삭제 대상)
+     */
+    private CompletableFuture<SendResult<String, Object>> send(OutboxEvent outboxEvent) {
+        OrderEvent event;
+        try {
+            event = objectMapper.readValue(outboxEvent.getPayload(), OrderEvent.class);
+        } catch (JsonProcessingException e) {
+            log.error("Outbox 이벤트 역직렬화 실패 - 폐기: id={}, payload={}",
+                    outboxEvent.getId(), outboxEvent.getPayload(), e);
+            return null;
+        }
+        try {
+            return kafkaTemplate.send(outboxEvent.getTopic(), outboxEvent.getMessageKey(), event);
+        } catch (RuntimeException e) {
+            // 메타데이터 조회 타임아웃, 버퍼 부족 등 send 호출 자체의 실패
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.study.order.id;
+
+/**
+ * 저장 전에 ID를 미리 발급받은 엔티티 - SnowflakeId 생성 시 새로 발급하지 않고 이 값을 사용
+ * - @Id 필드에 직접 값을 넣으면 Hibernate가 persist 시 detached 엔티티로 판단하므로 별도 필드로 전달
+ */
+public interface PreassignedId {
+
+    Long getPreassignedId();
+}
@@ -0,0 +1,9 @@
+package com.study.order.id;
+
+/**
+ * 샤드 키를 가진 엔티티 - SnowflakeId 생성 시 샤드 키의 버킷을 ID에 포함
+ */
+public interface ShardKeyed {
+
+    Long getShardKey();
+}
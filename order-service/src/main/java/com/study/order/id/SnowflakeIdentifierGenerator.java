@@ -0,0 +1,40 @@
+package com.study.order.id;
+
+import com.study.common.id.SnowflakeIdGenerator;
+import com.study.order.sharding.ShardBuckets;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Hibernate ID 생성기 → SnowflakeIdGenerator 위임
+ *
+ * 학습 포인트:
+ * - IDENTITY/SEQUENCE는 ID를 얻기 위해 DB를 거쳐야 하지만, 이 생성기는 persist 시점에 메모리에서 바로 ID 발급
+ *   → INSERT를 flush 시점까지 모아 JDBC 배치로 전송 가능, DB(샤드)와 무관하게 유일한 ID
+ * - Hibernate가 직접 생성하는 객체라 Spring 빈을 주입받을 수 없으므로, 설정(IdGeneratorConfig)에서 정적으로 등록
+ * - 엔티티가 ShardKeyed이면 샤드 키의 버킷을 ID에 넣음 → ID만으로 저장된 샤드를 계산
+ * - 엔티티가 PreassignedId이고 값이 있으면 그대로 사용 (비동기 접수 시 응답에 먼저 내려준 ID)
+ */
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+
+    private static volatile SnowflakeIdGenerator delegate;
+
+    public static void install(SnowflakeIdGenerator generator) {
+        delegate = generator;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        SnowflakeIdGenerator generator = delegate;
+        if (generator == null) {
+            throw new IllegalStateException("SnowflakeIdGenerator가 등록되지 않았습니다 (IdGeneratorConfig 확인)");
+        }
+        if (object instanceof PreassignedId preassigned && preassigned.getPreassignedId() != null) {
+            return preassigned.getPreassignedId();
+        }
+        if (object instanceof ShardKeyed keyed && keyed.getShardKey() != null) {
+            return generator.nextId(ShardBuckets.of(keyed.getShardKey()));
+        }
+        return generator.nextId();
+    }
+}
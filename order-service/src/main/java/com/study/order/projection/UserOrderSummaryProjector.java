@@ -0,0 +1,130 @@
+package com.study.order.projection;
+
+import com.study.order.event.OrderEvent;
+import com.study.order.event.OrderEventPublisher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 주문 요약 Projector (order-events 토픽 Consumer)
+ *
+ * 학습 포인트:
+ * 1. 자신이 발행한 이벤트를 구독하여 조회 모델(Read Model)을 갱신
+ * 2. 별도 Consumer Group → 다른 Consumer와 독립적으로 offset 관리
+ * 3. Read Model 재구성은 별도 Consumer로 모든 파티션을 직접 할당(assign)받아 처음부터 읽음
+ *    → 인스턴스가 여러 개여도 Consumer Group의 파티션 분배와 무관하게 토픽 전체를 반영
+ *    → 새 세대에 쌓은 뒤 전환하므로 재구성 중에도 기존 요약을 조회할 수 있음
+ *    → 메타데이터/offset 조회는 metadata-timeout까지만 대기 (Kafka 장애 시 재구성만 실패, 기존 세대 유지)
+ */
+@Slf4j
+@Component
+public class UserOrderSummaryProjector {
+
+    private static final String GROUP_ID = "order-summary-projection";
+
+    private final UserOrderSummaryStore summaryStore;
+    private final ConsumerFactory<String, Object> consumerFactory;
+    private final Duration rebuildTimeout;
+    private final Duration metadataTimeout;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public UserOrderSummaryProjector(UserOrderSummaryStore summaryStore,
+                                     ConsumerFactory<String, Object> consumerFactory,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${order.summary.rebuild-timeout:1h}") Duration rebuildTimeout,
+                                     @Value("${order.kafka.metadata-timeout:10s}") Duration metadataTimeout) {
+        this.summaryStore = summaryStore;
+        this.consumerFactory = consumerFactory;
+        this.rebuildTimeout = rebuildTimeout;
+        this.metadataTimeout = metadataTimeout;
+        Gauge.builder("order.summary.lag", lagMillis, AtomicLong::get)
+                .description("마지막으로 반영한 이벤트의 발생 시각과 현재 시각의 차이")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 새 Consumer Group은 토픽의 처음부터 읽어 기존 주문까지 요약에 반영
+     */
+    @KafkaListener(topics = OrderEventPublisher.ORDER_TOPIC, groupId = GROUP_ID,
+            properties = "auto.offset.reset=earliest")
+    public void onOrderEvent(OrderEvent event) {
+        boolean changed = summaryStore.apply(event);
+        if (event.getOccurredAt() != null) {
+            lagMillis.set(Math.max(0, Duration.between(event.getOccurredAt(), LocalDateTime.now()).toMillis()));
+        }
+        log.debug("주문 요약 반영: eventType={}, orderId={}, userId={}, changed={}",
+                event.getEventType(), event.getOrderId(), event.getUserId(), changed);
+    }
+
+    /**
+     * Read Model 재구성 시작 (백그라운드 스레드)
+     *
+     * @return 다른 재구성이 진행 중이면 false
+     */
+    public boolean rebuild() {
+        Long generation = summaryStore.startRebuild(rebuildTimeout);
+        if (generation == null) {
+            return false;
+        }
+        Thread thread = new Thread(() -> replay(generation), "order-summary-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("주문 요약 Read Model 재구성 시작: generation={}", generation);
+        return true;
+    }
+
+    /**
+     * 시작 시점의 끝 offset까지 모든 파티션을 새 세대에 반영한 뒤 전환
+     * - 그 이후 이벤트는 Listener가 apply()로 새 세대에도 반영 중
+     */
+    private void replay(long generation) {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        long replayed = 0;
+        try (Consumer<String, Object> consumer = consumerFactory.createConsumer(GROUP_ID + "-rebuild", null, null, overrides)) {
+            List<TopicPartition> partitions = consumer.partitionsFor(OrderEventPublisher.ORDER_TOPIC, metadataTimeout).stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            consumer.assign(partitions);
+            consumer.seekToBeginning(partitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions, metadataTimeout);
+
+            while (!reachedEnd(consumer, endOffsets)) {
+                for (ConsumerRecord<String, Object> record : consumer.poll(Duration.ofMillis(500))) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (record.offset() < endOffsets.get(partition) && record.value() instanceof OrderEvent event) {
+                        summaryStore.applyTo(generation, event);
+                        replayed++;
+                    }
+                }
+            }
+            summaryStore.completeRebuild(generation);
+            log.info("주문 요약 Read Model 재구성 완료: generation={}, events={}", generation, replayed);
+        } catch (RuntimeException e) {
+            summaryStore.abortRebuild(generation);
+            log.error("주문 요약 Read Model 재구성 실패 - 기존 세대 유지: generation={}", generation, e);
+        }
+    }
+
+    private boolean reachedEnd(Consumer<String, Object> consumer, Map<TopicPartition, Long> endOffsets) {
+        return endOffsets.entrySet().stream()
+                .allMatch(end -> consumer.position(end.getKey(), metadataTimeout) >= end.getValue());
+    }
+}
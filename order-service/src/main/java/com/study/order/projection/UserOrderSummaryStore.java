@@ -0,0 +1,256 @@
+package com.study.order.projection;
+
+import com.study.order.domain.Money;
+import com.study.order.domain.OrderStatus;
+import com.study.order.dto.OrderDto;
+import com.study.order.event.OrderEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 사용자별 주문 요약 Read Model 저장소 (Redis)
+ *
+ * 학습 포인트:
+ * 1. CQRS: 조회 전용 모델을 이벤트로 미리 계산해 두고, 조회 시에는 계산 없이 읽기만 함
+ * 2. Lua 스크립트로 "이전 상태 확인 → 카운트 증감 → 상태 기록"을 원자적으로 처리
+ * 3. 주문별 마지막 상태를 기록하고, 상태 전이 순서(OrderStatus 선언 순서)상 앞선 상태의 이벤트는 무시
+ *    → 중복/재처리 이벤트가 순서가 바뀌어 도착해도 상태가 되돌아가지 않음 (멱등 + 단조 증가)
+ * 4. 세대(generation): 재구성은 새 세대 키에 쌓은 뒤 현재 세대 번호만 바꿔 전환 → 재구성 중에도 기존 요약을 그대로 조회
+ *
+ * 키 구조 (userId 기준, 세대 0은 세대 도입 전 키 그대로)
+ * - order-summary:generation            STRING  현재 세대 번호 (없으면 0)
+ * - order-summary:rebuilding            STRING  재구성 중인 세대 번호 (TTL - 재구성 인스턴스가 죽어도 풀림)
+ * - {prefix}{userId}         HASH  orderCount, totalMinor, status:{STATUS}
+ * - {prefix}{userId}:orders  HASH  orderId → "STATUS|금액(최소 단위)|생성시각(ms)"
+ * - {prefix}{userId}:recent  ZSET  orderId (score = 생성시각), 최근 N건만 유지
+ *   (prefix = 세대 0: "order-summary:", 세대 n: "order-summary:g{n}:")
+ */
+@Slf4j
+@Component
+public class UserOrderSummaryStore {
+
+    private static final String KEY_PREFIX = "order-summary:";
+
+    private static final String GENERATION_KEY = KEY_PREFIX + "generation";
+    private static final String REBUILDING_KEY = KEY_PREFIX + "rebuilding";
+
+    private static final RedisScript<Long> APPLY_SCRIPT = new DefaultRedisScript<>("""
+            local rank = {%s}
+            local prev = redis.call('HGET', KEYS[2], ARGV[1])
+            local createdAt = ARGV[4]
+            if prev then
+              local prevStatus, prevAmount, prevCreatedAt = string.match(prev, '([^|]+)|([^|]+)|([^|]+)')
+              if rank[ARGV[2]] <= rank[prevStatus] then
+                return 0
+              end
+              createdAt = prevCreatedAt
+              redis.call('HINCRBY', KEYS[1], 'status:' .. prevStatus, -1)
+              if prevStatus ~= 'CANCELLED' then
+                redis.call('HINCRBY', KEYS[1], 'totalMinor', -tonumber(prevAmount))
+              end
+            else
+              redis.call('HINCRBY', KEYS[1], 'orderCount', 1)
+              redis.call('ZADD', KEYS[3], createdAt, ARGV[1])
+              redis.call('ZREMRANGEBYRANK', KEYS[3], 0, -(tonumber(ARGV[5]) + 1))
+            end
+            redis.call('HINCRBY', KEYS[1], 'status:' .. ARGV[2], 1)
+            if ARGV[2] ~= 'CANCELLED' then
+              redis.call('HINCRBY', KEYS[1], 'totalMinor', ARGV[3])
+            end
+            redis.call('HSET', KEYS[2], ARGV[1], ARGV[2] .. '|' .. ARGV[3] .. '|' .. createdAt)
+            return 1
+            """.formatted(statusRanks()), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final int recentLimit;
+
+    public UserOrderSummaryStore(StringRedisTemplate redisTemplate,
+                                 @Value("${order.summary.recent-limit:20}") int recentLimit) {
+        this.redisTemplate = redisTemplate;
+        this.recentLimit = recentLimit;
+    }
+
+    /**
+     * 이벤트 1건 반영 - 현재 세대와 재구성 중인 세대 모두에 반영
+     *
+     * @return 현재 세대의 상태가 바뀌었으면 true (중복/지난 이벤트면 false)
+     */
+    public boolean apply(OrderEvent event) {
+        List<String> generations = redisTemplate.opsForValue().multiGet(List.of(GENERATION_KEY, REBUILDING_KEY));
+        long current = parseLong(generations.get(0));
+        boolean changed = applyTo(current, event);
+        if (generations.get(1) != null && parseLong(generations.get(1)) != current) {
+            applyTo(parseLong(generations.get(1)), event);
+        }
+        return changed;
+    }
+
+    /**
+     * 지정한 세대에 이벤트 1건 반영 (재구성 시 토픽 재처리에서 사용)
+     */
+    public boolean applyTo(long generation, OrderEvent event) {
+        String userKey = summaryKey(generation, event.getUserId());
+        Long changed = redisTemplate.execute(APPLY_SCRIPT,
+                List.of(userKey, userKey + ":orders", userKey + ":recent"),
+                String.valueOf(event.getOrderId()),
+                event.getStatus().name(),
+                String.valueOf(event.getTotalAmount() == null ? 0L : event.getTotalAmount().getMinorUnits()),
+                String.valueOf(toEpochMillis(event.getOrderCreatedAt() != null
+                        ? event.getOrderCreatedAt() : event.getOccurredAt())),
+                String.valueOf(recentLimit));
+        return changed != null && changed == 1L;
+    }
+
+    /**
+     * 사용자 주문 요약 조회 - 주문 건수와 무관하게 O(최근 N건)
+     */
+    public OrderDto.UserOrderSummary find(Long userId) {
+        String userKey = summaryKey(currentGeneration(), userId);
+        Map<Object, Object> summary = redisTemplate.opsForHash().entries(userKey);
+
+        Map<OrderStatus, Long> statusCounts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            Object count = summary.get("status:" + status.name());
+            statusCounts.put(status, count == null ? 0L : Long.parseLong(count.toString()));
+        }
+
+        List<OrderDto.RecentOrder> recentOrders = new ArrayList<>();
+        Set<String> recentIds = redisTemplate.opsForZSet().reverseRange(userKey + ":recent", 0, recentLimit - 1);
+        if (recentIds != null && !recentIds.isEmpty()) {
+            List<Object> values = redisTemplate.opsForHash().multiGet(userKey + ":orders", new ArrayList<>(recentIds));
+            int i = 0;
+            for (String orderId : recentIds) {
+                Object value = values.get(i++);
+                if (value != null) {
+                    recentOrders.add(toRecentOrder(Long.valueOf(orderId), value.toString()));
+                }
+            }
+        }
+
+        return OrderDto.UserOrderSummary.builder()
+                .userId(userId)
+                .orderCount(parseLong(summary.get("orderCount")))
+                .lifetimeTotal(Money.ofMinor(parseLong(summary.get("totalMinor"))))
+                .statusCounts(statusCounts)
+                .recentOrders(recentOrders)
+                .build();
+    }
+
+    public long currentGeneration() {
+        return parseLong(redisTemplate.opsForValue().get(GENERATION_KEY));
+    }
+
+    /**
+     * 재구성 시작 - 다음 세대 번호를 재구성 중으로 표시 (다른 재구성이 진행 중이면 null)
+     * - 이후 들어오는 이벤트는 apply()가 새 세대에도 반영
+     */
+    public Long startRebuild(Duration timeout) {
+        long generation = currentGeneration() + 1;
+        Boolean started = redisTemplate.opsForValue().setIfAbsent(REBUILDING_KEY, String.valueOf(generation), timeout);
+        return Boolean.TRUE.equals(started) ? generation : null;
+    }
+
+    /**
+     * 재구성 완료 - 현재 세대를 새 세대로 바꾸고 이전 세대 키 삭제
+     * (현재 세대를 먼저 바꾼 뒤 재구성 표시를 지우므로 그 사이 이벤트도 새 세대에 반영됨)
+     */
+    public void completeRebuild(long generation) {
+        long previous = currentGeneration();
+        redisTemplate.opsForValue().set(GENERATION_KEY, String.valueOf(generation));
+        redisTemplate.delete(REBUILDING_KEY);
+        long deleted = deleteGeneration(previous);
+        log.info("주문 요약 세대 전환: generation={} → {}, deletedKeys={}", previous, generation, deleted);
+    }
+
+    /**
+     * 재구성 실패 - 재구성 표시와 쌓던 새 세대 키 삭제 (현재 세대는 그대로)
+     */
+    public void abortRebuild(long generation) {
+        redisTemplate.delete(REBUILDING_KEY);
+        deleteGeneration(generation);
+    }
+
+    /**
+     * 세대 하나의 키 전체 삭제
+     */
+    private long deleteGeneration(long generation) {
+        // 세대 0 키는 "order-summary:{userId}" → 숫자로 시작하는 키만 (generation/rebuilding/다른 세대 제외)
+        String pattern = generation == 0 ? KEY_PREFIX + "[0-9]*" : generationPrefix(generation) + "*";
+        long deleted = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(1000).build();
+        List<String> keys = new ArrayList<>(1000);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+                if (keys.size() == 1000) {
+                    deleted += unlink(keys);
+                }
+            }
+        }
+        deleted += unlink(keys);
+        return deleted;
+    }
+
+    private long unlink(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long count = redisTemplate.unlink(keys);
+        keys.clear();
+        return count == null ? 0 : count;
+    }
+
+    private OrderDto.RecentOrder toRecentOrder(Long orderId, String value) {
+        String[] parts = value.split("\\|");
+        return OrderDto.RecentOrder.builder()
+                .orderId(orderId)
+                .status(OrderStatus.valueOf(parts[0]))
+                .totalAmount(Money.ofMinor(Long.parseLong(parts[1])))
+                .createdAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(parts[2])), ZoneId.systemDefault()))
+                .build();
+    }
+
+    private static String generationPrefix(long generation) {
+        return generation == 0 ? KEY_PREFIX : KEY_PREFIX + "g" + generation + ":";
+    }
+
+    private static String summaryKey(long generation, Long userId) {
+        return generationPrefix(generation) + userId;
+    }
+
+    /**
+     * Lua 테이블 리터럴 - 상태 이름 → 전이 순서 (canTransitionTo는 선언 순서상 뒤로만 이동)
+     */
+    private static String statusRanks() {
+        StringBuilder ranks = new StringBuilder();
+        for (OrderStatus status : OrderStatus.values()) {
+            ranks.append(status.name()).append('=').append(status.ordinal()).append(',');
+        }
+        return ranks.toString();
+    }
+
+    private static long parseLong(Object value) {
+        return value == null ? 0L : Long.parseLong(value.toString());
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        LocalDateTime value = dateTime != null ? dateTime : LocalDateTime.now();
+        return value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
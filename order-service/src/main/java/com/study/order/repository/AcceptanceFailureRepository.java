@@ -0,0 +1,10 @@
+package com.study.order.repository;
+
+import com.study.order.domain.AcceptanceFailure;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * 비동기 접수 저장 실패(Dead Letter) Repository
+ */
+public interface AcceptanceFailureRepository extends JpaRepository<AcceptanceFailure, Long> {
+}
@@ -0,0 +1,23 @@
+package com.study.order.repository;
+
+import com.study.order.domain.ArchiveCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * 보관 작업 Checkpoint Repository
+ */
+public interface ArchiveCheckpointRepository extends JpaRepository<ArchiveCheckpoint, String> {
+
+    /**
+     * Checkpoint 행 잠금 조회 - 여러 인스턴스가 동시에 실행해도 배치는 하나씩 처리됨
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ArchiveCheckpoint c WHERE c.jobName = :jobName")
+    Optional<ArchiveCheckpoint> findForUpdate(@Param("jobName") String jobName);
+}
@@ -0,0 +1,76 @@
+package com.study.order.repository;
+
+import com.study.order.domain.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 보관 주문 Repository
+ *
+ * 학습 포인트:
+ * - 이동은 엔티티를 로딩하지 않고 Native INSERT ... SELECT / DELETE로 DB 안에서 처리
+ * - 배치 크기만큼의 행만 잠그므로 운영 테이블에 긴 잠금이 걸리지 않음
+ */
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    @Query("SELECT o FROM ArchivedOrder o LEFT JOIN FETCH o.orderItems WHERE o.id = :orderId")
+    ArchivedOrder findByIdWithItems(@Param("orderId") Long orderId);
+
+    @Query("SELECT DISTINCT o FROM ArchivedOrder o LEFT JOIN FETCH o.orderItems WHERE o.id IN :orderIds")
+    List<ArchivedOrder> findAllWithItemsByIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * 주문 통계 재구성용 분 단위 집계 - 보관 테이블 (OrderRepository.aggregateByMinuteAndStatus와 같은 행 형식)
+     * - 보관된 주문도 통계 보관 기간(시간/일 단위) 안이면 포함되어야 함 → since 이후 생성된 주문만
+     */
+    @Query("SELECT year(o.createdAt), month(o.createdAt), day(o.createdAt), hour(o.createdAt), minute(o.createdAt), " +
+           "o.status, COUNT(o), SUM(o.totalAmount) " +
+           "FROM ArchivedOrder o WHERE o.createdAt >= :since " +
+           "GROUP BY year(o.createdAt), month(o.createdAt), day(o.createdAt), hour(o.createdAt), minute(o.createdAt), o.status")
+    List<Object[]> aggregateByMinuteAndStatus(@Param("since") LocalDateTime since);
+
+    /**
+     * 보관 대상 주문 ID 조회 (checkpoint 이후, ID 순)
+     * - 종료 상태 + 마지막 변경이 cutoff 이전
+     */
+    @Query(value = "SELECT id FROM orders " +
+                   "WHERE id > :afterId AND status IN ('DELIVERED', 'CANCELLED') AND updated_at < :cutoff " +
+                   "ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findArchiveCandidateIds(@Param("afterId") Long afterId,
+                                       @Param("cutoff") LocalDateTime cutoff,
+                                       @Param("limit") int limit);
+
+    /**
+     * 대상 주문 행 잠금 - 조회 이후 상태가 바뀐 주문은 제외
+     */
+    @Query(value = "SELECT id FROM orders " +
+                   "WHERE id IN (:ids) AND status IN ('DELIVERED', 'CANCELLED') AND updated_at < :cutoff " +
+                   "FOR UPDATE", nativeQuery = true)
+    List<Long> lockArchivableIds(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query(value = "INSERT INTO orders_archive (id, user_id, status, total_amount, created_at, updated_at, archived_at) " +
+                   "SELECT id, user_id, status, total_amount, created_at, updated_at, :archivedAt " +
+                   "FROM orders WHERE id IN (:ids)", nativeQuery = true)
+    int copyOrders(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO order_items_archive (id, order_id, product_id, product_name, quantity, price) " +
+                   "SELECT id, order_id, product_id, product_name, quantity, price " +
+                   "FROM order_items WHERE order_id IN (:ids)", nativeQuery = true)
+    int copyOrderItems(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_items WHERE order_id IN (:ids)", nativeQuery = true)
+    int deleteOrderItems(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM orders WHERE id IN (:ids)", nativeQuery = true)
+    int deleteOrders(@Param("ids") Collection<Long> ids);
+}
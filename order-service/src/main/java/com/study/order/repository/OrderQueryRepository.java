@@ -0,0 +1,22 @@
+package com.study.order.repository;
+
+import com.study.order.dto.OrderCursor;
+import com.study.order.dto.OrderDto;
+
+import java.util.List;
+
+/**
+ * 주문 검색 쿼리 (Spring Data 사용자 정의 Repository 조각)
+ * - OrderRepository가 상속하고, 구현은 OrderQueryRepositoryImpl
+ */
+public interface OrderQueryRepository {
+
+    /**
+     * 조건에 맞는 주문의 (정렬값, ID)를 정렬 순서대로 조회 (Keyset 페이지네이션)
+     * - 정렬값을 함께 돌려주므로 여러 샤드의 결과를 같은 순서로 병합할 수 있음
+     *
+     * @param after 이전 페이지의 마지막 위치 (첫 페이지는 null)
+     * @param limit 최대 조회 건수
+     */
+    List<OrderCursor> searchKeys(OrderDto.SearchCondition condition, OrderCursor after, int limit);
+}
@@ -0,0 +1,95 @@
+package com.study.order.repository;
+
+import com.study.order.domain.Money;
+import com.study.order.domain.Order;
+import com.study.order.dto.OrderCursor;
+import com.study.order.dto.OrderDto;
+import com.study.order.dto.OrderSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 검색 쿼리 구현 (Criteria API)
+ *
+ * 학습 포인트:
+ * - "(:status IS NULL OR o.status = :status)" 형태의 고정 JPQL은 옵티마이저가 어떤 인덱스를 쓸지 정할 수 없어 풀스캔이 되기 쉽다
+ * - 실제로 전달된 조건만 WHERE에 넣어, 조건 조합마다 그에 맞는 복합 인덱스(Order 엔티티 @Index)를 타게 함
+ * - 동등 조건(userId, status) → 정렬 컬럼 → id 순서의 인덱스면 범위 조건 + ORDER BY + LIMIT을 인덱스만으로 처리
+ */
+@RequiredArgsConstructor
+public class OrderQueryRepositoryImpl implements OrderQueryRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<OrderCursor> searchKeys(OrderDto.SearchCondition condition, OrderCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Order> order = query.from(Order.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (condition.getUserId() != null) {
+            predicates.add(cb.equal(order.get("userId"), condition.getUserId()));
+        }
+        if (condition.getStatus() != null) {
+            predicates.add(cb.equal(order.get("status"), condition.getStatus()));
+        }
+        if (condition.getMinAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("totalAmount"), condition.getMinAmount()));
+        }
+        if (condition.getMaxAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(order.get("totalAmount"), condition.getMaxAmount()));
+        }
+        if (condition.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("createdAt"), condition.getFrom()));
+        }
+        if (condition.getTo() != null) {
+            predicates.add(cb.lessThan(order.get("createdAt"), condition.getTo()));
+        }
+
+        OrderSort sort = condition.getSort();
+        Path<Long> id = order.get("id");
+        if (after != null) {
+            predicates.add(sort.isByAmount()
+                    ? after(cb, order.get("totalAmount"), (Money) after.getValue(), id, after.getId(), sort.isDescending())
+                    : after(cb, order.get("createdAt"), (LocalDateTime) after.getValue(), id, after.getId(), sort.isDescending()));
+        }
+
+        Path<?> sortPath = order.get(sort.getAttribute());
+        query.multiselect(sortPath, id)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(sort.isDescending()
+                        ? List.of(cb.desc(sortPath), cb.desc(id))
+                        : List.of(cb.asc(sortPath), cb.asc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(row -> new OrderCursor(sort, (Comparable<?>) row[0], (Long) row[1]))
+                .toList();
+    }
+
+    /**
+     * Keyset 조건: (정렬값, id)가 커서 위치보다 뒤에 있는 행
+     * - DESC: sortValue < :value OR (sortValue = :value AND id < :id)
+     * - ASC: sortValue > :value OR (sortValue = :value AND id > :id)
+     */
+    private <T extends Comparable<? super T>> Predicate after(CriteriaBuilder cb, Path<T> sortPath, T value,
+                                                               Path<Long> id, Long lastId, boolean descending) {
+        if (descending) {
+            return cb.or(cb.lessThan(sortPath, value),
+                    cb.and(cb.equal(sortPath, value), cb.lessThan(id, lastId)));
+        }
+        return cb.or(cb.greaterThan(sortPath, value),
+                cb.and(cb.equal(sortPath, value), cb.greaterThan(id, lastId)));
+    }
+}
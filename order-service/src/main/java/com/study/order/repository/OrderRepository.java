@@ -2,16 +2,26 @@ package com.study.order.repository;
 
 import com.study.order.domain.Order;
 import com.study.order.domain.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Order Repository
+ * - 조건 조합 검색(Keyset 페이지네이션)은 OrderQueryRepository 조각에서 Criteria API로 처리
  */
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderQueryRepository {
 
     /**
      * 사용자별 주문 조회
@@ -39,4 +49,62 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.userId = :userId")
     List<Order> findByUserIdWithItems(@Param("userId") Long userId);
+
+    /**
+     * 여러 주문을 OrderItem과 함께 한 번의 쿼리로 조회 (IN + fetch join)
+     */
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.id IN :orderIds")
+    List<Order> findAllWithItemsByIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * 주문 통계 재구성용 분 단위 집계 (생성 시각 분 × 상태별 주문 수 / 금액 합계)
+     * - 주문 수가 아니라 (분 × 상태) 조합 수만큼만 결과 행이 생김
+     */
+    @Query("SELECT year(o.createdAt), month(o.createdAt), day(o.createdAt), hour(o.createdAt), minute(o.createdAt), " +
+           "o.status, COUNT(o), SUM(o.totalAmount) " +
+           "FROM Order o " +
+           "GROUP BY year(o.createdAt), month(o.createdAt), day(o.createdAt), hour(o.createdAt), minute(o.createdAt), o.status")
+    List<Object[]> aggregateByMinuteAndStatus();
+
+    /**
+     * 대량 상태 변경 - 현재 상태 조회 (Projection)
+     * - 비관적 락(SELECT ... FOR UPDATE): 조회한 상태가 트랜잭션 끝까지 유지되므로
+     *   이어지는 UPDATE가 바꾸는 행과 이벤트의 previousStatus가 정확히 일치
+     * - id 순서로 잠가 동시에 실행되는 대량 변경끼리 교착 상태가 생기지 않도록 함
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id AS id, o.userId AS userId, o.status AS status, " +
+           "o.totalAmount AS totalAmount, o.createdAt AS createdAt, o.version AS version " +
+           "FROM Order o WHERE o.id IN :ids ORDER BY o.id")
+    List<OrderStatusView> findStatusViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 대량 상태 변경 - 집합 단위 UPDATE
+     * - status = :from 조건은 잠금 없이 호출되는 경우를 위한 안전장치 (findStatusViewsByIdIn으로 잠근 행은 항상 일치)
+     * - 벌크 연산은 Auditing(@LastModifiedDate)/@Version을 거치지 않으므로 updatedAt과 version을 직접 지정
+     *   → 먼저 엔티티를 읽어 둔 단건 상태 변경은 커밋 시 버전 충돌로 실패
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :to, o.updatedAt = :updatedAt, o.version = o.version + 1 " +
+           "WHERE o.id IN :ids AND o.status = :from")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("from") OrderStatus from,
+                           @Param("to") OrderStatus to,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 지정한 주문 중 이미 저장된 주문 ID 조회 (비동기 접수 WAL 복구 시 중복 저장 방지)
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 타임아웃 대상(PENDING/CONFIRMED) 주문 스트리밍 조회 - 타이밍 휠 재구성용
+     * - status로 시작하는 복합 인덱스(idx_orders_status_created_at) 범위 조회 1회
+     * - fetch size 단위로 읽어 주문 수와 무관하게 메모리 사용 일정 (트랜잭션 안에서 사용 후 close 필요)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT o.id AS id, o.status AS status, o.createdAt AS createdAt, o.updatedAt AS updatedAt " +
+           "FROM Order o WHERE o.status IN :statuses")
+    Stream<OrderTimeoutView> streamByStatusIn(@Param("statuses") Collection<OrderStatus> statuses);
 }
@@ -0,0 +1,28 @@
+package com.study.order.repository;
+
+import com.study.order.domain.Money;
+import com.study.order.domain.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 상태 변경에 필요한 컬럼만 조회하는 Projection
+ * - 엔티티/OrderItem을 로딩하지 않아 영속성 컨텍스트와 dirty checking 비용이 없음
+ */
+public interface OrderStatusView {
+
+    Long getId();
+
+    Long getUserId();
+
+    OrderStatus getStatus();
+
+    Money getTotalAmount();
+
+    LocalDateTime getCreatedAt();
+
+    /**
+     * 변경 전 version (벌크 UPDATE가 1 증가시킴)
+     */
+    Long getVersion();
+}
@@ -0,0 +1,20 @@
+package com.study.order.repository;
+
+import com.study.order.domain.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 타임아웃 재구성에 필요한 컬럼만 조회하는 Projection
+ * - updatedAt: 현재 상태로 바뀐 시각 (상태 외에는 주문을 변경하지 않으므로)
+ */
+public interface OrderTimeoutView {
+
+    Long getId();
+
+    OrderStatus getStatus();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
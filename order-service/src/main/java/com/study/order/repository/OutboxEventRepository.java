@@ -0,0 +1,34 @@
+package com.study.order.repository;
+
+import com.study.order.domain.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Outbox Event Repository
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * 발행 대기 중인 이벤트를 오래된 순서로 조회 (이번 배치에서 다룰 주문 선택용)
+     * - 비관적 락(SELECT ... FOR UPDATE)으로 여러 인스턴스의 Relay가 같은 이벤트를 동시에 발행하지 않도록 직렬화
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e ORDER BY e.id")
+    List<OutboxEvent> findRelayBatch(Pageable pageable);
+
+    /**
+     * 지정한 메시지 키(주문)의 발행 대기 이벤트 전체를 주문 version 순서로 조회
+     * - id 순서 배치에는 같은 주문의 앞선 변경(더 큰 id)이 빠져 있을 수 있으므로 키 단위로 모두 읽어 정렬
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.messageKey IN :keys ORDER BY e.orderVersion NULLS FIRST, e.id")
+    List<OutboxEvent> findPendingByMessageKeyIn(@Param("keys") Collection<String> keys);
+}
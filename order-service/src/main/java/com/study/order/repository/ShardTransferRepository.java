@@ -0,0 +1,140 @@
+package com.study.order.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 샤드 간 주문 이동용 JDBC 쿼리 (OrderReshardingService)
+ *
+ * - 엔티티를 로딩하지 않고 행 값을 그대로 복사 (ID/생성 시각 등 원본 값 유지)
+ * - 현재 ShardContext의 샤드 트랜잭션에 참여 (JpaTransactionManager가 같은 커넥션을 JDBC에도 노출)
+ */
+@Repository
+@RequiredArgsConstructor
+public class ShardTransferRepository {
+
+    private static final String ORDER_COLUMNS = "id, user_id, status, total_amount, shard_bucket, created_at, updated_at, version";
+    private static final String ITEM_COLUMNS = "id, order_id, product_id, product_name, quantity, price";
+    private static final String ARCHIVED_ORDER_COLUMNS = "id, user_id, status, total_amount, created_at, updated_at, archived_at";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 버킷별 주문 수
+     */
+    public Map<Integer, Long> countByBucket() {
+        return jdbcTemplate.query("SELECT shard_bucket, COUNT(*) FROM orders GROUP BY shard_bucket",
+                        (rs, rowNum) -> Map.entry(rs.getInt(1), rs.getLong(2)))
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    /**
+     * 버킷의 다음 이동 대상 주문 ID 잠금 조회 (복사하는 동안 원본 변경 차단)
+     */
+    public List<Long> lockBucketIds(int bucket, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM orders WHERE shard_bucket = :bucket ORDER BY id LIMIT :limit FOR UPDATE",
+                new MapSqlParameterSource("bucket", bucket).addValue("limit", limit), Long.class);
+    }
+
+    public List<Object[]> findOrderRows(Collection<Long> ids) {
+        return jdbcTemplate.query("SELECT " + ORDER_COLUMNS + " FROM orders WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids), rowMapper(8));
+    }
+
+    public List<Object[]> findItemRows(Collection<Long> orderIds) {
+        return jdbcTemplate.query("SELECT " + ITEM_COLUMNS + " FROM order_items WHERE order_id IN (:ids)",
+                new MapSqlParameterSource("ids", orderIds), rowMapper(6));
+    }
+
+    /**
+     * 이미 있는 주문 ID (대상 샤드에서 INSERT 생략 판단용)
+     */
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM orders WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids), Long.class));
+    }
+
+    /**
+     * 원본 값 그대로 INSERT (JDBC 배치)
+     */
+    public void insertOrderRows(List<Object[]> rows) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "INSERT INTO orders (" + ORDER_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    public void insertItemRows(List<Object[]> rows) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "INSERT INTO order_items (" + ITEM_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * 주문과 항목 삭제 (항목 먼저 - FK)
+     */
+    public int deleteOrders(Collection<Long> ids) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update("DELETE FROM order_items WHERE order_id IN (:ids)", params);
+        return jdbcTemplate.update("DELETE FROM orders WHERE id IN (:ids)", params);
+    }
+
+    /**
+     * 보관 주문 ID (id 순 Keyset) - 보관 테이블에는 shard_bucket이 없으므로 버킷은 ID로 계산
+     */
+    public List<Long> findArchivedIdsAfter(long afterId, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM orders_archive WHERE id > :after ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource("after", afterId).addValue("limit", limit), Long.class);
+    }
+
+    public List<Object[]> findArchivedOrderRows(Collection<Long> ids) {
+        return jdbcTemplate.query("SELECT " + ARCHIVED_ORDER_COLUMNS + " FROM orders_archive WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids), rowMapper(7));
+    }
+
+    public List<Object[]> findArchivedItemRows(Collection<Long> orderIds) {
+        return jdbcTemplate.query("SELECT " + ITEM_COLUMNS + " FROM order_items_archive WHERE order_id IN (:ids)",
+                new MapSqlParameterSource("ids", orderIds), rowMapper(6));
+    }
+
+    public Set<Long> findExistingArchivedIds(Collection<Long> ids) {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM orders_archive WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids), Long.class));
+    }
+
+    public void insertArchivedOrderRows(List<Object[]> rows) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "INSERT INTO orders_archive (" + ARCHIVED_ORDER_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    public void insertArchivedItemRows(List<Object[]> rows) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "INSERT INTO order_items_archive (" + ITEM_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    public int deleteArchivedOrders(Collection<Long> ids) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update("DELETE FROM order_items_archive WHERE order_id IN (:ids)", params);
+        return jdbcTemplate.update("DELETE FROM orders_archive WHERE id IN (:ids)", params);
+    }
+
+    private static RowMapper<Object[]> rowMapper(int columns) {
+        return (rs, rowNum) -> {
+            Object[] row = new Object[columns];
+            for (int i = 0; i < columns; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            return row;
+        };
+    }
+}
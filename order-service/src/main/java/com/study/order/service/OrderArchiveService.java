@@ -0,0 +1,153 @@
+package com.study.order.service;
+
+import com.study.order.domain.ArchiveCheckpoint;
+import com.study.order.repository.ArchiveCheckpointRepository;
+import com.study.order.repository.ArchivedOrderRepository;
+import com.study.order.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 보관(Archive) 작업
+ *
+ * 학습 포인트:
+ * 1. 종료된 오래된 주문을 작은 배치로 나눠 orders → orders_archive로 이동 (배치 1개 = 짧은 트랜잭션 1개)
+ * 2. 배치 사이에 쉬는 시간(pause)과 1회 실행당 최대 배치 수로 운영 트래픽에 주는 부하를 제한
+ * 3. Checkpoint(마지막 처리 ID)를 같은 트랜잭션에서 갱신 → 중간에 중단되어도 이어서 처리
+ * 4. Checkpoint 행 잠금으로 여러 인스턴스가 동시에 실행해도 같은 배치를 중복 처리하지 않음
+ * 5. 샤딩: 샤드마다 같은 작업을 순서대로 실행 (보관 테이블/Checkpoint도 샤드마다 있음, 최대 배치 수는 샤드별)
+ */
+@Slf4j
+@Service
+public class OrderArchiveService {
+
+    private static final String JOB_NAME = "order-archive";
+
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ArchiveCheckpointRepository checkpointRepository;
+    private final ShardRouter shardRouter;
+
+    private final boolean enabled;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration batchPause;
+
+    private final Counter archivedCounter;
+
+    public OrderArchiveService(ArchivedOrderRepository archivedOrderRepository,
+                               ArchiveCheckpointRepository checkpointRepository,
+                               ShardRouter shardRouter,
+                               MeterRegistry meterRegistry,
+                               @Value("${order.archive.enabled:true}") boolean enabled,
+                               @Value("${order.archive.retention:90d}") Duration retention,
+                               @Value("${order.archive.batch-size:500}") int batchSize,
+                               @Value("${order.archive.max-batches-per-run:100}") int maxBatchesPerRun,
+                               @Value("${order.archive.batch-pause:200ms}") Duration batchPause) {
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.batchPause = batchPause;
+        this.archivedCounter = Counter.builder("order.archive.moved")
+                .description("보관 테이블로 이동한 주문 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 주기 실행 - 대상이 없거나 최대 배치 수에 도달하면 종료
+     */
+    @Scheduled(cron = "${order.archive.cron:0 */10 * * * *}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            if (!archiveShard(shard, cutoff)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return 대기 중 인터럽트되면 false (남은 샤드도 건너뜀)
+     */
+    private boolean archiveShard(int shard, LocalDateTime cutoff) {
+        int moved = 0;
+        boolean completed = true;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int count = shardRouter.write(shard, () -> archiveBatch(cutoff));
+            if (count < 0) {
+                break;
+            }
+            moved += count;
+            if (!pause()) {
+                completed = false;
+                break;
+            }
+        }
+        if (moved > 0) {
+            log.info("주문 보관 완료: shard={}, moved={}, cutoff={}", shardRouter.shardName(shard), moved, cutoff);
+        }
+        return completed;
+    }
+
+    /**
+     * 배치 1개 이동
+     * 1. Checkpoint 잠금 조회 → 이후 대상 ID 조회
+     * 2. 대상 행 잠금 (조회 이후 상태가 바뀐 주문 제외)
+     * 3. 항목/주문 INSERT ... SELECT → 원본 DELETE → Checkpoint 갱신
+     *
+     * @return 이동한 주문 수, 이번 회차에 더 이상 대상이 없으면 -1 (Checkpoint 초기화)
+     */
+    private int archiveBatch(LocalDateTime cutoff) {
+        ArchiveCheckpoint checkpoint = checkpointRepository.findForUpdate(JOB_NAME)
+                .orElseGet(() -> checkpointRepository.save(ArchiveCheckpoint.builder()
+                        .jobName(JOB_NAME)
+                        .lastOrderId(0L)
+                        .updatedAt(LocalDateTime.now())
+                        .build()));
+
+        List<Long> candidateIds = archivedOrderRepository.findArchiveCandidateIds(
+                checkpoint.getLastOrderId(), cutoff, batchSize);
+        if (candidateIds.isEmpty()) {
+            checkpoint.advance(0L);
+            return -1;
+        }
+
+        List<Long> ids = archivedOrderRepository.lockArchivableIds(candidateIds, cutoff);
+        if (!ids.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            archivedOrderRepository.copyOrders(ids, now);
+            archivedOrderRepository.copyOrderItems(ids);
+            archivedOrderRepository.deleteOrderItems(ids);
+            archivedOrderRepository.deleteOrders(ids);
+            archivedCounter.increment(ids.size());
+        }
+        checkpoint.advance(candidateIds.get(candidateIds.size() - 1));
+        log.debug("주문 보관 배치: moved={}, checkpoint={}", ids.size(), checkpoint.getLastOrderId());
+        return ids.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.study.order.service;
+
+import com.study.common.exception.BusinessException;
+import com.study.order.cache.BatchCache;
+import com.study.order.domain.Order;
+import com.study.order.domain.OrderStatus;
+import com.study.order.dto.OrderDto;
+import com.study.order.event.OrderEventPublisher;
+import com.study.order.repository.OrderRepository;
+import com.study.order.repository.OrderStatusView;
+import com.study.order.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 주문 대량 처리 Service
+ *
+ * 학습 포인트:
+ * 1. JDBC 배치 INSERT: hibernate.jdbc.batch_size + order_inserts + 애플리케이션 생성 ID(@SnowflakeId)
+ * 2. 청크 단위 트랜잭션: 청크마다 flush/clear로 영속성 컨텍스트 크기 제한
+ * 3. 항목별 검증/결과 반환: 잘못된 한 건이 전체 요청을 실패시키지 않도록 처리
+ * 4. 집합 단위 UPDATE: 엔티티를 로딩하지 않고 (현재 상태별) UPDATE ... WHERE id IN 으로 상태 변경
+ * 5. 샤딩: 청크는 샤드별로 모음 (생성은 userId, 상태 변경은 orderId 기준) → 청크 1개 = 샤드 1곳의 트랜잭션 1개
+ */
+@Slf4j
+@Service
+public class OrderBulkService {
+
+    private final OrderRepository orderRepository;
+    private final OrderEventPublisher orderEventPublisher;
+    private final EntityManager entityManager;
+    private final ShardRouter shardRouter;
+    private final Validator validator;
+    private final CacheManager cacheManager;
+    private final int chunkSize;
+
+    public OrderBulkService(OrderRepository orderRepository,
+                            OrderEventPublisher orderEventPublisher,
+                            EntityManager entityManager,
+                            ShardRouter shardRouter,
+                            Validator validator,
+                            CacheManager cacheManager,
+                            @Value("${order.bulk.chunk-size:500}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderEventPublisher = orderEventPublisher;
+        this.entityManager = entityManager;
+        this.shardRouter = shardRouter;
+        this.validator = validator;
+        this.cacheManager = cacheManager;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 주문 대량 생성
+     * - 검증 실패 항목은 제외하고 나머지를 청크 단위로 저장
+     * - 청크 저장이 실패하면 해당 청크의 항목만 실패 처리
+     */
+    public OrderDto.BatchResponse createOrders(OrderDto.BatchCreateRequest request) {
+        List<OrderDto.CreateRequest> requests = request.getOrders();
+        OrderDto.BatchItemResult[] results = new OrderDto.BatchItemResult[requests.size()];
+
+        Map<Integer, List<Integer>> chunks = new TreeMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String violation = validate(requests.get(i));
+            if (violation != null) {
+                results[i] = OrderDto.BatchItemResult.failure(i, null, "VALIDATION_ERROR", violation);
+                continue;
+            }
+            int shard = shardRouter.shardOfUser(requests.get(i).getUserId());
+            List<Integer> chunkIndexes = chunks.computeIfAbsent(shard, s -> new ArrayList<>(chunkSize));
+            chunkIndexes.add(i);
+            if (chunkIndexes.size() == chunkSize) {
+                saveChunk(shard, requests, chunkIndexes, results);
+                chunkIndexes.clear();
+            }
+        }
+        chunks.forEach((shard, chunkIndexes) -> {
+            if (!chunkIndexes.isEmpty()) {
+                saveChunk(shard, requests, chunkIndexes, results);
+            }
+        });
+
+        OrderDto.BatchResponse response = OrderDto.BatchResponse.of(Arrays.asList(results));
+        log.info("주문 대량 생성: requested={}, succeeded={}, failed={}",
+                response.getRequested(), response.getSucceeded(), response.getFailed());
+        return response;
+    }
+
+    /**
+     * 청크 1개 = 트랜잭션 1개
+     * - 주문/항목/outbox 이벤트를 모두 배치 INSERT로 저장
+     */
+    private void saveChunk(int shard, List<OrderDto.CreateRequest> requests, List<Integer> indexes,
+                           OrderDto.BatchItemResult[] results) {
+        try {
+            List<Long> orderIds = shardRouter.write(shard, () -> {
+                List<Order> orders = new ArrayList<>(indexes.size());
+                for (int index : indexes) {
+                    orders.add(requests.get(index).toEntity());
+                }
+                orderRepository.saveAll(orders);
+                orderEventPublisher.publishAll("ORDER_CREATED", orders);
+                entityManager.flush();
+
+                List<Long> ids = orders.stream().map(Order::getId).toList();
+                entityManager.clear();
+                return ids;
+            });
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = OrderDto.BatchItemResult.success(indexes.get(i), orderIds.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("주문 대량 생성 청크 실패: shard={}, size={}", shardRouter.shardName(shard), indexes.size(), e);
+            for (int index : indexes) {
+                results[index] = OrderDto.BatchItemResult.failure(
+                        index, null, "BATCH_CHUNK_FAILED", "저장 중 오류가 발생했습니다");
+            }
+        }
+    }
+
+    /**
+     * 주문 상태 대량 변경
+     * - 청크마다: 현재 상태 Projection 조회(FOR UPDATE) 1회 → 전이 검증 → 현재 상태별 UPDATE 1회 → outbox 배치 INSERT
+     * - 커밋 후 변경된 주문의 캐시를 한 번에 삭제
+     */
+    public OrderDto.BatchResponse updateStatuses(OrderDto.BatchStatusUpdateRequest request) {
+        List<Long> orderIds = request.getOrderIds();
+        OrderStatus target = request.getStatus();
+        OrderDto.BatchItemResult[] results = new OrderDto.BatchItemResult[orderIds.size()];
+
+        Map<Integer, Map<Long, Integer>> chunks = new TreeMap<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < orderIds.size(); i++) {
+            Long orderId = orderIds.get(i);
+            if (!seen.add(orderId)) {
+                results[i] = OrderDto.BatchItemResult.failure(i, orderId, "DUPLICATE_ORDER_ID", "중복된 주문 ID입니다");
+                continue;
+            }
+            if (shardRouter.isMigrating(orderId)) {
+                results[i] = OrderDto.BatchItemResult.failure(i, orderId, "SHARD_MIGRATING", "샤드 재배치 중인 주문입니다");
+                continue;
+            }
+            int shard = shardRouter.shardOfOrder(orderId);
+            Map<Long, Integer> chunk = chunks.computeIfAbsent(shard, s -> new HashMap<>());
+            chunk.put(orderId, i);
+            if (chunk.size() == chunkSize) {
+                transitionChunk(shard, chunk, target, results);
+                chunk.clear();
+            }
+        }
+        chunks.forEach((shard, chunk) -> {
+            if (!chunk.isEmpty()) {
+                transitionChunk(shard, chunk, target, results);
+            }
+        });
+
+        OrderDto.BatchResponse response = OrderDto.BatchResponse.of(Arrays.asList(results));
+        log.info("주문 상태 대량 변경: status={}, requested={}, succeeded={}, failed={}",
+                target, response.getRequested(), response.getSucceeded(), response.getFailed());
+        return response;
+    }
+
+    /**
+     * 청크 1개 = 트랜잭션 1개
+     *
+     * @param indexes 주문 ID → 요청 내 위치
+     */
+    private void transitionChunk(int shard, Map<Long, Integer> indexes, OrderStatus target,
+                                 OrderDto.BatchItemResult[] results) {
+        List<Long> changedIds;
+        try {
+            changedIds = shardRouter.write(shard, () -> {
+                Map<OrderStatus, List<OrderStatusView>> bySource = new EnumMap<>(OrderStatus.class);
+                Set<Long> found = new HashSet<>();
+                for (OrderStatusView order : orderRepository.findStatusViewsByIdIn(indexes.keySet())) {
+                    found.add(order.getId());
+                    int index = indexes.get(order.getId());
+                    if (!order.getStatus().canTransitionTo(target)) {
+                        results[index] = OrderDto.BatchItemResult.failure(index, order.getId(), "INVALID_STATUS_TRANSITION",
+                                order.getStatus() + " 상태에서 " + target + " 상태로 변경할 수 없습니다");
+                        continue;
+                    }
+                    bySource.computeIfAbsent(order.getStatus(), s -> new ArrayList<>()).add(order);
+                }
+                for (Map.Entry<Long, Integer> entry : indexes.entrySet()) {
+                    if (!found.contains(entry.getKey())) {
+                        results[entry.getValue()] = OrderDto.BatchItemResult.failure(
+                                entry.getValue(), entry.getKey(), "ORDER_NOT_FOUND", "주문을 찾을 수 없습니다");
+                    }
+                }
+
+                LocalDateTime now = LocalDateTime.now();
+                List<OrderStatusView> changed = new ArrayList<>();
+                for (Map.Entry<OrderStatus, List<OrderStatusView>> entry : bySource.entrySet()) {
+                    changed.addAll(updateFromStatus(entry.getKey(), entry.getValue(), target, now));
+                }
+
+                String eventType = target == OrderStatus.CANCELLED ? "ORDER_CANCELLED" : "ORDER_STATUS_UPDATED";
+                orderEventPublisher.publishStatusChanges(eventType, changed, target);
+                return changed.stream().map(OrderStatusView::getId).toList();
+            });
+        } catch (RuntimeException e) {
+            log.warn("주문 상태 대량 변경 청크 실패: shard={}, size={}", shardRouter.shardName(shard), indexes.size(), e);
+            for (Map.Entry<Long, Integer> entry : indexes.entrySet()) {
+                results[entry.getValue()] = OrderDto.BatchItemResult.failure(
+                        entry.getValue(), entry.getKey(), "BATCH_CHUNK_FAILED", "상태 변경 중 오류가 발생했습니다");
+            }
+            return;
+        }
+
+        for (Long orderId : changedIds) {
+            int index = indexes.get(orderId);
+            results[index] = OrderDto.BatchItemResult.success(index, orderId);
+        }
+        evictOrderCache(changedIds);
+    }
+
+    /**
+     * 같은 현재 상태의 주문들을 UPDATE 1회로 변경
+     * - 현재 상태 조회 시 행을 잠갔으므로 모두 변경되어야 함 (아니면 청크 롤백)
+     */
+    private List<OrderStatusView> updateFromStatus(OrderStatus from, List<OrderStatusView> orders, OrderStatus target,
+                                                   LocalDateTime now) {
+        List<Long> ids = orders.stream().map(OrderStatusView::getId).toList();
+        int updated = orderRepository.updateStatusByIdIn(ids, from, target, now);
+        if (updated != ids.size()) {
+            throw new IllegalStateException("잠근 주문의 상태 변경 건수가 다릅니다: expected=" + ids.size() + ", updated=" + updated);
+        }
+        return orders;
+    }
+
+    /**
+     * 시간 초과 주문 일괄 취소 (OrderTimeoutScheduler)
+     * - 잠근 뒤에도 여전히 from 상태인 주문만 UPDATE 1회로 취소 → 마감 이후 다른 인스턴스/요청이 상태를 바꾼 주문은 건드리지 않음
+     * - 샤드별로 나누어 샤드마다 트랜잭션 1개
+     * - 재배치 중인 버킷의 주문은 나머지를 취소한 뒤 예외 → 호출자가 배치 전체를 재등록 (취소된 주문은 다음 시도에서 제외됨)
+     *
+     * @return 취소된 주문 ID
+     */
+    public List<Long> cancelExpired(OrderStatus from, List<Long> orderIds) {
+        List<Long> cancelledIds = new ArrayList<>();
+        List<Long> writable = orderIds.stream().filter(orderId -> !shardRouter.isMigrating(orderId)).toList();
+        shardRouter.groupByShard(writable, shardRouter::shardOfOrder).forEach((shard, shardOrderIds) ->
+                cancelledIds.addAll(cancelExpiredOnShard(shard, from, shardOrderIds)));
+        evictOrderCache(cancelledIds);
+        if (writable.size() < orderIds.size()) {
+            throw new BusinessException("샤드 재배치 중인 주문은 나중에 취소합니다: count="
+                    + (orderIds.size() - writable.size()), "SHARD_MIGRATING");
+        }
+        return cancelledIds;
+    }
+
+    private List<Long> cancelExpiredOnShard(int shard, OrderStatus from, List<Long> orderIds) {
+        return shardRouter.write(shard, () -> {
+            List<OrderStatusView> orders = orderRepository.findStatusViewsByIdIn(orderIds).stream()
+                    .filter(order -> order.getStatus() == from)
+                    .toList();
+            if (orders.isEmpty()) {
+                return List.<Long>of();
+            }
+
+            List<OrderStatusView> cancelled = updateFromStatus(from, orders, OrderStatus.CANCELLED, LocalDateTime.now());
+            orderEventPublisher.publishStatusChanges("ORDER_CANCELLED", cancelled, OrderStatus.CANCELLED);
+            return cancelled.stream().map(OrderStatusView::getId).toList();
+        });
+    }
+
+    /**
+     * 변경된 주문의 캐시 삭제 (BatchCache면 Redis 왕복 1회)
+     */
+    private void evictOrderCache(List<Long> orderIds) {
+        Cache cache = cacheManager.getCache(OrderService.ORDER_CACHE);
+        if (cache == null || orderIds.isEmpty()) {
+            return;
+        }
+        try {
+            if (cache instanceof BatchCache batchCache) {
+                batchCache.evictAll(orderIds);
+            } else {
+                orderIds.forEach(cache::evict);
+            }
+        } catch (RuntimeException e) {
+            // 캐시 삭제 실패는 요청을 실패시키지 않음 (TTL 만료 시 최신 값으로 갱신)
+            log.warn("주문 캐시 일괄 삭제 실패: count={}", orderIds.size(), e);
+        }
+    }
+
+    private String validate(OrderDto.CreateRequest request) {
+        if (request == null) {
+            return "주문 정보가 없습니다";
+        }
+        Set<ConstraintViolation<OrderDto.CreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .reduce((a, b) -> a + ", " + b)
+                .orElse(null);
+    }
+}
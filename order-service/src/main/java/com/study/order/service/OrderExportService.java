@@ -0,0 +1,227 @@
+package com.study.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.study.order.domain.Order;
+import com.study.order.domain.OrderItem;
+import com.study.order.domain.OrderStatus;
+import com.study.order.dto.OrderDto;
+import com.study.order.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 주문 Export Service
+ *
+ * 학습 포인트:
+ * 1. 대용량 조회는 List로 모으지 않고 Stream(DB 커서)으로 한 행씩 처리
+ * 2. fetch size로 JDBC 드라이버가 한 번에 가져오는 행 수를 제한
+ * 3. 처리한 엔티티는 detach하여 영속성 컨텍스트가 커지지 않도록 유지 → 힙 사용량 일정
+ * 4. 샤딩: 샤드를 하나씩 순서대로 스트리밍 (정렬은 샤드 안에서만 보장, 샤드 사이에는 이어 붙임)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderExportService {
+
+    private static final String CSV_HEADER =
+            "order_id,user_id,status,total_amount,created_at,item_id,product_id,product_name,quantity,price\n";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ShardRouter shardRouter;
+
+    @Value("${order.export.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Export 포맷
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+    }
+
+    /**
+     * 조건에 맞는 주문을 OutputStream으로 스트리밍
+     * - NDJSON: 주문 1건 = 1줄 (items 포함)
+     * - CSV: 주문 항목 1건 = 1줄
+     */
+    public void export(Format format, LocalDateTime from, LocalDateTime to, OrderStatus status,
+                       OutputStream outputStream) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+        ObjectWriter jsonWriter = objectMapper.writerFor(OrderDto.Response.class);
+
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+
+        long rows = 0;
+        try {
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                rows += shardRouter.read(shard, () -> exportShard(format, from, to, status, jsonWriter, out));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+
+        log.info("주문 Export 완료: format={}, rows={}, elapsed={}ms",
+                format, rows, System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * 현재 샤드의 주문을 커서로 읽어 출력 (샤드 읽기 트랜잭션 안에서 호출)
+     *
+     * @return 출력한 행 수 (CSV 줄 수 - 항목 없는 주문은 1줄)
+     */
+    private long exportShard(Format format, LocalDateTime from, LocalDateTime to, OrderStatus status,
+                             ObjectWriter jsonWriter, OutputStream out) {
+        long rows = 0;
+        try (Stream<Object[]> results = createExportQuery(from, to, status).getResultStream()) {
+            Order current = null;
+            List<OrderDto.OrderItemResponse> currentItems = new ArrayList<>();
+
+            for (Object[] row : (Iterable<Object[]>) results::iterator) {
+                Order order = (Order) row[0];
+                OrderItem item = (OrderItem) row[1];  // 항목 없는 주문이면 null
+                if (current != null && !current.getId().equals(order.getId())) {
+                    if (format == Format.NDJSON) {
+                        writeNdjsonLine(jsonWriter, current, currentItems, out);
+                    }
+                    entityManager.detach(current);
+                    currentItems.clear();
+                }
+                current = order;
+
+                if (format == Format.CSV) {
+                    writeCsvLine(order, item, out);
+                } else if (item != null) {
+                    currentItems.add(OrderDto.OrderItemResponse.from(item));
+                }
+                if (item != null) {
+                    entityManager.detach(item);
+                }
+                rows++;
+            }
+
+            if (current != null) {
+                if (format == Format.NDJSON) {
+                    writeNdjsonLine(jsonWriter, current, currentItems, out);
+                }
+                entityManager.detach(current);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    /**
+     * Order 기준 forward-only 커서 쿼리 - 행 = (주문, 항목)
+     * - LEFT JOIN이므로 항목이 없는 주문도 (주문, null) 한 행으로 포함
+     * - 같은 주문의 항목이 연속되도록 정렬
+     * - 조건은 동적으로 추가하여 created_at 인덱스를 사용할 수 있도록 구성
+     */
+    private TypedQuery<Object[]> createExportQuery(LocalDateTime from, LocalDateTime to, OrderStatus status) {
+        StringBuilder jpql = new StringBuilder("SELECT o, i FROM Order o LEFT JOIN o.orderItems i WHERE 1 = 1");
+        if (from != null) {
+            jpql.append(" AND o.createdAt >= :from");
+        }
+        if (to != null) {
+            jpql.append(" AND o.createdAt < :to");
+        }
+        if (status != null) {
+            jpql.append(" AND o.status = :status");
+        }
+        jpql.append(" ORDER BY o.createdAt, o.id, i.id");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        return query;
+    }
+
+    private void writeNdjsonLine(ObjectWriter jsonWriter, Order order,
+                                 List<OrderDto.OrderItemResponse> items, OutputStream out) throws IOException {
+        OrderDto.Response response = OrderDto.Response.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .status(order.getStatus())
+                .totalAmount(order.getTotalAmount())
+                .items(new ArrayList<>(items))
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .build();
+        out.write(jsonWriter.writeValueAsBytes(response));
+        out.write('\n');
+    }
+
+    /**
+     * 항목 없는 주문은 항목 컬럼을 비워 1줄
+     */
+    private void writeCsvLine(Order order, OrderItem item, OutputStream out) throws IOException {
+        StringBuilder line = new StringBuilder()
+                .append(order.getId()).append(',')
+                .append(order.getUserId()).append(',')
+                .append(order.getStatus()).append(',')
+                .append(order.getTotalAmount()).append(',')
+                .append(order.getCreatedAt()).append(',');
+        if (item != null) {
+            line.append(item.getId()).append(',')
+                    .append(item.getProductId()).append(',')
+                    .append(escapeCsv(item.getProductName())).append(',')
+                    .append(item.getQuantity()).append(',')
+                    .append(item.getPrice());
+        } else {
+            line.append(",,,,");
+        }
+        line.append('\n');
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 구분자(,), 따옴표, 줄바꿈(\n, \r)이 있으면 따옴표로 감쌈 (RFC 4180)
+     */
+    static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,252 @@
+package com.study.order.service;
+
+import com.study.common.exception.BusinessException;
+import com.study.order.dto.OrderDto;
+import com.study.order.repository.ShardTransferRepository;
+import com.study.order.sharding.ShardBuckets;
+import com.study.order.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 샤드 재배치(Resharding) - 샤드 추가 후 다른 샤드 소유가 된 버킷의 주문을 옮김
+ *
+ * 학습 포인트:
+ * 1. 일관된 해싱이라 샤드를 추가해도 일부 버킷(≈ 1/N)만 소유자가 바뀜 → 그 버킷의 주문만 이동
+ * 2. 배치 1개 = 원본 샤드 트랜잭션 1개
+ *    - 원본 행 잠금(FOR UPDATE) → 소유자 재확인 → 대상 샤드에 별도 트랜잭션으로 "없는 주문만 INSERT" 커밋 → 원본 삭제 커밋
+ *    - 잠금 동안 원본 변경이 막히므로 복사 중 상태 변경 유실 없음
+ *    - 대상 커밋 후 원본 커밋 전에 실패해도 재실행 시 대상에 이미 있는 주문은 건너뜀
+ *      → 그사이 대상 샤드에서 바뀐 상태를 원본의 이전 값으로 덮어쓰지 않음
+ * 3. 옮기는 버킷은 이동 중(ShardRouter.beginMigration)으로 표시 → 그 버킷 주문의 상태 변경/취소는 SHARD_MIGRATING으로 거부
+ *    → 대상 커밋 ~ 원본 삭제 사이에 새 소유 샤드로 간 변경이 ORDER_NOT_FOUND가 되거나 두 샤드 중 한쪽에만 쓰이지 않음
+ *    - 표시는 인스턴스 메모리에만 있음 → 재배치 중에는 다른 인스턴스의 쓰기를 막지 못하므로 트래픽이 적을 때 실행
+ * 4. 재배치 대기 중(order.sharding.rebalance-pending)이거나 옮기는 중인 버킷만 조회 시 나머지 샤드를 확인 (ShardRouter.shardsForOrder)
+ *    → 재배치가 끝나면 대기 표시를 해제해 없는 주문 조회도 소유 샤드 1곳에서 끝냄
+ * 5. 보관(archive) 주문도 옮김 - 변경되지 않는 행이므로 잠금 없이 복사 후 삭제 (대상에 이미 있으면 건너뜀)
+ *
+ * 절차: 설정에 샤드 추가 + rebalance-pending=true → 재시작(새 주문은 바로 새 소유 샤드로) → POST /admin/shards/rebalance
+ *       → 끝나면 설정에서 rebalance-pending 제거 (다른 인스턴스는 재시작 전까지 나머지 샤드도 확인 - 느릴 뿐 결과는 같음)
+ * outbox는 옮기지 않음 (원본 샤드의 릴레이가 그대로 발행)
+ */
+@Slf4j
+@Service
+public class OrderReshardingService {
+
+    private final ShardRouter shardRouter;
+    private final ShardTransferRepository transferRepository;
+    private final int batchSize;
+    private final Counter movedCounter;
+
+    /**
+     * 인스턴스 안에서 재배치 동시 실행 방지 (여러 인스턴스에서 동시에 실행해도 행 잠금으로 같은 배치를 두 번 옮기지는 않음)
+     */
+    private final ReentrantLock rebalanceLock = new ReentrantLock();
+
+    public OrderReshardingService(ShardRouter shardRouter,
+                                  ShardTransferRepository transferRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${order.sharding.rebalance-batch-size:500}") int batchSize) {
+        this.shardRouter = shardRouter;
+        this.transferRepository = transferRepository;
+        this.batchSize = batchSize;
+        this.movedCounter = Counter.builder("order.sharding.moved")
+                .description("재배치로 다른 샤드로 옮긴 주문 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 샤드별 현황 (모든 샤드 병렬 조회)
+     */
+    public List<OrderDto.ShardStatus> status() {
+        int[] ownedBuckets = new int[shardRouter.shardCount()];
+        for (int bucket = 0; bucket < ShardBuckets.BUCKET_COUNT; bucket++) {
+            ownedBuckets[shardRouter.shardOfBucket(bucket)]++;
+        }
+        List<Map<Integer, Long>> counts = shardRouter.scatterRead(shard -> transferRepository.countByBucket());
+
+        List<OrderDto.ShardStatus> statuses = new ArrayList<>(counts.size());
+        for (int shard = 0; shard < counts.size(); shard++) {
+            long orders = 0;
+            long misplaced = 0;
+            for (Map.Entry<Integer, Long> entry : counts.get(shard).entrySet()) {
+                orders += entry.getValue();
+                if (shardRouter.shardOfBucket(entry.getKey()) != shard) {
+                    misplaced += entry.getValue();
+                }
+            }
+            statuses.add(OrderDto.ShardStatus.builder()
+                    .shard(shard)
+                    .name(shardRouter.shardName(shard))
+                    .ownedBuckets(ownedBuckets[shard])
+                    .orders(orders)
+                    .misplacedOrders(misplaced)
+                    .build());
+        }
+        return statuses;
+    }
+
+    /**
+     * 모든 샤드에서 소유자가 아닌 버킷의 주문을 소유 샤드로 이동
+     */
+    public OrderDto.RebalanceResponse rebalance() {
+        if (!rebalanceLock.tryLock()) {
+            throw new BusinessException("샤드 재배치가 이미 실행 중입니다", "REBALANCE_IN_PROGRESS");
+        }
+        // 재배치하는 동안은 아직 옮기지 않은 버킷의 주문도 이전 샤드에서 찾도록 대기 표시
+        shardRouter.setRebalancePending(true);
+        boolean completed = false;
+        try {
+            long startedAt = System.currentTimeMillis();
+            int movedBuckets = 0;
+            long movedArchived = 0;
+            long[] moved = new long[2];
+            for (int source = 0; source < shardRouter.shardCount(); source++) {
+                int current = source;
+                TreeSet<Integer> buckets = new TreeSet<>(
+                        shardRouter.read(source, () -> transferRepository.countByBucket().keySet()));
+                for (int bucket : buckets) {
+                    int target = shardRouter.shardOfBucket(bucket);
+                    if (target == current) {
+                        continue;
+                    }
+                    long[] bucketMoved = moveBucket(current, target, bucket);
+                    moved[0] += bucketMoved[0];
+                    moved[1] += bucketMoved[1];
+                    movedBuckets++;
+                }
+                movedArchived += moveArchived(source);
+            }
+            OrderDto.RebalanceResponse response = OrderDto.RebalanceResponse.builder()
+                    .movedBuckets(movedBuckets)
+                    .movedOrders(moved[0])
+                    .movedItems(moved[1])
+                    .movedArchivedOrders(movedArchived)
+                    .elapsedMs(System.currentTimeMillis() - startedAt)
+                    .build();
+            log.info("샤드 재배치 완료: buckets={}, orders={}, items={}, archived={}, elapsedMs={}",
+                    movedBuckets, moved[0], moved[1], movedArchived, response.getElapsedMs());
+            completed = true;
+            return response;
+        } finally {
+            // 실패하면 이전 샤드에 남은 주문이 있으므로 대기 표시 유지
+            shardRouter.setRebalancePending(!completed);
+            rebalanceLock.unlock();
+        }
+    }
+
+    /**
+     * 버킷 1개를 배치 단위로 이동 - 이동하는 동안 버킷을 이동 중으로 표시
+     *
+     * @return [이동한 주문 수, 이동한 항목 수]
+     */
+    private long[] moveBucket(int source, int target, int bucket) {
+        long[] moved = new long[2];
+        shardRouter.beginMigration(bucket);
+        try {
+            while (true) {
+                long[] batch = shardRouter.write(source, () -> moveBatch(source, target, bucket));
+                if (batch[0] == 0) {
+                    break;
+                }
+                moved[0] += batch[0];
+                moved[1] += batch[1];
+                movedCounter.increment(batch[0]);
+            }
+        } finally {
+            shardRouter.endMigration(bucket);
+        }
+        log.info("샤드 버킷 이동: bucket={}, {} -> {}, orders={}",
+                bucket, shardRouter.shardName(source), shardRouter.shardName(target), moved[0]);
+        return moved;
+    }
+
+    /**
+     * 원본 샤드의 보관 주문 중 소유자가 바뀐 주문을 id 순서로 배치 단위 이동
+     *
+     * @return 이동한 보관 주문 수
+     */
+    private long moveArchived(int source) {
+        long moved = 0;
+        long afterId = Long.MIN_VALUE;
+        while (true) {
+            long cursor = afterId;
+            List<Long> ids = shardRouter.read(source, () -> transferRepository.findArchivedIdsAfter(cursor, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+            List<Long> misplaced = ids.stream().filter(id -> shardRouter.shardOfOrder(id) != source).toList();
+            for (Map.Entry<Integer, List<Long>> entry : shardRouter.groupByShard(misplaced, shardRouter::shardOfOrder).entrySet()) {
+                moved += shardRouter.write(source, () -> moveArchivedBatch(entry.getKey(), entry.getValue()));
+            }
+        }
+        if (moved > 0) {
+            log.info("보관 주문 이동: source={}, orders={}", shardRouter.shardName(source), moved);
+        }
+        return moved;
+    }
+
+    /**
+     * 원본 샤드 트랜잭션 안에서 호출 - 대상 샤드에 없는 보관 주문만 복사(별도 트랜잭션) → 원본 삭제
+     */
+    private long moveArchivedBatch(int target, List<Long> ids) {
+        List<Object[]> orders = transferRepository.findArchivedOrderRows(ids);
+        List<Object[]> items = transferRepository.findArchivedItemRows(ids);
+        shardRouter.write(target, () -> {
+            Set<Long> existing = transferRepository.findExistingArchivedIds(ids);
+            transferRepository.insertArchivedOrderRows(orders.stream()
+                    .filter(row -> !existing.contains(((Number) row[0]).longValue()))
+                    .toList());
+            transferRepository.insertArchivedItemRows(items.stream()
+                    .filter(row -> !existing.contains(((Number) row[1]).longValue()))
+                    .toList());
+            return null;
+        });
+        transferRepository.deleteArchivedOrders(ids);
+        return orders.size();
+    }
+
+    /**
+     * 원본 샤드 트랜잭션 안에서 호출 - 잠금 → 소유자 재확인 → 대상 샤드에 없는 주문만 복사(별도 트랜잭션) → 원본 삭제
+     *
+     * @return [이동한 주문 수, 이동한 항목 수] (대상에 이미 있어 건너뛴 주문도 원본에서는 삭제되며 이동 수에 포함)
+     */
+    private long[] moveBatch(int source, int target, int bucket) {
+        List<Long> ids = transferRepository.lockBucketIds(bucket, batchSize);
+        if (ids.isEmpty()) {
+            return new long[]{0, 0};
+        }
+        // 잠금 이후 기준으로 소유자 확인 - 원본이 다시 소유자가 되었거나 대상이 바뀌었으면 옮기지 않음
+        int owner = shardRouter.shardOfBucket(bucket);
+        if (owner != target) {
+            throw new IllegalStateException("버킷 소유 샤드가 바뀌어 재배치를 중단합니다: bucket=" + bucket
+                    + ", owner=" + shardRouter.shardName(owner) + ", target=" + shardRouter.shardName(target));
+        }
+        List<Object[]> orders = transferRepository.findOrderRows(ids);
+        List<Object[]> items = transferRepository.findItemRows(ids);
+
+        shardRouter.write(target, () -> {
+            Set<Long> existing = transferRepository.findExistingIds(ids);
+            transferRepository.insertOrderRows(orders.stream()
+                    .filter(row -> !existing.contains(((Number) row[0]).longValue()))
+                    .toList());
+            transferRepository.insertItemRows(items.stream()
+                    .filter(row -> !existing.contains(((Number) row[1]).longValue()))
+                    .toList());
+            return null;
+        });
+        transferRepository.deleteOrders(ids);
+        return new long[]{orders.size(), items.size()};
+    }
+}
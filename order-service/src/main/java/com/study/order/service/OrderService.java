@@ -1,22 +1,38 @@
 package com.study.order.service;
 
 import com.study.common.exception.BusinessException;
+import com.study.order.cache.BatchCache;
+import com.study.order.cache.TwoLevelCacheManager;
+import com.study.order.domain.ArchivedOrder;
 import com.study.order.domain.Order;
-import com.study.order.domain.OrderItem;
 import com.study.order.domain.OrderStatus;
+import com.study.order.dto.OrderCursor;
 import com.study.order.dto.OrderDto;
-import com.study.order.event.OrderEvent;
+import com.study.order.dto.OrderSort;
+import com.study.order.event.OrderEventPublisher;
+import com.study.order.projection.UserOrderSummaryStore;
+import com.study.order.repository.ArchivedOrderRepository;
 import com.study.order.repository.OrderRepository;
+import com.study.order.sharding.ShardRouter;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -24,106 +40,228 @@ import java.util.stream.Collectors;
  *
  * 학습 포인트:
  * 1. Redis 캐싱: @Cacheable, @CacheEvict, @CachePut
- * 2. Kafka 이벤트 발행: Event-Driven Architecture
+ * 2. Kafka 이벤트 발행: Event-Driven Architecture (Transactional Outbox)
  * 3. 트랜잭션 관리
+ * 4. CQRS: 사용자 주문 요약은 이벤트로 갱신되는 Read Model에서 조회
+ * 5. 샤딩: 트랜잭션은 ShardRouter로 샤드를 정한 뒤 시작 (userId → 샤드, orderId → ID에 담긴 버킷 → 샤드)
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class OrderService {
 
     private final OrderRepository orderRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OrderEventPublisher orderEventPublisher;
+    private final UserOrderSummaryStore userOrderSummaryStore;
+    private final CacheManager cacheManager;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ShardRouter shardRouter;
 
-    private static final String ORDER_TOPIC = "order-events";
-    private static final String ORDER_CACHE = "orders";
+    static final String ORDER_CACHE = "orders";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
     /**
-     * 주문 생성
+     * 주문 캐시 refresh-ahead 로더 등록 - 만료 임박 값은 주문 ID만으로 다시 조회
      */
-    @Transactional
-    public OrderDto.Response createOrder(OrderDto.CreateRequest request) {
-        // Order 엔티티 생성
-        Order order = Order.builder()
-                .userId(request.getUserId())
-                .status(OrderStatus.PENDING)
-                .build();
-
-        // OrderItem 추가
-        request.getItems().forEach(itemRequest -> {
-            OrderItem orderItem = OrderItem.builder()
-                    .productId(itemRequest.getProductId())
-                    .productName(itemRequest.getProductName())
-                    .quantity(itemRequest.getQuantity())
-                    .price(itemRequest.getPrice())
-                    .build();
-            order.addOrderItem(orderItem);
-        });
+    @PostConstruct
+    void registerCacheRefreshLoader() {
+        if (cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager) {
+            twoLevelCacheManager.registerRefreshLoader(ORDER_CACHE,
+                    key -> loadOrder(Long.valueOf(String.valueOf(key))));
+        }
+    }
 
-        // 총액 계산
-        order.calculateTotalAmount();
+    /**
+     * 주문 생성 - 사용자의 샤드에 저장
+     */
+    public OrderDto.Response createOrder(OrderDto.CreateRequest request) {
+        return shardRouter.write(shardRouter.shardOfUser(request.getUserId()), () -> {
+            // Order 엔티티 생성 (OrderItem 추가 + 총액 계산)
+            Order order = request.toEntity();
 
-        // 저장
-        Order savedOrder = orderRepository.save(order);
-        log.info("주문 생성: id={}, userId={}, totalAmount={}",
-                savedOrder.getId(), savedOrder.getUserId(), savedOrder.getTotalAmount());
+            // 저장
+            Order savedOrder = orderRepository.save(order);
+            log.info("주문 생성: id={}, userId={}, totalAmount={}",
+                    savedOrder.getId(), savedOrder.getUserId(), savedOrder.getTotalAmount());
 
-        // Kafka 이벤트 발행
-        publishOrderEvent("ORDER_CREATED", savedOrder);
+            // 이벤트 발행 (같은 트랜잭션에서 outbox 저장)
+            orderEventPublisher.publish("ORDER_CREATED", savedOrder);
 
-        return OrderDto.Response.from(savedOrder);
+            return OrderDto.Response.from(savedOrder);
+        });
     }
 
     /**
      * 주문 조회 - 캐시 적용
+     * - sync = true: 같은 키의 동시 miss는 한 번만 DB 조회 (TwoLevelCache.get(key, valueLoader))
+     * - 운영 테이블에 없으면 보관(archive) 테이블에서 조회
+     * - orderId의 버킷으로 샤드 1곳만 조회, 없으면 바로 ORDER_NOT_FOUND (재배치 대기/이동 중일 때만 나머지 샤드 확인)
      */
-    @Cacheable(value = ORDER_CACHE, key = "#orderId")
+    @Cacheable(value = ORDER_CACHE, key = "#orderId", sync = true)
     public OrderDto.Response getOrder(Long orderId) {
         log.info("Cache Miss - DB에서 주문 조회: orderId={}", orderId);
-        Order order = orderRepository.findByIdWithItems(orderId);
-        if (order == null) {
-            throw new BusinessException("주문을 찾을 수 없습니다", "ORDER_NOT_FOUND");
+        return loadOrder(orderId);
+    }
+
+    private OrderDto.Response loadOrder(Long orderId) {
+        for (int shard : shardRouter.shardsForOrder(orderId)) {
+            Map<Long, OrderDto.Response> found = shardRouter.read(shard, () -> loadOnShard(List.of(orderId)));
+            if (!found.isEmpty()) {
+                return found.get(orderId);
+            }
         }
-        return OrderDto.Response.from(order);
+        throw new BusinessException("주문을 찾을 수 없습니다", "ORDER_NOT_FOUND");
     }
 
     /**
-     * 사용자별 주문 조회
+     * 주문 여러 건 조회 - 캐시 일괄 조회
+     * 1. 캐시에서 한 번에 조회 (L1 → Redis MGET 1회)
+     * 2. miss된 주문을 샤드별로 묶어 샤드마다 IN + fetch join 쿼리 1회로 로딩 (운영 테이블에 없는 주문은 보관 테이블에서 한 번 더)
+     * 3. 로딩한 주문을 파이프라인으로 캐시에 저장 후 요청 순서대로 반환 (없는 주문은 제외)
      */
-    public List<OrderDto.Response> getUserOrders(Long userId) {
-        List<Order> orders = orderRepository.findByUserIdWithItems(userId);
-        return orders.stream()
-                .map(OrderDto.Response::from)
+    public List<OrderDto.Response> getOrdersByIds(List<Long> orderIds) {
+        List<Long> ids = orderIds.stream().distinct().toList();
+        if (ids.size() > MAX_PAGE_SIZE) {
+            throw new BusinessException("한 번에 최대 " + MAX_PAGE_SIZE + "건까지 조회할 수 있습니다", "TOO_MANY_ORDER_IDS");
+        }
+
+        Cache cache = cacheManager.getCache(ORDER_CACHE);
+        BatchCache batchCache = cache instanceof BatchCache ? (BatchCache) cache : null;
+        Map<Long, OrderDto.Response> responses = new HashMap<>();
+        if (batchCache != null) {
+            batchCache.getAll(ids).forEach((key, value) -> responses.put((Long) key, (OrderDto.Response) value));
+        }
+
+        List<Long> missIds = ids.stream().filter(id -> !responses.containsKey(id)).toList();
+        if (!missIds.isEmpty()) {
+            log.info("Cache Miss - DB에서 주문 일괄 조회: count={}", missIds.size());
+            Map<Long, OrderDto.Response> loaded = new HashMap<>();
+            shardRouter.groupByShard(missIds, shardRouter::shardOfOrder).forEach((shard, shardIds) ->
+                    loaded.putAll(shardRouter.read(shard, () -> loadOnShard(shardIds))));
+            // 재배치 대기/이동 중이라 아직 옮겨지지 않았을 수 있는 주문만 모든 샤드에서 한 번 더
+            List<Long> remainingIds = missIds.stream()
+                    .filter(id -> !loaded.containsKey(id) && shardRouter.mayBeMisplaced(id))
+                    .toList();
+            if (!remainingIds.isEmpty()) {
+                shardRouter.scatterRead(shard -> loadOnShard(remainingIds)).forEach(loaded::putAll);
+            }
+            if (batchCache != null) {
+                batchCache.putAll(loaded);
+            }
+            responses.putAll(loaded);
+        }
+
+        return orderIds.stream()
+                .map(responses::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
     /**
-     * 전체 주문 조회
+     * 사용자별 주문 조회 - 사용자의 샤드 1곳에서 OrderItem과 함께 조회
      */
-    public List<OrderDto.Response> getAllOrders() {
-        return orderRepository.findAll().stream()
+    public List<OrderDto.Response> getUserOrders(Long userId) {
+        return shardRouter.read(shardRouter.shardOfUser(userId), () -> orderRepository.findByUserIdWithItems(userId).stream()
                 .map(OrderDto.Response::from)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 사용자 주문 요약 조회 - Read Model(Redis)에서 바로 읽음
+     * - 이벤트 반영 지연만큼 최신 주문이 늦게 보일 수 있음 (order.summary.lag 메트릭)
+     */
+    public OrderDto.UserOrderSummary getUserOrderSummary(Long userId) {
+        return userOrderSummaryStore.find(userId);
+    }
+
+    /**
+     * 사용자 주문 이력 조회 - 요약에 없는 과거 주문은 DB에서 Keyset 페이지네이션으로 조회
+     */
+    public OrderDto.PageResponse getUserOrderHistory(Long userId, String cursor, Integer size) {
+        return getOrders(OrderDto.SearchCondition.builder().userId(userId).build(), cursor, size);
+    }
+
+    /**
+     * 주문 목록 조회 - 조건 검색 + Keyset 페이지네이션
+     * 1. 조건에 맞는 주문의 (정렬값, ID)만 정렬 순서대로 조회 (size + 1건으로 다음 페이지 존재 여부 판단)
+     *    - userId 조건이 있으면 그 사용자의 샤드 1곳만 조회
+     *    - 없으면 모든 샤드에서 병렬로 size + 1건씩 조회 후 (정렬값, ID) 순서로 병합해 앞의 size + 1건 사용
+     * 2. 해당 ID들의 주문 + OrderItem을 샤드마다 IN 쿼리 한 번으로 로딩 (N+1 방지)
+     */
+    public OrderDto.PageResponse getOrders(OrderDto.SearchCondition condition, String cursor, Integer size) {
+        validate(condition);
+        int pageSize = resolvePageSize(size);
+        OrderSort sort = condition.getSort();
+
+        OrderCursor after = (cursor == null || cursor.isBlank()) ? null : OrderCursor.decode(cursor, sort);
+        List<OrderCursor> keys;
+        ToIntFunction<Long> shardOfId;
+        if (condition.getUserId() != null) {
+            int shard = shardRouter.shardOfUser(condition.getUserId());
+            keys = shardRouter.read(shard, () -> orderRepository.searchKeys(condition, after, pageSize + 1));
+            shardOfId = id -> shard;
+        } else {
+            List<List<OrderCursor>> perShard =
+                    shardRouter.scatterRead(shard -> orderRepository.searchKeys(condition, after, pageSize + 1));
+            Map<Long, Integer> sourceShards = new HashMap<>();
+            for (int shard = 0; shard < perShard.size(); shard++) {
+                for (OrderCursor key : perShard.get(shard)) {
+                    sourceShards.put(key.getId(), shard);
+                }
+            }
+            keys = perShard.stream()
+                    .flatMap(List::stream)
+                    .sorted(sort.keyOrder())
+                    .limit(pageSize + 1L)
+                    .toList();
+            shardOfId = sourceShards::get;
+        }
+
+        boolean hasNext = keys.size() > pageSize;
+        List<Long> ids = keys.stream().limit(pageSize).map(OrderCursor::getId).toList();
+        List<OrderDto.Response> items = loadWithItems(ids, shardOfId);
+
+        String nextCursor = null;
+        if (hasNext && !items.isEmpty()) {
+            nextCursor = OrderCursor.of(sort, items.get(items.size() - 1)).encode();
+        }
+
+        return OrderDto.PageResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
     }
 
     /**
      * 주문 상태 변경 - 캐시 업데이트
+     * - 캐시 갱신(@CachePut)은 샤드 트랜잭션 커밋 후
+     * - 허용되지 않은 전이는 거부, 조회 후 다른 요청(타임아웃 자동 취소 등)이 먼저 바꿨으면 버전 충돌로 실패
      */
-    @Transactional
     @CachePut(value = ORDER_CACHE, key = "#orderId")
     public OrderDto.Response updateOrderStatus(Long orderId, OrderDto.StatusUpdateRequest request) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new BusinessException("주문을 찾을 수 없습니다", "ORDER_NOT_FOUND"));
+        shardRouter.requireWritable(orderId);
+        for (int shard : shardRouter.shardsForOrder(orderId)) {
+            Optional<OrderDto.Response> updated = writeOrder(shard, () -> orderRepository.findById(orderId)
+                    .map(order -> applyStatus(order, request)));
+            if (updated.isPresent()) {
+                return updated.get();
+            }
+        }
+        throw new BusinessException("주문을 찾을 수 없습니다", "ORDER_NOT_FOUND");
+    }
 
+    private OrderDto.Response applyStatus(Order order, OrderDto.StatusUpdateRequest request) {
+        Long orderId = order.getId();
         OrderStatus oldStatus = order.getStatus();
         order.updateStatus(request.getStatus());
 
         log.info("주문 상태 변경: orderId={}, {} -> {}",
                 orderId, oldStatus, request.getStatus());
 
-        // Kafka 이벤트 발행
-        publishOrderEvent("ORDER_STATUS_UPDATED", order);
+        // 이벤트 발행 (같은 트랜잭션에서 outbox 저장)
+        orderEventPublisher.publish("ORDER_STATUS_UPDATED", order, oldStatus);
 
         return OrderDto.Response.from(order);
     }
@@ -131,37 +269,100 @@ public class OrderService {
     /**
      * 주문 취소 - 캐시 삭제
      */
-    @Transactional
     @CacheEvict(value = ORDER_CACHE, key = "#orderId")
     public void cancelOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new BusinessException("주문을 찾을 수 없습니다", "ORDER_NOT_FOUND"));
+        shardRouter.requireWritable(orderId);
+        for (int shard : shardRouter.shardsForOrder(orderId)) {
+            Optional<Order> cancelled = writeOrder(shard, () -> orderRepository.findById(orderId)
+                    .map(this::cancel));
+            if (cancelled.isPresent()) {
+                return;
+            }
+        }
+        throw new BusinessException("주문을 찾을 수 없습니다", "ORDER_NOT_FOUND");
+    }
 
-        if (order.getStatus() == OrderStatus.SHIPPED || order.getStatus() == OrderStatus.DELIVERED) {
-            throw new BusinessException("배송 중이거나 완료된 주문은 취소할 수 없습니다", "ORDER_CANNOT_CANCEL");
+    private Order cancel(Order order) {
+        Long orderId = order.getId();
+        if (!order.getStatus().canTransitionTo(OrderStatus.CANCELLED)) {
+            throw new BusinessException("배송 중이거나 완료(취소)된 주문은 취소할 수 없습니다", "ORDER_CANNOT_CANCEL");
         }
 
+        OrderStatus oldStatus = order.getStatus();
         order.updateStatus(OrderStatus.CANCELLED);
         log.info("주문 취소: orderId={}", orderId);
 
-        // Kafka 이벤트 발행
-        publishOrderEvent("ORDER_CANCELLED", order);
+        // 이벤트 발행 (같은 트랜잭션에서 outbox 저장)
+        orderEventPublisher.publish("ORDER_CANCELLED", order, oldStatus);
+        return order;
     }
 
     /**
-     * Kafka 이벤트 발행
+     * 단건 상태 변경 트랜잭션 - 커밋 시 버전 충돌은 재시도 가능한 비즈니스 오류로 변환
      */
-    private void publishOrderEvent(String eventType, Order order) {
-        OrderEvent event = OrderEvent.builder()
-                .eventType(eventType)
-                .orderId(order.getId())
-                .userId(order.getUserId())
-                .status(order.getStatus())
-                .totalAmount(order.getTotalAmount())
-                .build();
+    private <T> T writeOrder(int shard, Supplier<T> work) {
+        try {
+            return shardRouter.write(shard, work);
+        } catch (OptimisticLockingFailureException e) {
+            throw new BusinessException("다른 요청에 의해 주문 상태가 변경되었습니다. 다시 조회 후 시도해주세요",
+                    "CONCURRENT_MODIFICATION", e);
+        }
+    }
+
+    /**
+     * 주문 ID 목록을 OrderItem과 함께 샤드별로 조회하여 요청 순서대로 반환
+     */
+    private List<OrderDto.Response> loadWithItems(List<Long> ids, ToIntFunction<Long> shardOf) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, OrderDto.Response> responses = new HashMap<>();
+        shardRouter.groupByShard(ids, shardOf).forEach((shard, shardIds) ->
+                shardRouter.read(shard, () -> orderRepository.findAllWithItemsByIdIn(shardIds).stream()
+                                .map(OrderDto.Response::from)
+                                .toList())
+                        .forEach(response -> responses.put(response.getId(), response)));
+        return ids.stream()
+                .map(responses::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 
-        kafkaTemplate.send(ORDER_TOPIC, event);
-        log.info("Kafka 이벤트 발행: topic={}, eventType={}, orderId={}",
-                ORDER_TOPIC, eventType, order.getId());
+    /**
+     * 현재 샤드에서 운영 테이블 → 보관 테이블 순으로 조회 (샤드 트랜잭션 안에서 호출)
+     */
+    private Map<Long, OrderDto.Response> loadOnShard(Collection<Long> ids) {
+        Map<Long, OrderDto.Response> loaded = new HashMap<>();
+        for (Order order : orderRepository.findAllWithItemsByIdIn(ids)) {
+            loaded.put(order.getId(), OrderDto.Response.from(order));
+        }
+        if (loaded.size() < ids.size()) {
+            List<Long> archivedIds = ids.stream().filter(id -> !loaded.containsKey(id)).toList();
+            for (ArchivedOrder order : archivedOrderRepository.findAllWithItemsByIdIn(archivedIds)) {
+                loaded.put(order.getId(), OrderDto.Response.from(order));
+            }
+        }
+        return loaded;
+    }
+
+    private void validate(OrderDto.SearchCondition condition) {
+        if (condition.getMinAmount() != null && condition.getMaxAmount() != null
+                && condition.getMinAmount().compareTo(condition.getMaxAmount()) > 0) {
+            throw new BusinessException("최소 금액이 최대 금액보다 큽니다", "INVALID_SEARCH_CONDITION");
+        }
+        if (condition.getFrom() != null && condition.getTo() != null
+                && !condition.getFrom().isBefore(condition.getTo())) {
+            throw new BusinessException("조회 시작 시각은 종료 시각보다 이전이어야 합니다", "INVALID_SEARCH_CONDITION");
+        }
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new BusinessException("페이지 크기는 1 이상이어야 합니다", "INVALID_PAGE_SIZE");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
     }
 }
@@ -0,0 +1,78 @@
+package com.study.order.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 일관된 해싱 링 (버킷 → 샤드 매핑)
+ *
+ * 학습 포인트:
+ * 1. 샤드마다 가상 노드 여러 개를 링에 배치하고, 버킷 해시에서 시계 방향으로 처음 만나는 샤드가 소유자
+ * 2. 샤드를 추가하면 새 샤드의 가상 노드 바로 앞 구간만 새 샤드로 넘어감
+ *    → "hash % N"처럼 거의 모든 키가 이동하지 않고, 약 1/(N+1)의 버킷만 이동
+ * 3. 버킷 수(256)가 고정이므로 매핑 전체를 배열로 미리 계산 → 조회는 배열 인덱스 한 번
+ *
+ * 링 위치는 샤드 "이름"으로 계산 → 설정 목록의 순서가 아니라 이름이 같으면 같은 버킷을 소유
+ */
+public class ConsistentHashRing {
+
+    private final List<String> shardNames;
+    private final int[] ownerByBucket;
+
+    public ConsistentHashRing(List<String> shardNames, int virtualNodes) {
+        if (shardNames.isEmpty()) {
+            throw new IllegalArgumentException("샤드가 최소 1개 필요합니다");
+        }
+        this.shardNames = List.copyOf(shardNames);
+
+        TreeMap<Long, Integer> ring = new TreeMap<>();
+        for (int shard = 0; shard < shardNames.size(); shard++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                ring.putIfAbsent(hash(shardNames.get(shard) + "#" + v), shard);
+            }
+        }
+
+        this.ownerByBucket = new int[ShardBuckets.BUCKET_COUNT];
+        for (int bucket = 0; bucket < ownerByBucket.length; bucket++) {
+            Map.Entry<Long, Integer> owner = ring.ceilingEntry(hash("bucket#" + bucket));
+            ownerByBucket[bucket] = (owner != null ? owner : ring.firstEntry()).getValue();
+        }
+    }
+
+    public int shardOf(int bucket) {
+        return ownerByBucket[bucket];
+    }
+
+    public int size() {
+        return shardNames.size();
+    }
+
+    public String nameOf(int shard) {
+        return shardNames.get(shard);
+    }
+
+    /**
+     * 샤드별 소유 버킷 수 (분포 확인용)
+     */
+    public int[] bucketCounts() {
+        int[] counts = new int[shardNames.size()];
+        for (int owner : ownerByBucket) {
+            counts[owner]++;
+        }
+        return counts;
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;  // FNV-1a 64 + fmix64 (짧은 문자열의 분산 보정)
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
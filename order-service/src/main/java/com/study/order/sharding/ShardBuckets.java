@@ -0,0 +1,29 @@
+package com.study.order.sharding;
+
+/**
+ * 샤드 키(userId) → 해시 버킷
+ *
+ * 학습 포인트:
+ * - 키를 바로 샤드에 매핑하지 않고 고정 개수(256)의 버킷으로 한 번 나눔
+ *   → 버킷은 주문 ID에 함께 기록되므로(SnowflakeId) 샤드 수가 바뀌어도 ID의 의미는 그대로
+ *   → 샤드 추가 시에는 "버킷 → 샤드" 매핑만 바뀌고, 이동 단위도 버킷
+ * - 연속된 userId가 같은 버킷에 몰리지 않도록 64비트 혼합(mix) 후 나머지 연산
+ */
+public final class ShardBuckets {
+
+    public static final int BUCKET_BITS = 8;
+    public static final int BUCKET_COUNT = 1 << BUCKET_BITS;
+
+    private ShardBuckets() {
+    }
+
+    public static int of(long shardKey) {
+        long h = shardKey;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;  // MurmurHash3 fmix64
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) (h & (BUCKET_COUNT - 1));
+    }
+}
@@ -0,0 +1,35 @@
+package com.study.order.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드가 사용할 샤드 (ShardRoutingDataSource가 커넥션을 얻을 때 참조)
+ *
+ * - 값이 없으면 0번 샤드 (Hibernate 초기화, 샤딩 비활성화 시)
+ * - 중첩 호출을 위해 이전 값을 복원
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T call(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.study.order.sharding;
+
+import com.study.common.exception.BusinessException;
+import com.study.common.id.SnowflakeIdGenerator;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * 샤드 라우터 - 주문 데이터 접근의 단일 진입점
+ *
+ * 학습 포인트:
+ * 1. userId → 버킷(ShardBuckets) → 샤드(ConsistentHashRing): 사용자의 주문은 모두 한 샤드에 모임
+ *    → 사용자 주문 조회/생성은 단일 샤드 트랜잭션
+ * 2. 주문 ID에 버킷이 들어 있으므로 orderId만으로 샤드를 계산 (scatter-gather 없음)
+ * 3. 트랜잭션은 항상 REQUIRES_NEW로 시작 → 샤드마다 새 커넥션, 샤드를 넘나드는 트랜잭션은 만들지 않음
+ * 4. 조건에 userId가 없는 조회(관리자 목록, 통계 재구성 등)만 모든 샤드에 병렬로 보내고 결과를 병합
+ * 5. 재배치 중인 버킷의 기존 주문 변경은 거부 (requireWritable) → 두 샤드에 걸친 주문에 쓰지 않음
+ * 6. 소유 샤드 밖의 주문은 재배치 대기 중(rebalancePending)이거나 버킷을 옮기는 중일 때만 찾음
+ *    → 평소에는 없는 주문(404)도 소유 샤드 1곳만 조회하고 끝냄
+ *
+ * 샤딩 비활성화 시 샤드 1개짜리 링 → 같은 코드 경로로 기존 단일 DB 동작
+ */
+public class ShardRouter implements DisposableBean {
+
+    private final ConsistentHashRing ring;
+    private final SnowflakeIdGenerator idGenerator;
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final ExecutorService scatterExecutor;
+
+    /**
+     * 재배치(OrderReshardingService)로 옮기는 중인 버킷 - 이 인스턴스 안에서만 공유
+     */
+    private final Set<Integer> migratingBuckets = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 샤드 추가 후 재배치가 끝나지 않음 → 주문이 이전 샤드에 남아 있을 수 있음
+     * (order.sharding.rebalance-pending으로 시작, 이 인스턴스에서 재배치가 끝나면 해제)
+     */
+    private volatile boolean rebalancePending;
+
+    public ShardRouter(ConsistentHashRing ring,
+                       SnowflakeIdGenerator idGenerator,
+                       PlatformTransactionManager transactionManager) {
+        this.ring = ring;
+        this.idGenerator = idGenerator;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTemplate.setReadOnly(true);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.scatterExecutor = ring.size() > 1
+                ? Executors.newFixedThreadPool(ring.size() * 2, runnable -> {
+                    Thread thread = new Thread(runnable, "shard-scatter");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+    }
+
+    public int shardCount() {
+        return ring.size();
+    }
+
+    public String shardName(int shard) {
+        return ring.nameOf(shard);
+    }
+
+    public int shardOfBucket(int bucket) {
+        return ring.shardOf(bucket);
+    }
+
+    public int shardOfUser(long userId) {
+        return ring.shardOf(ShardBuckets.of(userId));
+    }
+
+    public int shardOfOrder(long orderId) {
+        return ring.shardOf(idGenerator.extractBucket(orderId));
+    }
+
+    /**
+     * 주문을 찾을 샤드 순서: 소유 샤드 먼저, 재배치 대기/이동 중일 때만 그다음 나머지
+     * - 샤드 추가 후 재배치(rebalance)가 끝나기 전에는 주문이 이전 샤드에 남아 있을 수 있음
+     */
+    public List<Integer> shardsForOrder(long orderId) {
+        int owner = shardOfOrder(orderId);
+        if (!mayBeMisplaced(orderId)) {
+            return List.of(owner);
+        }
+        List<Integer> shards = new ArrayList<>(ring.size());
+        shards.add(owner);
+        for (int shard = 0; shard < ring.size(); shard++) {
+            if (shard != owner) {
+                shards.add(shard);
+            }
+        }
+        return shards;
+    }
+
+    /**
+     * 주문이 소유 샤드가 아닌 곳에 있을 수 있는지 (재배치 대기 중이거나 주문의 버킷을 옮기는 중)
+     */
+    public boolean mayBeMisplaced(long orderId) {
+        return ring.size() > 1 && (rebalancePending || isMigrating(orderId));
+    }
+
+    public boolean isRebalancePending() {
+        return rebalancePending;
+    }
+
+    public void setRebalancePending(boolean rebalancePending) {
+        this.rebalancePending = rebalancePending;
+    }
+
+    public void beginMigration(int bucket) {
+        migratingBuckets.add(bucket);
+    }
+
+    public void endMigration(int bucket) {
+        migratingBuckets.remove(bucket);
+    }
+
+    public boolean isMigrating(long orderId) {
+        return migratingBuckets.contains(idGenerator.extractBucket(orderId));
+    }
+
+    /**
+     * 재배치 중인 버킷의 주문이면 변경 거부 (잠시 후 재시도하면 새 소유 샤드에서 처리됨)
+     */
+    public void requireWritable(long orderId) {
+        if (isMigrating(orderId)) {
+            throw new BusinessException("샤드 재배치 중인 주문입니다. 잠시 후 다시 시도해주세요", "SHARD_MIGRATING");
+        }
+    }
+
+    /**
+     * 키를 샤드별로 묶음 (샤드 번호 순, 샤드 안에서는 입력 순서 유지)
+     */
+    public <K> Map<Integer, List<K>> groupByShard(Collection<K> keys, ToIntFunction<K> shardOf) {
+        Map<Integer, List<K>> grouped = new TreeMap<>();
+        for (K key : keys) {
+            grouped.computeIfAbsent(shardOf.applyAsInt(key), s -> new ArrayList<>()).add(key);
+        }
+        return grouped;
+    }
+
+    /**
+     * 지정한 샤드에서 읽기 전용 트랜잭션 실행
+     */
+    public <T> T read(int shard, Supplier<T> action) {
+        return ShardContext.call(shard, () -> readTemplate.execute(status -> action.get()));
+    }
+
+    /**
+     * 지정한 샤드에서 쓰기 트랜잭션 실행
+     */
+    public <T> T write(int shard, Supplier<T> action) {
+        return ShardContext.call(shard, () -> writeTemplate.execute(status -> action.get()));
+    }
+
+    /**
+     * 모든 샤드에 대해 순서대로 실행 (배치 작업 - 샤드마다 자체 트랜잭션을 여러 번 열 수 있음)
+     */
+    public void forEachShard(IntConsumer action) {
+        for (int shard = 0; shard < ring.size(); shard++) {
+            int current = shard;
+            ShardContext.call(shard, () -> {
+                action.accept(current);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * 모든 샤드에서 병렬로 읽고 샤드 번호 순서의 결과 목록 반환 (병합은 호출자 몫)
+     * - 하나라도 실패하면 예외 (부분 결과를 정상 응답처럼 돌려주지 않음)
+     */
+    public <T> List<T> scatterRead(IntFunction<T> action) {
+        if (scatterExecutor == null) {
+            return List.of(read(0, () -> action.apply(0)));
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(ring.size());
+        for (int shard = 0; shard < ring.size(); shard++) {
+            int current = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> read(current, () -> action.apply(current)), scatterExecutor));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.study.order.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * ShardContext의 샤드 번호로 실제 DataSource 선택
+ *
+ * 학습 포인트:
+ * - JPA(EntityManagerFactory)는 하나만 두고, 커넥션을 얻는 시점에 샤드를 고름
+ * - 트랜잭션 시작 전에 ShardContext를 설정해야 하므로 ShardRouter를 통해서만 접근
+ *   (LazyConnectionDataSourceProxy로 감싸 실제 커넥션은 첫 SQL 실행 시 획득)
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.current();
+        return shard != null ? shard : 0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.study.order.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+/**
+ * 1번 이후 샤드의 스키마 생성 (로컬 H2 개발용)
+ *
+ * - Hibernate의 ddl-auto는 시작 시 얻은 커넥션(기본 = 0번 샤드)에만 적용됨
+ * - 나머지 샤드는 ShardContext를 바꿔가며 매핑된 테이블/인덱스/시퀀스를 같은 방식으로 생성
+ * - 운영에서는 샤드마다 마이그레이션 도구로 스키마를 관리하고 order.sharding.init-schema=false
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ShardRouter shardRouter;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        for (int shard = 1; shard < shardRouter.shardCount(); shard++) {
+            ShardContext.call(shard, () -> {
+                sessionFactory.getSchemaManager().exportMappedObjects(true);
+                return null;
+            });
+            log.info("샤드 스키마 생성: shard={}", shardRouter.shardName(shard));
+        }
+    }
+}
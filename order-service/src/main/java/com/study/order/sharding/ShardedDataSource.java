@@ -0,0 +1,66 @@
+package com.study.order.sharding;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 샤드 DataSource (샤딩 활성화 시 애플리케이션이 사용하는 DataSource Bean)
+ *
+ * 구성: LazyConnectionDataSourceProxy → ShardRoutingDataSource → Hikari 풀 (샤드마다 1개)
+ * - 실제 커넥션은 첫 SQL 실행 시점에 얻으므로 트랜잭션 시작 직전에 설정한 ShardContext로 라우팅
+ * - 풀마다 MicrometerMetricsTrackerFactory 등록 → hikaricp.connections.*{pool=샤드 이름}
+ */
+@Slf4j
+public class ShardedDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final List<HikariDataSource> pools;
+
+    private ShardedDataSource(ShardRoutingDataSource routingDataSource, List<HikariDataSource> pools) {
+        super(routingDataSource);
+        this.pools = pools;
+    }
+
+    public static ShardedDataSource create(ShardingProperties properties, MeterRegistry meterRegistry) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("order.sharding.shards에 샤드를 1개 이상 설정해야 합니다");
+        }
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+        List<HikariDataSource> pools = new ArrayList<>();
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < properties.getShards().size(); i++) {
+            ShardingProperties.Shard shard = properties.getShards().get(i);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(shard.getName());
+            config.setJdbcUrl(shard.getUrl());
+            config.setUsername(shard.getUsername());
+            config.setPassword(shard.getPassword());
+            config.setMaximumPoolSize(properties.getMaximumPoolSize());
+            config.setMetricsTrackerFactory(metrics);
+            HikariDataSource pool = new HikariDataSource(config);
+            pools.add(pool);
+            targets.put(i, pool);
+        }
+
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(pools.get(0));
+        routingDataSource.setLenientFallback(false);
+        routingDataSource.afterPropertiesSet();
+        log.info("샤드 DataSource 구성: shards={}", pools.stream().map(HikariDataSource::getPoolName).toList());
+        return new ShardedDataSource(routingDataSource, pools);
+    }
+
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
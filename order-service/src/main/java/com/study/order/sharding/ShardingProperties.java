@@ -0,0 +1,54 @@
+package com.study.order.sharding;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 샤딩 설정 (prefix: order.sharding)
+ *
+ * - enabled=false: spring.datasource.* 하나만 사용 (샤드 1개로 동작)
+ * - shards: 샤드 목록 - name이 해시 링 위치를 결정하므로 한 번 정한 이름은 바꾸지 않음
+ */
+@Getter
+@Setter
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * 샤드당 해시 링 가상 노드 수 (많을수록 버킷 분포가 고름)
+     */
+    private int virtualNodes = 128;
+
+    private int maximumPoolSize = 10;
+
+    /**
+     * 1번 이후 샤드에도 JPA 매핑 스키마 생성 (ShardSchemaInitializer, 로컬 H2용)
+     */
+    private boolean initSchema = true;
+
+    /**
+     * 샤드 간 데이터 이동(rebalance) 시 트랜잭션 1개당 주문 수
+     */
+    private int rebalanceBatchSize = 500;
+
+    /**
+     * 샤드를 추가하고 아직 재배치하지 않음 → orderId 조회가 소유 샤드에 없으면 나머지 샤드도 확인
+     * (재배치가 끝나면 그 인스턴스는 자동 해제, 설정에서도 제거)
+     */
+    private boolean rebalancePending;
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,234 @@
+package com.study.order.timeout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * 계층형 타이밍 휠 (Hierarchical Timing Wheel)
+ *
+ * 학습 포인트:
+ * 1. 시간을 tick 단위 슬롯으로 나눈 원형 배열 → 등록은 "슬롯 계산 + 연결 리스트 추가"로 O(1)
+ * 2. 취소는 key → 노드 맵 + 이중 연결 리스트로 O(1) (정렬된 큐처럼 재정렬하지 않음)
+ * 3. 먼 마감은 상위 휠(슬롯 하나 = 하위 휠 한 바퀴)에 두었다가, 해당 구간이 다가오면 하위 휠로 내려보냄(cascade)
+ *    → 레벨 4 × 슬롯 64면 tick 1초 기준 약 194일까지 표현, 그보다 먼 마감은 최상위 마지막 슬롯에서 다시 배치
+ * 4. 만료 시각 정밀도는 tick 단위 (마감 이후 최대 tick 1개 늦게 만료)
+ *
+ * 동시성: 모든 상태 변경은 ReentrantLock 안에서 처리, 만료 콜백은 잠금 밖에서 호출
+ */
+public class HierarchicalTimingWheel<K, V> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final Node<K, V>[][] heads;
+    private final Map<K, Node<K, V>> nodes = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 마지막으로 처리한 tick (epoch millis / tickMillis)
+     */
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis는 0보다 커야 합니다");
+        }
+        this.tickMillis = tickMillis;
+        this.heads = new Node[LEVELS][SLOTS];
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * 마감 등록 (같은 key가 있으면 교체)
+     * - 이미 지난 마감은 다음 tick에 만료
+     */
+    public void schedule(K key, V value, long deadlineMillis) {
+        lock.lock();
+        try {
+            Node<K, V> previous = nodes.remove(key);
+            if (previous != null) {
+                unlink(previous);
+            }
+            long expireTick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+            Node<K, V> node = new Node<>(key, value, expireTick);
+            nodes.put(key, node);
+            place(node);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 같은 key가 없을 때만 마감 등록 (있으면 기존 등록 유지)
+     * - 나중에 읽은 값이 더 오래된 정보일 수 있을 때 사용 (예: 재구성 중 도착한 이벤트를 DB 스냅샷으로 덮어쓰지 않기)
+     *
+     * @return 등록했는지
+     */
+    public boolean scheduleIfAbsent(K key, V value, long deadlineMillis) {
+        lock.lock();
+        try {
+            if (nodes.containsKey(key)) {
+                return false;
+            }
+            schedule(key, value, deadlineMillis);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 마감 취소
+     *
+     * @return 등록되어 있던 값 (없으면 null)
+     */
+    public V cancel(K key) {
+        lock.lock();
+        try {
+            Node<K, V> node = nodes.remove(key);
+            if (node == null) {
+                return null;
+            }
+            unlink(node);
+            return node.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 시각까지 tick을 진행하고 만료된 항목을 콜백으로 전달
+     *
+     * @return 만료된 항목 수
+     */
+    public int advance(long nowMillis, BiConsumer<K, V> onExpired) {
+        List<Node<K, V>> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            long targetTick = nowMillis / tickMillis;
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade();
+                Node<K, V> node = detachSlot(0, (int) (currentTick & SLOT_MASK));
+                while (node != null) {
+                    Node<K, V> next = node.next;
+                    nodes.remove(node.key);
+                    node.next = null;
+                    expired.add(node);
+                    node = next;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Node<K, V> node : expired) {
+            onExpired.accept(node.key, node.value);
+        }
+        return expired.size();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 상위 휠 슬롯의 구간이 시작되면 그 슬롯의 항목을 다시 배치 (상위 레벨부터 → 같은 tick에 여러 레벨이 연쇄로 내려옴)
+     */
+    private void cascade() {
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            int shift = level * SLOT_BITS;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                continue;
+            }
+            Node<K, V> node = detachSlot(level, (int) ((currentTick >>> shift) & SLOT_MASK));
+            while (node != null) {
+                Node<K, V> next = node.next;
+                node.prev = null;
+                node.next = null;
+                place(node);
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * 마감 tick과 현재 tick의 레벨별 차이가 한 바퀴(64) 안에 들어오는 가장 낮은 레벨에 배치
+     */
+    private void place(Node<K, V> node) {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * SLOT_BITS;
+            long slotTick = node.expireTick >>> shift;
+            if (slotTick - (currentTick >>> shift) < SLOTS) {
+                link(node, level, (int) (slotTick & SLOT_MASK));
+                return;
+            }
+        }
+        // 표현 범위를 넘는 마감: 최상위 휠에서 가장 늦게 처리되는 슬롯에 두고 cascade 때 다시 배치
+        int topShift = (LEVELS - 1) * SLOT_BITS;
+        link(node, LEVELS - 1, (int) (((currentTick >>> topShift) + SLOTS - 1) & SLOT_MASK));
+    }
+
+    private void link(Node<K, V> node, int level, int slot) {
+        Node<K, V> head = heads[level][slot];
+        node.level = level;
+        node.slot = slot;
+        node.prev = null;
+        node.next = head;
+        if (head != null) {
+            head.prev = node;
+        }
+        heads[level][slot] = node;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            heads[node.level][node.slot] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private Node<K, V> detachSlot(int level, int slot) {
+        Node<K, V> head = heads[level][slot];
+        heads[level][slot] = null;
+        return head;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private final long expireTick;
+        private int level;
+        private int slot;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value, long expireTick) {
+            this.key = key;
+            this.value = value;
+            this.expireTick = expireTick;
+        }
+    }
+}
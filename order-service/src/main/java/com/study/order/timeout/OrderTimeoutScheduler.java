@@ -0,0 +1,190 @@
+package com.study.order.timeout;
+
+import com.study.order.domain.OrderStatus;
+import com.study.order.event.OrderEvent;
+import com.study.order.repository.OrderRepository;
+import com.study.order.repository.OrderTimeoutView;
+import com.study.order.service.OrderBulkService;
+import com.study.order.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 주문 상태 타임아웃 스케줄러 (오래 머문 PENDING/CONFIRMED 주문 자동 취소)
+ *
+ * 학습 포인트:
+ * 1. 주기적으로 "status = PENDING AND 생성 시각 < 기준" 을 스캔하지 않고, 주문마다 마감을 타이밍 휠에 등록
+ *    → 등록/취소 O(1), tick마다 해당 슬롯만 확인
+ * 2. 등록/해제는 주문 이벤트의 커밋 후(@TransactionalEventListener)에 처리 → 롤백된 주문은 등록되지 않음
+ * 3. 만료된 주문은 상태별로 모아 배치 크기 단위로 집합 UPDATE(OrderBulkService.cancelExpired)
+ * 4. 휠은 메모리에만 있으므로 시작 시 DB 인덱스 조회 1회로 재구성 (샤드마다 순서대로)
+ *    → 재구성은 요청을 받기 시작한 뒤에 돌므로 그사이 이벤트로 등록된 마감이 더 최신
+ *    → 재구성과 취소 재시도는 scheduleIfAbsent로 등록 (이미 등록된 주문은 덮어쓰지 않음)
+ *
+ * 여러 인스턴스: 각 인스턴스의 휠은 자신이 처리한 이벤트 + 재구성 시점의 주문만 알고 있음
+ * - 다른 인스턴스에서 상태가 바뀐 주문이 만료되어도 "status = 이전 상태" 조건 UPDATE라 취소되지 않음
+ */
+@Slf4j
+@Component
+public class OrderTimeoutScheduler {
+
+    private final OrderRepository orderRepository;
+    private final OrderBulkService orderBulkService;
+    private final ShardRouter shardRouter;
+
+    private final boolean enabled;
+    private final Map<OrderStatus, Duration> timeouts = new EnumMap<>(OrderStatus.class);
+    private final int batchSize;
+    private final Duration retryDelay;
+
+    private final HierarchicalTimingWheel<Long, OrderStatus> wheel;
+    private final Counter expiredCounter;
+    private final Counter cancelledCounter;
+
+    public OrderTimeoutScheduler(OrderRepository orderRepository,
+                                 OrderBulkService orderBulkService,
+                                 ShardRouter shardRouter,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${order.timeout.enabled:true}") boolean enabled,
+                                 @Value("${order.timeout.pending:30m}") Duration pendingTimeout,
+                                 @Value("${order.timeout.confirmed:24h}") Duration confirmedTimeout,
+                                 @Value("${order.timeout.tick-ms:1000}") long tickMillis,
+                                 @Value("${order.timeout.batch-size:500}") int batchSize,
+                                 @Value("${order.timeout.retry-delay:30s}") Duration retryDelay) {
+        this.orderRepository = orderRepository;
+        this.orderBulkService = orderBulkService;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.retryDelay = retryDelay;
+        if (!pendingTimeout.isZero()) {
+            timeouts.put(OrderStatus.PENDING, pendingTimeout);
+        }
+        if (!confirmedTimeout.isZero()) {
+            timeouts.put(OrderStatus.CONFIRMED, confirmedTimeout);
+        }
+
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, System.currentTimeMillis());
+        Gauge.builder("order.timeout.scheduled", wheel, HierarchicalTimingWheel::size)
+                .description("타이밍 휠에 등록된 주문 마감 수")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("order.timeout.expired")
+                .description("마감이 지난 주문 수")
+                .register(meterRegistry);
+        this.cancelledCounter = Counter.builder("order.timeout.cancelled")
+                .description("타임아웃으로 취소된 주문 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 주문 이벤트 커밋 후 마감 등록/해제
+     * - 새 상태에 타임아웃이 있으면 (재)등록, 없으면 해제
+     */
+    @TransactionalEventListener
+    public void onOrderEvent(OrderEvent event) {
+        if (!enabled || event.getOrderId() == null || event.getStatus() == null) {
+            return;
+        }
+        Duration timeout = timeouts.get(event.getStatus());
+        if (timeout == null) {
+            wheel.cancel(event.getOrderId());
+            return;
+        }
+        wheel.schedule(event.getOrderId(), event.getStatus(), deadline(event.getOccurredAt(), timeout));
+    }
+
+    /**
+     * 시작 시 재구성 - 타임아웃 대상 상태의 주문을 스트리밍으로 읽어 휠에 등록
+     * - 이벤트로 이미 등록된 주문은 건너뜀 (예: 읽은 뒤 CONFIRMED가 된 주문의 마감을 이전 PENDING 마감으로 되돌리지 않음)
+     * - 이벤트로 해제된 뒤 읽힌 주문이 다시 등록되어도 취소는 "status = 이전 상태" 조건이라 적용되지 않음
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled || timeouts.isEmpty()) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        int count = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            count += shardRouter.read(shard, this::scheduleActiveOrders);
+        }
+        log.info("주문 타임아웃 재구성 완료: orders={}, elapsedMs={}", count, System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * 현재 샤드의 타임아웃 대상 주문을 휠에 등록 (샤드 읽기 트랜잭션 안에서 호출)
+     */
+    private int scheduleActiveOrders() {
+        int registered = 0;
+        try (Stream<OrderTimeoutView> orders = orderRepository.streamByStatusIn(EnumSet.copyOf(timeouts.keySet()))) {
+            for (OrderTimeoutView order : (Iterable<OrderTimeoutView>) orders::iterator) {
+                LocalDateTime since = order.getUpdatedAt() != null ? order.getUpdatedAt() : order.getCreatedAt();
+                if (wheel.scheduleIfAbsent(order.getId(), order.getStatus(), deadline(since, timeouts.get(order.getStatus())))) {
+                    registered++;
+                }
+            }
+        }
+        return registered;
+    }
+
+    /**
+     * tick 진행 - 만료된 주문을 상태별로 모아 배치 취소
+     */
+    @Scheduled(fixedDelayString = "${order.timeout.tick-ms:1000}")
+    public void expire() {
+        if (!enabled) {
+            return;
+        }
+        Map<OrderStatus, List<Long>> expired = new EnumMap<>(OrderStatus.class);
+        int count = wheel.advance(System.currentTimeMillis(),
+                (orderId, status) -> expired.computeIfAbsent(status, s -> new ArrayList<>()).add(orderId));
+        if (count == 0) {
+            return;
+        }
+        expiredCounter.increment(count);
+
+        for (Map.Entry<OrderStatus, List<Long>> entry : expired.entrySet()) {
+            List<Long> orderIds = entry.getValue();
+            for (int from = 0; from < orderIds.size(); from += batchSize) {
+                cancelBatch(entry.getKey(), orderIds.subList(from, Math.min(from + batchSize, orderIds.size())));
+            }
+        }
+    }
+
+    private void cancelBatch(OrderStatus status, List<Long> orderIds) {
+        try {
+            List<Long> cancelled = orderBulkService.cancelExpired(status, orderIds);
+            cancelledCounter.increment(cancelled.size());
+            log.info("주문 타임아웃 취소: status={}, expired={}, cancelled={}", status, orderIds.size(), cancelled.size());
+        } catch (RuntimeException e) {
+            // 실패한 배치는 잠시 후 다시 만료되도록 재등록 (이미 상태가 바뀐 주문은 다음 시도에서 제외됨)
+            // 그사이 이벤트로 새 상태의 마감이 등록된 주문은 그대로 둠
+            log.warn("주문 타임아웃 취소 실패, {} 후 재시도: status={}, count={}", retryDelay, status, orderIds.size(), e);
+            long retryAt = System.currentTimeMillis() + retryDelay.toMillis();
+            orderIds.forEach(orderId -> wheel.scheduleIfAbsent(orderId, status, retryAt));
+        }
+    }
+
+    private long deadline(LocalDateTime since, Duration timeout) {
+        LocalDateTime base = since != null ? since : LocalDateTime.now();
+        return base.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + timeout.toMillis();
+    }
+}
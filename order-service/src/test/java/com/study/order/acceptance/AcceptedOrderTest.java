@@ -0,0 +1,60 @@
+package com.study.order.acceptance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.order.dto.OrderDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AcceptedOrderTest {
+
+    @Test
+    void writer가_먼저_가져간_주문은_접수_스레드가_포기할_수_없다() {
+        AcceptedOrder order = new AcceptedOrder(1L, 0L, request(), null);
+
+        assertThat(order.claim()).isTrue();
+        assertThat(order.claim()).isTrue();
+        assertThat(order.abandon()).isFalse();
+        assertThat(order.isAbandoned()).isFalse();
+    }
+
+    @Test
+    void 접수_스레드가_포기한_주문은_writer가_가져가지_않는다() {
+        AcceptedOrder order = new AcceptedOrder(1L, 0L, request(), null);
+
+        assertThat(order.abandon()).isTrue();
+        assertThat(order.claim()).isFalse();
+        assertThat(order.isAbandoned()).isTrue();
+    }
+
+    @Test
+    void WAL_레코드에는_멱등_키를_포함하고_처리_상태는_넣지_않는다() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        AcceptedOrder order = new AcceptedOrder(1L, 123L, request(), "key-1");
+        order.assignSequence(7);
+        order.abandon();
+
+        AcceptedOrder read = objectMapper.readValue(objectMapper.writeValueAsBytes(order), AcceptedOrder.class);
+
+        assertThat(read.getOrderId()).isEqualTo(1L);
+        assertThat(read.getAcceptedAt()).isEqualTo(123L);
+        assertThat(read.getIdempotencyKey()).isEqualTo("key-1");
+        assertThat(read.getSequence()).isZero();
+        assertThat(read.claim()).isTrue();
+    }
+
+    private static OrderDto.CreateRequest request() {
+        return OrderDto.CreateRequest.builder()
+                .userId(1L)
+                .items(List.of(OrderDto.OrderItemRequest.builder()
+                        .productId(10L)
+                        .productName("상품")
+                        .quantity(1)
+                        .price(new BigDecimal("1000"))
+                        .build()))
+                .build();
+    }
+}
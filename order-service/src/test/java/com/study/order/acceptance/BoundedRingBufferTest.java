@@ -0,0 +1,63 @@
+package com.study.order.acceptance;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedRingBufferTest {
+
+    @Test
+    void 크기는_2의_거듭제곱이어야_한다() {
+        assertThatThrownBy(() -> new BoundedRingBuffer<>(6)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BoundedRingBuffer<>(1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(new BoundedRingBuffer<>(8).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    void 가득_차면_offer가_즉시_실패하고_꺼낸_만큼_다시_넣을_수_있다() {
+        BoundedRingBuffer<Integer> ring = new BoundedRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer(i)).isTrue();
+        }
+        assertThat(ring.offer(4)).isFalse();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(ring.drainTo(drained, 3)).isEqualTo(3);
+        assertThat(ring.offer(4)).isTrue();
+        assertThat(ring.offer(5)).isTrue();
+        assertThat(ring.drainTo(drained, 10)).isEqualTo(3);
+
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void 생산자_1_소비자_1이_동시에_써도_순서와_개수가_유지된다() throws InterruptedException {
+        BoundedRingBuffer<Integer> ring = new BoundedRingBuffer<>(16);
+        int total = 100_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < total; i++) {
+                while (!ring.offer(i)) {
+                    Thread.onSpinWait();
+                }
+            }
+        });
+        producer.start();
+
+        List<Integer> consumed = new ArrayList<>(total);
+        while (consumed.size() < total) {
+            if (ring.drainTo(consumed, 7) == 0) {
+                Thread.onSpinWait();
+            }
+        }
+        producer.join();
+
+        for (int i = 0; i < total; i++) {
+            assertThat(consumed.get(i)).isEqualTo(i);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.study.order.acceptance;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void 다시_열면_기록한_레코드를_순번_순서대로_복구하고_순번을_이어간다() throws IOException {
+        WriteAheadLog wal = open(1024 * 1024, new ArrayList<>());
+        assertThat(wal.append(bytes("a"))).isEqualTo(1);
+        assertThat(wal.append(bytes("b"))).isEqualTo(2);
+        wal.sync(2);
+        wal.close();
+
+        List<String> recovered = new ArrayList<>();
+        WriteAheadLog reopened = open(1024 * 1024, recovered);
+
+        assertThat(recovered).containsExactly("1:a", "2:b");
+        assertThat(reopened.append(bytes("c"))).isEqualTo(3);
+        reopened.close();
+    }
+
+    @Test
+    void 처리_완료된_순번까지만_든_세그먼트만_삭제한다() throws IOException {
+        WriteAheadLog wal = open(1, new ArrayList<>());  // fsync마다 세그먼트 교체
+        wal.sync(wal.append(bytes("a")));
+        wal.sync(wal.append(bytes("b")));
+        wal.append(bytes("c"));
+        assertThat(segments()).hasSize(3);
+
+        wal.markProcessed(1);
+        wal.close();
+
+        assertThat(segments()).hasSize(2);
+        List<String> recovered = new ArrayList<>();
+        open(1, recovered).close();
+        assertThat(recovered).containsExactly("2:b", "3:c");
+    }
+
+    @Test
+    void 쓰다_만_마지막_레코드는_무시한다() throws IOException {
+        WriteAheadLog wal = open(1024 * 1024, new ArrayList<>());
+        wal.append(bytes("a"));
+        wal.sync(wal.append(bytes("b")));
+        wal.close();
+        Path segment = segments().get(0);
+        Files.write(segment, new byte[]{0, 0, 0, 20, 1, 2}, StandardOpenOption.APPEND);
+
+        List<String> recovered = new ArrayList<>();
+        WriteAheadLog reopened = open(1024 * 1024, recovered);
+
+        assertThat(recovered).containsExactly("1:a", "2:b");
+        assertThat(reopened.append(bytes("c"))).isEqualTo(3);
+        reopened.close();
+    }
+
+    @Test
+    void CRC가_맞지_않는_레코드부터는_복구하지_않는다() throws IOException {
+        WriteAheadLog wal = open(1024 * 1024, new ArrayList<>());
+        wal.append(bytes("first"));
+        wal.sync(wal.append(bytes("second")));
+        wal.close();
+        Path segment = segments().get(0);
+        byte[] content = Files.readAllBytes(segment);
+        content[content.length - 1] ^= 0x7f;  // 두 번째 레코드 내용 손상
+        Files.write(segment, content);
+
+        List<String> recovered = new ArrayList<>();
+        open(1024 * 1024, recovered).close();
+
+        assertThat(recovered).containsExactly("1:first");
+    }
+
+    private WriteAheadLog open(long segmentBytes, List<String> recovered) throws IOException {
+        return WriteAheadLog.open(directory, segmentBytes, true,
+                (sequence, payload) -> recovered.add(sequence + ":" + new String(payload, StandardCharsets.UTF_8)));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> Files.isRegularFile(file)).sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,136 @@
+package com.study.order.analytics;
+
+import com.study.common.id.SnowflakeIdGenerator;
+import com.study.order.domain.Money;
+import com.study.order.domain.Order;
+import com.study.order.domain.OrderStatus;
+import com.study.order.dto.OrderDto;
+import com.study.order.id.SnowflakeIdentifierGenerator;
+import com.study.order.repository.ArchivedOrderRepository;
+import com.study.order.repository.OrderRepository;
+import com.study.order.sharding.ConsistentHashRing;
+import com.study.order.sharding.ShardBuckets;
+import com.study.order.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+class OrderAnalyticsListenerTest {
+
+    private static final SnowflakeIdGenerator ID_GENERATOR = new SnowflakeIdGenerator(1, ShardBuckets.BUCKET_BITS, 7, 8);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @SuppressWarnings("unchecked")
+    private final ConsumerFactory<String, Object> consumerFactory = mock(ConsumerFactory.class);
+    @SuppressWarnings("unchecked")
+    private final Consumer<String, Object> consumer = mock(Consumer.class);
+
+    private ShardRouter shardRouter;
+    private OrderAnalytics orderAnalytics;
+    private OrderAnalyticsListener listener;
+
+    @BeforeAll
+    static void installIdGenerator() {
+        SnowflakeIdentifierGenerator.install(ID_GENERATOR);
+    }
+
+    @BeforeEach
+    void setUp() {
+        shardRouter = new ShardRouter(new ConsistentHashRing(List.of("shard-0"), 16), ID_GENERATOR,
+                mock(PlatformTransactionManager.class));
+        orderAnalytics = new OrderAnalytics(Duration.ofHours(48), Duration.ofDays(90), Duration.ofDays(3650),
+                Duration.ofHours(1), 1_000);
+        listener = new OrderAnalyticsListener(orderAnalytics, orderRepository, archivedOrderRepository, shardRouter,
+                consumerFactory, Duration.ofMinutes(1), Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.destroy();
+        shardRouter.destroy();
+    }
+
+    @Test
+    void 재구성은_보관_테이블로_옮겨진_주문도_통계_보관_기간_안이면_포함한다() {
+        LocalDateTime now = LocalDateTime.now();
+        orderRepository.saveAndFlush(Order.builder()
+                .userId(1L)
+                .status(OrderStatus.PENDING)
+                .totalAmount(Money.ofMinor(1_000))
+                .build());
+        // 종료 후 90일이 지나 보관된 주문 (생성 120일 전) + 일 단위 보관 기간(3650일)을 넘은 주문
+        archive(now.minusDays(120), OrderStatus.DELIVERED, "50.00");
+        archive(now.minusDays(120), OrderStatus.CANCELLED, "20.00");
+        archive(now.minusDays(4000), OrderStatus.DELIVERED, "99.00");
+
+        listener.rebuild();
+
+        OrderDto.AnalyticsBucket days = orderAnalytics.query(Granularity.DAY, now.minusDays(3650), now.plusDays(1)).getTotal();
+        assertThat(days.getCountByStatus().get(OrderStatus.DELIVERED)).isEqualTo(1L);
+        assertThat(days.getCountByStatus().get(OrderStatus.CANCELLED)).isEqualTo(1L);
+        assertThat(days.getCountByStatus().get(OrderStatus.PENDING)).isEqualTo(1L);
+        assertThat(days.getRevenue()).isEqualTo(Money.ofMinor(1_000 + 5_000));
+        // 시간 단위(90일)에는 120일 전 주문이 없음
+        OrderDto.AnalyticsBucket hours = orderAnalytics.query(Granularity.HOUR, now.minusDays(90), now.plusDays(1)).getTotal();
+        assertThat(hours.getCountByStatus().get(OrderStatus.DELIVERED)).isZero();
+    }
+
+    @Test
+    void Kafka_메타데이터를_얻지_못해도_시작을_막지_않고_제한_시간마다_재시도한다() {
+        when(consumerFactory.createConsumer(anyString(), isNull())).thenReturn(consumer);
+        when(consumer.partitionsFor(anyString(), any(Duration.class)))
+                .thenThrow(new TimeoutException("Timeout expired while fetching topic metadata"));
+
+        long started = System.nanoTime();
+        listener.rebuildAndStart();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(2));
+        verify(consumer, timeout(2_000).atLeast(2)).partitionsFor("order-events", Duration.ofMillis(200));
+        verify(consumer, never()).partitionsFor(anyString());
+    }
+
+    private void archive(LocalDateTime createdAt, OrderStatus status, String totalAmount) {
+        entityManager.createNativeQuery("INSERT INTO orders_archive "
+                        + "(id, user_id, status, total_amount, created_at, updated_at, archived_at) "
+                        + "VALUES (?, 2, ?, ?, ?, ?, ?)")
+                .setParameter(1, ID_GENERATOR.nextId(ShardBuckets.of(2L)))
+                .setParameter(2, status.name())
+                .setParameter(3, new BigDecimal(totalAmount))
+                .setParameter(4, createdAt)
+                .setParameter(5, createdAt.plusDays(1))
+                .setParameter(6, LocalDateTime.now())
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,65 @@
+package com.study.order.analytics;
+
+import com.study.order.domain.Money;
+import com.study.order.domain.OrderStatus;
+import com.study.order.dto.OrderDto;
+import com.study.order.event.OrderEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderAnalyticsTest {
+
+    private final OrderAnalytics orderAnalytics = new OrderAnalytics(
+            Duration.ofHours(48), Duration.ofDays(90), Duration.ofDays(3650), Duration.ofHours(1), 1_000);
+    private final LocalDateTime createdAt = LocalDateTime.now().minusMinutes(5);
+
+    @Test
+    void 같은_이벤트가_다시_전달되어도_주문_수와_매출은_한_번만_반영된다() {
+        OrderEvent created = event("ORDER_CREATED", null, OrderStatus.PENDING);
+        OrderEvent confirmed = event("ORDER_STATUS_UPDATED", OrderStatus.PENDING, OrderStatus.CONFIRMED);
+
+        orderAnalytics.record(created);
+        orderAnalytics.record(created);  // outbox 재전송
+        orderAnalytics.record(confirmed);
+        orderAnalytics.record(confirmed);
+
+        OrderDto.AnalyticsBucket total = total();
+        assertThat(total.getOrderCount()).isEqualTo(1);
+        assertThat(total.getCountByStatus().get(OrderStatus.PENDING)).isZero();
+        assertThat(total.getCountByStatus().get(OrderStatus.CONFIRMED)).isEqualTo(1);
+        assertThat(total.getRevenue()).isEqualTo(Money.ofMinor(5_000));
+    }
+
+    @Test
+    void 다른_주문이나_다음_상태의_이벤트는_그대로_반영된다() {
+        orderAnalytics.record(event("ORDER_CREATED", null, OrderStatus.PENDING));
+        orderAnalytics.record(OrderEvent.builder().eventType("ORDER_CREATED").orderId(2L).status(OrderStatus.PENDING)
+                .totalAmount(Money.ofMinor(5_000)).orderCreatedAt(createdAt).build());
+        orderAnalytics.record(event("ORDER_CANCELLED", OrderStatus.PENDING, OrderStatus.CANCELLED));
+
+        OrderDto.AnalyticsBucket total = total();
+        assertThat(total.getCountByStatus().get(OrderStatus.PENDING)).isEqualTo(1);
+        assertThat(total.getCountByStatus().get(OrderStatus.CANCELLED)).isEqualTo(1);
+    }
+
+    private OrderEvent event(String eventType, OrderStatus previous, OrderStatus status) {
+        return OrderEvent.builder()
+                .eventType(eventType)
+                .orderId(1L)
+                .userId(1L)
+                .previousStatus(previous)
+                .status(status)
+                .totalAmount(Money.ofMinor(5_000))
+                .orderCreatedAt(createdAt)
+                .build();
+    }
+
+    private OrderDto.AnalyticsBucket total() {
+        return orderAnalytics.query(Granularity.MINUTE, createdAt.minusMinutes(1), LocalDateTime.now().plusMinutes(1))
+                .getTotal();
+    }
+}
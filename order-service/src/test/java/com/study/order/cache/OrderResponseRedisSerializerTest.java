@@ -0,0 +1,131 @@
+package com.study.order.cache;
+
+import com.study.order.domain.Money;
+import com.study.order.domain.OrderStatus;
+import com.study.order.dto.OrderDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderResponseRedisSerializerTest {
+
+    private final OrderResponseRedisSerializer serializer = new OrderResponseRedisSerializer(256);
+
+    @Test
+    void 주문_응답을_그대로_복원한다() {
+        OrderDto.Response response = response(3);
+
+        Object restored = serializer.deserialize(serializer.serialize(response));
+
+        assertThat(restored).usingRecursiveComparison().isEqualTo(response);
+    }
+
+    @Test
+    void 압축된_값도_그대로_복원한다() {
+        OrderDto.Response response = response(200);
+
+        byte[] bytes = serializer.serialize(response);
+
+        assertThat(bytes[2] & 0x01).as("압축 플래그").isEqualTo(1);
+        assertThat(serializer.deserialize(bytes)).usingRecursiveComparison().isEqualTo(response);
+    }
+
+    @Test
+    void null_필드와_null_항목_목록을_구분해_복원한다() {
+        OrderDto.Response empty = new OrderDto.Response(null, null, null, null, null, null, null);
+        OrderDto.Response noItems = new OrderDto.Response(1L, 2L, OrderStatus.PENDING, Money.ZERO, List.of(), null, null);
+
+        assertThat(serializer.deserialize(serializer.serialize(empty))).usingRecursiveComparison().isEqualTo(empty);
+        assertThat(serializer.deserialize(serializer.serialize(noItems))).usingRecursiveComparison().isEqualTo(noItems);
+    }
+
+    @Test
+    void 주문_응답이_아닌_값은_JSON으로_위임한다() {
+        Map<String, Object> value = new HashMap<>();
+        value.put("key", "value");
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertThat(bytes[0]).isEqualTo((byte) '{');
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void 항목_수가_남은_바이트보다_많으면_거부한다() {
+        byte[] bytes = serializer.serialize(new OrderDto.Response(1L, 2L, OrderStatus.PENDING, Money.ZERO, List.of(), null, null));
+        // 마지막 바이트 = 항목 수 + 1 (빈 목록 → 1), 큰 varint로 바꿔 씀
+        byte[] forged = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, forged, 0, bytes.length - 1);
+        forged[bytes.length - 1] = (byte) 0xFF;
+        forged[bytes.length] = (byte) 0xFF;
+        forged[bytes.length + 1] = (byte) 0xFF;
+        forged[bytes.length + 2] = (byte) 0xFF;
+        forged[bytes.length + 3] = (byte) 0x07;
+
+        assertThatThrownBy(() -> serializer.deserialize(forged))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("항목 수");
+    }
+
+    @Test
+    void 압축_해제_크기가_상한을_넘으면_거부한다() {
+        // 0으로 채운 큰 입력은 아주 작게 압축됨 (zip bomb)
+        byte[] bomb = deflate(new byte[OrderResponseRedisSerializer.MAX_PAYLOAD_BYTES + 1]);
+        byte[] bytes = new byte[3 + bomb.length];
+        bytes[0] = (byte) 0xB1;
+        bytes[1] = 2;
+        bytes[2] = 0x01;
+        System.arraycopy(bomb, 0, bytes, 3, bomb.length);
+
+        assertThatThrownBy(() -> serializer.deserialize(bytes))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("상한");
+    }
+
+    @Test
+    void 잘린_값은_거부한다() {
+        byte[] bytes = serializer.serialize(response(3));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 5);
+
+        assertThatThrownBy(() -> serializer.deserialize(truncated))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    private static OrderDto.Response response(int itemCount) {
+        List<OrderDto.OrderItemResponse> items = new ArrayList<>();
+        Money total = Money.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            Money price = Money.ofMinor(1_000_00L + i);
+            int quantity = i % 5 + 1;
+            items.add(new OrderDto.OrderItemResponse((long) i + 1, 100L + i, "상품 " + i, quantity, price, price.times(quantity)));
+            total = total.plus(price.times(quantity));
+        }
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_000_000);
+        return new OrderDto.Response(7_123_456_789_012L, 42L, OrderStatus.CONFIRMED, total, items,
+                createdAt, createdAt.plusMinutes(5));
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+}
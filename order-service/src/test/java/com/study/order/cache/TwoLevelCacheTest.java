@@ -0,0 +1,127 @@
+package com.study.order.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TwoLevelCacheTest {
+
+    private ConcurrentMapCache redisCache;
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisCache = new ConcurrentMapCache("orders");
+        redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+    }
+
+    @Test
+    void 동시에_miss된_요청은_한_번만_로딩한다() throws Exception {
+        TwoLevelCache cache = cache(true, Runnable::run, Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            loads.incrementAndGet();
+            loading.await(1, TimeUnit.SECONDS);  // 다른 요청이 모두 도착할 때까지 로딩을 붙잡아 둠
+            return "order-1";
+        };
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(1L, loader);
+                }));
+            }
+            start.countDown();
+            Thread.sleep(100);
+            loading.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("order-1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(redisCache.get(1L).get()).isEqualTo("order-1");
+    }
+
+    @Test
+    void 만료_임박_값은_등록된_로더로_갱신하고_요청의_로더는_실행하지_않는다() {
+        TwoLevelCache cache = cache(false, Runnable::run, Duration.ofMinutes(5));
+        redisCache.put(1L, "stale");
+        when(redisTemplate.getExpire(eq("orders::1"), eq(TimeUnit.MILLISECONDS))).thenReturn(1_000L);
+        List<Object> refreshedKeys = new ArrayList<>();
+        cache.setRefreshLoader(key -> {
+            refreshedKeys.add(key);
+            return "fresh";
+        });
+        AtomicInteger requestLoads = new AtomicInteger();
+
+        String value = cache.get(1L, () -> {
+            requestLoads.incrementAndGet();
+            return "from-request";
+        });
+
+        assertThat(value).isEqualTo("stale");
+        assertThat(requestLoads).hasValue(0);
+        assertThat(refreshedKeys).containsExactly(1L);
+        assertThat(redisCache.get(1L).get()).isEqualTo("fresh");
+    }
+
+    @Test
+    void 로더가_등록되지_않은_캐시는_갱신하지_않는다() {
+        TwoLevelCache cache = cache(false, Runnable::run, Duration.ofMinutes(5));
+        redisCache.put(1L, "stale");
+        when(redisTemplate.getExpire(eq("orders::1"), eq(TimeUnit.MILLISECONDS))).thenReturn(1_000L);
+
+        String value = cache.get(1L, () -> "from-request");
+
+        assertThat(value).isEqualTo("stale");
+        assertThat(redisCache.get(1L).get()).isEqualTo("stale");
+    }
+
+    private TwoLevelCache cache(boolean localEnabled, Executor refreshExecutor, Duration refreshAhead) {
+        com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> localCache =
+                localEnabled ? Caffeine.newBuilder().maximumSize(100).build() : null;
+        CacheLoadOptions loadOptions = CacheLoadOptions.builder()
+                .refreshAhead(refreshAhead)
+                .build();
+        return new TwoLevelCache("orders", redisCache, RedisCacheConfiguration.defaultCacheConfig(), localCache,
+                redisTemplate, "test-instance", loadOptions, refreshExecutor, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,61 @@
+package com.study.order.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.common.id.SnowflakeIdGenerator;
+import com.study.order.dto.OrderDto;
+import com.study.order.event.OrderEvent;
+import com.study.order.sharding.ShardBuckets;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdGeneratorConfigTest {
+
+    private final IdGeneratorConfig config = new IdGeneratorConfig();
+
+    @Test
+    void 노드_ID를_지정하지_않거나_범위를_벗어나면_시작에_실패한다() {
+        assertThatThrownBy(() -> config.orderIdGenerator(-1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("order.id.node-id");
+        assertThatThrownBy(() -> config.orderIdGenerator(128))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void ID에서_버킷과_생성_시각을_복원하고_순서대로_증가한다() {
+        SnowflakeIdGenerator generator = config.orderIdGenerator(7);
+        long before = System.currentTimeMillis();
+
+        for (int bucket = 0; bucket < ShardBuckets.BUCKET_COUNT; bucket++) {
+            assertThat(generator.extractBucket(generator.nextId(bucket))).isEqualTo(bucket);
+        }
+        // 버킷이 시퀀스보다 상위 비트이므로 같은 ms 안에서는 버킷별로만 증가 (ms가 바뀌면 전체 증가)
+        long previous = 0;
+        for (int i = 0; i < 1000; i++) {
+            long id = generator.nextId(42);
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+        assertThat(generator.extractTimestamp(previous)).isBetween(before - 1, System.currentTimeMillis() + 1000);
+    }
+
+    @Test
+    void 주문_ID가_2의_53승을_넘어도_JSON_문자열로_직렬화된다() throws Exception {
+        long id = config.orderIdGenerator(7).nextId(ShardBuckets.BUCKET_COUNT - 1);
+        assertThat(id).isGreaterThan(1L << 53);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        JsonNode response = objectMapper.valueToTree(OrderDto.Response.builder().id(id).userId(1L).build());
+        JsonNode event = objectMapper.valueToTree(OrderEvent.builder().orderId(id).build());
+
+        assertThat(response.get("id").isTextual()).isTrue();
+        assertThat(response.get("id").asText()).isEqualTo(String.valueOf(id));
+        assertThat(response.get("userId").isNumber()).isTrue();
+        assertThat(event.get("orderId").asText()).isEqualTo(String.valueOf(id));
+        // 소비자는 문자열로 받은 ID도 Long으로 읽음
+        assertThat(objectMapper.treeToValue(event, OrderEvent.class).getOrderId()).isEqualTo(id);
+    }
+}
@@ -0,0 +1,35 @@
+package com.study.order.domain;
+
+import com.study.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void 소수점_둘째_자리까지는_그대로_변환한다() {
+        assertThat(Money.of(new BigDecimal("12.3")).getMinorUnits()).isEqualTo(1230);
+        assertThat(Money.of(new BigDecimal("12.340")).getMinorUnits()).isEqualTo(1234);
+        assertThat(Money.valueOf("100").toString()).isEqualTo("100.00");
+    }
+
+    @Test
+    void 소수점_셋째_자리_이하_값은_반올림하지_않고_거부한다() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("12.345")))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("INVALID_AMOUNT");
+    }
+
+    @Test
+    void long_범위를_넘거나_형식이_잘못된_금액은_거부한다() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1e30")))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> Money.valueOf("12,000"))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("INVALID_AMOUNT");
+    }
+}
@@ -0,0 +1,114 @@
+package com.study.order.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.common.id.SnowflakeIdGenerator;
+import com.study.order.domain.OrderStatus;
+import com.study.order.domain.OutboxEvent;
+import com.study.order.repository.OutboxEventRepository;
+import com.study.order.sharding.ConsistentHashRing;
+import com.study.order.sharding.ShardBuckets;
+import com.study.order.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    private final List<Long> deletedIds = new ArrayList<>();
+
+    private ShardRouter shardRouter;
+
+    @BeforeEach
+    void setUp() {
+        shardRouter = new ShardRouter(new ConsistentHashRing(List.of("shard-0"), 16),
+                new SnowflakeIdGenerator(1, ShardBuckets.BUCKET_BITS, 7, 8), mock(PlatformTransactionManager.class));
+        doAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            deletedIds.addAll(ids);
+            return null;
+        }).when(outboxEventRepository).deleteAllByIdInBatch(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.destroy();
+    }
+
+    @Test
+    void 같은_주문의_이벤트는_outbox_id가_아니라_주문_version_순서로_발행한다() throws Exception {
+        // 인스턴스 B가 id 51로 생성, 이후 인스턴스 A가 미리 받은 id 2로 확정 → id 순서 배치에는 확정만 들어옴
+        OutboxEvent created = outboxEvent(51L, 0L, OrderStatus.PENDING);
+        OutboxEvent confirmed = outboxEvent(2L, 1L, OrderStatus.CONFIRMED);
+        when(outboxEventRepository.findRelayBatch(any(Pageable.class))).thenReturn(List.of(confirmed)).thenReturn(List.of());
+        when(outboxEventRepository.findPendingByMessageKeyIn(anyCollection())).thenReturn(List.of(created, confirmed));
+        List<OrderStatus> sent = new ArrayList<>();
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            sent.add(((OrderEvent) invocation.getArgument(2)).getStatus());
+            return CompletableFuture.completedFuture(mock(SendResult.class));
+        });
+
+        relay(10_000, 1_000).relay();
+
+        assertThat(sent).containsExactly(OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        assertThat(deletedIds).containsExactly(51L, 2L);
+    }
+
+    @Test
+    void 브로커가_응답하지_않아도_send_timeout_안에_잠금을_놓고_flush로_막히지_않는다() throws Exception {
+        OutboxEvent created = outboxEvent(1L, 0L, OrderStatus.PENDING);
+        when(outboxEventRepository.findRelayBatch(any(Pageable.class))).thenReturn(List.of(created));
+        when(outboxEventRepository.findPendingByMessageKeyIn(anyCollection())).thenReturn(List.of(created));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        long started = System.nanoTime();
+        relay(300, 100).relay();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(elapsedMillis).isLessThan(2_000);
+        assertThat(deletedIds).isEmpty();
+        verify(kafkaTemplate, never()).flush();
+    }
+
+    private OutboxRelay relay(long sendTimeoutMs, long maxBlockMs) {
+        return new OutboxRelay(outboxEventRepository, kafkaTemplate, objectMapper, shardRouter,
+                new SimpleMeterRegistry(), 10, sendTimeoutMs, maxBlockMs);
+    }
+
+    private OutboxEvent outboxEvent(long id, long orderVersion, OrderStatus status) throws Exception {
+        OrderEvent event = OrderEvent.builder().eventType("ORDER_STATUS_UPDATED").orderId(7L).userId(1L).status(status).build();
+        return OutboxEvent.builder()
+                .id(id)
+                .topic(OrderEventPublisher.ORDER_TOPIC)
+                .messageKey("7")
+                .orderVersion(orderVersion)
+                .eventType(event.getEventType())
+                .payload(objectMapper.writeValueAsString(event))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,168 @@
+package com.study.order.repository;
+
+import com.study.common.exception.BusinessException;
+import com.study.common.id.SnowflakeIdGenerator;
+import com.study.order.domain.Money;
+import com.study.order.domain.Order;
+import com.study.order.domain.OrderStatus;
+import com.study.order.dto.OrderDto;
+import com.study.order.dto.OrderSort;
+import com.study.order.id.SnowflakeIdentifierGenerator;
+import com.study.order.sharding.ShardBuckets;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.study.order.repository.OrderRepositoryTest$SqlCaptor")
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeAll
+    static void installIdGenerator() {
+        SnowflakeIdentifierGenerator.install(new SnowflakeIdGenerator(1, ShardBuckets.BUCKET_BITS, 7, 8));
+    }
+
+    @BeforeEach
+    void clearCapturedSql() {
+        SqlCaptor.STATEMENTS.clear();
+    }
+
+    @Test
+    void 대량_상태_변경용_조회는_행을_id_순서로_잠근다() {
+        Order first = orderRepository.save(order(1L, OrderStatus.PENDING));
+        Order second = orderRepository.save(order(2L, OrderStatus.CONFIRMED));
+        orderRepository.flush();
+        SqlCaptor.STATEMENTS.clear();
+
+        List<OrderStatusView> views = orderRepository.findStatusViewsByIdIn(List.of(second.getId(), first.getId()));
+
+        assertThat(views).extracting(OrderStatusView::getId)
+                .containsExactly(Math.min(first.getId(), second.getId()), Math.max(first.getId(), second.getId()));
+        assertThat(views).extracting(OrderStatusView::getStatus)
+                .containsExactlyInAnyOrder(OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        assertThat(SqlCaptor.STATEMENTS).anySatisfy(sql -> assertThat(sql.toLowerCase()).contains("for update"));
+    }
+
+    @Test
+    void 집합_단위_상태_변경은_버전을_올려_먼저_읽은_엔티티의_변경을_충돌시킨다() {
+        Order saved = orderRepository.saveAndFlush(order(1L, OrderStatus.PENDING));
+        entityManager.clear();
+        Order stale = orderRepository.findById(saved.getId()).orElseThrow();
+        entityManager.detach(stale);
+
+        int updated = orderRepository.updateStatusByIdIn(List.of(saved.getId()), OrderStatus.PENDING,
+                OrderStatus.CANCELLED, LocalDateTime.now());
+        entityManager.clear();
+
+        assertThat(updated).isEqualTo(1);
+        Order current = orderRepository.findById(saved.getId()).orElseThrow();
+        assertThat(current.getVersion()).isEqualTo(stale.getVersion() + 1);
+        entityManager.clear();
+
+        stale.updateStatus(OrderStatus.CONFIRMED);
+        assertThatThrownBy(() -> orderRepository.saveAndFlush(stale))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void 허용되지_않은_상태_전이는_거부한다() {
+        Order order = order(1L, OrderStatus.CANCELLED);
+
+        assertThatThrownBy(() -> order.updateStatus(OrderStatus.CONFIRMED))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo("INVALID_STATUS_TRANSITION");
+    }
+
+    /**
+     * 검색 조건 조합마다 Order 엔티티 Javadoc 표의 인덱스를 사용하는지 H2 EXPLAIN으로 확인
+     * - 필터가 없는 DESC 정렬은 H2가 인덱스를 역방향으로 읽지 않아(풀스캔 + 정렬) 제외
+     */
+    @ParameterizedTest(name = "{0} userId={1} status={2} → {3}")
+    @CsvSource({
+            "CREATED_AT_ASC,    ,  , IDX_ORDERS_CREATED_AT_ID",
+            "CREATED_AT_DESC,   1, , IDX_ORDERS_USER_CREATED_AT",
+            "CREATED_AT_DESC,    , PENDING, IDX_ORDERS_STATUS_CREATED_AT",
+            "CREATED_AT_DESC,   1, PENDING, IDX_ORDERS_USER_CREATED_AT",
+            "TOTAL_AMOUNT_ASC,   ,  , IDX_ORDERS_TOTAL_AMOUNT_ID",
+            "TOTAL_AMOUNT_DESC, 1, , IDX_ORDERS_USER_CREATED_AT",
+            "TOTAL_AMOUNT_DESC,  , PENDING, IDX_ORDERS_STATUS_CREATED_AT",
+            "TOTAL_AMOUNT_DESC, 1, PENDING, IDX_ORDERS_USER_CREATED_AT",
+            "TOTAL_AMOUNT_ASC,  1, PENDING, IDX_ORDERS_USER_CREATED_AT"
+    })
+    void 검색_조건_조합마다_맞는_복합_인덱스를_사용한다(OrderSort sort, Long userId, OrderStatus status, String expectedIndex) {
+        for (int i = 0; i < 50; i++) {
+            orderRepository.save(order((long) (i % 5), OrderStatus.values()[i % OrderStatus.values().length]));
+        }
+        orderRepository.flush();
+        SqlCaptor.STATEMENTS.clear();
+
+        OrderDto.SearchCondition condition = OrderDto.SearchCondition.builder()
+                .userId(userId)
+                .status(status)
+                .sort(sort)
+                .build();
+        orderRepository.searchKeys(condition, null, 20);
+
+        String plan = explain(SqlCaptor.STATEMENTS.get(SqlCaptor.STATEMENTS.size() - 1), userId, status, 20);
+        assertThat(plan).containsPattern("PUBLIC\\." + expectedIndex + "[: ]").doesNotContain("tableScan");
+    }
+
+    /**
+     * 실행된 SQL을 같은 순서의 파라미터로 EXPLAIN (동등 조건 → LIMIT)
+     */
+    private String explain(String sql, Long userId, OrderStatus status, int limit) {
+        Query explain = entityManager.createNativeQuery("EXPLAIN " + sql);
+        int position = 1;
+        if (userId != null) {
+            explain.setParameter(position++, userId);
+        }
+        if (status != null) {
+            explain.setParameter(position++, status.name());
+        }
+        explain.setParameter(position, limit);
+        return String.valueOf(explain.getSingleResult());
+    }
+
+    private static Order order(Long userId, OrderStatus status) {
+        return Order.builder()
+                .userId(userId)
+                .status(status)
+                .totalAmount(Money.ofMinor(10_000))
+                .build();
+    }
+
+    /**
+     * 실행된 SQL 수집 (잠금 절 확인용)
+     */
+    public static class SqlCaptor implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.study.order.repository;
+
+import com.study.order.domain.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class OutboxEventRepositoryTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void 주문별_대기_이벤트는_id가_아니라_주문_version_순서로_읽는다() {
+        // 먼저 저장된 행(더 작은 id)이 나중 변경(더 큰 version)인 경우
+        OutboxEvent confirmed = outboxEventRepository.save(outboxEvent("7", 1L, "ORDER_STATUS_UPDATED"));
+        OutboxEvent created = outboxEventRepository.save(outboxEvent("7", 0L, "ORDER_CREATED"));
+        OutboxEvent legacy = outboxEventRepository.save(outboxEvent("7", null, "ORDER_CREATED"));
+        outboxEventRepository.save(outboxEvent("8", 0L, "ORDER_CREATED"));
+        outboxEventRepository.flush();
+
+        List<OutboxEvent> pending = outboxEventRepository.findPendingByMessageKeyIn(List.of("7"));
+
+        assertThat(pending).extracting(OutboxEvent::getId)
+                .containsExactly(legacy.getId(), created.getId(), confirmed.getId());
+    }
+
+    private static OutboxEvent outboxEvent(String key, Long orderVersion, String eventType) {
+        return OutboxEvent.builder()
+                .topic("order-events")
+                .messageKey(key)
+                .orderVersion(orderVersion)
+                .eventType(eventType)
+                .payload("{}")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
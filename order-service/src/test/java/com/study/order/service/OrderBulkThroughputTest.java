@@ -0,0 +1,145 @@
+package com.study.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.study.common.id.SnowflakeIdGenerator;
+import com.study.order.dto.OrderDto;
+import com.study.order.event.OrderEventPublisher;
+import com.study.order.id.SnowflakeIdentifierGenerator;
+import com.study.order.projection.UserOrderSummaryStore;
+import com.study.order.repository.ArchivedOrderRepository;
+import com.study.order.repository.OrderRepository;
+import com.study.order.repository.OutboxEventRepository;
+import com.study.order.sharding.ConsistentHashRing;
+import com.study.order.sharding.ShardBuckets;
+import com.study.order.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 주문 생성 처리량 (orders/sec): 단건 createOrder 반복 vs 대량 createOrders
+ * - 테스트 트랜잭션 없이 실제 트랜잭션 매니저로 실행 → 단건은 주문마다 커밋, 대량은 청크(500건)마다 커밋
+ * - 둘 다 주문 + 항목 2개 + outbox 이벤트 저장, H2 메모리 DB라 디스크 fsync 비용은 빠져 있음 (실제 DB에서는 차이가 더 큼)
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderBulkThroughputTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderBulkThroughputTest.class);
+    private static final SnowflakeIdGenerator ID_GENERATOR = new SnowflakeIdGenerator(1, ShardBuckets.BUCKET_BITS, 7, 8);
+    private static final int ORDERS = 2_000;
+    private static final int WARMUP_ORDERS = 300;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private ShardRouter shardRouter;
+    private OrderService orderService;
+    private OrderBulkService orderBulkService;
+
+    @BeforeAll
+    static void installIdGenerator() {
+        SnowflakeIdentifierGenerator.install(ID_GENERATOR);
+    }
+
+    @BeforeEach
+    void setUp() {
+        shardRouter = new ShardRouter(new ConsistentHashRing(List.of("shard-0"), 16), ID_GENERATOR, transactionManager);
+        OrderEventPublisher publisher = new OrderEventPublisher(outboxEventRepository,
+                new ObjectMapper().registerModule(new JavaTimeModule()), mock(ApplicationEventPublisher.class));
+        orderService = new OrderService(orderRepository, publisher, mock(UserOrderSummaryStore.class),
+                mock(CacheManager.class), archivedOrderRepository, shardRouter);
+        orderBulkService = new OrderBulkService(orderRepository, publisher, entityManager, shardRouter,
+                Validation.buildDefaultValidatorFactory().getValidator(), mock(CacheManager.class), 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // 테스트 트랜잭션이 없으므로 직접 정리 (같은 컨텍스트를 쓰는 다른 @DataJpaTest에 남기지 않음)
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM order_outbox");
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+        shardRouter.destroy();
+    }
+
+    @Test
+    void 대량_생성은_단건_반복보다_초당_주문_수가_많다() {
+        createOneByOne(requests(WARMUP_ORDERS));
+        createInBatch(requests(WARMUP_ORDERS));
+
+        double single = ORDERS / seconds(() -> createOneByOne(requests(ORDERS)));
+        double batch = ORDERS / seconds(() -> createInBatch(requests(ORDERS)));
+
+        log.info("주문 생성 처리량: orders={}, single={} orders/sec, batch={} orders/sec, x{}",
+                ORDERS, Math.round(single), Math.round(batch), String.format("%.1f", batch / single));
+        assertThat(orderRepository.count()).isEqualTo(2L * (WARMUP_ORDERS + ORDERS));
+        assertThat(batch).isGreaterThan(single);
+    }
+
+    private void createOneByOne(List<OrderDto.CreateRequest> requests) {
+        requests.forEach(orderService::createOrder);
+    }
+
+    private void createInBatch(List<OrderDto.CreateRequest> requests) {
+        // 요청 1건 최대 1000건 (BatchCreateRequest @Size)
+        for (int from = 0; from < requests.size(); from += 1_000) {
+            OrderDto.BatchResponse response = orderBulkService.createOrders(
+                    new OrderDto.BatchCreateRequest(requests.subList(from, Math.min(from + 1_000, requests.size()))));
+            assertThat(response.getFailed()).isZero();
+        }
+    }
+
+    private static double seconds(Runnable action) {
+        long started = System.nanoTime();
+        action.run();
+        return (System.nanoTime() - started) / 1_000_000_000.0;
+    }
+
+    private static List<OrderDto.CreateRequest> requests(int count) {
+        List<OrderDto.CreateRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(new OrderDto.CreateRequest((long) (i % 100), List.of(
+                    new OrderDto.OrderItemRequest(10L, "상품 A", 1, new BigDecimal("12.50")),
+                    new OrderDto.OrderItemRequest(20L, "상품 B", 2, new BigDecimal("3.00")))));
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,174 @@
+package com.study.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.study.common.id.SnowflakeIdGenerator;
+import com.study.order.id.SnowflakeIdentifierGenerator;
+import com.study.order.sharding.ConsistentHashRing;
+import com.study.order.sharding.ShardBuckets;
+import com.study.order.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+class OrderExportServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExportServiceTest.class);
+
+    private static final SnowflakeIdGenerator ID_GENERATOR = new SnowflakeIdGenerator(1, ShardBuckets.BUCKET_BITS, 7, 8);
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private ShardRouter shardRouter;
+    private OrderExportService exportService;
+
+    @BeforeAll
+    static void installIdGenerator() {
+        SnowflakeIdentifierGenerator.install(ID_GENERATOR);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        shardRouter = new ShardRouter(new ConsistentHashRing(List.of("shard-0"), 16), ID_GENERATOR,
+                mock(PlatformTransactionManager.class));
+        exportService = new OrderExportService(entityManager, new ObjectMapper().registerModule(new JavaTimeModule()),
+                shardRouter);
+        ReflectionTestUtils.setField(exportService, "fetchSize", 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.destroy();
+    }
+
+    @Test
+    void 항목이_없는_주문도_내보낸다() throws Exception {
+        long withItem = insertOrders(1, 1, 0);
+        long withoutItem = insertOrders(1, 0, 1);
+
+        String csv = export(OrderExportService.Format.CSV);
+        String ndjson = export(OrderExportService.Format.NDJSON);
+
+        assertThat(csv.lines()).hasSize(3);
+        assertThat(csv).contains(withItem + ",1,DELIVERED,").contains(withoutItem + ",1,DELIVERED,");
+        assertThat(csv.lines().filter(line -> line.startsWith(withoutItem + ",")).findFirst().orElseThrow())
+                .endsWith(",,,,");
+        assertThat(ndjson.lines()).hasSize(2);
+        assertThat(ndjson.lines().filter(line -> line.contains(String.valueOf(withoutItem))).findFirst().orElseThrow())
+                .contains("\"items\":[]");
+    }
+
+    @Test
+    void 캐리지_리턴이_있는_값은_따옴표로_감싼다() {
+        assertThat(OrderExportService.escapeCsv("상품\r이름")).isEqualTo("\"상품\r이름\"");
+        assertThat(OrderExportService.escapeCsv("a,\"b\"")).isEqualTo("\"a,\"\"b\"\"\"");
+        assertThat(OrderExportService.escapeCsv("plain")).isEqualTo("plain");
+    }
+
+    /**
+     * 처리량 + 메모리: 주문 수와 관계없이 영속성 컨텍스트에 남는 엔티티 수가 일정한지 확인하고 처리량을 기록
+     * - 출력 버퍼(64KB)가 내려갈 때마다 관리 중인 엔티티 수를 샘플링
+     */
+    @Test
+    void 대량_내보내기는_처리한_엔티티를_남기지_않고_처리량을_기록한다() throws Exception {
+        int orders = 20_000;
+        insertOrders(orders, 2, 0);
+        entityManager.clear();
+
+        Session session = entityManager.unwrap(Session.class);
+        int[] maxManaged = {0};
+        long[] bytes = {0};
+        OutputStream sink = new OutputStream() {
+            @Override
+            public void write(int b) {
+                bytes[0]++;
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) {
+                bytes[0] += length;
+                maxManaged[0] = Math.max(maxManaged[0], session.getStatistics().getEntityCount());
+            }
+        };
+
+        System.gc();
+        long heapBefore = usedHeap();
+        long started = System.nanoTime();
+        exportService.export(OrderExportService.Format.CSV, null, null, null, sink);
+        long elapsedNanos = System.nanoTime() - started;
+        System.gc();
+        long heapAfter = usedHeap();
+
+        long rows = orders * 2L;
+        log.info("CSV Export: orders={}, rows={}, bytes={}, elapsedMs={}, rows/sec={}, maxManagedEntities={}, retainedHeapDeltaMB={}",
+                orders, rows, bytes[0], elapsedNanos / 1_000_000, rows * 1_000_000_000L / elapsedNanos,
+                maxManaged[0], (heapAfter - heapBefore) / (1024 * 1024));
+        assertThat(maxManaged[0]).isLessThanOrEqualTo(3);
+        assertThat(session.getStatistics().getEntityCount()).isZero();
+    }
+
+    private String export(OrderExportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(format, null, null, null, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * JDBC 배치로 주문(+ 주문당 항목 itemsPerOrder개) 삽입
+     *
+     * @return 마지막 주문 ID
+     */
+    private long insertOrders(int count, int itemsPerOrder, int offset) {
+        List<Object[]> orders = new ArrayList<>(count);
+        List<Object[]> items = new ArrayList<>(count * itemsPerOrder);
+        long orderId = 0;
+        for (int i = 0; i < count; i++) {
+            orderId = ID_GENERATOR.nextId(ShardBuckets.of(1L));
+            Timestamp createdAt = Timestamp.valueOf(BASE.plusSeconds(offset * 1_000_000L + i));
+            orders.add(new Object[]{orderId, 1L, "DELIVERED", 20.00, ShardBuckets.of(1L), createdAt, createdAt, 0L});
+            for (int j = 0; j < itemsPerOrder; j++) {
+                items.add(new Object[]{ID_GENERATOR.nextId(ShardBuckets.of(1L)), orderId, 10L + j, "상품 " + j, 1, 10.00});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, user_id, status, total_amount, shard_bucket, created_at, updated_at, version) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", orders);
+        jdbcTemplate.batchUpdate("INSERT INTO order_items (id, order_id, product_id, product_name, quantity, price) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", items);
+        return orderId;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
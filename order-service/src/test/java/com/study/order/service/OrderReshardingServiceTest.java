@@ -0,0 +1,311 @@
+package com.study.order.service;
+
+import com.study.common.exception.BusinessException;
+import com.study.common.id.SnowflakeIdGenerator;
+import com.study.order.dto.OrderDto;
+import com.study.order.repository.ShardTransferRepository;
+import com.study.order.sharding.ConsistentHashRing;
+import com.study.order.sharding.ShardBuckets;
+import com.study.order.sharding.ShardContext;
+import com.study.order.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class OrderReshardingServiceTest {
+
+    private final SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(1, ShardBuckets.BUCKET_BITS, 7, 8);
+    private final InMemoryTransferRepository transferRepository = new InMemoryTransferRepository();
+
+    private ShardRouter shardRouter;
+    private OrderReshardingService reshardingService;
+    private int bucket;
+
+    @BeforeEach
+    void setUp() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard-0", "shard-1"), 128);
+        shardRouter = new ShardRouter(ring, idGenerator, mock(PlatformTransactionManager.class));
+        reshardingService = new OrderReshardingService(shardRouter, transferRepository, new SimpleMeterRegistry(), 2);
+        bucket = 0;
+        while (ring.shardOf(bucket) != 1) {
+            bucket++;
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.destroy();
+    }
+
+    @Test
+    void 소유자가_바뀐_버킷의_주문과_항목을_새_샤드로_옮긴다() {
+        long first = idGenerator.nextId(bucket);
+        long second = idGenerator.nextId(bucket);
+        long third = idGenerator.nextId(bucket);
+        transferRepository.put(0, order(first, "PENDING", 0), item(first));
+        transferRepository.put(0, order(second, "PENDING", 0), item(second));
+        transferRepository.put(0, order(third, "CONFIRMED", 1));
+
+        OrderDto.RebalanceResponse response = reshardingService.rebalance();
+
+        assertThat(response.getMovedBuckets()).isEqualTo(1);
+        assertThat(response.getMovedOrders()).isEqualTo(3);
+        assertThat(response.getMovedItems()).isEqualTo(2);
+        assertThat(transferRepository.orders(0)).isEmpty();
+        assertThat(transferRepository.orders(1).keySet()).containsExactly(first, second, third);
+        assertThat(transferRepository.items(1)).hasSize(2);
+    }
+
+    @Test
+    void 재실행_시_대상_샤드에_이미_있는_주문은_덮어쓰지_않는다() {
+        long orderId = idGenerator.nextId(bucket);
+        // 이전 실행에서 대상 커밋 후 원본 삭제 전에 실패 → 그사이 대상 샤드에서 취소됨
+        transferRepository.put(0, order(orderId, "PENDING", 0), item(orderId));
+        transferRepository.put(1, order(orderId, "CANCELLED", 1), item(orderId));
+
+        reshardingService.rebalance();
+
+        assertThat(transferRepository.orders(0)).isEmpty();
+        assertThat(transferRepository.orders(1).get(orderId)[2]).isEqualTo("CANCELLED");
+        assertThat(transferRepository.orders(1).get(orderId)[7]).isEqualTo(1L);
+        assertThat(transferRepository.items(1)).hasSize(1);
+    }
+
+    @Test
+    void 옮기는_동안에는_버킷의_주문_변경을_거부한다() {
+        long orderId = idGenerator.nextId(bucket);
+        transferRepository.put(0, order(orderId, "PENDING", 0));
+        List<Boolean> migratingDuringMove = new ArrayList<>();
+        transferRepository.onLock = () -> {
+            migratingDuringMove.add(shardRouter.isMigrating(orderId));
+            assertThatThrownBy(() -> shardRouter.requireWritable(orderId))
+                    .isInstanceOf(BusinessException.class)
+                    .extracting("errorCode").isEqualTo("SHARD_MIGRATING");
+        };
+
+        reshardingService.rebalance();
+
+        assertThat(migratingDuringMove).isNotEmpty().containsOnly(true);
+        assertThat(shardRouter.isMigrating(orderId)).isFalse();
+    }
+
+    @Test
+    void 보관_주문도_소유_샤드로_옮긴다() {
+        long moving = idGenerator.nextId(bucket);
+        long staying = idGenerator.nextId(ownedBy(0));
+        transferRepository.putArchived(0, archived(moving), item(moving));
+        transferRepository.putArchived(0, archived(staying));
+
+        OrderDto.RebalanceResponse response = reshardingService.rebalance();
+
+        assertThat(response.getMovedArchivedOrders()).isEqualTo(1);
+        assertThat(transferRepository.archived(0).keySet()).containsExactly(staying);
+        assertThat(transferRepository.archived(1).keySet()).containsExactly(moving);
+        assertThat(transferRepository.archivedItems(1)).hasSize(1);
+    }
+
+    @Test
+    void 재배치_대기_중에만_소유_샤드_밖을_찾고_끝나면_소유_샤드만_찾는다() {
+        long orderId = idGenerator.nextId(bucket);
+        assertThat(shardRouter.shardsForOrder(orderId)).containsExactly(1);
+
+        shardRouter.setRebalancePending(true);
+        assertThat(shardRouter.shardsForOrder(orderId)).containsExactly(1, 0);
+
+        reshardingService.rebalance();
+
+        assertThat(shardRouter.isRebalancePending()).isFalse();
+        assertThat(shardRouter.shardsForOrder(orderId)).containsExactly(1);
+    }
+
+    @Test
+    void 재배치가_실패하면_대기_표시를_유지한다() {
+        long orderId = idGenerator.nextId(bucket);
+        transferRepository.put(0, order(orderId, "PENDING", 0));
+        transferRepository.onLock = () -> {
+            throw new IllegalStateException("down");
+        };
+
+        assertThatThrownBy(reshardingService::rebalance).isInstanceOf(IllegalStateException.class);
+
+        assertThat(shardRouter.isRebalancePending()).isTrue();
+        assertThat(shardRouter.shardsForOrder(orderId)).containsExactly(1, 0);
+    }
+
+    private int ownedBy(int shard) {
+        int candidate = 0;
+        while (shardRouter.shardOfBucket(candidate) != shard) {
+            candidate++;
+        }
+        return candidate;
+    }
+
+    private static Object[] archived(long id) {
+        return new Object[]{id, 1L, "DELIVERED", 1000L, null, null, null};
+    }
+
+    private Object[] order(long id, String status, long version) {
+        return new Object[]{id, 1L, status, 1000L, idGenerator.extractBucket(id), null, null, version};
+    }
+
+    private Object[] item(long orderId) {
+        return new Object[]{orderId + 1, orderId, 10L, "상품", 1, 1000L};
+    }
+
+    /**
+     * 샤드별 orders/order_items 행을 메모리에 두는 가짜 저장소 (현재 ShardContext의 샤드에 읽고 씀)
+     */
+    private static class InMemoryTransferRepository extends ShardTransferRepository {
+
+        private final Map<Integer, TreeMap<Long, Object[]>> orders = new TreeMap<>();
+        private final Map<Integer, List<Object[]>> items = new TreeMap<>();
+        private final Map<Integer, TreeMap<Long, Object[]>> archived = new TreeMap<>();
+        private final Map<Integer, List<Object[]>> archivedItems = new TreeMap<>();
+        private Runnable onLock = () -> {
+        };
+
+        InMemoryTransferRepository() {
+            super(null);
+        }
+
+        void put(int shard, Object[] order, Object[]... orderItems) {
+            orders(shard).put((Long) order[0], order);
+            items(shard).addAll(List.of(orderItems));
+        }
+
+        void putArchived(int shard, Object[] order, Object[]... orderItems) {
+            archived(shard).put((Long) order[0], order);
+            archivedItems(shard).addAll(List.of(orderItems));
+        }
+
+        TreeMap<Long, Object[]> archived(int shard) {
+            return archived.computeIfAbsent(shard, s -> new TreeMap<>());
+        }
+
+        List<Object[]> archivedItems(int shard) {
+            return archivedItems.computeIfAbsent(shard, s -> new ArrayList<>());
+        }
+
+        TreeMap<Long, Object[]> orders(int shard) {
+            return orders.computeIfAbsent(shard, s -> new TreeMap<>());
+        }
+
+        List<Object[]> items(int shard) {
+            return items.computeIfAbsent(shard, s -> new ArrayList<>());
+        }
+
+        private int shard() {
+            return ShardContext.current();
+        }
+
+        @Override
+        public Map<Integer, Long> countByBucket() {
+            return orders(shard()).values().stream()
+                    .collect(Collectors.groupingBy(row -> (Integer) row[4], Collectors.counting()));
+        }
+
+        @Override
+        public List<Long> lockBucketIds(int bucket, int limit) {
+            onLock.run();
+            return orders(shard()).values().stream()
+                    .filter(row -> (Integer) row[4] == bucket)
+                    .map(row -> (Long) row[0])
+                    .limit(limit)
+                    .toList();
+        }
+
+        @Override
+        public List<Object[]> findOrderRows(Collection<Long> ids) {
+            return ids.stream().map(orders(shard())::get).toList();
+        }
+
+        @Override
+        public List<Object[]> findItemRows(Collection<Long> orderIds) {
+            return items(shard()).stream().filter(row -> orderIds.contains((Long) row[1])).toList();
+        }
+
+        @Override
+        public Set<Long> findExistingIds(Collection<Long> ids) {
+            Set<Long> existing = new HashSet<>(ids);
+            existing.retainAll(orders(shard()).keySet());
+            return existing;
+        }
+
+        @Override
+        public void insertOrderRows(List<Object[]> rows) {
+            for (Object[] row : rows) {
+                if (orders(shard()).putIfAbsent((Long) row[0], row) != null) {
+                    throw new IllegalStateException("중복 키: " + row[0]);
+                }
+            }
+        }
+
+        @Override
+        public void insertItemRows(List<Object[]> rows) {
+            items(shard()).addAll(rows);
+        }
+
+        @Override
+        public int deleteOrders(Collection<Long> ids) {
+            items(shard()).removeIf(row -> ids.contains((Long) row[1]));
+            int before = orders(shard()).size();
+            orders(shard()).keySet().removeAll(ids);
+            return before - orders(shard()).size();
+        }
+
+        @Override
+        public List<Long> findArchivedIdsAfter(long afterId, int limit) {
+            return archived(shard()).tailMap(afterId, false).keySet().stream().limit(limit).toList();
+        }
+
+        @Override
+        public List<Object[]> findArchivedOrderRows(Collection<Long> ids) {
+            return ids.stream().map(archived(shard())::get).toList();
+        }
+
+        @Override
+        public List<Object[]> findArchivedItemRows(Collection<Long> orderIds) {
+            return archivedItems(shard()).stream().filter(row -> orderIds.contains((Long) row[1])).toList();
+        }
+
+        @Override
+        public Set<Long> findExistingArchivedIds(Collection<Long> ids) {
+            Set<Long> existing = new HashSet<>(ids);
+            existing.retainAll(archived(shard()).keySet());
+            return existing;
+        }
+
+        @Override
+        public void insertArchivedOrderRows(List<Object[]> rows) {
+            rows.forEach(row -> archived(shard()).put((Long) row[0], row));
+        }
+
+        @Override
+        public void insertArchivedItemRows(List<Object[]> rows) {
+            archivedItems(shard()).addAll(rows);
+        }
+
+        @Override
+        public int deleteArchivedOrders(Collection<Long> ids) {
+            archivedItems(shard()).removeIf(row -> ids.contains((Long) row[1]));
+            int before = archived(shard()).size();
+            archived(shard()).keySet().removeAll(ids);
+            return before - archived(shard()).size();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.study.order.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    @Test
+    void 버킷이_샤드마다_고르게_나뉜다() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+
+        int[] counts = ring.bucketCounts();
+
+        assertThat(counts).hasSize(4);
+        assertThat(Arrays.stream(counts).boxed().toList()).allSatisfy(count -> assertThat(count).isBetween(32, 96));
+        assertThat(counts[0] + counts[1] + counts[2] + counts[3]).isEqualTo(ShardBuckets.BUCKET_COUNT);
+    }
+
+    @Test
+    void 샤드를_추가하면_새_샤드로_가는_버킷만_소유자가_바뀐다() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+
+        int moved = 0;
+        for (int bucket = 0; bucket < ShardBuckets.BUCKET_COUNT; bucket++) {
+            if (before.shardOf(bucket) != after.shardOf(bucket)) {
+                assertThat(after.nameOf(after.shardOf(bucket))).isEqualTo("shard-3");
+                moved++;
+            }
+        }
+        assertThat(moved).isEqualTo(after.bucketCounts()[3]);
+        assertThat(moved).isLessThan(ShardBuckets.BUCKET_COUNT / 2);
+    }
+
+    @Test
+    void 소유자는_설정_순서가_아니라_샤드_이름으로_정해진다() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard-a", "shard-b"), 128);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("shard-b", "shard-a"), 128);
+
+        for (int bucket = 0; bucket < ShardBuckets.BUCKET_COUNT; bucket++) {
+            assertThat(reordered.nameOf(reordered.shardOf(bucket))).isEqualTo(ring.nameOf(ring.shardOf(bucket)));
+        }
+    }
+
+    @Test
+    void 샤드가_없으면_생성할_수_없다() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 128))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,26 @@
+package com.study.order.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardBucketsTest {
+
+    @Test
+    void 연속된_userId도_모든_버킷에_고르게_퍼진다() {
+        int[] counts = new int[ShardBuckets.BUCKET_COUNT];
+        for (long userId = 1; userId <= ShardBuckets.BUCKET_COUNT * 100L; userId++) {
+            counts[ShardBuckets.of(userId)]++;
+        }
+
+        assertThat(Arrays.stream(counts).boxed().toList()).allSatisfy(count -> assertThat(count).isBetween(50, 150));
+    }
+
+    @Test
+    void 같은_userId는_항상_같은_버킷이다() {
+        assertThat(ShardBuckets.of(42L)).isEqualTo(ShardBuckets.of(42L));
+        assertThat(ShardBuckets.of(-1L)).isBetween(0, ShardBuckets.BUCKET_COUNT - 1);
+    }
+}
@@ -0,0 +1,117 @@
+package com.study.order.timeout;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1_000L;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void 마감_tick에_도달하면_만료된다() {
+        HierarchicalTimingWheel<Long, String> wheel = new HierarchicalTimingWheel<>(TICK, START);
+        wheel.schedule(1L, "order-1", START + 5_000);
+        List<Long> expired = new ArrayList<>();
+
+        assertThat(wheel.advance(START + 4_999, (key, value) -> expired.add(key))).isZero();
+        assertThat(wheel.advance(START + 5_000, (key, value) -> expired.add(key))).isEqualTo(1);
+        assertThat(expired).containsExactly(1L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void 취소한_마감은_만료되지_않고_같은_키는_마지막_등록으로_교체된다() {
+        HierarchicalTimingWheel<Long, String> wheel = new HierarchicalTimingWheel<>(TICK, START);
+        wheel.schedule(1L, "first", START + 3_000);
+        wheel.schedule(1L, "second", START + 10_000);
+        wheel.schedule(2L, "cancelled", START + 3_000);
+
+        assertThat(wheel.cancel(2L)).isEqualTo("cancelled");
+        assertThat(wheel.cancel(2L)).isNull();
+
+        Map<Long, String> expired = new HashMap<>();
+        wheel.advance(START + 9_000, expired::put);
+        assertThat(expired).isEmpty();
+        wheel.advance(START + 10_000, expired::put);
+        assertThat(expired).containsExactly(Map.entry(1L, "second"));
+    }
+
+    @Test
+    void 조건부_등록은_이미_등록된_키를_덮어쓰지_않는다() {
+        HierarchicalTimingWheel<Long, String> wheel = new HierarchicalTimingWheel<>(TICK, START);
+        wheel.schedule(1L, "newer", START + 10_000);
+
+        assertThat(wheel.scheduleIfAbsent(1L, "stale", START + 3_000)).isFalse();
+        assertThat(wheel.scheduleIfAbsent(2L, "absent", START + 3_000)).isTrue();
+
+        Map<Long, String> expired = new HashMap<>();
+        wheel.advance(START + 10_000, expired::put);
+        assertThat(expired).containsOnly(Map.entry(2L, "absent"), Map.entry(1L, "newer"));
+    }
+
+    @Test
+    void 이미_지난_마감은_다음_tick에_만료된다() {
+        HierarchicalTimingWheel<Long, String> wheel = new HierarchicalTimingWheel<>(TICK, START);
+        wheel.schedule(1L, "late", START - 60_000);
+
+        assertThat(wheel.advance(START + TICK, (key, value) -> { })).isEqualTo(1);
+    }
+
+    @Test
+    void 상위_휠의_먼_마감도_정확한_tick에_만료된다() {
+        HierarchicalTimingWheel<Long, Long> wheel = new HierarchicalTimingWheel<>(TICK, START);
+        // 레벨 0(64 tick 이내), 1(4,096), 2(262,144), 3 경계와 그 사이 값
+        long[] ticks = {1, 63, 64, 65, 4_095, 4_096, 4_097, 100_000, 262_143, 262_144, 300_001};
+        for (long tick : ticks) {
+            wheel.schedule(tick, tick, START + tick * TICK);
+        }
+
+        Map<Long, Long> expiredAt = new HashMap<>();
+        long last = ticks[ticks.length - 1];
+        for (long now = 1; now <= last; now++) {
+            long current = now;
+            wheel.advance(START + now * TICK, (key, value) -> expiredAt.put(key, current));
+        }
+
+        for (long tick : ticks) {
+            assertThat(expiredAt).containsEntry(tick, tick);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void 무작위_마감과_진행_간격에서도_마감_이후_첫_진행에서_만료된다() {
+        Random random = new Random(42);
+        HierarchicalTimingWheel<Integer, Long> wheel = new HierarchicalTimingWheel<>(TICK, START);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int key = 0; key < 2_000; key++) {
+            long deadline = START + (long) (random.nextDouble() * 500_000 * TICK);
+            deadlines.put(key, deadline);
+            wheel.schedule(key, deadline, deadline);
+        }
+
+        long now = START;
+        long previous = START;
+        while (wheel.size() > 0) {
+            now += 1 + random.nextInt(5_000) * TICK / 10;
+            long from = previous;
+            long to = now;
+            wheel.advance(now, (key, deadline) -> {
+                // 마감 tick(올림)이 이번 진행 구간 (from, to]에 속해야 함
+                long expireTick = -Math.floorDiv(-deadline, TICK);
+                assertThat(expireTick).isGreaterThan(from / TICK).isLessThanOrEqualTo(to / TICK);
+                deadlines.remove(key);
+            });
+            previous = now;
+        }
+        assertThat(deadlines).isEmpty();
+    }
+}
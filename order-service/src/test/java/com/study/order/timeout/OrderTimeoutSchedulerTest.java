@@ -0,0 +1,112 @@
+package com.study.order.timeout;
+
+import com.study.order.domain.OrderStatus;
+import com.study.order.event.OrderEvent;
+import com.study.order.repository.OrderRepository;
+import com.study.order.repository.OrderTimeoutView;
+import com.study.order.service.OrderBulkService;
+import com.study.order.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderTimeoutSchedulerTest {
+
+    private OrderRepository orderRepository;
+    private OrderBulkService orderBulkService;
+    private OrderTimeoutScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        orderBulkService = mock(OrderBulkService.class);
+        ShardRouter shardRouter = mock(ShardRouter.class);
+        when(shardRouter.shardCount()).thenReturn(1);
+        when(shardRouter.read(anyInt(), any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+        // PENDING 30분, CONFIRMED 24시간, tick 1ms, 재시도 즉시
+        scheduler = new OrderTimeoutScheduler(orderRepository, orderBulkService, shardRouter, new SimpleMeterRegistry(),
+                true, Duration.ofMinutes(30), Duration.ofHours(24), 1, 500, Duration.ZERO);
+    }
+
+    @Test
+    void 재구성은_그사이_이벤트로_등록된_새_상태의_마감을_덮어쓰지_않는다() throws Exception {
+        // 재구성 전에 CONFIRMED 이벤트 도착 (24시간 뒤 마감), DB 스냅샷에는 1시간 전 PENDING
+        scheduler.onOrderEvent(confirmed(1L));
+        when(orderRepository.streamByStatusIn(any()))
+                .thenReturn(Stream.of(view(1L, OrderStatus.PENDING, LocalDateTime.now().minusHours(1))));
+
+        scheduler.rebuild();
+        Thread.sleep(5);
+        scheduler.expire();
+
+        verify(orderBulkService, never()).cancelExpired(any(), anyList());
+    }
+
+    @Test
+    void 취소_재시도는_그사이_이벤트로_등록된_마감을_덮어쓰지_않는다() throws Exception {
+        when(orderRepository.streamByStatusIn(any()))
+                .thenReturn(Stream.of(view(1L, OrderStatus.PENDING, LocalDateTime.now().minusHours(1))));
+        scheduler.rebuild();
+        // 취소 UPDATE가 실패하는 사이 주문이 CONFIRMED로 바뀜
+        when(orderBulkService.cancelExpired(eq(OrderStatus.PENDING), anyList())).thenAnswer(invocation -> {
+            scheduler.onOrderEvent(confirmed(1L));
+            throw new IllegalStateException("db down");
+        });
+
+        Thread.sleep(5);
+        scheduler.expire();
+        Thread.sleep(5);
+        scheduler.expire();
+
+        verify(orderBulkService, times(1)).cancelExpired(eq(OrderStatus.PENDING), anyList());
+        verify(orderBulkService, never()).cancelExpired(eq(OrderStatus.CONFIRMED), anyList());
+    }
+
+    private static OrderEvent confirmed(Long orderId) {
+        return OrderEvent.builder()
+                .orderId(orderId)
+                .status(OrderStatus.CONFIRMED)
+                .previousStatus(OrderStatus.PENDING)
+                .build();
+    }
+
+    private static OrderTimeoutView view(Long id, OrderStatus status, LocalDateTime updatedAt) {
+        return new OrderTimeoutView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public OrderStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return updatedAt;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+}
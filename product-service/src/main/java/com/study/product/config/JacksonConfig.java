@@ -0,0 +1,25 @@
+package com.study.product.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson 설정
+ *
+ * 학습 포인트:
+ * - @JsonFilter가 붙은 DTO(ProductDto.Response)는 FilterProvider가 없으면 직렬화 자체가 실패함
+ * - 기본 필터 = 전체 필드 직렬화 → fields 파라미터가 없는 응답은 기존과 동일
+ * - 필드 선택 응답은 컨트롤러가 MappingJacksonValue에 요청별 필터를 지정
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer defaultPropertyFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
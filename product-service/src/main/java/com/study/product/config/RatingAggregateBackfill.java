@@ -0,0 +1,39 @@
+package com.study.product.config;
+
+import com.study.product.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 평점 집계 필드(reviewCount/ratingSum/ratingHistogram) 채우기
+ *
+ * - 집계 필드가 없는 상품만 reviews 배열로 계산해 채움 (파이프라인 업데이트, 이미 채워진 문서는 건드리지 않음)
+ * - 웹 서버가 요청을 받기 전에 실행 → 집계 없는 문서에 $inc가 섞여 평균이 틀어지는 일을 막음
+ * - 롤링 배포 중 구버전 인스턴스의 전체 save()가 집계 필드를 지워도 다음 재시작 때 다시 채워짐
+ */
+@Slf4j
+@Component
+public class RatingAggregateBackfill implements SmartInitializingSingleton {
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+
+    public RatingAggregateBackfill(ProductRepository productRepository,
+                                   @Value("${product.reviews.backfill-on-startup:true}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        long updated = productRepository.backfillRatingAggregates();
+        if (updated > 0) {
+            log.info("평점 집계 채우기 완료: products={}", updated);
+        }
+    }
+}
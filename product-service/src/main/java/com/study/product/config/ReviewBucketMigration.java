@@ -0,0 +1,41 @@
+package com.study.product.config;
+
+import com.study.product.service.ReviewService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품에 내장된 리뷰를 review_buckets 컬렉션으로 옮기는 마이그레이션
+ *
+ * - 웹 서버가 요청을 받기 전에 실행, 옮긴 상품은 reviewsBucketed = true로 표시되어 다음 실행에서 제외
+ * - 여러 인스턴스가 동시에 실행해도 결과가 같음 (버킷 내용 지정 + 조건부 상품 수정)
+ * - 끄더라도 리뷰 추가/목록 조회 시 해당 상품만 즉시 마이그레이션됨
+ * - 롤링 배포 중 구버전 인스턴스가 리뷰를 내장 방식으로 추가하면 그 상품은 마이그레이션을 건너뛰고 다음 실행 때 다시 시도
+ */
+@Slf4j
+@Component
+public class ReviewBucketMigration implements SmartInitializingSingleton {
+
+    private final ReviewService reviewService;
+    private final boolean enabled;
+
+    public ReviewBucketMigration(ReviewService reviewService,
+                                 @Value("${product.reviews.migrate-on-startup:true}") boolean enabled) {
+        this.reviewService = reviewService;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        long migrated = reviewService.migrateEmbeddedReviews();
+        if (migrated > 0) {
+            log.info("리뷰 버킷 마이그레이션 완료: products={}, elapsedMs={}", migrated, System.currentTimeMillis() - startedAt);
+        }
+    }
+}
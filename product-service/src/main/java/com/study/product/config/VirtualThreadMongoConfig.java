@@ -0,0 +1,32 @@
+package com.study.product.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Virtual Thread 실행 모드의 MongoDB 설정 (spring.threads.virtual.enabled=true 일 때만 적용)
+ *
+ * 학습 포인트:
+ * - pinning 감지 모니터는 common 모듈의 VirtualThreadAutoConfiguration이 등록
+ * - MongoDB 커넥션 풀 상한/대기 시간 설정 (Virtual Thread 수는 사실상 무제한이므로 풀이 동시 쿼리 수를 제한)
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadMongoConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoConnectionPoolCustomizer(
+            @Value("${product.mongodb.max-pool-size:50}") int maxPoolSize,
+            @Value("${product.mongodb.max-wait-time:3s}") Duration maxWaitTime) {
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxPoolSize)
+                .maxWaitTime(maxWaitTime.toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
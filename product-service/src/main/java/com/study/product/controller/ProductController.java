@@ -1,12 +1,18 @@
 package com.study.product.controller;
 
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.study.common.dto.ApiResponse;
 import com.study.product.dto.ProductDto;
+import com.study.product.dto.ProductFields;
+import com.study.product.dto.ProductSearchMode;
 import com.study.product.service.ProductService;
+import com.study.product.service.ReviewService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -22,6 +28,7 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ReviewService reviewService;
 
     /**
      * 상품 생성
@@ -35,53 +42,92 @@ public class ProductController {
     }
 
     /**
-     * 상품 조회
+     * 상품 조회 (예: /products/{id}?fields=id,name,stockQuantity - 생략하면 전체 필드)
      */
     @GetMapping("/products/{id}")
-    public ApiResponse<ProductDto.Response> getProduct(@PathVariable String id) {
+    public MappingJacksonValue getProduct(
+            @PathVariable String id,
+            @RequestParam(required = false) String fields) {
         log.info("상품 조회 요청: id={}", id);
-        ProductDto.Response response = productService.getProduct(id);
-        return ApiResponse.success(response);
+        ProductFields selected = ProductFields.parse(fields, null);
+        ProductDto.Response response = productService.getProduct(id, selected);
+        return withFields(ApiResponse.success(response), selected);
     }
 
     /**
      * 전체 상품 조회
+     * - 기본 응답은 요약 필드(id, name, price, category, averageRating, reviewCount)
+     * - fields로 필요한 필드 지정 (예: fields=id,name,tags)
      */
     @GetMapping("/products")
-    public ApiResponse<List<ProductDto.Response>> getAllProducts(
+    public MappingJacksonValue getAllProducts(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String tag,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String fields) {
 
+        ProductFields selected = ProductFields.parse(fields, ProductFields.SUMMARY);
         List<ProductDto.Response> products;
 
         if (category != null) {
             log.info("카테고리별 상품 조회: category={}", category);
-            products = productService.getProductsByCategory(category);
+            products = productService.getProductsByCategory(category, selected);
         } else if (tag != null) {
             log.info("태그별 상품 조회: tag={}", tag);
-            products = productService.getProductsByTag(tag);
-        } else if (search != null) {
-            log.info("상품 검색: keyword={}", search);
-            products = productService.searchProducts(search);
+            products = productService.getProductsByTag(tag, selected);
         } else {
             log.info("전체 상품 조회");
-            products = productService.getActiveProducts();
+            products = productService.getActiveProducts(selected);
         }
 
-        return ApiResponse.success(products);
+        return withFields(ApiResponse.success(products), selected);
+    }
+
+    /**
+     * 상품 검색 (예: /products?search=노트북&size=20)
+     * - mode: INDEX(메모리 역색인, 준비되면 기본) / TEXT(텍스트 인덱스 + 관련도 순) / REGEX(부분 문자열 일치, 전체 스캔 - fallback)
+     * - offset/size: 이전 응답의 nextOffset을 다음 요청의 offset으로 전달 (size 기본 20, 최대 100)
+     */
+    @GetMapping(value = "/products", params = "search")
+    public ApiResponse<ProductDto.SearchPage> searchProducts(
+            @RequestParam String search,
+            @RequestParam(required = false) ProductSearchMode mode,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer size) {
+        log.info("상품 검색: keyword={}, mode={}, offset={}, size={}", search, mode, offset, size);
+        ProductDto.SearchPage page = productService.searchProducts(search, mode, offset, size);
+        return ApiResponse.success(page);
+    }
+
+    /**
+     * 검색어 자동완성 (예: /products/autocomplete?prefix=노트)
+     */
+    @GetMapping("/products/autocomplete")
+    public ApiResponse<List<ProductDto.Suggestion>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer size) {
+        return ApiResponse.success(productService.suggest(prefix, size));
+    }
+
+    /**
+     * 메모리 검색 색인 현황 (상품 수, term 수, 상품당 메모리 추정치)
+     */
+    @GetMapping("/products/search-index")
+    public ApiResponse<ProductDto.SearchIndexStats> getSearchIndexStats() {
+        return ApiResponse.success(productService.getSearchIndexStats());
     }
 
     /**
      * 가격 범위로 조회
      */
     @GetMapping("/products/price-range")
-    public ApiResponse<List<ProductDto.Response>> getProductsByPriceRange(
+    public MappingJacksonValue getProductsByPriceRange(
             @RequestParam BigDecimal minPrice,
-            @RequestParam BigDecimal maxPrice) {
+            @RequestParam BigDecimal maxPrice,
+            @RequestParam(required = false) String fields) {
         log.info("가격 범위 조회: {} ~ {}", minPrice, maxPrice);
-        List<ProductDto.Response> products = productService.getProductsByPriceRange(minPrice, maxPrice);
-        return ApiResponse.success(products);
+        ProductFields selected = ProductFields.parse(fields, ProductFields.SUMMARY);
+        List<ProductDto.Response> products = productService.getProductsByPriceRange(minPrice, maxPrice, selected);
+        return withFields(ApiResponse.success(products), selected);
     }
 
     /**
@@ -127,10 +173,23 @@ public class ProductController {
             @PathVariable String id,
             @Valid @RequestBody ProductDto.AddReviewRequest request) {
         log.info("리뷰 추가 요청: productId={}, userId={}", id, request.getUserId());
-        ProductDto.Response response = productService.addReview(id, request);
+        ProductDto.Response response = reviewService.addReview(id, request);
         return ApiResponse.success("리뷰가 추가되었습니다", response);
     }
 
+    /**
+     * 리뷰 목록 (최신순, 커서 페이지)
+     */
+    @GetMapping("/products/{id}/reviews")
+    public ApiResponse<ProductDto.ReviewPage> getReviews(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("리뷰 목록 조회 요청: productId={}, cursor={}", id, cursor);
+        ProductDto.ReviewPage response = reviewService.getReviews(id, cursor, size);
+        return ApiResponse.success(response);
+    }
+
     /**
      * 상품 비활성화
      */
@@ -140,4 +199,16 @@ public class ProductController {
         log.info("상품 비활성화 요청: id={}", id);
         productService.deactivateProduct(id);
     }
+
+    /**
+     * 선택한 필드만 직렬화하도록 응답에 필터 지정 (null이면 전체 필드)
+     */
+    private static MappingJacksonValue withFields(Object body, ProductFields fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (fields != null) {
+            value.setFilters(new SimpleFilterProvider().addFilter(ProductFields.FILTER_ID,
+                    SimpleBeanPropertyFilter.filterOutAllExcept(fields.getResponseFields())));
+        }
+        return value;
+    }
 }
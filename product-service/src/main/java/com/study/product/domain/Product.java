@@ -7,11 +7,14 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Product Document
@@ -20,10 +23,15 @@ import java.util.List;
  * - @Document: MongoDB Collection 매핑
  * - @Id: MongoDB의 ObjectId 자동 생성
  * - @Indexed: 인덱스 생성 (검색 성능 향상)
- * - @TextIndexed: 텍스트 검색용 인덱스
- * - Embedded Document (Review)
+ * - @TextIndexed: 텍스트 검색용 인덱스 (name 가중치 3 → 상품명 일치가 설명 일치보다 높은 점수)
+ *   → language = "none": 형태소/불용어 처리 없이 공백 단위로 색인 (한국어는 MongoDB 기본 언어 처리 대상이 아님)
+ * - @TextScore: $text 검색 시 관련도 점수를 받는 필드 (저장되지 않음)
+ * - Embedded Document (Review) - 최근 몇 건만 내장, 전체 리뷰는 ReviewBucket으로 분리 (Bucket Pattern)
+ *   → 리뷰가 늘어도 상품 문서 크기가 일정하게 유지됨 (16MB 제한, 상품 조회마다 전체 리뷰 전송 방지)
+ * - 평점 집계(reviewCount, ratingSum, ratingHistogram)를 문서에 저장 → 평균 평점은 리뷰를 읽지 않고 O(1)
+ *   → 리뷰 추가 시 $push와 $inc를 한 번의 수정으로 적용 (ProductUpdateRepository)
  */
-@Document(collection = "products")
+@Document(collection = "products", language = "none")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -33,7 +41,7 @@ public class Product {
     @Id
     private String id;  // MongoDB ObjectId (자동 생성)
 
-    @TextIndexed  // 텍스트 검색 가능
+    @TextIndexed(weight = 3)  // 텍스트 검색 가능
     @Indexed
     private String name;
 
@@ -50,10 +58,30 @@ public class Product {
     @Builder.Default
     private List<String> tags = new ArrayList<>();
 
-    // Embedded Document - MongoDB의 특징
+    // Embedded Document - 화면 표시용 최근 리뷰만 유지 (전체 리뷰는 review_buckets 컬렉션)
     @Builder.Default
     private List<Review> reviews = new ArrayList<>();
 
+    // true = 리뷰를 버킷에 저장하는 문서 (없으면 전체 리뷰가 reviews에 남아 있는 이전 문서 → 마이그레이션 대상)
+    private Boolean reviewsBucketed;
+
+    // 마지막으로 발급한 리뷰 순번 ($inc로 발급, 추가에 실패한 순번은 건너뜀 → reviewCount 이상)
+    private Long reviewSequence;
+
+    // 아직 버킷에 들어갔는지 확인되지 않은 리뷰 → 버킷 추가를 확인하면 제거 (ReviewService.reconcileBuckets)
+    @Builder.Default
+    private List<Review> pendingReviews = new ArrayList<>();
+
+    @Builder.Default
+    private Long reviewCount = 0L;
+
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    // 평점("1" ~ "5") → 리뷰 수
+    @Builder.Default
+    private Map<String, Long> ratingHistogram = new HashMap<>();
+
     @Builder.Default
     private Boolean active = true;
 
@@ -63,40 +91,16 @@ public class Product {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
-    /**
-     * 비즈니스 메서드
-     */
-    public void updateInfo(String name, String description, String category,
-                          BigDecimal price, List<String> tags) {
-        this.name = name;
-        this.description = description;
-        this.category = category;
-        this.price = price;
-        this.tags = tags != null ? tags : new ArrayList<>();
-    }
-
-    public void updateStock(Integer quantity) {
-        this.stockQuantity = quantity;
-    }
-
-    public void addReview(Review review) {
-        this.reviews.add(review);
-    }
-
-    public void deactivate() {
-        this.active = false;
-    }
+    @TextScore
+    private Float score;  // 텍스트 검색 결과에서만 채워짐
 
     /**
-     * 평균 평점 계산
+     * 평균 평점 - 저장된 집계로 계산
      */
     public Double getAverageRating() {
-        if (reviews.isEmpty()) {
+        if (reviewCount == null || reviewCount == 0 || ratingSum == null) {
             return 0.0;
         }
-        return reviews.stream()
-                .mapToInt(Review::getRating)
-                .average()
-                .orElse(0.0);
+        return (double) ratingSum / reviewCount;
     }
 }
@@ -15,6 +15,9 @@ import java.time.LocalDateTime;
  * - RDBMS의 OneToMany 관계와 비교
  * - 장점: Join 없이 한 번의 쿼리로 조회 가능
  * - 단점: Document 크기 제한 (16MB)
+ * - 그래서 Product에는 최근 몇 건만 내장하고 전체 리뷰는 ReviewBucket에 N건씩 내장
+ * - sequence: 상품 안에서의 리뷰 순번 (1부터) - 버킷 번호와 버킷 안 정렬 기준, 리뷰 목록 커서
+ *   (순번 도입 전에 저장된 리뷰는 없음)
  */
 @Getter
 @NoArgsConstructor
@@ -22,6 +25,7 @@ import java.time.LocalDateTime;
 @Builder
 public class Review {
 
+    private Long sequence;
     private Long userId;
     private String username;
     private Integer rating;  // 1-5
@@ -29,4 +33,8 @@ public class Review {
 
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    public Review withSequence(long sequence) {
+        return new Review(sequence, userId, username, rating, comment, createdAt);
+    }
 }
@@ -0,0 +1,46 @@
+package com.study.product.domain;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ReviewBucket Document - 상품별 리뷰를 고정 크기 묶음으로 저장 (Bucket Pattern)
+ *
+ * MongoDB 학습 포인트:
+ * - 리뷰 1건 = 문서 1개로 저장하면 문서/인덱스 항목 수가 리뷰 수만큼 늘어남
+ * - 상품 문서에 전부 내장하면 문서가 무한히 커짐 (16MB 제한, 상품 조회마다 전체 리뷰 전송)
+ * - 버킷은 그 중간: N건씩 한 문서에 모아 페이지 조회 시 문서 몇 개만 읽음
+ *
+ * 버킷 번호 = (상품의 리뷰 순번 - 1) / 버킷 크기, _id = "상품ID:버킷 번호"
+ * → 리뷰 추가는 _id로 upsert + $push 한 번 (동시 추가도 같은 버킷 문서에 원자적으로 반영)
+ * 버킷 안의 리뷰는 순번 순서 (오래된 것 → 최신)
+ */
+@Document(collection = "review_buckets")
+@CompoundIndex(name = "product_bucket_idx", def = "{'productId': 1, 'bucketNo': -1}")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class ReviewBucket {
+
+    @Id
+    private String id;
+
+    private String productId;
+
+    private Long bucketNo;
+
+    private Integer count;
+
+    @Builder.Default
+    private List<Review> reviews = new ArrayList<>();
+
+    public static String idOf(String productId, long bucketNo) {
+        return productId + ":" + bucketNo;
+    }
+}
@@ -1,7 +1,9 @@
 package com.study.product.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.study.product.domain.Product;
 import com.study.product.domain.Review;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -13,6 +15,7 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -86,6 +89,7 @@ public class ProductDto {
 
         @NotNull(message = "평점은 필수입니다")
         @Min(value = 1, message = "평점은 1 이상이어야 합니다")
+        @Max(value = 5, message = "평점은 5 이하여야 합니다")
         private Integer rating;
 
         private String comment;
@@ -93,7 +97,9 @@ public class ProductDto {
 
     /**
      * 상품 응답 DTO
+     * - fields 파라미터로 일부 필드만 요청하면 해당 필드만 직렬화 (@JsonFilter, ProductFields)
      */
+    @JsonFilter(ProductFields.FILTER_ID)
     @Getter
     @NoArgsConstructor
     @AllArgsConstructor
@@ -106,8 +112,10 @@ public class ProductDto {
         private BigDecimal price;
         private Integer stockQuantity;
         private List<String> tags;
-        private List<ReviewResponse> reviews;
+        private List<ReviewResponse> reviews;  // 최근 리뷰 (전체 목록은 GET /products/{id}/reviews)
         private Double averageRating;
+        private Long reviewCount;
+        private Map<String, Long> ratingHistogram;
         private Boolean active;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
@@ -121,10 +129,12 @@ public class ProductDto {
                     .price(product.getPrice())
                     .stockQuantity(product.getStockQuantity())
                     .tags(product.getTags())
-                    .reviews(product.getReviews().stream()
+                    .reviews(product.getReviews() == null ? List.of() : product.getReviews().stream()
                             .map(ReviewResponse::from)
                             .collect(Collectors.toList()))
                     .averageRating(product.getAverageRating())
+                    .reviewCount(product.getReviewCount())
+                    .ratingHistogram(product.getRatingHistogram())
                     .active(product.getActive())
                     .createdAt(product.getCreatedAt())
                     .updatedAt(product.getUpdatedAt())
@@ -132,6 +142,110 @@ public class ProductDto {
         }
     }
 
+    /**
+     * 상품 검색 결과 항목 DTO
+     * - 검색 쿼리는 reviews를 읽지 않으므로 리뷰 목록은 담지 않음 (평점은 저장된 집계로 계산, 상세는 GET /products/{id})
+     * - score: 관련도 점수 (INDEX: BM25, TEXT: MongoDB textScore, REGEX: null)
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SearchHit {
+        private String id;
+        private String name;
+        private String description;
+        private String category;
+        private BigDecimal price;
+        private Integer stockQuantity;
+        private List<String> tags;
+        private Double averageRating;
+        private Long reviewCount;
+        private Float score;
+
+        public static SearchHit from(Product product) {
+            return from(product, product.getScore());
+        }
+
+        public static SearchHit from(Product product, Float score) {
+            return SearchHit.builder()
+                    .id(product.getId())
+                    .name(product.getName())
+                    .description(product.getDescription())
+                    .category(product.getCategory())
+                    .price(product.getPrice())
+                    .stockQuantity(product.getStockQuantity())
+                    .tags(product.getTags())
+                    .averageRating(product.getAverageRating())
+                    .reviewCount(product.getReviewCount())
+                    .score(score)
+                    .build();
+        }
+    }
+
+    /**
+     * 상품 검색 페이지 응답 DTO (offset 페이지네이션)
+     * - 관련도 점수는 쿼리마다 계산되는 값이라 Keyset 커서로 이어 읽을 수 없음 → nextOffset을 다음 요청의 offset으로 전달
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SearchPage {
+        private ProductSearchMode mode;
+        private List<SearchHit> items;
+        private int offset;
+        private boolean hasNext;
+        private Integer nextOffset;
+    }
+
+    /**
+     * 자동완성 제안 DTO (count: 해당 어절을 포함한 상품 수)
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Suggestion {
+        private String text;
+        private int count;
+    }
+
+    /**
+     * 메모리 검색 색인 현황 DTO
+     * - estimatedBytes / bytesPerProduct: 포스팅 + term 사전 + 문서 테이블의 추정치
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SearchIndexStats {
+        private boolean ready;
+        private int products;
+        private int deletedProducts;
+        private int words;
+        private int grams;
+        private long postingBytes;
+        private long estimatedBytes;
+        private long bytesPerProduct;
+    }
+
+    /**
+     * 리뷰 목록 페이지 DTO (최신순)
+     * - nextCursor("버킷 번호:위치")를 다음 요청의 cursor로 전달 (Keyset - 페이지가 깊어져도 앞부분을 건너뛰며 읽지 않음)
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ReviewPage {
+        private String productId;
+        private Long totalCount;
+        private List<ReviewResponse> items;
+        private boolean hasNext;
+        private String nextCursor;
+    }
+
     /**
      * 리뷰 응답 DTO
      */
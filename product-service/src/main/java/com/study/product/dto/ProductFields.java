@@ -0,0 +1,89 @@
+package com.study.product.dto;
+
+import com.study.common.exception.BusinessException;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 상품 응답 필드 선택 (Sparse Fieldset, 예: ?fields=id,name,price)
+ *
+ * 학습 포인트:
+ * - 응답 필드(ProductDto.Response 속성) → 읽어야 할 MongoDB 필드로 변환해 Projection에 사용
+ *   → 요청하지 않은 필드(reviews, description 등)는 DB에서 읽지도, 네트워크로 보내지도 않음
+ * - averageRating처럼 계산되는 필드는 계산에 필요한 저장 필드(reviewCount, ratingSum)를 읽음
+ * - 응답 JSON은 ProductDto.Response의 @JsonFilter(FILTER_ID)로 선택한 필드만 직렬화
+ */
+@Getter
+public class ProductFields {
+
+    public static final String FILTER_ID = "productFields";
+
+    // 응답 필드 → MongoDB 필드 (_id는 항상 포함됨)
+    private static final Map<String, List<String>> DOCUMENT_FIELDS = new LinkedHashMap<>();
+
+    static {
+        DOCUMENT_FIELDS.put("id", List.of());
+        DOCUMENT_FIELDS.put("name", List.of("name"));
+        DOCUMENT_FIELDS.put("description", List.of("description"));
+        DOCUMENT_FIELDS.put("category", List.of("category"));
+        DOCUMENT_FIELDS.put("price", List.of("price"));
+        DOCUMENT_FIELDS.put("stockQuantity", List.of("stockQuantity"));
+        DOCUMENT_FIELDS.put("tags", List.of("tags"));
+        DOCUMENT_FIELDS.put("reviews", List.of("reviews"));
+        DOCUMENT_FIELDS.put("averageRating", List.of("reviewCount", "ratingSum"));
+        DOCUMENT_FIELDS.put("reviewCount", List.of("reviewCount"));
+        DOCUMENT_FIELDS.put("ratingHistogram", List.of("ratingHistogram"));
+        DOCUMENT_FIELDS.put("active", List.of("active"));
+        DOCUMENT_FIELDS.put("createdAt", List.of("createdAt"));
+        DOCUMENT_FIELDS.put("updatedAt", List.of("updatedAt"));
+    }
+
+    /**
+     * 목록 화면 기본 필드 (요약) - 리뷰/설명 제외
+     */
+    public static final ProductFields SUMMARY = new ProductFields(
+            "summary", List.of("id", "name", "price", "category", "averageRating", "reviewCount"));
+
+    private final String name;  // 메트릭 태그 (summary / custom)
+    private final Set<String> responseFields;
+    private final Set<String> documentFields;
+
+    private ProductFields(String name, List<String> responseFields) {
+        this.name = name;
+        this.responseFields = Collections.unmodifiableSet(new LinkedHashSet<>(responseFields));
+        Set<String> documentFields = new LinkedHashSet<>();
+        responseFields.forEach(field -> documentFields.addAll(DOCUMENT_FIELDS.get(field)));
+        this.documentFields = Collections.unmodifiableSet(documentFields);
+    }
+
+    /**
+     * fields 파라미터 해석 - 비어 있으면 defaults (null이면 전체 필드)
+     */
+    public static ProductFields parse(String fields, ProductFields defaults) {
+        if (fields == null || fields.isBlank()) {
+            return defaults;
+        }
+        List<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .distinct()
+                .toList();
+        for (String field : requested) {
+            if (!DOCUMENT_FIELDS.containsKey(field)) {
+                throw new BusinessException("지원하지 않는 필드입니다: " + field
+                        + " (사용 가능: " + String.join(",", DOCUMENT_FIELDS.keySet()) + ")", "INVALID_FIELDS");
+            }
+        }
+        if (requested.isEmpty()) {
+            return defaults;
+        }
+        return new ProductFields("custom", requested);
+    }
+}
@@ -0,0 +1,13 @@
+package com.study.product.dto;
+
+/**
+ * 상품 검색 방식
+ * - INDEX: 인스턴스 메모리 역색인 (어절 + 문자 bigram, BM25) - 한국어 부분 일치 가능, 색인이 준비되면 기본
+ * - TEXT: 텍스트 인덱스($text) + 관련도 점수 정렬 (메모리 색인을 쓸 수 없을 때 기본)
+ * - REGEX: name/description 부분 일치 정규식 - 인덱스를 쓰지 못해 컬렉션 전체를 읽음 (텍스트 인덱스로 찾을 수 없는 부분 문자열 검색용)
+ */
+public enum ProductSearchMode {
+    INDEX,
+    TEXT,
+    REGEX
+}
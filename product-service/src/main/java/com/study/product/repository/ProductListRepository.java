@@ -0,0 +1,30 @@
+package com.study.product.repository;
+
+import com.study.product.domain.Product;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 상품 목록/조회 Projection 쿼리 (Spring Data 사용자 정의 Repository 조각)
+ * - ProductRepository가 상속하고, 구현은 ProductListRepositoryImpl
+ * - fields: 읽을 MongoDB 필드 (ProductFields.getDocumentFields()) - 나머지 필드는 조회되지 않아 기본값으로 남음
+ * - 조건은 같은 이름의 Query Method(findByActiveTrue 등)와 동일
+ */
+public interface ProductListRepository {
+
+    List<Product> findActive(Collection<String> fields);
+
+    List<Product> findActiveByCategory(String category, Collection<String> fields);
+
+    List<Product> findByTag(String tag, Collection<String> fields);
+
+    /**
+     * 가격 범위 (경계 제외 - findByPriceBetween과 같은 조건)
+     */
+    List<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Collection<String> fields);
+
+    Optional<Product> findOneWithFields(String id, Collection<String> fields);
+}
@@ -0,0 +1,64 @@
+package com.study.product.repository;
+
+import com.study.product.domain.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 상품 목록/조회 Projection 쿼리 구현 (MongoTemplate)
+ *
+ * 학습 포인트:
+ * - Query Method는 문서 전체(커질 수 있는 reviews, description 포함)를 읽어 엔티티로 변환
+ * - fields().include(...)로 필요한 필드만 요청 → 서버가 나머지를 잘라서 보냄 (전송량/역직렬화 비용 감소)
+ * - _id만 요청해도 빈 Projection(= 전체 필드)이 되지 않도록 _id를 항상 명시
+ */
+@RequiredArgsConstructor
+public class ProductListRepositoryImpl implements ProductListRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Product> findActive(Collection<String> fields) {
+        return find(Criteria.where("active").is(true), fields);
+    }
+
+    @Override
+    public List<Product> findActiveByCategory(String category, Collection<String> fields) {
+        return find(Criteria.where("category").is(category).and("active").is(true), fields);
+    }
+
+    @Override
+    public List<Product> findByTag(String tag, Collection<String> fields) {
+        return find(Criteria.where("tags").is(tag), fields);
+    }
+
+    @Override
+    public List<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Collection<String> fields) {
+        return find(Criteria.where("price").gt(minPrice).lt(maxPrice), fields);
+    }
+
+    @Override
+    public Optional<Product> findOneWithFields(String id, Collection<String> fields) {
+        Query query = new Query(Criteria.where("_id").is(id));
+        project(query, fields);
+        return Optional.ofNullable(mongoTemplate.findOne(query, Product.class));
+    }
+
+    private List<Product> find(Criteria criteria, Collection<String> fields) {
+        Query query = new Query(criteria);
+        project(query, fields);
+        return mongoTemplate.find(query, Product.class);
+    }
+
+    private static void project(Query query, Collection<String> fields) {
+        query.fields().include("_id");
+        fields.forEach(field -> query.fields().include(field));
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.mongodb.repository.Query;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Product Repository
@@ -14,9 +15,12 @@ import java.util.List;
  * - MongoRepository 기본 메서드
  * - Query Methods (메서드 이름 기반 쿼리)
  * - @Query를 통한 MongoDB 쿼리 작성
- * - 텍스트 검색
+ * - 텍스트 검색 (ProductSearchRepository 조각)
+ * - 부분 수정 / 원자적 리뷰 추가 (ProductUpdateRepository 조각)
+ * - 필요한 필드만 읽는 목록/조회 (ProductListRepository 조각)
  */
-public interface ProductRepository extends MongoRepository<Product, String> {
+public interface ProductRepository extends MongoRepository<Product, String>, ProductSearchRepository, ProductUpdateRepository,
+        ProductListRepository {
 
     /**
      * 카테고리별 조회
@@ -48,14 +52,6 @@ public interface ProductRepository extends MongoRepository<Product, String> {
      */
     List<Product> findByTagsContaining(String tag);
 
-    /**
-     * MongoDB Query - 텍스트 검색
-     * name 또는 description에서 검색
-     */
-    @Query("{ $or: [ { 'name': { $regex: ?0, $options: 'i' } }, " +
-           "{ 'description': { $regex: ?0, $options: 'i' } } ] }")
-    List<Product> searchByText(String keyword);
-
     /**
      * MongoDB Query - 복합 조건
      */
@@ -67,4 +63,10 @@ public interface ProductRepository extends MongoRepository<Product, String> {
      */
     @Query("{ 'stockQuantity': { $lte: ?0 }, 'active': true }")
     List<Product> findLowStockProducts(Integer threshold);
+
+    /**
+     * 리뷰가 아직 내장되어 있는 (버킷으로 옮기지 않은) 상품 - id만 커서로 읽음 (사용 후 close 필요)
+     */
+    @Query(value = "{ 'reviewsBucketed': { $ne: true } }", fields = "{ '_id': 1 }")
+    Stream<Product> streamIdsWithEmbeddedReviews();
 }
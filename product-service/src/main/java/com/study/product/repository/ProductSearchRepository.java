@@ -0,0 +1,38 @@
+package com.study.product.repository;
+
+import com.study.product.domain.Product;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 상품 검색 쿼리 (Spring Data 사용자 정의 Repository 조각)
+ * - ProductRepository가 상속하고, 구현은 ProductSearchRepositoryImpl
+ * - 검색 결과에는 reviews를 담지 않음 (Projection으로 제외)
+ */
+public interface ProductSearchRepository {
+
+    /**
+     * 텍스트 인덱스 검색 - 관련도 점수(score) 내림차순, 같은 점수는 _id 순
+     *
+     * @param offset 건너뛸 건수
+     * @param limit  최대 조회 건수
+     */
+    List<Product> searchByText(String keyword, int offset, int limit);
+
+    /**
+     * 정규식 부분 일치 검색 (대소문자 무시, 키워드는 리터럴로 취급) - _id 순
+     */
+    List<Product> searchByRegex(String keyword, int offset, int limit);
+
+    /**
+     * ID 목록으로 검색 결과용 활성 상품 조회 (메모리 색인 검색 결과 로딩, 순서 보장 없음)
+     */
+    List<Product> findAllForSearch(Collection<String> ids);
+
+    /**
+     * 메모리 색인 구축용 - 활성 상품의 id/name/description만 커서로 읽음 (사용 후 close 필요)
+     */
+    Stream<Product> streamActiveForIndex();
+}
@@ -0,0 +1,73 @@
+package com.study.product.repository;
+
+import com.study.product.domain.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 상품 검색 쿼리 구현 (MongoTemplate)
+ *
+ * 학습 포인트:
+ * 1. 앞이 고정되지 않은 $regex는 인덱스를 쓸 수 없어 검색마다 컬렉션 전체를 읽음 (COLLSCAN)
+ * 2. $text는 텍스트 인덱스(Product의 @TextIndexed)에서 단어 단위로 찾음 → 일치한 문서만 읽음 (TEXT_MATCH / IXSCAN)
+ * 3. { $meta: "textScore" }로 관련도 점수를 받아 정렬 (Product.score, @TextScore)
+ * 4. 목록 응답에 필요 없는 reviews(문서에서 가장 커질 수 있는 배열)는 Projection으로 제외 → 전송/역직렬화 비용 감소
+ */
+@RequiredArgsConstructor
+public class ProductSearchRepositoryImpl implements ProductSearchRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Product> searchByText(String keyword, int offset, int limit) {
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(keyword))
+                .sortByScore()
+                .addCriteria(Criteria.where("active").is(true))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .skip(offset)
+                .limit(limit);
+        query.fields().exclude("reviews");
+        return mongoTemplate.find(query, Product.class);
+    }
+
+    @Override
+    public List<Product> searchByRegex(String keyword, int offset, int limit) {
+        // 사용자 입력을 정규식으로 해석하지 않음 (특수문자 오류 / 과도한 백트래킹 방지)
+        Pattern pattern = Pattern.compile(Pattern.quote(keyword), Pattern.CASE_INSENSITIVE);
+        Query query = new Query(new Criteria().andOperator(
+                Criteria.where("active").is(true),
+                new Criteria().orOperator(
+                        Criteria.where("name").regex(pattern),
+                        Criteria.where("description").regex(pattern))))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .skip(offset)
+                .limit(limit);
+        query.fields().exclude("reviews");
+        return mongoTemplate.find(query, Product.class);
+    }
+
+    @Override
+    public List<Product> findAllForSearch(Collection<String> ids) {
+        // 색인은 인스턴스마다 따로 있어 다른 인스턴스에서 비활성화된 상품이 남아 있을 수 있음 → 활성 상품만
+        Query query = new Query(Criteria.where("_id").in(ids).and("active").is(true));
+        query.fields().exclude("reviews");
+        return mongoTemplate.find(query, Product.class);
+    }
+
+    @Override
+    public Stream<Product> streamActiveForIndex() {
+        Query query = new Query(Criteria.where("active").is(true)).cursorBatchSize(1_000);
+        query.fields().include("name", "description");
+        return mongoTemplate.stream(query, Product.class);
+    }
+}
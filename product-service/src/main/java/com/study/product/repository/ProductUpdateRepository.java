@@ -0,0 +1,65 @@
+package com.study.product.repository;
+
+import com.study.product.domain.Product;
+import com.study.product.domain.Review;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상품 부분 수정 (Spring Data 사용자 정의 Repository 조각)
+ * - ProductRepository가 상속하고, 구현은 ProductUpdateRepositoryImpl
+ * - 문서 전체를 save()로 덮어쓰지 않고 바뀐 필드만 서버에서 수정 → 동시에 추가된 리뷰/집계를 덮어쓰지 않음
+ * - 반환값은 수정 후 문서 (상품이 없으면 null)
+ */
+public interface ProductUpdateRepository {
+
+    /**
+     * 리뷰 순번 발급 - reviewSequence를 조건 없이 $inc (findAndModify, 수정 후 값 반환)
+     * - 동시 요청도 서로 다른 순번을 받음 (재시도 없음)
+     * - 리뷰가 버킷으로 옮겨진 상품만 대상
+     *
+     * @return reviewSequence, reviewCount만 채운 수정 후 문서 (상품이 없거나 이전 문서이면 null)
+     */
+    Product allocateReviewSequence(String id);
+
+    /**
+     * reviewSequence를 최소 atLeast로 올림 ($max) - reviewSequence 도입 전 상품의 첫 순번 발급용
+     */
+    void raiseReviewSequence(String id, long atLeast);
+
+    /**
+     * 최근 리뷰 목록 + 버킷 대기 목록(pendingReviews)에 추가하고 평점 집계(reviewCount, ratingSum, ratingHistogram)를 증가
+     * - 한 번의 원자적 수정 → 집계된 리뷰는 항상 대기 목록이나 버킷 중 한 곳에 있음
+     * - 최근 리뷰는 순번 순서로 recentLimit건만 유지 ($push + $sort + $slice)
+     *
+     * @return 수정 후 문서 (상품이 없거나 이전 문서이면 null)
+     */
+    Product pushReview(String id, Review review, int recentLimit);
+
+    /**
+     * 버킷에 들어간 리뷰를 대기 목록에서 제거 ($pull)
+     */
+    void removePendingReview(String id, long sequence);
+
+    Product updateInfo(String id, String name, String description, String category, BigDecimal price, List<String> tags);
+
+    Product updateStock(String id, Integer quantity);
+
+    Product deactivate(String id);
+
+    /**
+     * 평점 집계 필드가 없는 상품의 집계를 reviews 배열로 계산해 채움 (마이그레이션)
+     *
+     * @return 수정된 상품 수
+     */
+    long backfillRatingAggregates();
+
+    /**
+     * 내장 리뷰를 버킷으로 옮긴 뒤 상품 문서를 최근 리뷰만 남기도록 정리
+     * - 내장 리뷰 수가 embeddedCount 그대로이고 아직 옮겨지지 않은 문서만 수정 (그 사이 변경이 있으면 null)
+     */
+    Product completeReviewMigration(String id, int embeddedCount, List<Review> recentReviews,
+                                    long ratingSum, Map<String, Long> ratingHistogram);
+}
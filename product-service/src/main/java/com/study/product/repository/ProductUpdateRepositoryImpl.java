@@ -0,0 +1,144 @@
+package com.study.product.repository;
+
+import com.study.product.domain.Product;
+import com.study.product.domain.Review;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상품 부분 수정 구현 (MongoTemplate findAndModify)
+ *
+ * 학습 포인트:
+ * 1. 조회 → 자바에서 수정 → save()는 두 요청이 같은 문서를 동시에 수정하면 나중 save()가 앞의 변경을 덮어씀 (lost update)
+ * 2. $push / $inc / $set은 서버에서 문서 단위로 원자적으로 적용 → 동시 리뷰가 모두 반영되고 집계도 정확
+ * 3. save()는 문서 전체(커지는 reviews 배열 포함)를 다시 전송/기록하지만 부분 수정은 바뀐 필드만 전송
+ * 4. 부분 수정은 Auditing(@LastModifiedDate)을 거치지 않으므로 updatedAt을 직접 지정
+ * 5. $push + $slice: 배열에 추가하면서 마지막 N개만 남김 → 최근 리뷰 목록 크기 고정
+ * 6. 리뷰 순번은 조건 없는 $inc + 수정 후 값 반환으로 발급 - 조건부 수정(CAS)과 달리 동시 요청이 몰려도 재시도/실패 없음
+ */
+@RequiredArgsConstructor
+public class ProductUpdateRepositoryImpl implements ProductUpdateRepository {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Product allocateReviewSequence(String id) {
+        Query query = new Query(Criteria.where("_id").is(id).and("reviewsBucketed").is(true));
+        query.fields().include("reviewSequence", "reviewCount");
+        return mongoTemplate.findAndModify(query, new Update().inc("reviewSequence", 1L), RETURN_NEW, Product.class);
+    }
+
+    @Override
+    public void raiseReviewSequence(String id, long atLeast) {
+        mongoTemplate.updateFirst(byId(id), new Update().max("reviewSequence", atLeast), Product.class);
+    }
+
+    @Override
+    public Product pushReview(String id, Review review, int recentLimit) {
+        Query query = new Query(Criteria.where("_id").is(id).and("reviewsBucketed").is(true));
+        Update update = new Update()
+                .push("reviews").sort(Sort.by("sequence")).slice(-recentLimit).each(review)
+                .push("pendingReviews", review)
+                .inc("reviewCount", 1)
+                .inc("ratingSum", review.getRating())
+                .inc("ratingHistogram." + review.getRating(), 1)
+                .set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.findAndModify(query, update, RETURN_NEW, Product.class);
+    }
+
+    @Override
+    public void removePendingReview(String id, long sequence) {
+        Update update = new Update().pull("pendingReviews", new Document("sequence", sequence));
+        mongoTemplate.updateFirst(byId(id), update, Product.class);
+    }
+
+    @Override
+    public Product updateInfo(String id, String name, String description, String category,
+                              BigDecimal price, List<String> tags) {
+        Update update = new Update()
+                .set("name", name)
+                .set("description", description)
+                .set("category", category)
+                .set("price", price)
+                .set("tags", tags != null ? tags : new ArrayList<>())
+                .set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.findAndModify(byId(id), update, RETURN_NEW, Product.class);
+    }
+
+    @Override
+    public Product updateStock(String id, Integer quantity) {
+        Update update = new Update()
+                .set("stockQuantity", quantity)
+                .set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.findAndModify(byId(id), update, RETURN_NEW, Product.class);
+    }
+
+    @Override
+    public Product deactivate(String id) {
+        Update update = new Update()
+                .set("active", false)
+                .set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.findAndModify(byId(id), update, RETURN_NEW, Product.class);
+    }
+
+    /**
+     * 파이프라인 업데이트(MongoDB 4.2+) 1회로 서버에서 계산 - 문서를 애플리케이션으로 읽어오지 않음
+     * - reviewCount = reviews 크기, ratingSum = rating 합, ratingHistogram = {"1": n1, ..., "5": n5} (0건인 평점 제외)
+     */
+    @Override
+    public long backfillRatingAggregates() {
+        Document reviews = new Document("$ifNull", List.of("$reviews", List.of()));
+        List<Document> buckets = new ArrayList<>();
+        for (int rating = 1; rating <= 5; rating++) {
+            Document count = new Document("$size", new Document("$filter", new Document("input", reviews)
+                    .append("as", "review")
+                    .append("cond", new Document("$eq", List.of("$$review.rating", rating)))));
+            buckets.add(new Document("k", String.valueOf(rating)).append("v", count));
+        }
+        Document histogram = new Document("$arrayToObject", List.of(new Document("$filter",
+                new Document("input", buckets)
+                        .append("as", "bucket")
+                        .append("cond", new Document("$gt", List.of("$$bucket.v", 0))))));
+
+        Document set = new Document("$set", new Document("reviewCount", new Document("$size", reviews))
+                .append("ratingSum", new Document("$sum", "$reviews.rating"))
+                .append("ratingHistogram", histogram));
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Product.class))
+                .updateMany(new Document("reviewCount", new Document("$exists", false)), List.of(set))
+                .getModifiedCount();
+    }
+
+    @Override
+    public Product completeReviewMigration(String id, int embeddedCount, List<Review> recentReviews,
+                                           long ratingSum, Map<String, Long> ratingHistogram) {
+        Query query = new Query(Criteria.where("_id").is(id)
+                .and("reviewsBucketed").ne(true)
+                .and("reviews").size(embeddedCount));
+        Update update = new Update()
+                .set("reviews", recentReviews)
+                .set("reviewCount", (long) embeddedCount)
+                .set("reviewSequence", (long) embeddedCount)
+                .set("ratingSum", ratingSum)
+                .set("ratingHistogram", ratingHistogram)
+                .set("reviewsBucketed", true);
+        return mongoTemplate.findAndModify(query, update, RETURN_NEW, Product.class);
+    }
+
+    private static Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+}
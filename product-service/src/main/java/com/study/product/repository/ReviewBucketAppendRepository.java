@@ -0,0 +1,23 @@
+package com.study.product.repository;
+
+import com.study.product.domain.Review;
+
+import java.util.List;
+
+/**
+ * 리뷰 버킷 수정 (Spring Data 사용자 정의 Repository 조각)
+ * - ReviewBucketRepository가 상속하고, 구현은 ReviewBucketAppendRepositoryImpl
+ */
+public interface ReviewBucketAppendRepository {
+
+    /**
+     * 버킷에 리뷰 1건 추가 - 버킷이 없으면 생성 (upsert + $push), 버킷 안은 순번 순서
+     * - 같은 순번이 이미 있으면 아무것도 하지 않음 → 재시도/재조정에 안전
+     */
+    void append(String productId, long bucketNo, Review review);
+
+    /**
+     * 버킷 내용을 통째로 지정 (마이그레이션 - 여러 번 실행해도 결과가 같음)
+     */
+    void replace(String productId, long bucketNo, List<Review> reviews);
+}
@@ -0,0 +1,64 @@
+package com.study.product.repository;
+
+import com.study.product.domain.Review;
+import com.study.product.domain.ReviewBucket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+/**
+ * 리뷰 버킷 수정 구현 (MongoTemplate upsert)
+ *
+ * 학습 포인트:
+ * - _id가 "상품ID:버킷 번호"로 정해져 있으므로 동시에 같은 버킷을 만들려 해도 문서는 하나
+ *   (_id 일치 조건의 upsert가 중복 키로 실패하면 MongoDB 4.2+ 서버가 자동으로 재시도)
+ * - $setOnInsert: 버킷을 새로 만들 때만 productId/bucketNo 기록
+ * - $push + $sort(sequence): 동시 추가가 순번과 다른 순서로 도착해도 버킷 안은 순번 순서
+ * - "같은 순번이 없는 버킷" 조건의 upsert → 이미 들어 있으면 같은 _id로 새 문서를 만들려다 중복 키로 실패 (= 이미 추가됨)
+ */
+@RequiredArgsConstructor
+public class ReviewBucketAppendRepositoryImpl implements ReviewBucketAppendRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void append(String productId, long bucketNo, Review review) {
+        Query query = byId(productId, bucketNo).addCriteria(Criteria.where("reviews.sequence").ne(review.getSequence()));
+        Update update = new Update()
+                .setOnInsert("productId", productId)
+                .setOnInsert("bucketNo", bucketNo)
+                .inc("count", 1)
+                .push("reviews").sort(Sort.by("sequence")).each(review);
+        try {
+            mongoTemplate.upsert(query, update, ReviewBucket.class);
+        } catch (DuplicateKeyException e) {
+            // 같은 순번의 리뷰가 이미 버킷에 있음
+        }
+    }
+
+    @Override
+    public void replace(String productId, long bucketNo, List<Review> reviews) {
+        // 이미 더 많은 리뷰가 담긴 버킷(마이그레이션 후 추가된 리뷰 포함)은 덮어쓰지 않음
+        Query query = byId(productId, bucketNo).addCriteria(Criteria.where("count").lte(reviews.size()));
+        Update update = new Update()
+                .setOnInsert("productId", productId)
+                .setOnInsert("bucketNo", bucketNo)
+                .set("reviews", reviews)
+                .set("count", reviews.size());
+        try {
+            mongoTemplate.upsert(query, update, ReviewBucket.class);
+        } catch (DuplicateKeyException e) {
+            // 조건에 맞지 않는 버킷이 이미 있음 → upsert가 같은 _id로 새 문서를 만들려다 실패
+        }
+    }
+
+    private static Query byId(String productId, long bucketNo) {
+        return new Query(Criteria.where("_id").is(ReviewBucket.idOf(productId, bucketNo)));
+    }
+}
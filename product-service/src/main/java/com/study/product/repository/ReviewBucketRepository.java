@@ -0,0 +1,20 @@
+package com.study.product.repository;
+
+import com.study.product.domain.ReviewBucket;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+/**
+ * ReviewBucket Repository
+ * - 버킷 추가/교체는 ReviewBucketAppendRepository 조각 (upsert)
+ */
+public interface ReviewBucketRepository extends MongoRepository<ReviewBucket, String>, ReviewBucketAppendRepository {
+
+    /**
+     * 지정한 버킷 번호 이하의 버킷을 최신 버킷부터 조회 (productId + bucketNo 복합 인덱스 사용)
+     */
+    List<ReviewBucket> findByProductIdAndBucketNoLessThanEqualOrderByBucketNoDesc(String productId, Long bucketNo,
+                                                                                  Pageable pageable);
+}
@@ -0,0 +1,434 @@
+package com.study.product.search;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 메모리 역색인 (term → 압축 포스팅 리스트)
+ *
+ * 학습 포인트:
+ * 1. 문서마다 내부 번호(int)를 붙이고 포스팅은 번호만 저장 → 상품 ID 문자열은 번호 → ID 배열에 한 번만 보관
+ * 2. BM25 점수: idf(term) × tf(k1 + 1) / (tf + k1(1 - b + b × 문서길이 / 평균길이))
+ *    → 드문 term 일치에 큰 점수, 같은 term이 반복될수록 점수 증가폭 감소, 긴 문서는 불리하게 보정
+ * 3. 수정/삭제는 기존 번호를 삭제 표시(tombstone)만 하고 새 번호로 추가 → 포스팅 중간 수정 없음
+ *    → 삭제 표시가 쌓이면 살아 있는 문서로 번호를 다시 매겨 포스팅을 다시 씀(compact) - 추가(수정)와 삭제 모두에서 확인
+ *    → 문서 빈도(IDF)와 자동완성 문서 수는 삭제 표시가 있을 때 살아 있는 문서만 다시 셈
+ * 4. 어절 사전은 정렬된 TreeMap → 접두어 범위 조회로 자동완성
+ *
+ * 동시성: 검색은 읽기 잠금(동시 실행), 추가/삭제는 쓰기 잠금
+ */
+public class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int NAME_WEIGHT = 3;
+    private static final int MAX_SUGGEST_SCAN = 5_000;
+
+    /**
+     * 메모리 추정치 계산용 - 64비트 JVM(compressed oops) 기준 대략적인 객체 크기
+     */
+    private static final int TERM_OVERHEAD_BYTES = 112;
+    private static final int DOCUMENT_OVERHEAD_BYTES = 120;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, PostingList> wordPostings = new TreeMap<>();
+    private final Map<String, PostingList> gramPostings = new HashMap<>();
+    private final Map<String, Integer> docOf = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    private String[] productIds = new String[1024];
+    private int[] lengths = new int[1024];
+    private int nextDoc;
+    private int liveCount;
+    private long totalLength;
+
+    /**
+     * 상품 추가 (같은 ID가 있으면 교체) - 상품명은 가중치 NAME_WEIGHT로 색인
+     */
+    public void add(String productId, String name, String description) {
+        TextAnalyzer.Analyzed analyzed = new TextAnalyzer.Analyzed();
+        TextAnalyzer.analyze(name, NAME_WEIGHT, analyzed);
+        TextAnalyzer.analyze(description, 1, analyzed);
+
+        lock.writeLock().lock();
+        try {
+            if (removeLocked(productId)) {
+                compactIfNeeded();
+            }
+            int doc = nextDoc++;
+            if (doc == productIds.length) {
+                productIds = Arrays.copyOf(productIds, doc * 2);
+                lengths = Arrays.copyOf(lengths, doc * 2);
+            }
+            productIds[doc] = productId;
+            lengths[doc] = analyzed.length;
+            docOf.put(productId, doc);
+            liveCount++;
+            totalLength += analyzed.length;
+            analyzed.words.forEach((term, frequency) ->
+                    wordPostings.computeIfAbsent(term, t -> new PostingList()).add(doc, frequency));
+            analyzed.grams.forEach((term, frequency) ->
+                    gramPostings.computeIfAbsent(term, t -> new PostingList()).add(doc, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 상품 제거 (삭제 표시, 삭제 문서가 살아 있는 문서의 1/4을 넘으면 압축)
+     */
+    public void remove(String productId) {
+        lock.writeLock().lock();
+        try {
+            if (removeLocked(productId)) {
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * BM25 검색 - 점수 내림차순(같은 점수는 먼저 색인된 문서 먼저) offset부터 limit건
+     * - 검색어의 어절/bigram 중 하나라도 포함한 문서가 후보 (OR), 많이 일치할수록 높은 점수
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        TextAnalyzer.Analyzed analyzed = new TextAnalyzer.Analyzed();
+        TextAnalyzer.analyze(query, 1, analyzed);
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0 || analyzed.length == 0) {
+                return new SearchResult(List.of(), 0);
+            }
+            float averageLength = (float) totalLength / liveCount;
+            ScoreAccumulator scores = new ScoreAccumulator();
+            analyzed.words.forEach((term, queryFrequency) ->
+                    accumulate(wordPostings.get(term), queryFrequency, averageLength, scores));
+            analyzed.grams.forEach((term, queryFrequency) ->
+                    accumulate(gramPostings.get(term), queryFrequency, averageLength, scores));
+
+            int wanted = offset + limit;
+            PriorityQueue<long[]> top = new PriorityQueue<>(Math.max(wanted, 1), WORST_FIRST);
+            scores.forEach((doc, score) -> {
+                if (top.size() < wanted) {
+                    top.add(new long[]{doc, Float.floatToIntBits(score)});
+                } else if (wanted > 0 && score >= Float.intBitsToFloat((int) top.peek()[1])) {
+                    // 힙의 최저 점수 이상일 때만 객체 생성 (대부분의 후보는 여기서 걸러짐)
+                    long[] entry = {doc, Float.floatToIntBits(score)};
+                    if (WORST_FIRST.compare(entry, top.peek()) > 0) {
+                        top.poll();
+                        top.add(entry);
+                    }
+                }
+            });
+
+            List<long[]> ranked = new ArrayList<>(top);
+            ranked.sort(WORST_FIRST.reversed());
+            List<Hit> hits = new ArrayList<>(Math.max(ranked.size() - offset, 0));
+            for (int i = offset; i < ranked.size(); i++) {
+                long[] entry = ranked.get(i);
+                hits.add(new Hit(productIds[(int) entry[0]], Float.intBitsToFloat((int) entry[1])));
+            }
+            return new SearchResult(hits, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 접두어 자동완성 - 마지막 어절의 접두어로 시작하는 어절을 문서 수 순으로 제안
+     * - 앞쪽 어절은 그대로 붙여 반환 ("삼성 갤" → "삼성 갤럭시")
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = TextAnalyzer.normalize(prefix).stripLeading();
+        List<String> words = TextAnalyzer.words(normalized);
+        if (words.isEmpty() || !Character.isLetterOrDigit(normalized.codePointBefore(normalized.length()))) {
+            return List.of();
+        }
+        String last = words.get(words.size() - 1);
+        String head = words.size() == 1 ? "" : String.join(" ", words.subList(0, words.size() - 1)) + " ";
+
+        lock.readLock().lock();
+        try {
+            NavigableMap<String, PostingList> range =
+                    wordPostings.subMap(last, true, last + Character.MAX_VALUE, false);
+            PriorityQueue<Suggestion> top = new PriorityQueue<>(SUGGESTION_WORST_FIRST);
+            int scanned = 0;
+            for (Map.Entry<String, PostingList> entry : range.entrySet()) {
+                if (++scanned > MAX_SUGGEST_SCAN) {
+                    break;
+                }
+                PostingList postings = entry.getValue();
+                if (top.size() == limit && limit > 0 && postings.count() < top.peek().getCount()) {
+                    continue;  // 삭제 표시를 빼지 않은 문서 수로도 못 들어감 → 다시 셀 필요 없음
+                }
+                int count = liveCount(postings);
+                if (count == 0) {
+                    continue;  // 비활성화/삭제된 상품에만 있던 어절
+                }
+                top.add(new Suggestion(head + entry.getKey(), count));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Suggestion> suggestions = new ArrayList<>(top);
+            suggestions.sort(SUGGESTION_WORST_FIRST.reversed());
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            long postingBytes = 0;
+            long termBytes = 0;
+            for (Map.Entry<String, PostingList> entry : wordPostings.entrySet()) {
+                postingBytes += entry.getValue().byteSize();
+                termBytes += TERM_OVERHEAD_BYTES + entry.getKey().length() * 2L;
+            }
+            for (Map.Entry<String, PostingList> entry : gramPostings.entrySet()) {
+                postingBytes += entry.getValue().byteSize();
+                termBytes += TERM_OVERHEAD_BYTES + entry.getKey().length() * 2L;
+            }
+            long documentBytes = (long) productIds.length * (4 + 4)
+                    + (long) liveCount * DOCUMENT_OVERHEAD_BYTES
+                    + deleted.size() / 8;
+            long estimated = postingBytes + termBytes + documentBytes;
+            return new Stats(liveCount, deleted.cardinality(), wordPostings.size(), gramPostings.size(),
+                    postingBytes, estimated, liveCount == 0 ? 0 : estimated / liveCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void accumulate(PostingList postings, int queryFrequency, float averageLength, ScoreAccumulator scores) {
+        if (postings == null) {
+            return;
+        }
+        int documentFrequency = liveCount(postings);
+        if (documentFrequency == 0) {
+            return;
+        }
+        float idf = (float) Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        float weight = Math.max(idf, 0.0001f) * queryFrequency;
+        postings.forEach((doc, frequency) -> {
+            if (!deleted.get(doc)) {
+                float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                scores.add(doc, weight * frequency * (K1 + 1) / (frequency + norm));
+            }
+        });
+    }
+
+    /**
+     * 삭제 표시를 제외한 문서 수 (삭제 표시가 없으면 포스팅을 읽지 않음)
+     */
+    private int liveCount(PostingList postings) {
+        if (deleted.isEmpty()) {
+            return postings.count();
+        }
+        int[] live = new int[1];
+        postings.forEach((doc, frequency) -> {
+            if (!deleted.get(doc)) {
+                live[0]++;
+            }
+        });
+        return live[0];
+    }
+
+    /**
+     * 삭제 문서가 1,000개를 넘고 살아 있는 문서의 1/4을 넘으면 압축
+     */
+    private void compactIfNeeded() {
+        int deletedCount = deleted.cardinality();
+        if (deletedCount > 1_000 && deletedCount > liveCount / 4) {
+            compactLocked();
+        }
+    }
+
+    private boolean removeLocked(String productId) {
+        Integer doc = docOf.remove(productId);
+        if (doc == null) {
+            return false;
+        }
+        deleted.set(doc);
+        productIds[doc] = null;
+        liveCount--;
+        totalLength -= lengths[doc];
+        return true;
+    }
+
+    /**
+     * 살아 있는 문서에 0부터 다시 번호를 매기고 포스팅을 다시 씀 (빈 포스팅 term은 제거)
+     */
+    private void compactLocked() {
+        int[] newDocs = new int[nextDoc];
+        String[] newProductIds = new String[Math.max(liveCount * 2, 1024)];
+        int[] newLengths = new int[newProductIds.length];
+        int next = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            if (deleted.get(doc)) {
+                newDocs[doc] = -1;
+                continue;
+            }
+            newDocs[doc] = next;
+            newProductIds[next] = productIds[doc];
+            newLengths[next] = lengths[doc];
+            docOf.put(productIds[doc], next);
+            next++;
+        }
+        remapAll(wordPostings, newDocs);
+        remapAll(gramPostings, newDocs);
+        productIds = newProductIds;
+        lengths = newLengths;
+        nextDoc = next;
+        deleted.clear();
+    }
+
+    private static void remapAll(Map<String, PostingList> postings, int[] newDocs) {
+        postings.replaceAll((term, list) -> list.remap(newDocs));
+        postings.values().removeIf(list -> list.count() == 0);
+    }
+
+    /**
+     * 힙 정렬 기준 - 점수가 낮을수록, 같은 점수면 나중 문서일수록 "나쁨"
+     */
+    private static final Comparator<long[]> WORST_FIRST = (a, b) -> {
+        int byScore = Float.compare(Float.intBitsToFloat((int) a[1]), Float.intBitsToFloat((int) b[1]));
+        return byScore != 0 ? byScore : Long.compare(b[0], a[0]);
+    };
+
+    /**
+     * 자동완성 힙 정렬 기준 - 문서 수가 적을수록, 같으면 사전순으로 뒤일수록 "나쁨"
+     */
+    private static final Comparator<Suggestion> SUGGESTION_WORST_FIRST = Comparator.comparingInt(Suggestion::getCount)
+            .thenComparing(Suggestion::getText, Comparator.reverseOrder());
+
+    /**
+     * 문서 번호 → 점수 누적 (open addressing, 박싱 없음)
+     */
+    private static final class ScoreAccumulator {
+        private int[] keys = new int[64];
+        private float[] values = new float[64];
+        private int size;
+
+        ScoreAccumulator() {
+            Arrays.fill(keys, -1);
+        }
+
+        void add(int doc, float score) {
+            if (size * 2 >= keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int slot = mix(doc) & mask;
+            while (keys[slot] != -1 && keys[slot] != doc) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == -1) {
+                keys[slot] = doc;
+                size++;
+            }
+            values[slot] += score;
+        }
+
+        void forEach(PostingScoreVisitor visitor) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != -1) {
+                    visitor.visit(keys[i], values[i]);
+                }
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            float[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new float[oldKeys.length * 2];
+            Arrays.fill(keys, -1);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != -1) {
+                    add(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int mix(int value) {
+            int h = value * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PostingScoreVisitor {
+        void visit(int doc, float score);
+    }
+
+    /**
+     * 검색 결과 - hits: 요청한 범위의 결과, matched: 검색어 term을 하나라도 포함한 전체 문서 수
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+    public static final class SearchResult {
+        private final List<Hit> hits;
+        private final int matched;
+    }
+
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+    public static final class Hit {
+        private final String productId;
+        private final float score;
+    }
+
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+    public static final class Suggestion {
+        private final String text;
+        private final int count;
+    }
+
+    /**
+     * 색인 현황 - estimatedBytes는 포스팅 + term 사전 + 문서 테이블의 추정치 (JVM 객체 헤더 포함 근사값)
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+    public static final class Stats {
+        private final int documents;
+        private final int deletedDocuments;
+        private final int words;
+        private final int grams;
+        private final long postingBytes;
+        private final long estimatedBytes;
+        private final long bytesPerDocument;
+    }
+}
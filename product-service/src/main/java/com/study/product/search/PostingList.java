@@ -0,0 +1,107 @@
+package com.study.product.search;
+
+import java.util.Arrays;
+
+/**
+ * 압축 포스팅 리스트 - (문서 번호, term 빈도) 목록을 byte 배열 하나에 저장
+ *
+ * 학습 포인트:
+ * 1. 문서 번호는 항상 증가하는 순서로 추가 → 이전 번호와의 차이(delta)만 저장하면 대부분 작은 수
+ * 2. 작은 수는 가변 길이 정수(varint, 7비트씩)로 1~2바이트에 저장 → int[] 두 개(8바이트/항목) 대비 수 배 작음
+ * 3. 객체(Integer, 엔트리)를 만들지 않으므로 GC 부담이 없고 순차 읽기라 캐시 친화적
+ *
+ * 동시성: InvertedIndex의 읽기/쓰기 잠금 안에서만 사용
+ */
+final class PostingList {
+
+    private byte[] data = new byte[8];
+    private int size;
+    private int count;
+    private int lastDoc = -1;
+
+    /**
+     * @param doc 마지막으로 추가한 문서 번호보다 커야 함
+     */
+    void add(int doc, int frequency) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("문서 번호는 증가하는 순서로 추가해야 합니다: last=" + lastDoc + ", doc=" + doc);
+        }
+        ensureCapacity(10);
+        writeVarInt(doc - lastDoc);
+        writeVarInt(frequency);
+        lastDoc = doc;
+        count++;
+    }
+
+    void forEach(Visitor visitor) {
+        int position = 0;
+        int doc = -1;
+        for (int i = 0; i < count; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            int frequency = 0;
+            shift = 0;
+            do {
+                b = data[position++];
+                frequency |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc += delta;
+            visitor.visit(doc, frequency);
+        }
+    }
+
+    /**
+     * 문서 번호를 다시 매긴 새 리스트 (newDocs[doc] < 0이면 제외) - 압축(compaction)용
+     * - newDocs가 증가 함수이므로 순서가 유지됨
+     */
+    PostingList remap(int[] newDocs) {
+        PostingList remapped = new PostingList();
+        forEach((doc, frequency) -> {
+            if (newDocs[doc] >= 0) {
+                remapped.add(newDocs[doc], frequency);
+            }
+        });
+        remapped.trim();
+        return remapped;
+    }
+
+    void trim() {
+        if (data.length > size) {
+            data = Arrays.copyOf(data, Math.max(size, 1));
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    int byteSize() {
+        return data.length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length + (data.length >> 1), size + extra));
+        }
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[size++] = (byte) value;
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(int doc, int frequency);
+    }
+}
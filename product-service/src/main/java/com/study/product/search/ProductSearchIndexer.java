@@ -0,0 +1,154 @@
+package com.study.product.search;
+
+import com.study.product.domain.Product;
+import com.study.product.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 상품 메모리 검색 색인 관리
+ *
+ * 학습 포인트:
+ * 1. 시작 시 활성 상품의 name/description만 커서로 읽어 색인 구축 (reviews 등은 읽지 않음)
+ * 2. 구축 중에 들어온 생성/수정/비활성화는 기록해 두었다가 구축이 끝나면 새 색인에 다시 반영한 뒤 교체
+ *    → 구축 시점의 스냅샷과 그 이후 변경 사이에 누락이 없음
+ * 3. 색인이 준비되기 전에는 isReady() = false → 검색은 텍스트 인덱스(TEXT)로 처리
+ *
+ * 변경 직렬화는 ReentrantLock 사용 (synchronized는 Virtual Thread를 carrier에 고정시킴)
+ *
+ * 색인은 인스턴스 메모리에만 있음 - 다른 인스턴스에서 수정된 상품은 그 인스턴스가 재시작하기 전까지 반영되지 않음
+ */
+@Slf4j
+@Component
+public class ProductSearchIndexer {
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+
+    private final ReentrantLock mutationLock = new ReentrantLock();
+    private volatile InvertedIndex index;
+    private List<Consumer<InvertedIndex>> pending;  // mutationLock으로 보호, 구축 중일 때만 non-null
+
+    public ProductSearchIndexer(ProductRepository productRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${product.search.index.enabled:true}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+
+        Gauge.builder("product.search.index.documents", this, indexer -> indexer.index == null ? 0 : indexer.index.size())
+                .description("메모리 검색 색인에 들어 있는 상품 수")
+                .register(meterRegistry);
+        Gauge.builder("product.search.index.memory", this,
+                        indexer -> indexer.index == null ? 0 : indexer.index.stats().getEstimatedBytes())
+                .description("메모리 검색 색인 크기 추정치")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        mutationLock.lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            mutationLock.unlock();
+        }
+        long startedAt = System.currentTimeMillis();
+        InvertedIndex built = new InvertedIndex();
+        try (Stream<Product> products = productRepository.streamActiveForIndex()) {
+            products.forEach(product -> built.add(product.getId(), product.getName(), product.getDescription()));
+        } catch (RuntimeException e) {
+            mutationLock.lock();
+            try {
+                pending = null;
+            } finally {
+                mutationLock.unlock();
+            }
+            log.error("상품 검색 색인 구축 실패 - 텍스트 인덱스 검색으로 동작", e);
+            return;
+        }
+        mutationLock.lock();
+        try {
+            pending.forEach(mutation -> mutation.accept(built));
+            pending = null;
+            index = built;
+        } finally {
+            mutationLock.unlock();
+        }
+        InvertedIndex.Stats stats = built.stats();
+        log.info("상품 검색 색인 구축 완료: products={}, words={}, grams={}, estimatedBytes={}, bytesPerProduct={}, elapsedMs={}",
+                stats.getDocuments(), stats.getWords(), stats.getGrams(), stats.getEstimatedBytes(),
+                stats.getBytesPerDocument(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * 상품 저장 후 호출 - 활성 상품은 (재)색인, 비활성 상품은 제거
+     */
+    public void index(Product product) {
+        if (Boolean.TRUE.equals(product.getActive())) {
+            mutate(target -> target.add(product.getId(), product.getName(), product.getDescription()));
+        } else {
+            remove(product.getId());
+        }
+    }
+
+    public void remove(String productId) {
+        mutate(target -> target.remove(productId));
+    }
+
+    /**
+     * 준비되지 않았으면 null
+     */
+    public InvertedIndex.SearchResult search(String keyword, int offset, int limit) {
+        InvertedIndex current = index;
+        return current == null ? null : current.search(keyword, offset, limit);
+    }
+
+    public List<InvertedIndex.Suggestion> suggest(String prefix, int limit) {
+        InvertedIndex current = index;
+        return current == null ? List.of() : current.suggest(prefix, limit);
+    }
+
+    /**
+     * 준비되지 않았으면 null
+     */
+    public InvertedIndex.Stats stats() {
+        InvertedIndex current = index;
+        return current == null ? null : current.stats();
+    }
+
+    private void mutate(Consumer<InvertedIndex> mutation) {
+        if (!enabled) {
+            return;
+        }
+        mutationLock.lock();
+        try {
+            if (index != null) {
+                mutation.accept(index);
+            }
+            if (pending != null) {
+                pending.add(mutation);
+            }
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+}
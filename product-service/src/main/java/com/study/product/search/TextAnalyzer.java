@@ -0,0 +1,78 @@
+package com.study.product.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 검색어/문서 분석기 (단어 + 문자 bigram)
+ *
+ * 학습 포인트:
+ * 1. 한국어는 띄어쓰기 단위(어절)에 조사가 붙어 단어 일치만으로는 "노트북을"에서 "노트북"을 찾지 못함
+ *    → 어절을 2글자씩 겹쳐 자른 bigram(노트, 트북, 북을)도 색인하면 형태소 분석기 없이 부분 일치 검색 가능
+ * 2. 어절(공백/기호 기준 토큰)도 그대로 색인 → 단어가 온전히 일치하는 문서가 더 높은 점수, 자동완성 사전으로도 사용
+ * 3. NFKC 정규화 + 소문자 → 전각/반각, 대소문자 차이를 같은 term으로 취급
+ */
+final class TextAnalyzer {
+
+    private TextAnalyzer() {
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 정규화된 텍스트 → 어절 목록 (문자/숫자가 아닌 문자로 분리)
+     */
+    static List<String> words(String normalized) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                words.add(normalized.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start >= 0) {
+            words.add(normalized.substring(start));
+        }
+        return words;
+    }
+
+    /**
+     * 텍스트 분석 결과에 term 빈도를 weight만큼 더함 (필드 가중치)
+     */
+    static void analyze(String text, int weight, Analyzed target) {
+        for (String word : words(normalize(text))) {
+            target.words.merge(word, weight, Integer::sum);
+            target.length += weight;
+            int[] codePoints = word.codePoints().toArray();
+            for (int i = 0; i + 1 < codePoints.length; i++) {
+                target.grams.merge(new String(codePoints, i, 2), weight, Integer::sum);
+                target.length += weight;
+            }
+        }
+    }
+
+    /**
+     * 분석 결과 - term → 빈도, length = 전체 term 수 (BM25 문서 길이)
+     */
+    static final class Analyzed {
+        final Map<String, Integer> words = new HashMap<>();
+        final Map<String, Integer> grams = new HashMap<>();
+        int length;
+    }
+}
@@ -2,15 +2,25 @@ package com.study.product.service;
 
 import com.study.common.exception.BusinessException;
 import com.study.product.domain.Product;
-import com.study.product.domain.Review;
 import com.study.product.dto.ProductDto;
+import com.study.product.dto.ProductFields;
+import com.study.product.dto.ProductSearchMode;
 import com.study.product.repository.ProductRepository;
+import com.study.product.search.InvertedIndex;
+import com.study.product.search.ProductSearchIndexer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -19,7 +29,8 @@ import java.util.stream.Collectors;
  * 학습 포인트:
  * - MongoDB CRUD 연산
  * - Document 수정 방식
- * - 검색 기능 구현
+ * - 검색 기능 구현 (메모리 역색인 → 텍스트 인덱스, 정규식은 명시적 fallback)
+ * - 목록 조회는 Projection으로 필요한 필드만 읽음 (Sparse Fieldset)
  */
 @Slf4j
 @Service
@@ -27,6 +38,13 @@ import java.util.stream.Collectors;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final MeterRegistry meterRegistry;
+    private final ProductSearchIndexer productSearchIndexer;
+
+    private static final int DEFAULT_SEARCH_SIZE = 20;
+    private static final int MAX_SEARCH_SIZE = 100;
+    private static final int MAX_SEARCH_OFFSET = 10_000;
+    private static final int MAX_SUGGESTIONS = 20;
 
     /**
      * 상품 생성
@@ -39,10 +57,12 @@ public class ProductService {
                 .price(request.getPrice())
                 .stockQuantity(request.getStockQuantity())
                 .tags(request.getTags())
+                .reviewsBucketed(true)
                 .active(true)
                 .build();
 
         Product savedProduct = productRepository.save(product);
+        productSearchIndexer.index(savedProduct);
         log.info("상품 생성: id={}, name={}", savedProduct.getId(), savedProduct.getName());
 
         return ProductDto.Response.from(savedProduct);
@@ -50,11 +70,15 @@ public class ProductService {
 
     /**
      * 상품 조회
+     *
+     * @param fields 응답 필드 (null이면 전체 필드)
      */
-    public ProductDto.Response getProduct(String id) {
-        Product product = productRepository.findById(id)
+    public ProductDto.Response getProduct(String id, ProductFields fields) {
+        Optional<Product> product = fields == null
+                ? productRepository.findById(id)
+                : productRepository.findOneWithFields(id, fields.getDocumentFields());
+        return product.map(ProductDto.Response::from)
                 .orElseThrow(() -> new BusinessException("상품을 찾을 수 없습니다", "PRODUCT_NOT_FOUND"));
-        return ProductDto.Response.from(product);
     }
 
     /**
@@ -68,65 +92,177 @@ public class ProductService {
 
     /**
      * 활성 상품 조회
+     * - 목록 조회는 요청한 필드만 MongoDB에서 읽음 (기본: ProductFields.SUMMARY)
      */
-    public List<ProductDto.Response> getActiveProducts() {
-        return productRepository.findByActiveTrue().stream()
-                .map(ProductDto.Response::from)
-                .collect(Collectors.toList());
+    public List<ProductDto.Response> getActiveProducts(ProductFields fields) {
+        return list(fields, () -> productRepository.findActive(fields.getDocumentFields()));
     }
 
     /**
      * 카테고리별 조회
      */
-    public List<ProductDto.Response> getProductsByCategory(String category) {
-        return productRepository.findByCategoryAndActiveTrue(category).stream()
-                .map(ProductDto.Response::from)
-                .collect(Collectors.toList());
+    public List<ProductDto.Response> getProductsByCategory(String category, ProductFields fields) {
+        return list(fields, () -> productRepository.findActiveByCategory(category, fields.getDocumentFields()));
     }
 
     /**
      * 가격 범위로 조회
      */
-    public List<ProductDto.Response> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        return productRepository.findByPriceBetween(minPrice, maxPrice).stream()
+    public List<ProductDto.Response> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, ProductFields fields) {
+        return list(fields, () -> productRepository.findByPriceRange(minPrice, maxPrice, fields.getDocumentFields()));
+    }
+
+    /**
+     * 조회 + 응답 변환 시간을 product.list 메트릭(fields 태그: summary / custom)으로 기록
+     */
+    private List<ProductDto.Response> list(ProductFields fields, Supplier<List<Product>> query) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<ProductDto.Response> products = query.get().stream()
                 .map(ProductDto.Response::from)
                 .collect(Collectors.toList());
+        sample.stop(Timer.builder("product.list")
+                .description("상품 목록 조회 소요 시간")
+                .tag("fields", fields.getName())
+                .register(meterRegistry));
+        return products;
     }
 
     /**
-     * 텍스트 검색
+     * 상품 검색 (offset 페이지네이션)
+     * - INDEX: 메모리 역색인에서 BM25 순위 계산 후 해당 상품만 ID로 조회 (mode 생략 시 색인이 준비되어 있으면 사용)
+     * - TEXT: 텍스트 인덱스에서 찾고 관련도 점수 순으로 정렬
+     * - REGEX: 부분 문자열 일치가 꼭 필요할 때만 사용 (컬렉션 전체 스캔)
+     * - size + 1건을 조회해 다음 페이지 존재 여부 판단
+     * - 검색 방식별 소요 시간은 product.search 메트릭(mode 태그)으로 비교
      */
-    public List<ProductDto.Response> searchProducts(String keyword) {
-        return productRepository.searchByText(keyword).stream()
-                .map(ProductDto.Response::from)
+    public ProductDto.SearchPage searchProducts(String keyword, ProductSearchMode mode, Integer offset, Integer size) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new BusinessException("검색어를 입력해주세요", "INVALID_SEARCH_KEYWORD");
+        }
+        int start = offset != null ? offset : 0;
+        if (start < 0 || start > MAX_SEARCH_OFFSET) {
+            throw new BusinessException("offset은 0 ~ " + MAX_SEARCH_OFFSET + " 범위여야 합니다", "INVALID_SEARCH_OFFSET");
+        }
+        int pageSize = size == null ? DEFAULT_SEARCH_SIZE : Math.max(1, Math.min(size, MAX_SEARCH_SIZE));
+        String trimmed = keyword.trim();
+        ProductSearchMode resolved = resolveMode(mode);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<ProductDto.SearchHit> hits = switch (resolved) {
+            case INDEX -> searchOnIndex(trimmed, start, pageSize + 1);
+            case TEXT -> toHits(productRepository.searchByText(trimmed, start, pageSize + 1));
+            case REGEX -> toHits(productRepository.searchByRegex(trimmed, start, pageSize + 1));
+        };
+        sample.stop(Timer.builder("product.search")
+                .description("상품 검색 소요 시간")
+                .tag("mode", resolved.name())
+                .register(meterRegistry));
+
+        boolean hasNext = hits.size() > pageSize;
+        return ProductDto.SearchPage.builder()
+                .mode(resolved)
+                .items(hasNext ? hits.subList(0, pageSize) : hits)
+                .offset(start)
+                .hasNext(hasNext)
+                .nextOffset(hasNext ? start + pageSize : null)
+                .build();
+    }
+
+    /**
+     * 검색어 자동완성 (메모리 색인의 어절 사전, 색인이 준비되지 않았으면 빈 목록)
+     */
+    public List<ProductDto.Suggestion> suggest(String prefix, Integer size) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        int limit = size == null ? 10 : Math.max(1, Math.min(size, MAX_SUGGESTIONS));
+        return productSearchIndexer.suggest(prefix, limit).stream()
+                .map(suggestion -> new ProductDto.Suggestion(suggestion.getText(), suggestion.getCount()))
                 .collect(Collectors.toList());
     }
 
     /**
-     * 태그로 검색
+     * 메모리 검색 색인 현황 (상품당 메모리 추정치 포함)
      */
-    public List<ProductDto.Response> getProductsByTag(String tag) {
-        return productRepository.findByTagsContaining(tag).stream()
-                .map(ProductDto.Response::from)
+    public ProductDto.SearchIndexStats getSearchIndexStats() {
+        InvertedIndex.Stats stats = productSearchIndexer.stats();
+        if (stats == null) {
+            return ProductDto.SearchIndexStats.builder().ready(false).build();
+        }
+        return ProductDto.SearchIndexStats.builder()
+                .ready(true)
+                .products(stats.getDocuments())
+                .deletedProducts(stats.getDeletedDocuments())
+                .words(stats.getWords())
+                .grams(stats.getGrams())
+                .postingBytes(stats.getPostingBytes())
+                .estimatedBytes(stats.getEstimatedBytes())
+                .bytesPerProduct(stats.getBytesPerDocument())
+                .build();
+    }
+
+    /**
+     * 요청한 방식 결정 - INDEX(또는 생략)인데 색인이 준비되지 않았으면 TEXT
+     */
+    private ProductSearchMode resolveMode(ProductSearchMode mode) {
+        if (mode == null || mode == ProductSearchMode.INDEX) {
+            return productSearchIndexer.isReady() ? ProductSearchMode.INDEX : ProductSearchMode.TEXT;
+        }
+        return mode;
+    }
+
+    /**
+     * 색인에서 순위를 정한 뒤 해당 상품만 한 번에 조회, 색인 순서대로 반환
+     * - 색인 반영 전에 삭제된 상품, 다른 인스턴스에서 비활성화된 상품 등 조회되지 않은 ID는 제외하고 이 인스턴스 색인에서도 제거
+     */
+    private List<ProductDto.SearchHit> searchOnIndex(String keyword, int offset, int limit) {
+        InvertedIndex.SearchResult result = productSearchIndexer.search(keyword, offset, limit);
+        if (result == null || result.getHits().isEmpty()) {
+            return List.of();
+        }
+        Map<String, Product> products = productRepository.findAllForSearch(
+                        result.getHits().stream().map(InvertedIndex.Hit::getProductId).toList()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return result.getHits().stream()
+                .map(hit -> {
+                    Product product = products.get(hit.getProductId());
+                    if (product == null) {
+                        productSearchIndexer.remove(hit.getProductId());
+                        return null;
+                    }
+                    return ProductDto.SearchHit.from(product, hit.getScore());
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private List<ProductDto.SearchHit> toHits(List<Product> products) {
+        return products.stream()
+                .map(ProductDto.SearchHit::from)
                 .collect(Collectors.toList());
     }
 
     /**
-     * 상품 수정
+     * 태그로 검색
      */
-    public ProductDto.Response updateProduct(String id, ProductDto.UpdateRequest request) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new BusinessException("상품을 찾을 수 없습니다", "PRODUCT_NOT_FOUND"));
+    public List<ProductDto.Response> getProductsByTag(String tag, ProductFields fields) {
+        return list(fields, () -> productRepository.findByTag(tag, fields.getDocumentFields()));
+    }
 
-        product.updateInfo(
+    /**
+     * 상품 수정 - 바뀐 필드만 $set (동시에 추가된 리뷰를 덮어쓰지 않음)
+     */
+    public ProductDto.Response updateProduct(String id, ProductDto.UpdateRequest request) {
+        Product updatedProduct = productRepository.updateInfo(id,
                 request.getName(),
                 request.getDescription(),
                 request.getCategory(),
                 request.getPrice(),
-                request.getTags()
-        );
-
-        Product updatedProduct = productRepository.save(product);
+                request.getTags());
+        if (updatedProduct == null) {
+            throw new BusinessException("상품을 찾을 수 없습니다", "PRODUCT_NOT_FOUND");
+        }
+        productSearchIndexer.index(updatedProduct);
         log.info("상품 수정: id={}, name={}", updatedProduct.getId(), updatedProduct.getName());
 
         return ProductDto.Response.from(updatedProduct);
@@ -136,47 +272,23 @@ public class ProductService {
      * 재고 수정
      */
     public ProductDto.Response updateStock(String id, Integer quantity) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new BusinessException("상품을 찾을 수 없습니다", "PRODUCT_NOT_FOUND"));
-
-        product.updateStock(quantity);
-        Product updatedProduct = productRepository.save(product);
+        Product updatedProduct = productRepository.updateStock(id, quantity);
+        if (updatedProduct == null) {
+            throw new BusinessException("상품을 찾을 수 없습니다", "PRODUCT_NOT_FOUND");
+        }
         log.info("재고 수정: id={}, stock={}", updatedProduct.getId(), quantity);
 
         return ProductDto.Response.from(updatedProduct);
     }
 
-    /**
-     * 리뷰 추가
-     */
-    public ProductDto.Response addReview(String id, ProductDto.AddReviewRequest request) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new BusinessException("상품을 찾을 수 없습니다", "PRODUCT_NOT_FOUND"));
-
-        Review review = Review.builder()
-                .userId(request.getUserId())
-                .username(request.getUsername())
-                .rating(request.getRating())
-                .comment(request.getComment())
-                .build();
-
-        product.addReview(review);
-        Product updatedProduct = productRepository.save(product);
-        log.info("리뷰 추가: productId={}, userId={}, rating={}",
-                id, request.getUserId(), request.getRating());
-
-        return ProductDto.Response.from(updatedProduct);
-    }
-
     /**
      * 상품 비활성화
      */
     public void deactivateProduct(String id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new BusinessException("상품을 찾을 수 없습니다", "PRODUCT_NOT_FOUND"));
-
-        product.deactivate();
-        productRepository.save(product);
+        if (productRepository.deactivate(id) == null) {
+            throw new BusinessException("상품을 찾을 수 없습니다", "PRODUCT_NOT_FOUND");
+        }
+        productSearchIndexer.remove(id);
         log.info("상품 비활성화: id={}", id);
     }
 
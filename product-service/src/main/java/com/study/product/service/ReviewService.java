@@ -0,0 +1,306 @@
+package com.study.product.service;
+
+import com.study.common.exception.BusinessException;
+import com.study.product.domain.Product;
+import com.study.product.domain.Review;
+import com.study.product.domain.ReviewBucket;
+import com.study.product.dto.ProductDto;
+import com.study.product.repository.ProductRepository;
+import com.study.product.repository.ReviewBucketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Review Service - 리뷰를 상품 문서 밖의 버킷에 저장 (Bucket Pattern)
+ *
+ * 학습 포인트:
+ * 1. 리뷰 추가 = 순번 발급($inc 1회) → 상품 문서 수정 1회 → 버킷 upsert 1회 → 대기 목록에서 제거
+ *    → 순번은 조건 없는 $inc로 발급하므로 인기 상품에 리뷰가 몰려도 재시도/충돌 없음
+ *    → 순번으로 버킷 번호를 정하고, 버킷 안은 순번 순서 (동시 추가가 다른 순서로 도착해도)
+ * 2. 목록 조회는 Keyset 커서 (마지막으로 받은 리뷰 순번) - 다음 페이지는 그보다 작은 순번
+ * 3. 리뷰가 내장된 이전 상품은 시작 시 일괄 마이그레이션, 그 전에 리뷰가 추가/조회되면 해당 상품만 즉시 마이그레이션
+ *
+ * 두 문서 수정은 하나의 트랜잭션이 아님 (단일 노드 MongoDB는 트랜잭션 미지원)
+ * → 상품 문서 수정이 집계와 함께 리뷰를 대기 목록(pendingReviews)에도 넣고, 버킷 추가가 확인된 뒤에만 대기 목록에서 뺌
+ * → 버킷 추가가 재시도 후에도 실패하면 대기 목록에 남고, 다음 조회 때 버킷에 다시 추가 (같은 순번은 무시되므로 여러 번 해도 안전)
+ * → 최근 리뷰 목록(recentSize건)과 별개이므로 복구 전에 리뷰가 몇 건 더 추가되어도 유실되지 않음
+ * → 순번 발급 후 상품 문서 수정이 실패한 순번은 비어 있는 채로 남음 (커서는 순번 비교라 영향 없음)
+ */
+@Slf4j
+@Service
+public class ReviewService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_APPEND_ATTEMPTS = 3;
+
+    private final ProductRepository productRepository;
+    private final ReviewBucketRepository reviewBucketRepository;
+    private final int bucketSize;
+    private final int recentSize;
+
+    public ReviewService(ProductRepository productRepository,
+                         ReviewBucketRepository reviewBucketRepository,
+                         @Value("${product.reviews.bucket-size:50}") int bucketSize,
+                         @Value("${product.reviews.recent-size:5}") int recentSize) {
+        this.productRepository = productRepository;
+        this.reviewBucketRepository = reviewBucketRepository;
+        this.bucketSize = bucketSize;
+        this.recentSize = recentSize;
+    }
+
+    /**
+     * 리뷰 추가
+     */
+    public ProductDto.Response addReview(String productId, ProductDto.AddReviewRequest request) {
+        Review review = Review.builder()
+                .userId(request.getUserId())
+                .username(request.getUsername())
+                .rating(request.getRating())
+                .comment(request.getComment())
+                .build();
+
+        Review sequenced = review.withSequence(allocateSequence(productId));
+        Product updatedProduct = productRepository.pushReview(productId, sequenced, recentSize);
+        if (updatedProduct == null) {
+            throw new BusinessException("상품을 찾을 수 없습니다", "PRODUCT_NOT_FOUND");
+        }
+        if (appendToBucket(productId, sequenced)) {
+            removePending(productId, sequenced.getSequence());
+        }
+        log.info("리뷰 추가: productId={}, userId={}, rating={}, sequence={}",
+                productId, request.getUserId(), request.getRating(), sequenced.getSequence());
+        return ProductDto.Response.from(updatedProduct);
+    }
+
+    /**
+     * 리뷰 순번 발급 (리뷰가 내장된 이전 상품은 먼저 마이그레이션)
+     * - reviewSequence가 없던 상품은 $inc 결과가 기존 순번과 겹침 → 기존 리뷰 수까지 올린 뒤 한 번 더 발급
+     */
+    private long allocateSequence(String productId) {
+        Product allocated = productRepository.allocateReviewSequence(productId);
+        if (allocated == null) {
+            migrate(findProduct(productId));
+            allocated = productRepository.allocateReviewSequence(productId);
+            if (allocated == null) {
+                throw new BusinessException("리뷰 저장소를 전환하는 중입니다. 잠시 후 다시 시도해주세요", "REVIEW_MIGRATION_IN_PROGRESS");
+            }
+        }
+        long reviewCount = allocated.getReviewCount() != null ? allocated.getReviewCount() : 0L;
+        if (allocated.getReviewSequence() <= reviewCount) {
+            productRepository.raiseReviewSequence(productId, reviewCount);
+            allocated = productRepository.allocateReviewSequence(productId);
+        }
+        return allocated.getReviewSequence();
+    }
+
+    /**
+     * 리뷰 목록 (최신순)
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     */
+    public ProductDto.ReviewPage getReviews(String productId, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long cursorSequence = parseCursor(cursor);
+
+        Product product = findProduct(productId);
+        if (!Boolean.TRUE.equals(product.getReviewsBucketed())) {
+            migrate(product);
+            product = findProduct(productId);
+        }
+        if (product.getPendingReviews() != null && !product.getPendingReviews().isEmpty()) {
+            reconcileBuckets(product);
+        }
+
+        // 한 건 더 읽어 다음 페이지 여부 판단
+        List<Review> reviews = new ArrayList<>(pageSize + 1);
+        String nextCursor = null;
+        int batch = pageSize / bucketSize + 2;
+        long upperBucket = cursorSequence == Long.MAX_VALUE ? Long.MAX_VALUE : bucketNoOf(cursorSequence - 1);
+        long lastSequence = cursorSequence;
+        scan:
+        while (upperBucket >= 0) {
+            List<ReviewBucket> buckets = reviewBucketRepository.findByProductIdAndBucketNoLessThanEqualOrderByBucketNoDesc(
+                    productId, upperBucket, PageRequest.of(0, batch));
+            for (ReviewBucket bucket : buckets) {
+                List<Review> bucketReviews = bucket.getReviews() != null ? bucket.getReviews() : List.of();
+                for (int i = bucketReviews.size() - 1; i >= 0; i--) {
+                    long sequence = sequenceOf(bucket, i);
+                    if (sequence >= cursorSequence) {
+                        continue;
+                    }
+                    if (reviews.size() == pageSize) {
+                        nextCursor = String.valueOf(lastSequence);
+                        break scan;
+                    }
+                    reviews.add(bucketReviews.get(i));
+                    lastSequence = sequence;
+                }
+            }
+            if (buckets.size() < batch) {
+                break;
+            }
+            upperBucket = buckets.get(buckets.size() - 1).getBucketNo() - 1;
+        }
+
+        return ProductDto.ReviewPage.builder()
+                .productId(productId)
+                .totalCount(product.getReviewCount())
+                .items(reviews.stream().map(ProductDto.ReviewResponse::from).toList())
+                .hasNext(nextCursor != null)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * 대기 목록의 리뷰를 버킷에 다시 추가하고 대기 목록에서 제거 (이미 있는 순번은 무시)
+     * - 실패하면 남은 리뷰는 대기 목록에 그대로 → 다음 조회 때 다시 시도
+     * - 지금 추가 중인 다른 요청의 리뷰가 섞여 있어도 같은 순번은 한 번만 들어가므로 안전
+     */
+    private void reconcileBuckets(Product product) {
+        for (Review review : product.getPendingReviews()) {
+            try {
+                reviewBucketRepository.append(product.getId(), bucketNoOf(review.getSequence()), review);
+            } catch (DataAccessException e) {
+                log.warn("리뷰 버킷 복구 실패 - 다음 조회 때 다시 시도: productId={}, sequence={}",
+                        product.getId(), review.getSequence(), e);
+                return;
+            }
+            removePending(product.getId(), review.getSequence());
+        }
+        log.info("리뷰 버킷 복구: productId={}, reviews={}", product.getId(), product.getPendingReviews().size());
+    }
+
+    /**
+     * 리뷰가 내장된 이전 상품을 모두 버킷으로 옮김 (여러 번 실행해도 결과가 같음)
+     *
+     * @return 옮긴 상품 수
+     */
+    public long migrateEmbeddedReviews() {
+        long migrated = 0;
+        try (Stream<Product> products = productRepository.streamIdsWithEmbeddedReviews()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                // 상품 하나씩 전체 리뷰를 읽음 → 메모리에는 한 상품의 리뷰만
+                Product product = productRepository.findById(iterator.next().getId()).orElse(null);
+                if (product != null && migrate(product)) {
+                    migrated++;
+                }
+            }
+        }
+        return migrated;
+    }
+
+    /**
+     * 내장 리뷰에 순번(1부터)을 붙여 순서대로 버킷에 나눠 담고, 상품 문서에는 최근 리뷰만 남김
+     * - 버킷을 먼저 쓰고 상품 문서를 나중에 바꾸므로 중간에 실패해도 리뷰는 유실되지 않음 (다음 실행 때 다시 시도)
+     */
+    private boolean migrate(Product product) {
+        if (Boolean.TRUE.equals(product.getReviewsBucketed())) {
+            return false;
+        }
+        List<Review> embedded = product.getReviews() != null ? product.getReviews() : List.of();
+        List<Review> reviews = new ArrayList<>(embedded.size());
+        for (int i = 0; i < embedded.size(); i++) {
+            reviews.add(embedded.get(i).withSequence(i + 1));
+        }
+        for (int from = 0; from < reviews.size(); from += bucketSize) {
+            List<Review> chunk = List.copyOf(reviews.subList(from, Math.min(from + bucketSize, reviews.size())));
+            reviewBucketRepository.replace(product.getId(), from / bucketSize, chunk);
+        }
+
+        long ratingSum = 0;
+        Map<String, Long> histogram = new HashMap<>();
+        for (Review review : reviews) {
+            if (review.getRating() != null) {
+                ratingSum += review.getRating();
+                histogram.merge(String.valueOf(review.getRating()), 1L, Long::sum);
+            }
+        }
+        List<Review> recent = List.copyOf(reviews.subList(Math.max(0, reviews.size() - recentSize), reviews.size()));
+
+        if (productRepository.completeReviewMigration(product.getId(), reviews.size(), recent, ratingSum, histogram) == null) {
+            log.warn("리뷰 마이그레이션 중 상품이 변경됨 - 다음 실행 때 다시 시도: productId={}", product.getId());
+            return false;
+        }
+        log.info("리뷰 버킷 마이그레이션: productId={}, reviews={}, buckets={}",
+                product.getId(), reviews.size(), (reviews.size() + bucketSize - 1) / bucketSize);
+        return true;
+    }
+
+    private Product findProduct(String productId) {
+        return productRepository.findById(productId)
+                .orElseThrow(() -> new BusinessException("상품을 찾을 수 없습니다", "PRODUCT_NOT_FOUND"));
+    }
+
+    /**
+     * 버킷 추가 (재시도 포함) - 끝내 실패하면 리뷰는 대기 목록에 남아 다음 조회 때 복구
+     *
+     * @return 버킷에 추가되었는지
+     */
+    private boolean appendToBucket(String productId, Review review) {
+        long bucketNo = bucketNoOf(review.getSequence());
+        for (int attempt = 1; attempt <= MAX_APPEND_ATTEMPTS; attempt++) {
+            try {
+                reviewBucketRepository.append(productId, bucketNo, review);
+                return true;
+            } catch (DataAccessException e) {
+                log.warn("리뷰 버킷 추가 실패 ({}/{}): productId={}, sequence={}",
+                        attempt, MAX_APPEND_ATTEMPTS, productId, review.getSequence(), e);
+            }
+        }
+        log.error("리뷰 버킷 추가 포기 - 다음 조회 때 복구: productId={}, sequence={}", productId, review.getSequence());
+        return false;
+    }
+
+    /**
+     * 대기 목록에서 제거 - 실패해도 다음 조회 때 버킷 추가(무시됨) 후 다시 제거하므로 경고만 남김
+     */
+    private void removePending(String productId, long sequence) {
+        try {
+            productRepository.removePendingReview(productId, sequence);
+        } catch (DataAccessException e) {
+            log.warn("리뷰 대기 목록 정리 실패 - 다음 조회 때 다시 시도: productId={}, sequence={}", productId, sequence, e);
+        }
+    }
+
+    /**
+     * 커서 = 이전 페이지 마지막 리뷰의 순번 (이전 형식 "버킷 번호:버킷 내 위치"도 순번으로 바꿔 받음)
+     */
+    private long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            String[] parts = cursor.split(":");
+            if (parts.length == 2) {
+                return Long.parseLong(parts[0]) * bucketSize + Integer.parseInt(parts[1]) + 1;
+            }
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("잘못된 리뷰 커서입니다", "INVALID_REVIEW_CURSOR");
+        }
+    }
+
+    /**
+     * 순번이 없는 리뷰(순번 도입 전에 버킷에 저장된 리뷰)는 버킷 안 위치로 계산
+     */
+    private long sequenceOf(ReviewBucket bucket, int index) {
+        Long sequence = bucket.getReviews().get(index).getSequence();
+        return sequence != null ? sequence : bucket.getBucketNo() * bucketSize + index + 1;
+    }
+
+    private long bucketNoOf(long sequence) {
+        return (sequence - 1) / bucketSize;
+    }
+}
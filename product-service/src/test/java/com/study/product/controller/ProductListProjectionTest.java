@@ -0,0 +1,182 @@
+package com.study.product.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.study.product.domain.Product;
+import com.study.product.domain.Review;
+import com.study.product.repository.ProductListRepositoryImpl;
+import com.study.product.repository.ProductRepository;
+import com.study.product.search.ProductSearchIndexer;
+import com.study.product.service.ProductService;
+import com.study.product.service.ReviewService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 목록 응답 Projection 확인
+ * - MongoTemplate은 mock: 실제 매핑 변환기로 문서를 만들고 Projection에 없는 필드를 잘라서 돌려줌 (서버 Projection 흉내)
+ */
+class ProductListProjectionTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductListProjectionTest.class);
+
+    private static final int PRODUCTS = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .setFilterProvider(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+
+    private MappingMongoConverter converter;
+    private MongoTemplate mongoTemplate;
+    private ProductController productController;
+    private final List<Product> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.find(any(Query.class), eq(Product.class)))
+                .thenAnswer(invocation -> stored.stream().map(product -> project(product, invocation.getArgument(0))).toList());
+        ProductListRepositoryImpl listRepository = new ProductListRepositoryImpl(mongoTemplate);
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findActive(anyCollection()))
+                .thenAnswer(invocation -> listRepository.findActive(invocation.getArgument(0)));
+        when(productRepository.findById(any()))
+                .thenAnswer(invocation -> stored.stream()
+                        .filter(product -> product.getId().equals(invocation.getArgument(0)))
+                        .findFirst());
+
+        ProductService productService = new ProductService(productRepository, new SimpleMeterRegistry(),
+                mock(ProductSearchIndexer.class));
+        productController = new ProductController(productService, mock(ReviewService.class));
+
+        for (int i = 0; i < PRODUCTS; i++) {
+            stored.add(fullProduct("p" + i));
+        }
+    }
+
+    @Test
+    void 기본_목록_조회는_리뷰와_설명을_DB에서_읽지_않는다() {
+        productController.getAllProducts(null, null, null);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Product.class));
+        assertThat(query.getValue().getFieldsObject().keySet())
+                .containsExactlyInAnyOrder("_id", "name", "price", "category", "reviewCount", "ratingSum")
+                .doesNotContain("reviews", "description");
+    }
+
+    @Test
+    void 기본_목록_응답에는_리뷰와_설명이_없고_크기가_줄어든다() throws Exception {
+        JsonNode summary = objectMapper.readTree(write(productController.getAllProducts(null, null, null)));
+        JsonNode first = summary.get("data").get(0);
+
+        assertThat(summary.get("data")).hasSize(PRODUCTS);
+        assertThat(first.has("reviews")).isFalse();
+        assertThat(first.has("description")).isFalse();
+        assertThat(first.get("averageRating").asDouble()).isEqualTo(4.0);
+        assertThat(first.get("reviewCount").asLong()).isEqualTo(5L);
+
+        // 같은 상품의 전체 필드 응답 (GET /products/{id}, fields 생략)
+        int fullBytes = write(productController.getProduct("p0", null)).length;
+        int summaryBytes = objectMapper.writeValueAsBytes(summary.get("data").get(0)).length;
+        int listBytes = write(productController.getAllProducts(null, null, null)).length;
+        log.info("상품 1건 응답: 전체 {}B → 요약 {}B ({}%), 목록 {}건: {}B (전체 필드였다면 약 {}B)",
+                fullBytes, summaryBytes, summaryBytes * 100 / fullBytes, PRODUCTS, listBytes, fullBytes * PRODUCTS);
+
+        assertThat(summaryBytes).isLessThan(fullBytes / 5);
+    }
+
+    @Test
+    void 필드를_지정하면_지정한_필드만_읽고_응답한다() throws Exception {
+        JsonNode body = objectMapper.readTree(write(productController.getAllProducts(null, null, "id,name")));
+
+        assertThat(body.get("data").get(0).properties()).extracting(Map.Entry::getKey)
+                .containsExactlyInAnyOrder("id", "name");
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Product.class));
+        assertThat(query.getValue().getFieldsObject().keySet()).containsExactlyInAnyOrder("_id", "name");
+    }
+
+    private byte[] write(MappingJacksonValue value) throws Exception {
+        return value.getFilters() == null
+                ? objectMapper.writeValueAsBytes(value.getValue())
+                : objectMapper.writer(value.getFilters()).writeValueAsBytes(value.getValue());
+    }
+
+    /**
+     * 문서로 변환 → Projection에 포함된 필드만 남김 → 다시 엔티티로 변환
+     */
+    private Product project(Product product, Query query) {
+        Document document = new Document();
+        converter.write(product, document);
+        Document fields = query.getFieldsObject();
+        if (!fields.isEmpty()) {
+            document.keySet().retainAll(fields.keySet());
+        }
+        return converter.read(Product.class, document);
+    }
+
+    private static Product fullProduct(String id) {
+        List<Review> reviews = new ArrayList<>();
+        for (long seq = 1; seq <= 5; seq++) {
+            reviews.add(Review.builder().sequence(seq).userId(seq).username("user" + seq).rating(4)
+                    .comment("배송이 빠르고 포장이 꼼꼼했습니다. 다음에도 구매할게요.")
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 12, 0)).build());
+        }
+        return Product.builder()
+                .id(id)
+                .name("삼성 가벼운 노트북 X0417")
+                .description("가".repeat(300))
+                .category("노트북")
+                .price(new BigDecimal("1290000"))
+                .stockQuantity(10)
+                .tags(List.of("노트북", "사무용", "경량"))
+                .reviews(reviews)
+                .reviewsBucketed(true)
+                .reviewSequence(5L)
+                .reviewCount(5L)
+                .ratingSum(20L)
+                .ratingHistogram(Map.of("4", 5L))
+                .active(true)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 2, 0, 0))
+                .build();
+    }
+}
@@ -0,0 +1,227 @@
+package com.study.product.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.study.product.domain.Product;
+import com.study.product.search.InvertedIndex;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntSupplier;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 대량 카탈로그 검색 지연 시간 비교 (기본 실행에서는 건너뜀)
+ *
+ * 학습 포인트:
+ * - 같은 시드로 만든 카탈로그(기본 100만 건)에 검색 방식별로 같은 키워드를 반복 실행해 p50/p99 비교
+ * - TEXT는 일치한 문서만 읽지만 점수 정렬을 위해 일치 문서를 전부 평가 → 흔한 키워드일수록 느려짐
+ * - REGEX는 _id 순으로 읽다가 limit만큼 찾으면 멈춤 → 흔한 키워드는 빠르고, 드문 키워드는 컬렉션 전체를 읽음
+ * - 읽은 문서 수는 explain()의 executionStats.totalDocsExamined로 함께 기록
+ *
+ * 실행:
+ *   ./gradlew :product-service:test --tests '*ProductSearchLatencyTest' -Dsearch.benchmark=true \
+ *       -Dsearch.benchmark.mongo-uri=mongodb://localhost:27017 [-Dsearch.benchmark.size=1000000]
+ * - mongo-uri가 없으면 메모리 색인(INDEX)과 전체 스캔 비교만 실행
+ * - 카탈로그는 product_search_benchmark DB에 만들고, 건수가 같으면 다시 만들지 않음
+ */
+@EnabledIfSystemProperty(named = "search.benchmark", matches = "true")
+class ProductSearchLatencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchLatencyTest.class);
+
+    private static final int SIZE = Integer.getInteger("search.benchmark.size", 1_000_000);
+    private static final String MONGO_URI = System.getProperty("search.benchmark.mongo-uri");
+    private static final int RUNS = 30;
+    private static final int PAGE_SIZE = 20;
+
+    // 흔한 키워드(카테고리 단어, 약 5%), 드문 키워드(모델명, 약 0.1%), 없는 키워드
+    private static final List<String> KEYWORDS = List.of("노트북", "X0417", "없는상품");
+
+    private static final String[] BRANDS = {"삼성", "엘지", "애플", "레노버", "에이수스", "소니", "로지텍", "한성"};
+    private static final String[] ADJECTIVES = {"가벼운", "무선", "게이밍", "슬림", "프리미엄", "휴대용", "조용한", "고성능"};
+    private static final String[] CATEGORIES = {"노트북", "마우스", "키보드", "모니터", "헤드셋", "스피커", "태블릿", "충전기",
+            "웹캠", "공유기", "외장하드", "메모리", "그래픽카드", "케이스", "파워", "쿨러", "의자", "책상", "조명", "거치대"};
+    private static final String[] PHRASES = {"매일 쓰기 좋은", "선물용으로 인기 있는", "사무실에서 쓰는", "오래 쓰는",
+            "가성비 좋은", "디자인이 깔끔한", "배송이 빠른", "설치가 쉬운"};
+
+    private static MongoClient mongoClient;
+
+    @AfterAll
+    static void tearDown() {
+        if (mongoClient != null) {
+            mongoClient.close();
+        }
+    }
+
+    @Test
+    void 텍스트_인덱스와_정규식_검색의_지연_시간을_비교한다() {
+        assumeTrue(MONGO_URI != null, "search.benchmark.mongo-uri 미지정");
+        mongoClient = MongoClients.create(MONGO_URI);
+        MongoTemplate mongoTemplate = new MongoTemplate(mongoClient, "product_search_benchmark");
+        seed(mongoTemplate);
+        ProductSearchRepositoryImpl repository = new ProductSearchRepositoryImpl(mongoTemplate);
+
+        log.info("| 키워드 | 방식 | p50 | p99 | 읽은 문서 | 결과 |");
+        for (String keyword : KEYWORDS) {
+            long textDocs = docsExamined(mongoTemplate, new Document("$text", new Document("$search", keyword)));
+            long regexDocs = docsExamined(mongoTemplate, new Document("$or", List.of(
+                    new Document("name", regex(keyword)), new Document("description", regex(keyword)))));
+
+            report(keyword, "TEXT", textDocs, () -> repository.searchByText(keyword, 0, PAGE_SIZE).size());
+            report(keyword, "REGEX", regexDocs, () -> repository.searchByRegex(keyword, 0, PAGE_SIZE).size());
+
+            if (!keyword.equals("노트북")) {
+                // 드문/없는 키워드: 정규식은 limit만큼 찾을 때까지(없으면 컬렉션 끝까지) 읽고, 텍스트 인덱스는 일치 문서만 읽음
+                assertThat(textDocs).isLessThan(regexDocs);
+            }
+        }
+    }
+
+    @Test
+    void 메모리_색인과_전체_스캔의_지연_시간을_비교한다() {
+        String[] names = new String[SIZE];
+        String[] descriptions = new String[SIZE];
+        InvertedIndex index = new InvertedIndex();
+        generate((i, product) -> {
+            names[i] = product.getName();
+            descriptions[i] = product.getDescription();
+            index.add(product.getId(), product.getName(), product.getDescription());
+        });
+
+        log.info("| 키워드 | 방식 | p50 | p99 | 읽은 문서 | 결과 |");
+        for (String keyword : KEYWORDS) {
+            Pattern pattern = Pattern.compile(Pattern.quote(keyword), Pattern.CASE_INSENSITIVE);
+            report(keyword, "INDEX", index.search(keyword, 0, PAGE_SIZE).getMatched(),
+                    () -> index.search(keyword, 0, PAGE_SIZE).getHits().size());
+            report(keyword, "SCAN", scanned(names, descriptions, pattern),
+                    () -> scan(names, descriptions, pattern).size());
+        }
+    }
+
+    // ===== 카탈로그 =====
+
+    private interface ProductSink {
+        void accept(int index, Product product);
+    }
+
+    private static void generate(ProductSink sink) {
+        Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            String model = String.format("X%04d", random.nextInt(1_000));
+            String name = BRANDS[random.nextInt(BRANDS.length)] + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)]
+                    + " " + category + " " + model;
+            String description = PHRASES[random.nextInt(PHRASES.length)] + " " + category + " "
+                    + PHRASES[random.nextInt(PHRASES.length)] + " 제품";
+            sink.accept(i, Product.builder()
+                    .id(String.format("p%07d", i))
+                    .name(name)
+                    .description(description)
+                    .category(category)
+                    .price(BigDecimal.valueOf(10_000L + random.nextInt(1_000_000)))
+                    .stockQuantity(random.nextInt(100))
+                    .reviewsBucketed(true)
+                    .reviewSequence(0L)
+                    .build());
+        }
+    }
+
+    private static void seed(MongoTemplate mongoTemplate) {
+        IndexOperations indexOps = mongoTemplate.indexOps(Product.class);
+        MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        new MongoPersistentEntityIndexResolver(mappingContext).resolveIndexFor(Product.class)
+                .forEach(indexOps::ensureIndex);
+
+        if (mongoTemplate.getCollection("products").estimatedDocumentCount() == SIZE) {
+            return;
+        }
+        mongoTemplate.getCollection("products").deleteMany(new Document());
+        List<Product> batch = new ArrayList<>(10_000);
+        generate((i, product) -> {
+            batch.add(product);
+            if (batch.size() == 10_000) {
+                mongoTemplate.insert(batch, Product.class);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, Product.class);
+        }
+    }
+
+    // ===== 측정 =====
+
+    private static void report(String keyword, String mode, long docsExamined, IntSupplier search) {
+        int results = 0;
+        for (int run = 0; run < 5; run++) {
+            results = search.getAsInt();  // 워밍업 (JIT, 인덱스/캐시 적재)
+        }
+        long[] nanos = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            search.getAsInt();
+            nanos[run] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        log.info("| {} | {} | {} ms | {} ms | {} | {} |", keyword, mode,
+                String.format("%.2f", nanos[RUNS / 2] / 1_000_000.0),
+                String.format("%.2f", nanos[(int) Math.ceil(RUNS * 0.99) - 1] / 1_000_000.0),
+                docsExamined, results);
+    }
+
+    private static long docsExamined(MongoTemplate mongoTemplate, Document filter) {
+        Document command = new Document("explain", new Document("find", "products")
+                .append("filter", new Document("$and", List.of(filter, new Document("active", true))))
+                .append("sort", new Document("_id", 1))
+                .append("limit", PAGE_SIZE))
+                .append("verbosity", "executionStats");
+        Document stats = mongoTemplate.getDb().runCommand(command).get("executionStats", Document.class);
+        return ((Number) stats.get("totalDocsExamined")).longValue();
+    }
+
+    private static Document regex(String keyword) {
+        return new Document("$regex", Pattern.quote(keyword)).append("$options", "i");
+    }
+
+    /**
+     * _id 순 정규식 검색을 메모리에서 흉내 - limit만큼 찾으면 멈춤
+     */
+    private static List<Integer> scan(String[] names, String[] descriptions, Pattern pattern) {
+        List<Integer> hits = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < names.length && hits.size() < PAGE_SIZE; i++) {
+            if (pattern.matcher(names[i]).find() || pattern.matcher(descriptions[i]).find()) {
+                hits.add(i);
+            }
+        }
+        return hits;
+    }
+
+    private static long scanned(String[] names, String[] descriptions, Pattern pattern) {
+        int found = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (pattern.matcher(names[i]).find() || pattern.matcher(descriptions[i]).find()) {
+                if (++found == PAGE_SIZE) {
+                    return i + 1;
+                }
+            }
+        }
+        return names.length;
+    }
+}
@@ -0,0 +1,86 @@
+package com.study.product.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class InvertedIndexTest {
+
+    @Test
+    void 조사가_붙은_검색어도_bigram으로_찾는다() {
+        InvertedIndex index = new InvertedIndex();
+        index.add("p1", "삼성 노트북", "가벼운 울트라북");
+        index.add("p2", "무선 마우스", "노트북과 함께 쓰기 좋은 마우스");
+
+        InvertedIndex.SearchResult result = index.search("노트북을", 0, 10);
+
+        assertThat(result.getHits()).extracting(InvertedIndex.Hit::getProductId).containsExactly("p1", "p2");
+        assertThat(result.getMatched()).isEqualTo(2);
+    }
+
+    @Test
+    void 삭제_표시된_문서는_문서_빈도에서_빠진다() {
+        InvertedIndex fresh = new InvertedIndex();
+        fresh.add("p1", "키보드", "");
+        fresh.add("p9", "마우스", "");
+
+        InvertedIndex index = new InvertedIndex();
+        index.add("p1", "키보드", "");
+        index.add("p9", "마우스", "");
+        for (int i = 2; i <= 5; i++) {
+            index.add("p" + i, "키보드", "");
+            index.remove("p" + i);
+        }
+
+        assertThat(index.stats().getDeletedDocuments()).isEqualTo(4);
+        assertThat(index.search("키보드", 0, 10).getHits().get(0).getScore())
+                .isEqualTo(fresh.search("키보드", 0, 10).getHits().get(0).getScore());
+    }
+
+    @Test
+    void 자동완성은_살아_있는_문서만_센다() {
+        InvertedIndex index = new InvertedIndex();
+        index.add("p1", "갤럭시 폰", "");
+        index.add("p2", "갤럭시 탭", "");
+        index.add("p3", "갤럭시 워치", "");
+        index.remove("p2");
+        index.remove("p3");
+
+        assertThat(index.suggest("갤", 5))
+                .extracting(InvertedIndex.Suggestion::getText, InvertedIndex.Suggestion::getCount)
+                .containsExactly(tuple("갤럭시", 1));
+        assertThat(index.suggest("탭", 5)).isEmpty();
+    }
+
+    @Test
+    void 수정만_반복해도_삭제_표시가_쌓이면_압축한다() {
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 0; i < 10; i++) {
+            index.add("p" + i, "상품 " + i, "");
+        }
+        for (int version = 0; version < 3_000; version++) {
+            index.add("p0", "상품 버전" + version, "");
+        }
+
+        InvertedIndex.Stats stats = index.stats();
+        assertThat(stats.getDocuments()).isEqualTo(10);
+        assertThat(stats.getDeletedDocuments()).isLessThanOrEqualTo(1_001);
+        assertThat(index.search("버전2999", 0, 10).getHits())
+                .extracting(InvertedIndex.Hit::getProductId).containsExactly("p0");
+        assertThat(index.suggest("버전", 10)).extracting(InvertedIndex.Suggestion::getText).containsExactly("버전2999");
+    }
+
+    @Test
+    void 상품명_일치가_설명_일치보다_높은_점수다() {
+        InvertedIndex index = new InvertedIndex();
+        index.add("description", "무선 충전기", "태블릿 거치 가능");
+        index.add("name", "태블릿", "거치대");
+
+        List<InvertedIndex.Hit> hits = index.search("태블릿", 0, 10).getHits();
+
+        assertThat(hits).extracting(InvertedIndex.Hit::getProductId).containsExactly("name", "description");
+    }
+}
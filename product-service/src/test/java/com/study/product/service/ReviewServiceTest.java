@@ -0,0 +1,201 @@
+package com.study.product.service;
+
+import com.study.product.domain.Product;
+import com.study.product.domain.Review;
+import com.study.product.domain.ReviewBucket;
+import com.study.product.dto.ProductDto;
+import com.study.product.repository.ProductRepository;
+import com.study.product.repository.ReviewBucketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReviewServiceTest {
+
+    private static final int BUCKET_SIZE = 3;
+
+    private ProductRepository productRepository;
+    private ReviewBucketRepository reviewBucketRepository;
+    private ReviewService reviewService;
+    private final List<ReviewBucket> buckets = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        reviewBucketRepository = mock(ReviewBucketRepository.class);
+        reviewService = new ReviewService(productRepository, reviewBucketRepository, BUCKET_SIZE, 5);
+        when(reviewBucketRepository.findByProductIdAndBucketNoLessThanEqualOrderByBucketNoDesc(
+                eq("p1"), anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    long upper = invocation.getArgument(1);
+                    Pageable pageable = invocation.getArgument(2);
+                    return buckets.stream()
+                            .filter(bucket -> bucket.getBucketNo() <= upper)
+                            .sorted(Comparator.comparing(ReviewBucket::getBucketNo).reversed())
+                            .limit(pageable.getPageSize())
+                            .toList();
+                });
+    }
+
+    @Test
+    void 리뷰_목록은_순번_커서로_버킷을_넘어_이어진다() {
+        givenProduct(product(5L, List.of()));
+        buckets.add(bucket(0, review(1), review(2), review(3)));
+        buckets.add(bucket(1, review(4), review(5)));
+
+        ProductDto.ReviewPage first = reviewService.getReviews("p1", null, 2);
+        ProductDto.ReviewPage second = reviewService.getReviews("p1", first.getNextCursor(), 2);
+        ProductDto.ReviewPage last = reviewService.getReviews("p1", second.getNextCursor(), 2);
+
+        assertThat(first.getItems()).extracting(ProductDto.ReviewResponse::getUserId).containsExactly(5L, 4L);
+        assertThat(first.getNextCursor()).isEqualTo("4");
+        assertThat(second.getItems()).extracting(ProductDto.ReviewResponse::getUserId).containsExactly(3L, 2L);
+        assertThat(last.getItems()).extracting(ProductDto.ReviewResponse::getUserId).containsExactly(1L);
+        assertThat(last.isHasNext()).isFalse();
+    }
+
+    @Test
+    void 순번이_없는_이전_리뷰와_이전_형식_커서도_같은_순서로_읽는다() {
+        givenProduct(product(5L, List.of()));
+        buckets.add(bucket(0, legacyReview(1), legacyReview(2), legacyReview(3)));
+        buckets.add(bucket(1, legacyReview(4), review(5)));
+
+        // "1:1" = 버킷 1의 위치 1 이전 → 순번 4 이하
+        ProductDto.ReviewPage page = reviewService.getReviews("p1", "1:1", 2);
+
+        assertThat(page.getItems()).extracting(ProductDto.ReviewResponse::getUserId).containsExactly(4L, 3L);
+        assertThat(page.getNextCursor()).isEqualTo("3");
+    }
+
+    @Test
+    void 순번은_조건_없이_증가시킨_값으로_발급하고_버킷에_넣은_뒤_대기_목록에서_뺀다() {
+        when(productRepository.allocateReviewSequence("p1")).thenReturn(sequence(7L, 6L));
+        when(productRepository.pushReview(eq("p1"), any(Review.class), anyInt())).thenReturn(product(7L, List.of()));
+
+        reviewService.addReview("p1", request());
+
+        ArgumentCaptor<Review> pushed = ArgumentCaptor.forClass(Review.class);
+        verify(productRepository).pushReview(eq("p1"), pushed.capture(), eq(5));
+        assertThat(pushed.getValue().getSequence()).isEqualTo(7L);
+        verify(reviewBucketRepository).append("p1", 2L, pushed.getValue());
+        verify(productRepository).removePendingReview("p1", 7L);
+        verify(productRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void 순번_필드가_없던_상품은_기존_리뷰_수_다음부터_발급한다() {
+        when(productRepository.allocateReviewSequence("p1"))
+                .thenReturn(sequence(1L, 10L))
+                .thenReturn(sequence(11L, 10L));
+        when(productRepository.pushReview(eq("p1"), any(Review.class), anyInt())).thenReturn(product(11L, List.of()));
+
+        reviewService.addReview("p1", request());
+
+        verify(productRepository).raiseReviewSequence("p1", 10L);
+        verify(reviewBucketRepository).append(eq("p1"), eq(3L), argThat(review -> review.getSequence() == 11L));
+    }
+
+    @Test
+    void 버킷_추가가_계속_실패하면_리뷰를_대기_목록에_남긴다() {
+        when(productRepository.allocateReviewSequence("p1")).thenReturn(sequence(1L, 0L));
+        when(productRepository.pushReview(eq("p1"), any(Review.class), anyInt())).thenReturn(product(1L, List.of()));
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(reviewBucketRepository).append(anyString(), anyLong(), any(Review.class));
+
+        ProductDto.Response response = reviewService.addReview("p1", request());
+
+        assertThat(response.getReviewCount()).isEqualTo(1L);
+        verify(reviewBucketRepository, times(3)).append(eq("p1"), eq(0L), any(Review.class));
+        verify(productRepository, never()).removePendingReview(anyString(), anyLong());
+    }
+
+    @Test
+    void 최근_리뷰_밖으로_밀려난_대기_리뷰도_조회할_때_버킷에_넣는다() {
+        // 순번 2의 버킷 추가가 실패한 뒤 리뷰가 5건 더 추가됨 → 최근 리뷰(3~7)에는 없고 대기 목록에만 있음
+        Review second = review(2);
+        Product product = product(7L, List.of(review(3), review(4), review(5), review(6), review(7)));
+        product.getPendingReviews().add(second);
+        givenProduct(product);
+
+        reviewService.getReviews("p1", null, 10);
+
+        verify(reviewBucketRepository).append("p1", 0L, second);
+        verify(productRepository).removePendingReview("p1", 2L);
+    }
+
+    @Test
+    void 복구_중_버킷_추가가_실패하면_대기_목록에_남긴다() {
+        Product product = product(5L, List.of(review(5)));
+        product.getPendingReviews().add(review(5));
+        givenProduct(product);
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(reviewBucketRepository).append(anyString(), anyLong(), any(Review.class));
+
+        reviewService.getReviews("p1", null, 10);
+
+        verify(productRepository, never()).removePendingReview(anyString(), anyLong());
+    }
+
+    private void givenProduct(Product product) {
+        when(productRepository.findById("p1")).thenReturn(Optional.of(product));
+    }
+
+    private static Product product(long reviewCount, List<Review> recent) {
+        return Product.builder()
+                .id("p1")
+                .name("상품")
+                .reviewsBucketed(true)
+                .reviewSequence(reviewCount)
+                .reviewCount(reviewCount)
+                .reviews(new ArrayList<>(recent))
+                .build();
+    }
+
+    private static Product sequence(long reviewSequence, long reviewCount) {
+        return Product.builder().id("p1").reviewSequence(reviewSequence).reviewCount(reviewCount).build();
+    }
+
+    private static ReviewBucket bucket(long bucketNo, Review... reviews) {
+        return ReviewBucket.builder()
+                .id("p1:" + bucketNo)
+                .productId("p1")
+                .bucketNo(bucketNo)
+                .count(reviews.length)
+                .reviews(new ArrayList<>(List.of(reviews)))
+                .build();
+    }
+
+    // userId = 순번 → 결과 순서를 userId로 확인
+    private static Review review(long sequence) {
+        return legacyReview(sequence).withSequence(sequence);
+    }
+
+    private static Review legacyReview(long userId) {
+        return Review.builder().userId(userId).username("user" + userId).rating(5).build();
+    }
+
+    private static ProductDto.AddReviewRequest request() {
+        return new ProductDto.AddReviewRequest(1L, "user", 4, "좋아요");
+    }
+}
@@ -0,0 +1,113 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 닫힌 루프(closed-loop) HTTP 부하 생성기 - 외부 도구 없이 JDK만으로 실행
+ *
+ * 학습 포인트:
+ * - 동시 사용자 수(concurrency)만큼 작업자가 "요청 → 응답 → 다음 요청"을 반복 (작업자는 클라이언트 쪽 Virtual Thread)
+ * - 작업자마다 지연 시간 배열을 따로 기록하고 끝난 뒤 합쳐 정렬 → 측정 중 공유 자료구조 경합 없음
+ * - 워밍업 구간(JIT, 커넥션 풀 준비)의 요청은 결과에서 제외
+ *
+ * 실행: java scripts/loadtest/LoadTest.java <url> [concurrency=200] [durationSec=30] [warmupSec=10] [label=run]
+ * 출력: 마지막 줄이 마크다운 표 한 행 (| label | concurrency | req/s | p50 | p99 | max | errors |)
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: java LoadTest.java <url> [concurrency] [durationSec] [warmupSec] [label]");
+            System.exit(1);
+        }
+        URI uri = URI.create(args[0]);
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int durationSec = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int warmupSec = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        String label = args.length > 4 ? args[4] : "run";
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        long startNanos = System.nanoTime();
+        long measureFrom = startNanos + Duration.ofSeconds(warmupSec).toNanos();
+        long endNanos = measureFrom + Duration.ofSeconds(durationSec).toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (true) {
+                        long sent = System.nanoTime();
+                        if (sent >= endNanos) {
+                            break;
+                        }
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long received = System.nanoTime();
+                        if (sent < measureFrom || received > endNanos) {
+                            continue;
+                        }
+                        if (!ok) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = received - sent;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = workers.stream().map(LoadTest::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        double throughput = all.length / (double) durationSec;
+        System.out.printf("%s: url=%s, concurrency=%d, duration=%ds, requests=%d, errors=%d%n",
+                label, uri, concurrency, durationSec, all.length, errors.get());
+        System.out.printf("| %s | %d | %.0f | %.1f ms | %.1f ms | %.1f ms | %d |%n",
+                label, concurrency, throughput, millis(percentile(all, 50)), millis(percentile(all, 99)),
+                millis(all.length > 0 ? all[all.length - 1] : 0), errors.get());
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
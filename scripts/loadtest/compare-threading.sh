@@ -0,0 +1,62 @@
+#!/usr/bin/env bash
+# 플랫폼 스레드(기본) vs Virtual Thread(virtual 프로파일) 부하 비교
+#
+# 같은 bootJar를 두 모드로 차례로 띄우고, 같은 부하(LoadTest.java)를 걸어 처리량/p50/p99를 마크다운 표로 출력
+# - Eureka/Kafka 없이 단독 실행 (user-service 기본: H2 인메모리)
+# - 측정 전에 회원 1명을 가입시키고 GET /users/{id}를 반복 조회
+#
+# 실행: scripts/loadtest/compare-threading.sh [concurrency=400] [durationSec=30] [warmupSec=10]
+# 환경 변수: SERVICE(기본 user-service), PORT(기본 8081), EXTRA_ARGS(두 모드 공통 추가 인자),
+#           GRADLE(기본 ./gradlew, 설치된 gradle을 쓸 때 지정)
+set -euo pipefail
+
+CONCURRENCY=${1:-400}
+DURATION=${2:-30}
+WARMUP=${3:-10}
+SERVICE=${SERVICE:-user-service}
+PORT=${PORT:-8081}
+EXTRA_ARGS=${EXTRA_ARGS:-}
+GRADLE=${GRADLE:-sh ./gradlew}
+
+ROOT=$(cd "$(dirname "$0")/../.." && pwd)
+LOADTEST="$ROOT/scripts/loadtest/LoadTest.java"
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+BASE="http://localhost:$PORT"
+
+(cd "$ROOT" && $GRADLE -q ":$SERVICE:bootJar")
+JAR=$(ls "$ROOT/$SERVICE"/build/libs/*.jar | grep -v -- '-plain' | head -1)
+
+# SQL/DEBUG 로그는 두 모드 모두 끔 → 로깅이 아닌 요청 처리 비용을 비교
+COMMON_ARGS="--server.port=$PORT --eureka.client.enabled=false \
+  --spring.jpa.show-sql=false --logging.level.root=WARN --logging.level.com.study=WARN \
+  --logging.level.org.hibernate.SQL=WARN --logging.level.org.hibernate.type=WARN $EXTRA_ARGS"
+
+PID=
+cleanup() { [[ -n "$PID" ]] && kill "$PID" 2>/dev/null && wait "$PID" 2>/dev/null || true; }
+trap cleanup EXIT
+
+run_mode() {
+    local label=$1 profileArgs=$2
+    # shellcheck disable=SC2086
+    "$JAVA" -jar "$JAR" $COMMON_ARGS $profileArgs > "/tmp/loadtest-$label.log" 2>&1 &
+    PID=$!
+    for _ in $(seq 1 120); do
+        curl -sf "$BASE/actuator/health" > /dev/null && break
+        sleep 1
+    done
+    curl -sf "$BASE/actuator/health" > /dev/null || { echo "$label 기동 실패: /tmp/loadtest-$label.log" >&2; exit 1; }
+
+    local id
+    id=$(curl -sf -X POST "$BASE/signup" -H 'Content-Type: application/json' \
+        -d '{"username":"loadtest","email":"loadtest@example.com","password":"password1234","name":"부하"}' \
+        | sed -E 's/.*"id":([0-9]+).*/\1/')
+
+    "$JAVA" "$LOADTEST" "$BASE/users/$id" "$CONCURRENCY" "$DURATION" "$WARMUP" "$label" | tail -1
+    cleanup
+    PID=
+}
+
+echo "| 모드 | 동시 요청 | req/s | p50 | p99 | max | 오류 |"
+echo "|---|---|---|---|---|---|---|"
+run_mode platform ""
+run_mode virtual "--spring.profiles.active=virtual"